@@ -0,0 +1,117 @@
+"""
+=============================================================================
+IDRO-AI Model Export Script (export_model.py)
+=============================================================================
+
+Exports the trained model for in-process evaluation by the Java backend
+(idro.ml.backend=local, see LocalModelPredictor).
+
+1. HOW TO RUN:
+   - Open terminal or command prompt.
+   - Navigate to the project folder: cd "d:\\IDRO\\IDRO-AI"
+   - Run the command: python export_model.py
+
+2. REQUIRED FILES:
+   - 'idro_requirement_model.pkl'     (Generated by train_model.py)
+   - 'encoders.pkl'                   (Generated by train_model.py)
+   - 'idro_final_training_dataset.csv' (rows used as verification samples)
+
+3. EXPECTED OUTPUT:
+   - 'idro_requirement_model.json' containing:
+     - feature and target order used in training
+     - label encoder classes (code = position in the list)
+     - one XGBoost JSON model per target (MultiOutputRegressor estimators)
+     - sample rows with the Python model's raw predictions; the backend
+       refuses to load the bundle if it cannot reproduce them
+   - "Model exported successfully." message.
+
+4. TROUBLESHOOTING:
+   - "Model files not found": Run train_model.py first.
+   - Re-run this script after every training run; the backend keeps using
+     the previous bundle until POST /api/ml/local-model/reload.
+
+=============================================================================
+"""
+
+import json
+
+import joblib
+import pandas as pd
+
+FORMAT = 'idro-requirement-model/1'
+
+FEATURE_COLUMNS = [
+    'disaster_type',
+    'severity',
+    'urgency',
+    'affected_count',
+    'injured_count',
+    'missing_count',
+    'latitude',
+    'longitude'
+]
+
+# Order MUST match training and ml_server.py TARGET_COLUMNS
+TARGET_COLUMNS = [
+    'food_packets_per_day',
+    'water_liters_per_day',
+    'medical_kits_required',
+    'beds_required',
+    'blankets_required',
+    'toilets_required',
+    'power_units_required',
+    'ambulances_required',
+    'volunteers_required'
+]
+
+CATEGORICAL_COLUMNS = ['disaster_type', 'severity', 'urgency']
+
+SAMPLE_ROWS = 50
+
+try:
+    print("Loading model and encoders...")
+    model = joblib.load('idro_requirement_model.pkl')
+    encoders = joblib.load('encoders.pkl')
+
+    if len(model.estimators_) != len(TARGET_COLUMNS):
+        raise ValueError(f"Expected {len(TARGET_COLUMNS)} estimators, found {len(model.estimators_)}")
+
+    # One XGBoost JSON document per target
+    boosters = []
+    for target, estimator in zip(TARGET_COLUMNS, model.estimators_):
+        raw = estimator.get_booster().save_raw(raw_format='json')
+        boosters.append(json.loads(bytes(raw).decode('utf-8')))
+        print(f"   {target}: exported")
+
+    # Verification samples: encoded features + raw (unrounded) predictions
+    df = pd.read_csv('idro_final_training_dataset.csv').head(SAMPLE_ROWS)
+    X = df[FEATURE_COLUMNS].copy()
+    for col in CATEGORICAL_COLUMNS:
+        X[col] = encoders[col].transform(X[col].astype(str))
+    predictions = model.predict(X)
+    samples = [
+        {
+            'features': [float(value) for value in X.iloc[row].tolist()],
+            'predictions': [float(value) for value in predictions[row]]
+        }
+        for row in range(len(X))
+    ]
+
+    bundle = {
+        'format': FORMAT,
+        'features': FEATURE_COLUMNS,
+        'targets': TARGET_COLUMNS,
+        'encoders': {col: [str(cls) for cls in encoders[col].classes_] for col in CATEGORICAL_COLUMNS},
+        'models': boosters,
+        'samples': samples
+    }
+
+    with open('idro_requirement_model.json', 'w') as f:
+        json.dump(bundle, f)
+
+    print(f"\nModel exported successfully to 'idro_requirement_model.json' ({len(samples)} verification samples).")
+
+except FileNotFoundError as e:
+    print(f"Error: Model files not found ({e}). Run 'python train_model.py' first.")
+except Exception as e:
+    print(f"Error during export: {e}")
@@ -27,6 +27,10 @@ POST /predict
   "longitude": 93.1711
 }
 
+POST /predict/batch
+[ { ...same fields as /predict... }, { ... } ]
+Returns a JSON array of responses in the same order as the request.
+
 --- 4. Example Response Format (JSON) ---
 {
   "requirements": {
@@ -52,8 +56,9 @@ POST /predict
 
 import joblib
 import pandas as pd
-from fastapi import FastAPI
+from fastapi import FastAPI, HTTPException
 from pydantic import BaseModel
+from typing import List
 import logging
 import sys
 
@@ -415,3 +420,111 @@ def predict_requirements(data: DisasterInput):
     
     logger.info(f"Prediction successful. Risk Score: {risk_score}")
     return response
+
+
+# --- Batch Prediction Endpoint ---
+
+# Target columns list (Order MUST match training)
+TARGET_COLUMNS = [
+    'food_packets_per_day',
+    'water_liters_per_day',
+    'medical_kits_required',
+    'beds_required',
+    'blankets_required',
+    'toilets_required',
+    'power_units_required',
+    'ambulances_required',
+    'volunteers_required'
+]
+
+CATEGORICAL_COLUMNS = ['disaster_type', 'severity', 'urgency']
+
+
+def is_known_to_encoders(data: DisasterInput) -> bool:
+    """
+    Returns True if every categorical value was seen during training.
+    Unknown values must go through fallback_prediction instead of the model.
+    """
+    for col in CATEGORICAL_COLUMNS:
+        if col in encoders and getattr(data, col) not in encoders[col].classes_:
+            return False
+    return True
+
+
+@app.post("/predict/batch")
+def predict_requirements_batch(items: List[DisasterInput]):
+    """
+    Predicts relief resource requirements for many inputs in one call.
+
+    Why this exists:
+    - The backend analyses every camp of a mission; calling /predict once per camp
+      costs one HTTP round trip and one DataFrame + model.predict() per camp.
+    - Here all known-category rows are encoded and predicted as ONE DataFrame,
+      so a mission chunk costs a single model invocation.
+
+    Response: JSON array, same order and length as the request.
+    Rows with unknown categories (or if the model fails) use fallback rules,
+    exactly like /predict.
+    """
+
+    logger.info(f"Received batch prediction request for {len(items)} inputs")
+
+    if model is None:
+        logger.critical("Model not loaded.")
+        raise HTTPException(status_code=503, detail="Model not loaded. Please contact administrator.")
+
+    for data in items:
+        if data.affected_count < 0 or data.injured_count < 0 or data.missing_count < 0:
+            logger.warning("Validation failed: Negative counts in batch input.")
+            raise HTTPException(status_code=400, detail="Counts (affected, injured, missing) must be non-negative.")
+
+    # Index of each row that can be sent to the model
+    ml_indices = [i for i, data in enumerate(items) if is_known_to_encoders(data)]
+    ml_results = {}
+
+    if ml_indices:
+        input_df = pd.DataFrame({
+            'disaster_type': [items[i].disaster_type for i in ml_indices],
+            'severity': [items[i].severity for i in ml_indices],
+            'urgency': [items[i].urgency for i in ml_indices],
+            'affected_count': [items[i].affected_count for i in ml_indices],
+            'injured_count': [items[i].injured_count for i in ml_indices],
+            'missing_count': [items[i].missing_count for i in ml_indices],
+            'latitude': [items[i].latitude for i in ml_indices],
+            'longitude': [items[i].longitude for i in ml_indices]
+        })
+
+        try:
+            # Frozen encoders - only transform(), never fit()
+            for col in CATEGORICAL_COLUMNS:
+                input_df[col] = encoders[col].transform(input_df[col])
+
+            predictions = model.predict(input_df)
+
+            for row, i in enumerate(ml_indices):
+                ml_results[i] = {
+                    target: int(round(float(predictions[row][j])))
+                    for j, target in enumerate(TARGET_COLUMNS)
+                }
+        except Exception as e:
+            logger.error(f"Batch ML Prediction failed: {str(e)}. Using fallback rules.")
+            ml_results = {}
+
+    responses = []
+    for i, data in enumerate(items):
+        if i in ml_results:
+            predicted_requirements = ml_results[i]
+            prediction_source = "ML"
+        else:
+            predicted_requirements = fallback_prediction(data.affected_count)
+            prediction_source = "Fallback"
+
+        responses.append({
+            "requirements": predicted_requirements,
+            "risk_score": calculate_risk_score(data.severity, data.urgency, data.affected_count),
+            "explanation": generate_explanation(data.severity, data.urgency, data.affected_count, data.injured_count),
+            "prediction_source": prediction_source
+        })
+
+    logger.info(f"Batch prediction successful. {len(ml_results)} ML, {len(items) - len(ml_results)} fallback")
+    return responses
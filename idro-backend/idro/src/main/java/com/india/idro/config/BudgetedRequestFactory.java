@@ -0,0 +1,54 @@
+package com.india.idro.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+
+import com.india.idro.service.ai.ml.MlCallBudget;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * ML request factory that honours the caller's MlCallBudget.
+ *
+ * Requests made inside a budget shorter than the configured request timeout
+ * get an exchange and read timeout of what is left of the budget; all other
+ * requests use the shared factory unchanged. Both share the same HttpClient
+ * and connection pool.
+ */
+class BudgetedRequestFactory implements ClientHttpRequestFactory {
+
+    // Floor so an almost-spent budget still fails as a timeout rather than an argument error
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(1);
+
+    private final HttpClient httpClient;
+    private final ReactorNettyClientRequestFactory defaultFactory;
+    private final Duration requestTimeout;
+
+    BudgetedRequestFactory(HttpClient httpClient, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.defaultFactory = new ReactorNettyClientRequestFactory(httpClient);
+        this.defaultFactory.setExchangeTimeout(requestTimeout);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Duration remaining = MlCallBudget.remaining();
+        if (remaining == null || remaining.compareTo(requestTimeout) >= 0) {
+            return defaultFactory.createRequest(uri, httpMethod);
+        }
+
+        // Per-request factories are two field writes; the HttpClient and pool are shared
+        Duration timeout = remaining.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : remaining;
+        ReactorNettyClientRequestFactory budgeted = new ReactorNettyClientRequestFactory(httpClient);
+        budgeted.setExchangeTimeout(timeout);
+        budgeted.setReadTimeout(timeout);
+        return budgeted.createRequest(uri, httpMethod);
+    }
+}
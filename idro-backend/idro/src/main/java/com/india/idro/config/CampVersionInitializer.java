@@ -0,0 +1,41 @@
+package com.india.idro.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.Camp;
+
+/**
+ * Sets version 0 on camps stored before Camp.version existed.
+ *
+ * Spring Data treats an entity whose @Version is null as new, so saving a
+ * loaded legacy camp would be an insert and fail on the duplicate _id.
+ */
+@Component
+public class CampVersionInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampVersionInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            long updated = mongoTemplate.updateMulti(new Query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L), Camp.class).getModifiedCount();
+            if (updated > 0) {
+                logger.info("Initialized version on {} camps", updated);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to initialize camp versions: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.india.idro.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.india.idro.service.geo.GeoPoints;
+
+/**
+ * Derives the GeoJSON position of camps, alerts, NGOs and agencies from
+ * their latitude/longitude on every repository/template save, so all write
+ * paths keep the 2dsphere indexes current. Missing or invalid coordinates
+ * clear the position.
+ *
+ * Update-based writes ($set of latitude/longitude) bypass this callback
+ * and must set position themselves (see GeoPoints.toPoint).
+ */
+@Component
+public class GeoPositionCallback implements BeforeConvertCallback<Object>, Ordered {
+
+    @Override
+    public Object onBeforeConvert(Object entity, String collection) {
+        if (entity instanceof Camp camp) {
+            camp.setPosition(GeoPoints.toPoint(camp.getLatitude(), camp.getLongitude()));
+        } else if (entity instanceof Alert alert) {
+            alert.setPosition(GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude()));
+        } else if (entity instanceof NGO ngo) {
+            ngo.setPosition(GeoPoints.toPoint(ngo.getLatitude(), ngo.getLongitude()));
+        } else if (entity instanceof GovernmentAgency agency) {
+            agency.setPosition(GeoPoints.toPoint(agency.getLatitude(), agency.getLongitude()));
+        }
+        return entity;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,99 @@
+package com.india.idro.config;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.india.idro.service.geo.CityCoordinates;
+import com.india.idro.service.geo.GeoPoints;
+import com.india.idro.service.geo.ResponderGridIndex;
+
+/**
+ * Backfills geospatial data written before the position_2dsphere indexes
+ * existed:
+ * - NGOs / agencies without coordinates get them from their city (CityCoordinates)
+ * - Documents with valid latitude/longitude but no position get one,
+ *   computed server-side with a single pipeline update per collection
+ *
+ * New writes get their position from GeoPositionCallback.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class GeoPositionInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoPositionInitializer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ResponderGridIndex responderGridIndex;
+
+    @Override
+    public void run(String... args) {
+        try {
+            long located = locateByCity(NGO.class, "city") + locateByCity(GovernmentAgency.class, "location");
+            if (located > 0) {
+                logger.info("Geo backfill: located {} responders from their city", located);
+            }
+
+            for (Class<?> type : List.of(Camp.class, Alert.class, NGO.class, GovernmentAgency.class)) {
+                long updated = backfillPositions(type);
+                if (updated > 0) {
+                    logger.info("Geo backfill: set position on {} {} documents", updated,
+                            mongoTemplate.getCollectionName(type));
+                }
+            }
+            responderGridIndex.invalidate();
+        } catch (Exception e) {
+            logger.error("Geo backfill failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private long locateByCity(Class<?> type, String cityField) {
+        Query missing = new Query(Criteria.where("latitude").exists(false));
+        missing.fields().include(cityField);
+
+        long located = 0;
+        for (Document document : mongoTemplate.find(missing, Document.class, mongoTemplate.getCollectionName(type))) {
+            double[] coordinates = CityCoordinates.lookup(document.getString(cityField));
+            if (coordinates == null) {
+                continue;
+            }
+            Update update = new Update()
+                    .set("latitude", coordinates[0])
+                    .set("longitude", coordinates[1])
+                    .set("position", GeoPoints.toPoint(coordinates[0], coordinates[1]));
+            located += mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(document.get("_id"))), update,
+                    type).getModifiedCount();
+        }
+        return located;
+    }
+
+    private long backfillPositions(Class<?> type) {
+        Document filter = new Document("position", new Document("$exists", false))
+                .append("latitude", new Document("$gte", -90).append("$lte", 90))
+                .append("longitude", new Document("$gte", -180).append("$lte", 180));
+        Document setPosition = new Document("$set", new Document("position",
+                new Document("type", "Point").append("coordinates", List.of("$longitude", "$latitude"))));
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .updateMany(filter, List.of(setPosition))
+                .getModifiedCount();
+    }
+}
@@ -0,0 +1,30 @@
+package com.india.idro.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Executor configuration for mission impact analysis.
+ *
+ * Camp analysis is dominated by blocking I/O (ML server HTTP calls and Mongo
+ * writes), so each camp runs on its own virtual thread instead of the shared
+ * common ForkJoinPool. Downstream pressure is bounded separately by
+ * {@link com.india.idro.service.analysis.CampAnalysisLimiter}.
+ */
+@Configuration
+public class ImpactAnalysisConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImpactAnalysisConfig.class);
+
+    @Bean(name = "campAnalysisExecutor", destroyMethod = "close")
+    public ExecutorService campAnalysisExecutor() {
+        logger.info("Camp analysis executor initialized (virtual threads)");
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("camp-analysis-", 0).factory());
+    }
+}
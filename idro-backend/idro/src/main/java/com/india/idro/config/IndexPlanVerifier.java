@@ -0,0 +1,200 @@
+package com.india.idro.config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.Action;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.CampAiPrediction;
+import com.india.idro.model.Collations;
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.mongodb.client.FindIterable;
+
+/**
+ * Startup check of the declared index plan.
+ *
+ * The indexes themselves are declared on the models (@Indexed / @CompoundIndex)
+ * and created by auto index creation. This runner replays the query shape of
+ * each hot repository method through explain() and reports any whose winning
+ * plan still contains a COLLSCAN, e.g. after a model or query change that no
+ * longer matches an index.
+ *
+ * Set idro.mongo.index-verification.fail-on-collscan=true to fail startup instead.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IndexPlanVerifier implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexPlanVerifier.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${idro.mongo.index-verification.enabled:true}")
+    private boolean enabled;
+
+    @Value("${idro.mongo.index-verification.fail-on-collscan:false}")
+    private boolean failOnCollscan;
+
+    /**
+     * Query shape of a repository method, in the form Spring Data sends it.
+     */
+    private record QueryShape(String method, Class<?> entity, Document filter, Document sort, String collation) {
+
+        static QueryShape of(String method, Class<?> entity, Document filter) {
+            return new QueryShape(method, entity, filter, null, null);
+        }
+
+        QueryShape sortedBy(Document sortSpec) {
+            return new QueryShape(method, entity, filter, sortSpec, collation);
+        }
+
+        QueryShape withCollation(String collationSpec) {
+            return new QueryShape(method, entity, filter, sort, collationSpec);
+        }
+    }
+
+    private static List<QueryShape> declaredShapes() {
+        Date since = new Date(System.currentTimeMillis() - 24L * 60 * 60 * 1000);
+        Document near = new Document("$nearSphere", new Document("$geometry",
+                new Document("type", "Point").append("coordinates", List.of(77.2090, 28.6139)))
+                .append("$maxDistance", 50_000));
+        return List.of(
+                // Camps
+                QueryShape.of("CampRepository.findByAlertId", Camp.class, new Document("alertId", "mission")),
+                QueryShape.of("CampRepository.findAllByOrderByUrgencyScoreDesc", Camp.class, new Document())
+                        .sortedBy(new Document("urgencyScore", -1)),
+                QueryShape.of("CampRepository.findByStatusOrderByUrgencyScoreDesc", Camp.class,
+                        new Document("status", "CRITICAL")).sortedBy(new Document("urgencyScore", -1)),
+                QueryShape.of("CampRepository.findByUrgencyScoreGreaterThanEqual", Camp.class,
+                        new Document("urgencyScore", new Document("$gte", 80))),
+                QueryShape.of("CampRepository.findNear", Camp.class, new Document("position", near)),
+
+                // Alerts
+                QueryShape.of("AlertRepository.findAllByOrderByCreatedAtDesc", Alert.class, new Document())
+                        .sortedBy(new Document("createdAt", -1)),
+                QueryShape.of("AlertRepository.findByTypeAndColor", Alert.class,
+                        new Document("type", "FLOOD").append("color", "RED")),
+
+                // NGOs and agencies (case-insensitive lookups)
+                QueryShape.of("NGORepository.findByState", NGO.class, new Document("state", "maharashtra"))
+                        .withCollation(Collations.CASE_INSENSITIVE),
+                QueryShape.of("NGORepository.findByNgoId", NGO.class, new Document("ngoId", "NGO001")),
+                QueryShape.of("NGORepository.findNear", NGO.class, new Document("position", near)),
+                QueryShape.of("GovernmentAgencyRepository.findByOperatingRegion", GovernmentAgency.class,
+                        new Document("operatingRegion", "maharashtra")).withCollation(Collations.CASE_INSENSITIVE),
+                QueryShape.of("GovernmentAgencyRepository.findByAgencyId", GovernmentAgency.class,
+                        new Document("agencyId", "NDRF-MH-001")),
+                QueryShape.of("GovernmentAgencyRepository.findNear", GovernmentAgency.class,
+                        new Document("position", near)),
+
+                // Actions
+                QueryShape.of("ActionRepository.findByTimestampAfter", Action.class,
+                        new Document("timestamp", new Document("$gt", since))),
+                QueryShape.of("ActionRepository.findByRoleAndPriority", Action.class,
+                        new Document("role", "NGO").append("priority", "HIGH")),
+                QueryShape.of("ActionRepository.findByPriority", Action.class, new Document("priority", "HIGH")),
+                QueryShape.of("ActionRepository.findByAlertId", Action.class, new Document("alertId", "mission")),
+                QueryShape.of("ActionRepository.findRecentPriorityActions", Action.class,
+                        new Document("priority", "high").append("timestamp", new Document("$gt", since)))
+                        .withCollation(Collations.CASE_INSENSITIVE),
+
+                // Predictions
+                QueryShape.of("CampAiPredictionRepository.findByMissionId", CampAiPrediction.class,
+                        new Document("missionId", "mission")));
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> collectionScans = new ArrayList<>();
+        List<QueryShape> shapes = declaredShapes();
+        try {
+            for (QueryShape shape : shapes) {
+                if (usesCollectionScan(explain(shape))) {
+                    collectionScans.add(shape.method());
+                    logger.warn("Index plan: {} would COLLSCAN {} (filter: {}, sort: {})", shape.method(),
+                            mongoTemplate.getCollectionName(shape.entity()), shape.filter().toJson(),
+                            shape.sort() != null ? shape.sort().toJson() : "none");
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Index plan verification failed: {}", e.getMessage());
+            return;
+        }
+
+        if (collectionScans.isEmpty()) {
+            logger.info("Index plan verified: all {} query shapes use an index", shapes.size());
+            return;
+        }
+
+        logger.warn("Index plan: {} of {} query shapes would COLLSCAN: {}", collectionScans.size(), shapes.size(),
+                collectionScans);
+        if (failOnCollscan) {
+            throw new IllegalStateException("Query shapes without a usable index: " + collectionScans);
+        }
+    }
+
+    private Document explain(QueryShape shape) {
+        FindIterable<Document> find = mongoTemplate.getCollection(mongoTemplate.getCollectionName(shape.entity()))
+                .find(shape.filter());
+        if (shape.sort() != null) {
+            find = find.sort(shape.sort());
+        }
+        if (shape.collation() != null) {
+            find = find.collation(Collation.parse(shape.collation()).toMongoCollation());
+        }
+        return find.explain();
+    }
+
+    /**
+     * Walks queryPlanner.winningPlan (including nested inputStage(s) and the
+     * queryPlan wrapper used by newer servers) looking for a COLLSCAN stage.
+     */
+    private boolean usesCollectionScan(Document explain) {
+        Object queryPlanner = explain.get("queryPlanner");
+        if (!(queryPlanner instanceof Document planner)) {
+            return false;
+        }
+        return containsStage(planner.get("winningPlan"), "COLLSCAN");
+    }
+
+    private boolean containsStage(Object node, String stage) {
+        if (node instanceof Map<?, ?> map) {
+            if (stage.equals(map.get("stage"))) {
+                return true;
+            }
+            for (Object child : map.values()) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsStage(child, stage)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+package com.india.idro.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Shared HTTP transport for the FastAPI ML server.
+ *
+ * All ML calls go through one Reactor Netty connection pool with keep-alive,
+ * so a mission analysis reuses a handful of warm sockets instead of paying a
+ * TCP handshake per prediction. Services keep the blocking RestTemplate API.
+ */
+@Configuration
+public class MlClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MlClientConfig.class);
+
+    @Value("${idro.ml.base-url:http://localhost:8000}")
+    private String baseUrl;
+
+    @Value("${idro.ml.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${idro.ml.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Value("${idro.ml.http2:false}")
+    private boolean http2;
+
+    @Value("${idro.ml.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${idro.ml.pool.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${idro.ml.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${idro.ml.pool.max-life-time:5m}")
+    private Duration maxLifeTime;
+
+    @Bean(name = "mlConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider mlConnectionProvider() {
+        return ConnectionProvider.builder("ml-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+    }
+
+    @Bean(name = "mlRestTemplate")
+    public RestTemplate mlRestTemplate(@Qualifier("mlConnectionProvider") ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .protocol(http2 ? new HttpProtocol[] { HttpProtocol.H2C, HttpProtocol.HTTP11 }
+                        : new HttpProtocol[] { HttpProtocol.HTTP11 })
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+
+        // Whole-exchange budget per request (connect + write + read), shortened to the
+        // caller's MlCallBudget when it has less time left
+        RestTemplate restTemplate = new RestTemplate(new BudgetedRequestFactory(httpClient, requestTimeout));
+        restTemplate.setUriTemplateHandler(new DefaultUriBuilderFactory(baseUrl));
+
+        logger.info("ML client initialized - URL: {}, pool: {} connections, request timeout: {}ms, HTTP/2: {}",
+                baseUrl, maxConnections, requestTimeout.toMillis(), http2);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,55 @@
+package com.india.idro.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.CampAiPrediction;
+import com.india.idro.repository.CampAiPredictionRepository;
+
+/**
+ * Ensures the unique (missionId, campId) index on camp_ai_predictions.
+ *
+ * Older versions inserted a new prediction on every analysis run, so
+ * duplicates are removed first; otherwise the unique index build would fail.
+ * Created here rather than with @CompoundIndex because annotation-driven
+ * index creation runs before duplicates could be cleaned up.
+ */
+@Component
+public class PredictionIndexInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionIndexInitializer.class);
+
+    private static final String MISSION_CAMP_INDEX = "mission_camp_unique";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CampAiPredictionRepository predictionRepository;
+
+    @Override
+    public void run(String... args) {
+        try {
+            long removed = predictionRepository.removeDuplicatePredictions();
+            if (removed > 0) {
+                logger.info("Removed {} duplicate camp predictions", removed);
+            }
+
+            mongoTemplate.indexOps(CampAiPrediction.class).ensureIndex(new Index()
+                    .on("missionId", Sort.Direction.ASC)
+                    .on("campId", Sort.Direction.ASC)
+                    .unique()
+                    .named(MISSION_CAMP_INDEX));
+            logger.info("Unique index {} ensured on camp_ai_predictions", MISSION_CAMP_INDEX);
+
+        } catch (Exception e) {
+            logger.error("Failed to ensure camp prediction index: {}", e.getMessage(), e);
+        }
+    }
+}
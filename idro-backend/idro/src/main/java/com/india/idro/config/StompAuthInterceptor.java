@@ -0,0 +1,125 @@
+package com.india.idro.config;
+
+import java.security.Principal;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.india.idro.model.User;
+import com.india.idro.model.enums.UserRole;
+import com.india.idro.service.GovernmentAgencyService;
+import com.india.idro.service.NGOService;
+import com.india.idro.service.ResponderIds;
+import com.india.idro.service.UserService;
+import com.india.idro.service.realtime.StompPrincipal;
+import com.india.idro.service.realtime.TopicAccessPolicy;
+
+/**
+ * Authenticates STOMP sessions and authorizes subscriptions.
+ *
+ * CONNECT: the standard login / passcode headers are checked against the
+ * account named by the "account" header:
+ * - user (default): a users-collection login plus a "role" header, like
+ *   POST /api/users/login
+ * - ngo: login is the ngoId, like POST /api/ngo/login
+ * - agency: login is the agencyId, like POST /api/government/login
+ * On success the session gets a StompPrincipal carrying the account's
+ * responder id. A CONNECT without login stays anonymous.
+ *
+ * SUBSCRIBE: the destination must pass TopicAccessPolicy; otherwise the
+ * frame is rejected and the client receives a STOMP ERROR.
+ */
+@Component
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompAuthInterceptor.class);
+
+    public static final String ROLE_HEADER = "role";
+    public static final String ACCOUNT_HEADER = "account";
+
+    private final UserService userService;
+    private final NGOService ngoService;
+    private final GovernmentAgencyService agencyService;
+    private final TopicAccessPolicy accessPolicy;
+
+    public StompAuthInterceptor(UserService userService, NGOService ngoService,
+            GovernmentAgencyService agencyService, TopicAccessPolicy accessPolicy) {
+        this.userService = userService;
+        this.ngoService = ngoService;
+        this.agencyService = agencyService;
+        this.accessPolicy = accessPolicy;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            authenticate(accessor);
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            StompPrincipal principal = principalOf(accessor.getUser());
+            if (!accessPolicy.canSubscribe(principal, accessor.getDestination())) {
+                throw new MessageDeliveryException("Not authorized to subscribe to " + accessor.getDestination());
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String login = accessor.getLogin();
+        if (login == null || login.isBlank()) {
+            return;
+        }
+        String account = accessor.getFirstNativeHeader(ACCOUNT_HEADER);
+        StompPrincipal principal = switch (account == null ? "user" : account.toLowerCase(Locale.ROOT)) {
+            case "user" -> userPrincipal(userService.loginUser(login, accessor.getPasscode(),
+                    accessor.getFirstNativeHeader(ROLE_HEADER)));
+            case "ngo" -> ngoPrincipal(ngoService.authenticateNGO(login, accessor.getPasscode()));
+            case "agency" -> agencyPrincipal(agencyService.authenticateAgency(login, accessor.getPasscode()));
+            default -> null;
+        };
+        if (principal == null) {
+            logger.info("STOMP login rejected user={} account={}", login, account);
+            throw new MessageDeliveryException("Invalid login, passcode, role or account");
+        }
+        accessor.setUser(principal);
+        logger.debug("STOMP session authenticated user={} role={} responderId={}", principal.username(),
+                principal.role(), principal.responderId());
+    }
+
+    private static StompPrincipal userPrincipal(User user) {
+        return user == null ? null
+                : new StompPrincipal(user.getId(), user.getUsername(), user.getName(), user.getRole(),
+                        ResponderIds.ofUser(user.getId()));
+    }
+
+    private static StompPrincipal ngoPrincipal(NGO ngo) {
+        return ngo == null ? null
+                : new StompPrincipal(ngo.getId(), ngo.getNgoId(), ngo.getNgoName(), UserRole.NGO,
+                        ResponderIds.ofNgo(ngo.getNgoId()));
+    }
+
+    private static StompPrincipal agencyPrincipal(GovernmentAgency agency) {
+        return agency == null ? null
+                : new StompPrincipal(agency.getId(), agency.getAgencyId(), agency.getAgencyName(), null,
+                        ResponderIds.ofAgency(agency.getAgencyId()));
+    }
+
+    private static StompPrincipal principalOf(Principal user) {
+        return user instanceof StompPrincipal principal ? principal : null;
+    }
+}
@@ -3,13 +3,17 @@ package com.india.idro.controller;
 import com.india.idro.model.Action;
 import com.india.idro.repository.ActionRepository;
 import com.india.idro.repository.AlertRepository;
+import com.india.idro.service.DashboardStatsService;
+import com.india.idro.service.PageQueryService;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/actions")
@@ -22,10 +26,29 @@ public class ActionController {
     @Autowired
     private AlertRepository alertRepository; // ✅ FIXED: Now properly injected
 
-    // GET all actions
+    @Autowired
+    private PageQueryService pageQueryService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
+    private static final PageQueryService.SortOptions ACTION_SORT = PageQueryService.SortOptions
+            .of(Sort.Direction.DESC, "timestamp");
+
+    // GET all actions (full list), or one page when page/size/cursor/sort is given
     @GetMapping
-    public List<Action> getAllActions() {
-        return actionRepository.findAll();
+    public ResponseEntity<?> getAllActions(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort) {
+        if (!PageQueryService.isPaged(page, size, cursor, sort)) {
+            return ResponseEntity.ok(actionRepository.findAll());
+        }
+        return ResponseEntity.ok(pageQueryService.findPage(Action.class, null, ACTION_SORT, page, size, cursor, sort));
     }
 
     // POST create action linked to an alert
@@ -48,6 +71,8 @@ public class ActionController {
                     }
 
                     Action saved = actionRepository.save(action);
+                    dashboardStatsService.actionCreated(saved);
+                    changePublisher.action(ChangeType.CREATED, saved);
                     return ResponseEntity.ok(saved);
                 })
                 .orElse(ResponseEntity.notFound().build());
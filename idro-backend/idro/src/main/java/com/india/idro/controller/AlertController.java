@@ -1,8 +1,11 @@
 package com.india.idro.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.india.idro.dto.ClaimMissionsRequest;
+import com.india.idro.dto.MissionClaimResultDTO;
 import com.india.idro.model.Alert;
 import com.india.idro.repository.AlertRepository; // ✅ Import this
+import com.india.idro.service.DashboardStatsService;
+import com.india.idro.service.MissionClaimService;
+import com.india.idro.service.PageQueryService;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 
 @RestController
 @RequestMapping("/api/alerts")
@@ -26,10 +36,34 @@ public class AlertController {
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private PageQueryService pageQueryService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private MissionClaimService missionClaimService;
+
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
+    private static final PageQueryService.SortOptions ALERT_SORT = PageQueryService.SortOptions
+            .of(Sort.Direction.DESC, "createdAt", "trustScore");
+
     // 1. Get All Alerts
+    // Without paging params the full list is returned (legacy clients).
+    // With page/size/cursor/sort a PageResponse is returned; sort = createdAt|trustScore[,asc|desc]
     @GetMapping
-    public List<Alert> getAllAlerts() {
-        return alertRepository.findAll();
+    public ResponseEntity<?> getAllAlerts(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort) {
+        if (!PageQueryService.isPaged(page, size, cursor, sort)) {
+            return ResponseEntity.ok(alertRepository.findAll());
+        }
+        return ResponseEntity.ok(pageQueryService.findPage(Alert.class, null, ALERT_SORT, page, size, cursor, sort));
     }
 
     @GetMapping("/{id}")
@@ -45,13 +79,18 @@ public class AlertController {
         if (alert.getMissionStatus() == null) {
             alert.setMissionStatus("OPEN");
         }
-        return alertRepository.save(alert);
+        Alert saved = alertRepository.save(alert);
+        dashboardStatsService.alertCreated(saved);
+        changePublisher.alert(ChangeType.CREATED, saved);
+        return saved;
     }
 
     // 3. Update Existing Alert
     @PutMapping("/{id}")
     public Alert updateAlert(@PathVariable String id, @RequestBody Alert alert) {
         return alertRepository.findById(id).map(existingAlert -> {
+            DashboardStatsService.AlertKey before = DashboardStatsService.AlertKey.of(existingAlert);
+
             // Update fields
             existingAlert.setType(alert.getType());
             existingAlert.setColor(alert.getColor());
@@ -69,32 +108,43 @@ public class AlertController {
             existingAlert.setAffectedCount(alert.getAffectedCount());
             existingAlert.setInjuredCount(alert.getInjuredCount());
             existingAlert.setResponderName(alert.getResponderName());
+            existingAlert.setResponderId(alert.getResponderId());
             existingAlert.setUrgency(alert.getUrgency());
-            return alertRepository.save(existingAlert);
+            Alert saved = alertRepository.save(existingAlert);
+            dashboardStatsService.alertUpdated(before, saved);
+            changePublisher.alert(ChangeType.UPDATED, saved);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Alert not found"));
     }
 
     // 3. Delete Alert
     @DeleteMapping("/{id}")
     public void deleteAlert(@PathVariable String id) {
-        if (!alertRepository.existsById(id)) {
-            throw new RuntimeException("Alert not found");
-        }
+        Alert alert = alertRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Alert not found"));
         alertRepository.deleteById(id);
+        dashboardStatsService.alertDeleted(alert);
+        changePublisher.alert(ChangeType.DELETED, alert);
     }
 
     // ✅ 4. NEW: Assign Mission (Locks the task for an NGO)
+    // Atomic: only an OPEN mission is assigned; otherwise 409 with the current holder
     @PutMapping("/{id}/assign")
-    public Alert assignMission(@PathVariable String id, @RequestParam String responderName) {
-        return alertRepository.findById(id).map(alert -> {
-            // CRITICAL: Prevent Duplication
-            if (!"OPEN".equals(alert.getMissionStatus()) && alert.getMissionStatus() != null) {
-                throw new RuntimeException("Mission already taken by " + alert.getResponderName());
-            }
-
-            alert.setMissionStatus("ASSIGNED");
-            alert.setResponderName(responderName);
-            return alertRepository.save(alert);
-        }).orElseThrow(() -> new RuntimeException("Alert not found"));
+    public Alert assignMission(@PathVariable String id, @RequestParam String responderName,
+            @RequestParam(required = false) String responderId) {
+        return missionClaimService.claim(id, responderName, responderId);
+    }
+
+    // 5. Claim several missions for one responder; one outcome per mission
+    @PostMapping("/claims")
+    public List<MissionClaimResultDTO> claimMissions(@RequestBody ClaimMissionsRequest request) {
+        return missionClaimService.claimAll(request.getAlertIds(), request.getResponderName(),
+                request.getResponderId());
+    }
+
+    // 6. Claim contention metrics
+    @GetMapping("/claims/metrics")
+    public Map<String, Object> getClaimMetrics() {
+        return missionClaimService.getStats();
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.india.idro.controller;
 import com.india.idro.model.Alert;
 import com.india.idro.repository.AlertRepository;
 import com.india.idro.service.AnalyticsService;
+import com.india.idro.service.realtime.RealtimeChangeRelay;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +21,9 @@ public class AnalyticsController {
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private RealtimeChangeRelay realtimeChangeRelay;
+
     @GetMapping("/impact/{id}")
     public ResponseEntity<Map<String, Object>> getImpact(@PathVariable String id) {
         // ✅ SAFER LOGIC: Returns 404 if ID is wrong, instead of crashing with RuntimeException
@@ -37,4 +41,10 @@ public class AnalyticsController {
     public ResponseEntity<Map<String, String>> getPrediction() {
         return ResponseEntity.ok(analyticsService.predictNextThreat());
     }
+
+    // WebSocket change push counters (batching window, coalesced vs sent)
+    @GetMapping("/realtime")
+    public ResponseEntity<Map<String, Object>> getRealtimeStats() {
+        return ResponseEntity.ok(realtimeChangeRelay.getStats());
+    }
 }
\ No newline at end of file
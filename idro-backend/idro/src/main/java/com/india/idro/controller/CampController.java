@@ -1,10 +1,18 @@
 package com.india.idro.controller;
 
+import com.india.idro.dto.AdjustCampCountsRequest;
+import com.india.idro.dto.CampSnapshotDTO;
+import com.india.idro.dto.CampSummaryDTO;
+import com.india.idro.dto.GeoMatchDTO;
+import com.india.idro.dto.ResponderDTO;
 import com.india.idro.model.Camp;
 import com.india.idro.model.Stock;
 import com.india.idro.model.enums.CampStatus;
 import com.india.idro.repository.CampRepository;
+import com.india.idro.service.CampDeltaPublisher;
 import com.india.idro.service.CampService;
+import com.india.idro.service.GeoQueryService;
+import com.india.idro.service.PageQueryService;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
@@ -12,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/camps")
@@ -21,11 +30,40 @@ public class CampController {
 
     private final CampService campService;
     private final CampRepository campRepository;
+    private final GeoQueryService geoQueryService;
+    private final CampDeltaPublisher campDeltaPublisher;
 
     // GET /api/camps
+    // GET /api/camps?size=50&sort=urgencyScore,desc&cursor=... (paged)
+    // GET /api/camps?view=summary (CampSummaryDTO, no stock/incomingAid/image)
     @GetMapping
-    public ResponseEntity<List<Camp>> getAllCamps() {
-        return ResponseEntity.ok(campService.getAllCamps());
+    public ResponseEntity<?> getAllCamps(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "full") String view) {
+        boolean summary = ListView.isSummary(view);
+        if (!PageQueryService.isPaged(page, size, cursor, sort)) {
+            return ResponseEntity.ok(summary ? campService.getCampSummaries() : campService.getAllCamps());
+        }
+        return ResponseEntity.ok(summary
+                ? campService.getCampSummaryPage(page, size, cursor, sort)
+                : campService.getCampPage(page, size, cursor, sort));
+    }
+
+    // GET /api/camps/deltas/snapshot?alertId=
+    // Camps plus the delta stream seq they reflect (snapshot-then-deltas, see CampDeltaPublisher)
+    @GetMapping("/deltas/snapshot")
+    public ResponseEntity<CampSnapshotDTO> getCampSnapshot(@RequestParam(required = false) String alertId) {
+        return ResponseEntity.ok(campService.getCampSnapshot(alertId));
+    }
+
+    // GET /api/camps/deltas/stats
+    // Conflation counters of the camp delta stream
+    @GetMapping("/deltas/stats")
+    public ResponseEntity<Map<String, Object>> getCampDeltaStats() {
+        return ResponseEntity.ok(campDeltaPublisher.getStats());
     }
 
     // GET /api/camps/{id}
@@ -36,6 +74,22 @@ public class CampController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // GET /api/camps/{id}/responders?k=5
+    // Nearest available NGOs / agencies to the camp, with distance in km
+    @GetMapping("/{id}/responders")
+    public ResponseEntity<List<GeoMatchDTO<ResponderDTO>>> getNearestResponders(@PathVariable String id,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(geoQueryService.findNearestResponders(id, k));
+    }
+
+    // GET /api/camps/near-alert/{alertId}?radiusKm=25
+    // Camps (summary view) within radiusKm of the alert, nearest first
+    @GetMapping("/near-alert/{alertId}")
+    public ResponseEntity<List<GeoMatchDTO<CampSummaryDTO>>> getCampsNearAlert(@PathVariable String alertId,
+            @RequestParam(defaultValue = "25") double radiusKm) {
+        return ResponseEntity.ok(geoQueryService.findCampsNearAlert(alertId, radiusKm));
+    }
+
     // GET /api/camps/status/{status}
     @GetMapping("/status/{status}")
     public ResponseEntity<List<Camp>> getCampsByStatus(@PathVariable CampStatus status) {
@@ -81,43 +135,36 @@ public class CampController {
     }
 
     // PUT /api/camps/{id}
+    // Include "version" from the last read to reject stale overwrites (409)
     @PutMapping("/{id}")
     public ResponseEntity<Camp> updateCamp(@PathVariable String id, @RequestBody Camp camp) {
-        try {
-            return ResponseEntity.ok(campService.updateCamp(id, camp));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok(campService.updateCamp(id, camp));
     }
 
     // PATCH /api/camps/{id}/status
     @PatchMapping("/{id}/status")
     public ResponseEntity<Camp> updateCampStatus(@PathVariable String id, @RequestBody CampStatus status) {
-        try {
-            return ResponseEntity.ok(campService.updateCampStatus(id, status));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok(campService.updateCampStatus(id, status));
     }
 
     // PATCH /api/camps/{id}/stock
     @PatchMapping("/{id}/stock")
     public ResponseEntity<Camp> updateCampStock(@PathVariable String id, @RequestBody Stock stock) {
-        try {
-            return ResponseEntity.ok(campService.updateCampStock(id, stock));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok(campService.updateCampStock(id, stock));
     }
 
     // PATCH /api/camps/{id}/population
     @PatchMapping("/{id}/population")
     public ResponseEntity<Camp> updateCampPopulation(@PathVariable String id, @RequestBody Integer population) {
-        try {
-            return ResponseEntity.ok(campService.updateCampPopulation(id, population));
-        } catch (RuntimeException e) {
-            return ResponseEntity.notFound().build();
-        }
+        return ResponseEntity.ok(campService.updateCampPopulation(id, population));
+    }
+
+    // PATCH /api/camps/{id}/counts  {"populationDelta": 12, "injuredDelta": 2}
+    @PatchMapping("/{id}/counts")
+    public ResponseEntity<Camp> adjustCampCounts(@PathVariable String id,
+            @RequestBody AdjustCampCountsRequest request) {
+        return ResponseEntity.ok(
+                campService.adjustCampCounts(id, request.getPopulationDelta(), request.getInjuredDelta()));
     }
 
     // DELETE /api/camps/{id}
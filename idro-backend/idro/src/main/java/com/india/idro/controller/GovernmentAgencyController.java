@@ -3,6 +3,8 @@ package com.india.idro.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -26,6 +28,8 @@ import com.india.idro.service.GovernmentAgencyService;
 @CrossOrigin(origins = "*")
 public class GovernmentAgencyController {
 
+    private static final Logger logger = LoggerFactory.getLogger(GovernmentAgencyController.class);
+
     @Autowired
     private GovernmentAgencyService agencyService;
 
@@ -34,11 +38,11 @@ public class GovernmentAgencyController {
         String agencyId = loginRequest.get("agencyId");
         String password = loginRequest.get("password");
 
-        System.out.println("🔐 Government Agency Login Attempt: " + agencyId);
+        logger.info("Government agency login attempt agencyId={}", agencyId);
 
-        GovernmentAgency agency = agencyService.getAgencyByAgencyId(agencyId);
+        GovernmentAgency agency = agencyService.authenticateAgency(agencyId, password);
 
-        if (agency != null && password != null && password.equals(agency.getPassword())) {
+        if (agency != null) {
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Login successful",
@@ -66,7 +70,7 @@ public class GovernmentAgencyController {
             @PathVariable String agencyId,
             @RequestBody Map<String, String> request) {
 
-        System.out.println("🟢 Updating availability for Agency: " + agencyId);
+        logger.info("Updating agency availability agencyId={}", agencyId);
 
         AvailabilityStatus status = request.get("availabilityStatus") != null
                 ? AvailabilityStatus.valueOf(request.get("availabilityStatus"))
@@ -95,7 +99,7 @@ public class GovernmentAgencyController {
             @PathVariable String agencyId,
             @RequestBody Map<String, List<ResourceItem>> resources) {
 
-        System.out.println("📦 Updating resources for Agency: " + agencyId);
+        logger.info("Updating agency resources agencyId={}", agencyId);
 
         GovernmentAgency updatedAgency = agencyService.updateResources(agencyId, resources);
 
@@ -107,17 +111,23 @@ public class GovernmentAgencyController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<GovernmentAgency>> getAllAgencies(
-            @org.springframework.web.bind.annotation.RequestParam(required = false) String disasterId) {
-        System.out.println(
-                "📋 Fetching Government Agencies for context: " + (disasterId != null ? disasterId : "GLOBAL"));
+    public ResponseEntity<?> getAllAgencies(
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String disasterId,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "full") String view) {
+        logger.debug("Fetching government agencies disasterId={} view={}", disasterId != null ? disasterId : "GLOBAL",
+                view);
+
+        // Roster view: password and resources are never read from Mongo
+        if (ListView.isSummary(view)) {
+            return ResponseEntity.ok(agencyService.getAgencySummaries(disasterId));
+        }
         List<GovernmentAgency> agencies = agencyService.getAllAgencies(disasterId);
         return ResponseEntity.ok(agencies);
     }
 
     @GetMapping("/init")
     public ResponseEntity<String> initialize() {
-        System.out.println("🛠️ Manual Government Agency Initialization Triggered");
+        logger.info("Manual government agency initialization triggered");
         agencyService.initializeDemoAgencies();
         return ResponseEntity
                 .ok("Government Agency Demo accounts initialization triggered. Check console for details.");
@@ -1,16 +1,30 @@
 package com.india.idro.controller;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.india.idro.dto.ImpactAnalysisSummaryDTO;
+import com.india.idro.dto.WhatIfScenarioDTO;
 import com.india.idro.service.ImpactAnalysisService;
+import com.india.idro.service.WhatIfScenarioService;
+import com.india.idro.service.analysis.Deadline;
+import com.india.idro.service.analysis.MissionProgressTracker;
 
 @RestController
 @RequestMapping("/api/impact-analysis")
@@ -22,17 +36,39 @@ public class ImpactAnalysisController {
     @Autowired
     private ImpactAnalysisService impactAnalysisService;
 
+    @Autowired
+    private MissionProgressTracker progressTracker;
+
+    @Autowired
+    private WhatIfScenarioService whatIfScenarioService;
+
+    @Autowired
+    @Qualifier("campAnalysisExecutor")
+    private ExecutorService campAnalysisExecutor;
+
+    @Value("${idro.impact-analysis.stream-timeout:5m}")
+    private Duration streamTimeout;
+
     /**
-     * GET /api/impact-analysis/{missionId}
+     * GET /api/impact-analysis/{missionId}?totalsOnly=false&deadlineMs=
      * Fetches AI-driven impact analysis for a specific mission/disaster.
+     * With totalsOnly=true only the mission roll-up is returned, without the camp list.
+     * deadlineMs bounds the whole analysis (default idro.impact-analysis.deadline);
+     * camps the ML server cannot answer in time are listed in degradedCampIds.
      */
     @GetMapping("/{missionId}")
-    public ResponseEntity<?> getMissionImpact(@PathVariable String missionId) {
-        logger.info("Received request for impact analysis of mission ID: {}", missionId);
+    public ResponseEntity<?> getMissionImpact(@PathVariable String missionId,
+            @RequestParam(defaultValue = "false") boolean totalsOnly,
+            @RequestParam(required = false) Long deadlineMs) {
+        logger.info("Received request for impact analysis of mission ID: {} (totalsOnly: {}, deadlineMs: {})",
+                missionId, totalsOnly, deadlineMs);
 
+        // Starts the clock on arrival; an invalid budget is a 400
+        Deadline deadline = impactAnalysisService.startDeadline(deadlineMs);
         try {
-            com.india.idro.dto.ImpactAnalysisResponseDTO analysis = impactAnalysisService
-                    .analyzeMissionImpact(missionId);
+            com.india.idro.dto.ImpactAnalysisResponseDTO analysis = totalsOnly
+                    ? impactAnalysisService.analyzeMissionTotals(missionId, deadline)
+                    : impactAnalysisService.analyzeMissionImpact(missionId, deadline);
             return ResponseEntity.ok(analysis);
 
         } catch (RuntimeException e) {
@@ -46,4 +82,83 @@ public class ImpactAnalysisController {
             return ResponseEntity.internalServerError().body("Unexpected error: " + e.getMessage());
         }
     }
+
+    /**
+     * GET /api/impact-analysis/{missionId}/stream?deadlineMs=
+     * Streams the analysis as server-sent events: one "camp" event per camp as
+     * soon as it is analyzed, then a single "summary" event. Failures are sent
+     * as an "error" event before the stream closes.
+     * deadlineMs defaults to idro.impact-analysis.stream-deadline.
+     */
+    @GetMapping(value = "/{missionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMissionImpact(@PathVariable String missionId,
+            @RequestParam(required = false) Long deadlineMs) {
+        logger.info("Received streaming impact analysis request for mission ID: {} (deadlineMs: {})", missionId,
+                deadlineMs);
+
+        Deadline deadline = impactAnalysisService.startStreamDeadline(deadlineMs);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        campAnalysisExecutor.execute(() -> {
+            try {
+                ImpactAnalysisSummaryDTO summary = impactAnalysisService.streamMissionImpact(missionId, deadline,
+                        analysis -> {
+                            try {
+                                emitter.send(SseEmitter.event()
+                                        .id(analysis.getCampId())
+                                        .name("camp")
+                                        .data(analysis, MediaType.APPLICATION_JSON));
+                            } catch (IOException e) {
+                                throw new IllegalStateException("Client disconnected", e);
+                            }
+                        });
+                emitter.send(SseEmitter.event().name("summary").data(summary, MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException e) {
+                logger.debug("Impact analysis stream for mission {} closed by client", missionId);
+                emitter.completeWithError(e);
+            } catch (RuntimeException e) {
+                logger.error("Error streaming analysis for mission {}: {}", missionId, e.getMessage());
+                sendError(emitter, e.getMessage() != null && e.getMessage().contains("Mission not found")
+                        ? "Mission not found"
+                        : "An error occurred: " + e.getMessage());
+            }
+        });
+        return emitter;
+    }
+
+    private void sendError(SseEmitter emitter, String message) {
+        try {
+            emitter.send(SseEmitter.event().name("error").data(message));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * GET /api/impact-analysis/what-if?state=&populationScale=1&injuredScale=1&severity=&urgency=
+     * Estimates requirements for every camp in a state (all camps without state)
+     * with population / injured scaled and optionally a common severity or urgency.
+     */
+    @GetMapping("/what-if")
+    public ResponseEntity<WhatIfScenarioDTO> evaluateWhatIf(
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "1.0") double populationScale,
+            @RequestParam(defaultValue = "1.0") double injuredScale,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) String urgency) {
+        return ResponseEntity.ok(whatIfScenarioService.evaluate(state, populationScale, injuredScale, severity,
+                urgency));
+    }
+
+    /**
+     * GET /api/impact-analysis/{missionId}/progress
+     * Returns live counters for the latest analysis run of a mission.
+     */
+    @GetMapping("/{missionId}/progress")
+    public ResponseEntity<?> getAnalysisProgress(@PathVariable String missionId) {
+        return progressTracker.get(missionId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -0,0 +1,23 @@
+package com.india.idro.controller;
+
+import com.india.idro.exception.BadRequestException;
+
+/**
+ * Parses the ?view= parameter shared by list endpoints.
+ * "full" (default) returns whole documents, "summary" returns the lightweight DTO projection.
+ */
+final class ListView {
+
+    private ListView() {
+    }
+
+    static boolean isSummary(String view) {
+        if (view == null || view.equalsIgnoreCase("full")) {
+            return false;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return true;
+        }
+        throw new BadRequestException("Unsupported view '" + view + "'. Allowed: full, summary");
+    }
+}
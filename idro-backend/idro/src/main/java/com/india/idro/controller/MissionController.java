@@ -1,9 +1,12 @@
 package com.india.idro.controller;
 import com.india.idro.model.Camp;
 import com.india.idro.repository.CampRepository;
+import com.india.idro.service.CampService;
+import com.india.idro.service.PageQueryService;
 
 import java.util.List;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/mission")
@@ -11,14 +14,33 @@ import org.springframework.web.bind.annotation.*;
 public class MissionController {
 
     private final CampRepository campRepository;
+    private final CampService campService;
 
-    public MissionController(CampRepository campRepository) {
+    public MissionController(CampRepository campRepository, CampService campService) {
         this.campRepository = campRepository;
+        this.campService = campService;
     }
 
     // This will power your Mission Control page
+    // Paged when page/size/cursor/sort is given, same parameters as /api/camps
+    // (including view=summary for map markers)
     @GetMapping("/camps")
-    public List<Camp> getAllVolunteerCamps() {
-        return campRepository.findAll();
+    public ResponseEntity<?> getAllVolunteerCamps(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "full") String view) {
+        boolean summary = ListView.isSummary(view);
+        if (!PageQueryService.isPaged(page, size, cursor, sort)) {
+            if (summary) {
+                return ResponseEntity.ok(campService.getCampSummaries());
+            }
+            List<Camp> camps = campRepository.findAll();
+            return ResponseEntity.ok(camps);
+        }
+        return ResponseEntity.ok(summary
+                ? campService.getCampSummaryPage(page, size, cursor, sort)
+                : campService.getCampPage(page, size, cursor, sort));
     }
 }
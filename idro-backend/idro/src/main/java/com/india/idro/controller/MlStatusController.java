@@ -0,0 +1,66 @@
+package com.india.idro.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.india.idro.service.ai.ml.LocalModelPredictor;
+import com.india.idro.service.ai.ml.MlCircuitBreaker;
+import com.india.idro.service.ai.ml.PredictionCache;
+
+/**
+ * Operational endpoints for the ML prediction pipeline.
+ */
+@RestController
+@RequestMapping("/api/ml")
+@CrossOrigin(origins = "*")
+public class MlStatusController {
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Autowired
+    private MlCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private LocalModelPredictor localModelPredictor;
+
+    // GET /api/ml/cache
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(predictionCache.getStats());
+    }
+
+    // DELETE /api/ml/cache
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        predictionCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    // GET /api/ml/circuit
+    @GetMapping("/circuit")
+    public ResponseEntity<Map<String, Object>> getCircuitState() {
+        return ResponseEntity.ok(circuitBreaker.getStats());
+    }
+
+    // GET /api/ml/local-model
+    @GetMapping("/local-model")
+    public ResponseEntity<Map<String, Object>> getLocalModelStats() {
+        return ResponseEntity.ok(localModelPredictor.getStats());
+    }
+
+    // POST /api/ml/local-model/reload - re-read the exported model bundle
+    @PostMapping("/local-model/reload")
+    public ResponseEntity<Map<String, Object>> reloadLocalModel() {
+        localModelPredictor.reload();
+        return ResponseEntity.ok(localModelPredictor.getStats());
+    }
+}
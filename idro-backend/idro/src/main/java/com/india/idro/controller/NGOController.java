@@ -2,6 +2,8 @@ package com.india.idro.controller;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,12 +27,14 @@ import com.india.idro.service.NGOService;
 @CrossOrigin(origins = "*")
 public class NGOController {
 
+    private static final Logger logger = LoggerFactory.getLogger(NGOController.class);
+
     @Autowired
     private NGOService ngoService;
 
     @PostMapping("/login")
     public ResponseEntity<NGOLoginResponse> login(@RequestBody NGOLoginRequest request) {
-        System.out.println("🔐 NGO Login Attempt: " + request.getNgoId());
+        logger.info("NGO login attempt ngoId={}", request.getNgoId());
 
         NGO ngo = ngoService.authenticateNGO(request.getNgoId(), request.getPassword());
 
@@ -67,7 +71,7 @@ public class NGOController {
 
     @PutMapping("/resources")
     public ResponseEntity<?> updateResources(@RequestBody ResourceUpdateRequest request) {
-        System.out.println("📦 Updating resources for NGO: " + request.getNgoId());
+        logger.info("Updating NGO resources ngoId={}", request.getNgoId());
 
         NGO updatedNGO = ngoService.updateResources(
                 request.getNgoId(),
@@ -87,7 +91,7 @@ public class NGOController {
 
     @PutMapping("/availability")
     public ResponseEntity<?> updateAvailability(@RequestBody AvailabilityUpdateRequest request) {
-        System.out.println("🟢 Updating availability for NGO: " + request.getNgoId());
+        logger.info("Updating NGO availability ngoId={}", request.getNgoId());
 
         NGO updatedNGO = ngoService.updateAvailability(
                 request.getNgoId(),
@@ -104,9 +108,15 @@ public class NGOController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<NGO>> getAllNGOs(
-            @org.springframework.web.bind.annotation.RequestParam(required = false) String disasterId) {
-        System.out.println("📋 Fetching NGOs for context: " + (disasterId != null ? disasterId : "GLOBAL"));
+    public ResponseEntity<?> getAllNGOs(
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String disasterId,
+            @org.springframework.web.bind.annotation.RequestParam(defaultValue = "full") String view) {
+        logger.debug("Fetching NGOs disasterId={} view={}", disasterId != null ? disasterId : "GLOBAL", view);
+
+        // Roster view: password and resource maps are never read from Mongo
+        if (ListView.isSummary(view)) {
+            return ResponseEntity.ok(ngoService.getNGOSummaries(disasterId));
+        }
 
         List<NGO> ngos = ngoService.getAllNGOs(disasterId);
 
@@ -118,7 +128,7 @@ public class NGOController {
 
     @GetMapping("/init")
     public ResponseEntity<String> initialize() {
-        System.out.println("🛠️ Manual NGO Initialization Triggered");
+        logger.info("Manual NGO initialization triggered");
         ngoService.initializeDemoAccounts();
         return ResponseEntity.ok("NGO Demo accounts initialization triggered. Check console for details.");
     }
@@ -0,0 +1,64 @@
+package com.india.idro.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.india.idro.model.RuleSet;
+import com.india.idro.service.ai.rules.RuleSetRegistry;
+
+/**
+ * Requirement rule sets: inspect the active version, publish a new one or
+ * roll back, all without a redeploy.
+ */
+@RestController
+@RequestMapping("/api/rules")
+@CrossOrigin(origins = "*")
+public class RuleSetController {
+
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
+
+    // GET /api/rules
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getActiveRuleSet() {
+        return ResponseEntity.ok(ruleSetRegistry.getStats());
+    }
+
+    // GET /api/rules/versions
+    @GetMapping("/versions")
+    public ResponseEntity<List<RuleSet>> getVersions() {
+        return ResponseEntity.ok(ruleSetRegistry.listVersions());
+    }
+
+    // POST /api/rules - store a new version and activate it
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> publishRuleSet(@RequestBody RuleSet ruleSet) {
+        ruleSetRegistry.publish(ruleSet);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ruleSetRegistry.getStats());
+    }
+
+    // POST /api/rules/{version}/activate - switch to an existing version
+    @PostMapping("/{version}/activate")
+    public ResponseEntity<Map<String, Object>> activateRuleSet(@PathVariable String version) {
+        ruleSetRegistry.activate(version);
+        return ResponseEntity.ok(ruleSetRegistry.getStats());
+    }
+
+    // POST /api/rules/reload - re-read the configured source now
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reloadRuleSet() {
+        ruleSetRegistry.reload();
+        return ResponseEntity.ok(ruleSetRegistry.getStats());
+    }
+}
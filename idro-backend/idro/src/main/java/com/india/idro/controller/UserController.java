@@ -2,6 +2,8 @@ package com.india.idro.controller;
 
 import com.india.idro.model.User;
 import com.india.idro.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +16,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*") // ✅ THIS ALLOWS REACT TO CONNECT
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserService userService;
 
@@ -33,7 +37,7 @@ public class UserController {
         String password = loginData.get("password");
         String role = loginData.get("role");
 
-        System.out.println("Login Attempt: " + username + " as " + role); // ✅ Debug Print
+        logger.info("User login attempt username={} role={}", username, role);
 
         User user = userService.loginUser(username, password, role);
 
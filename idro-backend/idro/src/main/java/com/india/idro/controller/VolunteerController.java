@@ -3,6 +3,8 @@ package com.india.idro.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -21,6 +23,8 @@ import com.india.idro.service.VolunteerService;
 @CrossOrigin(origins = "*")
 public class VolunteerController {
 
+    private static final Logger logger = LoggerFactory.getLogger(VolunteerController.class);
+
     @Autowired
     private VolunteerService volunteerService;
 
@@ -29,30 +33,25 @@ public class VolunteerController {
         String volunteerId = loginRequest.get("volunteerId");
         String password = loginRequest.get("password");
 
-        System.out.println("🔐 Volunteer Login Attempt: " + volunteerId);
-        System.out.println("📝 Received password: " + password);
+        logger.info("Volunteer login attempt volunteerId={}", volunteerId);
 
         Volunteer volunteer = volunteerService.getVolunteerByVolunteerId(volunteerId);
 
         if (volunteer == null) {
-            System.out.println("❌ Volunteer not found: " + volunteerId);
+            logger.debug("Volunteer not found volunteerId={}", volunteerId);
             return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "Invalid Volunteer ID or Password"));
         }
 
-        System.out.println("✅ Volunteer found: " + volunteer.getName());
-        System.out.println("🔑 Stored password: " + volunteer.getPassword());
-        System.out.println("🔍 Password match: " + password.equals(volunteer.getPassword()));
-
         if (password != null && password.equals(volunteer.getPassword())) {
-            System.out.println("✅ Login successful for: " + volunteerId);
+            logger.debug("Volunteer login successful volunteerId={}", volunteerId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "message", "Login successful",
                     "volunteer", volunteer));
         } else {
-            System.out.println("❌ Password mismatch for: " + volunteerId);
+            logger.debug("Volunteer password mismatch volunteerId={}", volunteerId);
             return ResponseEntity.status(401).body(Map.of(
                     "success", false,
                     "message", "Invalid Volunteer ID or Password"));
@@ -4,6 +4,10 @@ import com.india.idro.model.Action;
 import com.india.idro.model.Alert;
 import com.india.idro.model.Camp;
 import com.india.idro.model.CoordinationMessage;
+import com.india.idro.service.realtime.RealtimeBroadcaster;
+import com.india.idro.service.realtime.RealtimeTopics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -14,56 +18,58 @@ import org.springframework.stereotype.Controller;
 @Controller
 public class WebSocketController {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketController.class);
+
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private RealtimeBroadcaster broadcaster;
+
     // Handle coordination messages
     @MessageMapping("/coordination")
     @SendTo("/topic/coordination")
     public CoordinationMessage handleCoordinationMessage(@Payload CoordinationMessage message) {
         // Process the coordination message (e.g., save to database if needed)
-        System.out.println("Received coordination message: " + message);
+        logger.debug("Received coordination message type={} user={}", message.getType(), message.getUser());
         return message;
     }
 
-    // Handle alert updates
+    // Handle alert updates (nationwide, mission and state topics)
     @MessageMapping("/alert")
-    @SendTo("/topic/alerts")
-    public Alert handleAlertUpdate(@Payload Alert alert) {
-        System.out.println("Received alert update: " + alert);
-        return alert;
+    public void handleAlertUpdate(@Payload Alert alert) {
+        logger.debug("Received alert update alertId={}", alert.getId());
+        sendAlertUpdate(alert);
     }
 
-    // Handle camp updates
+    // Handle camp updates (nationwide, mission and state topics)
     @MessageMapping("/camp")
-    @SendTo("/topic/camps")
-    public Camp handleCampUpdate(@Payload Camp camp) {
-        System.out.println("Received camp update: " + camp);
-        return camp;
+    public void handleCampUpdate(@Payload Camp camp) {
+        logger.debug("Received camp update campId={}", camp.getId());
+        sendCampUpdate(camp);
     }
 
-    // Handle action updates
+    // Handle action updates (nationwide and mission topics)
     @MessageMapping("/action")
-    @SendTo("/topic/actions")
-    public Action handleActionUpdate(@Payload Action action) {
-        System.out.println("Received action update: " + action);
-        return action;
+    public void handleActionUpdate(@Payload Action action) {
+        logger.debug("Received action update actionId={}", action.getId());
+        sendActionUpdate(action);
     }
 
     // Methods to send messages from other parts of the application
     public void sendAlertUpdate(Alert alert) {
-        messagingTemplate.convertAndSend("/topic/alerts", alert);
+        broadcaster.alert(alert);
     }
 
     public void sendCampUpdate(Camp camp) {
-        messagingTemplate.convertAndSend("/topic/camps", camp);
+        broadcaster.camp(camp);
     }
 
     public void sendCoordinationMessage(CoordinationMessage message) {
-        messagingTemplate.convertAndSend("/topic/coordination", message);
+        messagingTemplate.convertAndSend(RealtimeTopics.COORDINATION, message);
     }
 
     public void sendActionUpdate(Action action) {
-        messagingTemplate.convertAndSend("/topic/actions", action);
+        broadcaster.action(action);
     }
 }
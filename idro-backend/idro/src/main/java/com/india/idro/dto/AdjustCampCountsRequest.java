@@ -0,0 +1,18 @@
+package com.india.idro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Relative change to a camp's head counts (e.g. +12 arrivals, +2 injured).
+ * Applied with $inc, so concurrent intake reports from several volunteers
+ * all count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdjustCampCountsRequest {
+    private int populationDelta;
+    private int injuredDelta;
+}
@@ -0,0 +1,43 @@
+package com.india.idro.dto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fields of a camp changed since the last delta for it, published on
+ * /topic/camps/deltas (and the mission's delta topic) by CampDeltaPublisher.
+ *
+ * changes maps field paths (e.g. "status", "stock.food", "population") to
+ * their new values; a new camp carries all of its fields and a deleted one
+ * only removed=true. version is the camp version after the update, so
+ * clients can drop deltas older than the state they already hold; seq and
+ * epoch place the delta in the stream for snapshot-then-deltas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CampDeltaDTO {
+    private String campId;
+    private String alertId;
+    private Long version;
+    private Map<String, Object> changes = new LinkedHashMap<>();
+    private LocalDateTime updatedAt;
+    private Boolean removed;
+
+    // Set when sent
+    private Long seq;
+    private String epoch;
+
+    public CampDeltaDTO(String campId, String alertId, Long version, Map<String, Object> changes,
+            LocalDateTime updatedAt) {
+        this(campId, alertId, version, changes, updatedAt, null, null, null);
+    }
+}
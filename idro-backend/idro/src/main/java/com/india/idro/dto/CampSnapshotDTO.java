@@ -0,0 +1,25 @@
+package com.india.idro.dto;
+
+import java.util.List;
+
+import com.india.idro.model.Camp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Starting point for a camp delta subscriber: the camps as read after seq
+ * was taken. Apply deltas with a higher seq (and a higher camp version) on
+ * top; see CampDeltaPublisher.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampSnapshotDTO {
+    private String epoch;
+    private long seq;
+    // Null for the nationwide snapshot
+    private String alertId;
+    private List<Camp> camps;
+}
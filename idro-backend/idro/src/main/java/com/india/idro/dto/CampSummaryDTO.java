@@ -0,0 +1,36 @@
+package com.india.idro.dto;
+
+import java.time.LocalDateTime;
+
+import com.india.idro.model.enums.CampStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight camp view for lists and map markers.
+ * Omits stock, incomingAid and image; fetch /api/camps/{id} for those.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampSummaryDTO {
+
+    private String id;
+    private String alertId;
+    private String name;
+    private String location;
+    private CampStatus status;
+    private Integer urgencyScore;
+    private String urgency;
+    private Integer population;
+    private Integer capacity;
+    private int injuredCount;
+    private boolean medicinesNeeded;
+    private String severity;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
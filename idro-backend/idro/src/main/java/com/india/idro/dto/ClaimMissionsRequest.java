@@ -0,0 +1,24 @@
+package com.india.idro.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimMissionsRequest {
+
+    @NotEmpty(message = "At least one mission id is required")
+    private List<String> alertIds;
+
+    @NotBlank(message = "Responder name is required")
+    private String responderName;
+
+    // Optional stable responder id ("ngo:{ngoId}", "agency:{agencyId}" or "user:{userId}")
+    private String responderId;
+}
@@ -0,0 +1,17 @@
+package com.india.idro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a geospatial lookup: the matched item and its great-circle
+ * distance from the query point.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeoMatchDTO<T> {
+    private T item;
+    private double distanceKm;
+}
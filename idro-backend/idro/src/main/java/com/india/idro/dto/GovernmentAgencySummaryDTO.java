@@ -0,0 +1,36 @@
+package com.india.idro.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.india.idro.model.enums.AgencyType;
+import com.india.idro.model.enums.AvailabilityStatus;
+import com.india.idro.model.enums.CoverageRadius;
+import com.india.idro.model.enums.ResponseTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Government agency roster entry. Omits password and resources; fetch
+ * /api/government/{agencyId} for the full profile.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GovernmentAgencySummaryDTO {
+
+    private String id;
+    private String agencyId;
+    private String agencyName;
+    private AgencyType agencyType;
+    private String location;
+    private String contactNumber;
+    private String operatingRegion;
+    private List<String> supportedDisasterTypes;
+    private AvailabilityStatus availabilityStatus;
+    private ResponseTime responseTime;
+    private CoverageRadius coverageRadius;
+    private LocalDateTime lastUpdated;
+}
@@ -3,6 +3,7 @@ package com.india.idro.dto;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.india.idro.model.CampAiAnalysis;
 
 import lombok.AllArgsConstructor;
@@ -16,5 +17,16 @@ public class ImpactAnalysisResponseDTO {
     private String missionId;
     private String disasterType;
     private String severity;
+    // Rule set version the requirements were computed with
+    private String ruleVersion;
+    private MissionTotalsDTO totals;
+
+    // Time budget the analysis ran under
+    private long deadlineMs;
+    // Camps answered from the Rule Engine because the deadline passed before ML responded
+    private List<String> degradedCampIds = new ArrayList<>();
+
+    // Null (and omitted from JSON) in totals-only responses
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<CampAiAnalysis> campAnalysisList = new ArrayList<>();
 }
@@ -0,0 +1,31 @@
+package com.india.idro.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Final event of a streamed impact analysis: mission metadata and run counters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImpactAnalysisSummaryDTO {
+    private String missionId;
+    private String disasterType;
+    private String severity;
+
+    private int totalCamps;
+    private int analyzedCamps;
+    private int reusedCamps;
+    private int failedCamps;
+    private int mlFallbacks;
+    private int degradedCamps;
+    private long elapsedMs;
+    private long deadlineMs;
+    private List<String> degradedCampIds;
+
+    private MissionTotalsDTO totals;
+}
@@ -0,0 +1,30 @@
+package com.india.idro.dto;
+
+import com.india.idro.model.Alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of claiming one mission.
+ *
+ * - CLAIMED: this caller won; alert is the updated mission
+ * - ALREADY_ASSIGNED: the mission was not OPEN; responderName is the current holder
+ * - NOT_FOUND: no mission with that id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissionClaimResultDTO {
+
+    public enum Outcome {
+        CLAIMED, ALREADY_ASSIGNED, NOT_FOUND
+    }
+
+    private String alertId;
+    private Outcome outcome;
+    private String responderName;
+    private String missionStatus;
+    private Alert alert;
+}
@@ -0,0 +1,24 @@
+package com.india.idro.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Mission-wide roll-up of camp requirements.
+ *
+ * - totals: sums over all analyzed camps
+ * - maxima: largest single-camp value of each figure
+ * - byUrgency: sums per urgency bucket (Immediate, 6 Hours, 12 Hours, 24 Hours, Other)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MissionTotalsDTO {
+    private ResourceTotalsDTO totals;
+    private ResourceTotalsDTO maxima;
+    private Map<String, ResourceTotalsDTO> byUrgency = new LinkedHashMap<>();
+}
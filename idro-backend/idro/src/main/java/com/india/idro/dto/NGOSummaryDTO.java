@@ -0,0 +1,35 @@
+package com.india.idro.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.india.idro.model.enums.AvailabilityStatus;
+import com.india.idro.model.enums.CoverageRadius;
+import com.india.idro.model.enums.ResponseTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * NGO roster entry. Omits password and resource maps; fetch
+ * /api/ngo/profile/{ngoId} for the full profile.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NGOSummaryDTO {
+
+    private String id;
+    private String ngoId;
+    private String ngoName;
+    private String city;
+    private String state;
+    private String contactNumber;
+    private String operatingRegion;
+    private List<String> supportedDisasterTypes;
+    private AvailabilityStatus availabilityStatus;
+    private ResponseTime responseTime;
+    private CoverageRadius coverageRadius;
+    private LocalDateTime lastUpdated;
+}
@@ -22,4 +22,7 @@ public class PageResponse<T> {
     private int totalPages;
 
     private boolean last;
+
+    // Opaque keyset cursor for the next page; null on the last page
+    private String nextCursor;
 }
\ No newline at end of file
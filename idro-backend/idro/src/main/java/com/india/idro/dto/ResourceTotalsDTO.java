@@ -0,0 +1,24 @@
+package com.india.idro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resource figures over a set of camps (sums or per-camp maxima).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceTotalsDTO {
+    private int camps;
+    private long population;
+    private long injuredCount;
+
+    private long foodPackets;
+    private long waterLiters;
+    private long beds;
+    private long medicalKits;
+    private long volunteers;
+    private long ambulances;
+}
@@ -0,0 +1,29 @@
+package com.india.idro.dto;
+
+import com.india.idro.model.enums.AvailabilityStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A responder (NGO or government agency) as returned by the
+ * nearest-responder lookup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponderDTO {
+
+    public static final String NGO = "NGO";
+    public static final String AGENCY = "AGENCY";
+
+    private String responderType; // NGO or AGENCY
+    private String responderId; // ngoId / agencyId
+    private String name;
+    private String city;
+    private String region; // NGO state / agency operating region
+    private AvailabilityStatus availabilityStatus;
+    private Double latitude;
+    private Double longitude;
+}
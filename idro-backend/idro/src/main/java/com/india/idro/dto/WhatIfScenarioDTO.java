@@ -0,0 +1,35 @@
+package com.india.idro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Requirement estimate for every camp in a state (or all camps) under a
+ * what-if scenario.
+ *
+ * - totals: sums of the scenario-adjusted figures
+ * - highRiskCamps: camps whose rule risk score is at least highRiskThreshold
+ * - snapshotAgeMs / evaluationMicros: age of the cached camp columns and
+ *   time spent evaluating them
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WhatIfScenarioDTO {
+    private String state;
+    private double populationScale;
+    private double injuredScale;
+    private String severity;
+    private String urgency;
+    private String ruleVersion;
+
+    private ResourceTotalsDTO totals;
+    private long toilets;
+    private double averageRiskScore;
+    private int highRiskThreshold;
+    private int highRiskCamps;
+
+    private long snapshotAgeMs;
+    private long evaluationMicros;
+}
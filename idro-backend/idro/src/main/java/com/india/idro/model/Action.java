@@ -1,10 +1,26 @@
 package com.india.idro.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
 @Document(collection = "actions")
+@CompoundIndexes({
+        // Paged listing sort (see PageQueryService), tie-broken on _id; also findByTimestampAfter
+        @CompoundIndex(name = "timestamp_id", def = "{'timestamp': -1, '_id': -1}"),
+        // findByPriority (exact match, then time range)
+        @CompoundIndex(name = "priority_timestamp", def = "{'priority': 1, 'timestamp': -1}"),
+        // Recent high-priority actions: any letter case, then time range
+        // (used by ActionRepository.findByPriorityAndTimestampAfter, same collation)
+        @CompoundIndex(name = "priority_ci_timestamp", def = "{'priority': 1, 'timestamp': -1}",
+                collation = Collations.CASE_INSENSITIVE),
+        // findByRole / findByRoleAndPriority
+        @CompoundIndex(name = "role_priority", def = "{'role': 1, 'priority': 1}"),
+        @CompoundIndex(name = "alertId_timestamp", def = "{'alertId': 1, 'timestamp': -1}"),
+        @CompoundIndex(name = "userId_timestamp", def = "{'userId': 1, 'timestamp': -1}")
+})
 public class Action {
 
     @Id
@@ -2,13 +2,27 @@ package com.india.idro.model;
 
 import java.time.LocalDateTime;
 
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.india.idro.model.enums.AlertColor;
 import com.india.idro.model.enums.AlertType;
 
 @Document(collection = "alerts")
+@CompoundIndexes({
+        // Paged listing sorts (see PageQueryService), tie-broken on _id
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "trustScore_id", def = "{'trustScore': -1, '_id': -1}"),
+        // findByType / findByTypeAndColor
+        @CompoundIndex(name = "type_color", def = "{'type': 1, 'color': 1}")
+})
 public class Alert {
 
     @Id
@@ -19,6 +33,12 @@ public class Alert {
     private String location;
     private Double latitude;
     private Double longitude;
+
+    // GeoJSON copy of latitude/longitude for the position_2dsphere index,
+    // kept in sync on save by GeoPositionCallback
+    @JsonIgnore
+    @GeoSpatialIndexed(name = "position_2dsphere", type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
     private String magnitude;
     private String impact;
     private String details;
@@ -30,11 +50,15 @@ public class Alert {
     private int affectedCount;
     private int injuredCount;
     private String missing;
+
+    @CreatedDate
     private LocalDateTime createdAt;
 
     // ✅ ADDED STATE FIELD FOR REGIONAL FILTERING
     private String state;
     private String responderName;
+    // Stable id of the claiming responder (see ResponderIds); responderName is display text
+    private String responderId;
     private String urgency;
 
     // --- GETTERS AND SETTERS ---
@@ -102,6 +126,14 @@ public class Alert {
         this.longitude = longitude;
     }
 
+    public GeoJsonPoint getPosition() {
+        return position;
+    }
+
+    public void setPosition(GeoJsonPoint position) {
+        this.position = position;
+    }
+
     public String getMagnitude() {
         return magnitude;
     }
@@ -205,4 +237,12 @@ public class Alert {
     public void setResponderName(String responderName) {
         this.responderName = responderName;
     }
+
+    public String getResponderId() {
+        return responderId;
+    }
+
+    public void setResponderId(String responderId) {
+        this.responderId = responderId;
+    }
 }
\ No newline at end of file
@@ -5,8 +5,15 @@ import java.time.LocalDateTime;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.india.idro.model.enums.CampStatus;
 
 import lombok.AllArgsConstructor;
@@ -17,6 +24,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "camps")
+@CompoundIndexes({
+        // Paged listing sorts (see PageQueryService), tie-broken on _id
+        @CompoundIndex(name = "urgencyScore_id", def = "{'urgencyScore': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        // findByAlertId (impact analysis, camps by mission)
+        @CompoundIndex(name = "alertId_urgencyScore", def = "{'alertId': 1, 'urgencyScore': -1}"),
+        // findByStatus / findByStatusOrderByUrgencyScoreDesc
+        @CompoundIndex(name = "status_urgencyScore", def = "{'status': 1, 'urgencyScore': -1}")
+})
 public class Camp {
 
     @Id
@@ -51,9 +67,20 @@ public class Camp {
     private Double latitude;
     private Double longitude;
 
+    // GeoJSON copy of latitude/longitude for the position_2dsphere index,
+    // kept in sync on save by GeoPositionCallback
+    @JsonIgnore
+    @GeoSpatialIndexed(name = "position_2dsphere", type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    // Optimistic concurrency: save() fails if the stored version moved on;
+    // CampService partial updates ($set/$inc) increment it as well
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -129,6 +129,17 @@ public class CampAiPrediction {
      */
     private List<String> explanations;
 
+    /**
+     * Hash of the camp and mission inputs this prediction was computed from.
+     * Unchanged fingerprint = the prediction can be reused on re-analysis.
+     */
+    private String inputFingerprint;
+
+    /**
+     * Version of the requirement rules that produced this prediction
+     */
+    private String ruleVersion;
+
     // ============================================================
     // Audit Fields
     // ============================================================
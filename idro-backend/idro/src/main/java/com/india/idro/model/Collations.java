@@ -0,0 +1,16 @@
+package com.india.idro.model;
+
+/**
+ * Collations shared by index definitions and repository queries.
+ * A query only uses a collation index when it runs with the same collation.
+ */
+public final class Collations {
+
+    /**
+     * Case-insensitive equality (strength 2 ignores case, keeps diacritics).
+     */
+    public static final String CASE_INSENSITIVE = "{ 'locale': 'en', 'strength': 2 }";
+
+    private Collations() {
+    }
+}
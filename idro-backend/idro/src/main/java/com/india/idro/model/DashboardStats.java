@@ -0,0 +1,62 @@
+package com.india.idro.model;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized command-centre statistics.
+ *
+ * A single document (id "global") kept current with $inc updates from the
+ * alert, camp, action and user write paths, so the dashboard read is one
+ * lookup by _id. Rebuilt from the source collections at startup and on a
+ * schedule to correct drift from writers that bypass the hooks.
+ *
+ * Breakdown keys are upper-cased, with '.' and '$' replaced by '_'
+ * (they become Mongo field names); missing values count under UNKNOWN.
+ */
+@Data
+@NoArgsConstructor
+@Document(collection = "dashboard_stats")
+public class DashboardStats {
+
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id;
+
+    // ============================================================
+    // Alerts / missions
+    // ============================================================
+
+    private long totalAlerts;
+    private long activeMissions;
+    private long closedMissions;
+    private Map<String, Long> alertsByType = new LinkedHashMap<>();
+    private Map<String, Long> alertsByState = new LinkedHashMap<>();
+
+    // ============================================================
+    // Camps
+    // ============================================================
+
+    private long totalCamps;
+    private long criticalCamps; // urgencyScore >= CampRepository.CRITICAL_URGENCY_SCORE
+    private Map<String, Long> campsByStatus = new LinkedHashMap<>();
+
+    // ============================================================
+    // Actions / people
+    // ============================================================
+
+    private long totalActions;
+    private Map<String, Long> actionsByPriority = new LinkedHashMap<>();
+    private long volunteers;
+
+    private LocalDateTime rebuiltAt;
+    private LocalDateTime updatedAt;
+}
@@ -6,8 +6,13 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.india.idro.model.enums.AgencyType;
 import com.india.idro.model.enums.AvailabilityStatus;
 import com.india.idro.model.enums.CoverageRadius;
@@ -19,12 +24,15 @@ public class GovernmentAgency {
     @Id
     private String id;
 
+    @Indexed(name = "agencyId")
     private String agencyId; // Unique agency identifier (e.g., "NDRF-MH-001")
     private String agencyName; // Name of the agency
     private AgencyType agencyType; // Type of government agency
     private String location; // City/District location
     private String contactNumber; // Emergency contact number
     private String password; // Password for login
+    // Case-insensitive index, used by GovernmentAgencyRepository.findByOperatingRegion (same collation)
+    @Indexed(name = "operatingRegion_ci", collation = Collations.CASE_INSENSITIVE)
     private String operatingRegion; // Region of operation (e.g., "Maharashtra", "Western India")
     private List<String> supportedDisasterTypes; // Types of disasters they handle
 
@@ -35,6 +43,16 @@ public class GovernmentAgency {
     private AvailabilityStatus availabilityStatus;
     private ResponseTime responseTime;
     private CoverageRadius coverageRadius;
+
+    // Location coordinates (set from CityCoordinates for the demo accounts)
+    private Double latitude;
+    private Double longitude;
+
+    // GeoJSON copy of latitude/longitude for the position_2dsphere index,
+    // kept in sync on save by GeoPositionCallback
+    @JsonIgnore
+    @GeoSpatialIndexed(name = "position_2dsphere", type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
     private LocalDateTime lastUpdated;
 
     // Constructors
@@ -155,4 +173,28 @@ public class GovernmentAgency {
     public void setLastUpdated(LocalDateTime lastUpdated) {
         this.lastUpdated = lastUpdated;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public GeoJsonPoint getPosition() {
+        return position;
+    }
+
+    public void setPosition(GeoJsonPoint position) {
+        this.position = position;
+    }
 }
@@ -1,9 +1,14 @@
 package com.india.idro.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.india.idro.model.enums.AvailabilityStatus;
 import com.india.idro.model.enums.CoverageRadius;
 import com.india.idro.model.enums.ResponseTime;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -19,10 +24,14 @@ public class NGO {
     private String id;
 
     // Identity Fields (Immutable - Read-only)
+    @Indexed(name = "ngoId")
     private String ngoId;
     private String password;
     private String ngoName;
     private String city;
+
+    // Case-insensitive index, used by NGORepository.findByState (same collation)
+    @Indexed(name = "state_ci", collation = Collations.CASE_INSENSITIVE)
     private String state;
     private String contactNumber;
     private String registrationId;
@@ -41,6 +50,16 @@ public class NGO {
     private CoverageRadius coverageRadius;
     private String additionalNotes;
 
+    // Location coordinates (set from CityCoordinates for the demo accounts)
+    private Double latitude;
+    private Double longitude;
+
+    // GeoJSON copy of latitude/longitude for the position_2dsphere index,
+    // kept in sync on save by GeoPositionCallback
+    @JsonIgnore
+    @GeoSpatialIndexed(name = "position_2dsphere", type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint position;
+
     // Metadata
     private LocalDateTime lastUpdated;
     private LocalDateTime createdAt;
@@ -218,4 +237,28 @@ public class NGO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public GeoJsonPoint getPosition() {
+        return position;
+    }
+
+    public void setPosition(GeoJsonPoint position) {
+        this.position = position;
+    }
 }
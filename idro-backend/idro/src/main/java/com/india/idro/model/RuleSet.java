@@ -0,0 +1,83 @@
+package com.india.idro.model;
+
+import static com.india.idro.service.ai.rules.ResourceStandardConstants.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versioned set of requirement ratios (Sphere-style standards).
+ *
+ * Stored in rule_sets (or read from idro.rules.file) and compiled by
+ * RuleSetRegistry into an immutable CompiledRuleSet. Versions are
+ * immutable: a change is a new version, activated by marking it active.
+ *
+ * - camp: per-camp requirements (impact analysis, rule calculators, what-if)
+ * - alertImpact: alert-level estimate of AnalyticsService.calculateImpact
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rule_sets")
+public class RuleSet {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String version;
+
+    private String description;
+
+    @Indexed
+    private boolean active;
+
+    private CampRatios camp = new CampRatios();
+    private AlertImpactRatios alertImpact = new AlertImpactRatios();
+
+    private LocalDateTime createdAt;
+    private LocalDateTime activatedAt;
+
+    /**
+     * Per-camp ratios (defaults: built-in v1). Divisors are "people (or
+     * injured) per unit", rounded up.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CampRatios {
+        private int foodPacketsPerPerson = FOOD_PACKETS_PER_PERSON_PER_DAY;
+        private int waterLitersPerPerson = WATER_LITERS_PER_PERSON_PER_DAY;
+        private double bedsPerInjured = BED_PER_INJURED_RATIO;
+        private int injuredPerMedicalKit = INJURED_PER_MEDICAL_KIT;
+        private int injuredPerAmbulance = AMBULANCE_PER_INJURED_RATIO;
+        private int peoplePerVolunteer = VOLUNTEER_PER_PERSON_RATIO;
+        private int peoplePerToilet = TOILET_PER_PERSON_RATIO;
+    }
+
+    /**
+     * Alert-level ratios (affected / injured counts reported on the alert).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AlertImpactRatios {
+        private int foodPerPerson = ALERT_FOOD_PER_PERSON;
+        private int waterPerPerson = ALERT_WATER_PER_PERSON;
+        private int injuredPerMedicalTeam = ALERT_INJURED_PER_MEDICAL_TEAM;
+        private int injuredPerAmbulance = ALERT_INJURED_PER_AMBULANCE;
+        private int peoplePerVolunteer = ALERT_PEOPLE_PER_VOLUNTEER;
+        private double shelterShortfallRatio = ALERT_SHELTER_SHORTFALL_RATIO;
+        private int peoplePerRescueBoat = ALERT_PEOPLE_PER_RESCUE_BOAT;
+        private List<String> rescueBoatDisasterTypes = new ArrayList<>(List.of("FLOOD", "CYCLONE"));
+    }
+}
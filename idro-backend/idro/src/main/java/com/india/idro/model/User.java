@@ -2,6 +2,7 @@ package com.india.idro.model;
 
 import com.india.idro.model.enums.UserRole;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
@@ -17,6 +18,7 @@ public class User {
     private String name;
     private String email;
     private String password;
+    @Indexed(name = "role") // countByRole on the dashboard
     private UserRole role;
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -1,6 +1,8 @@
 package com.india.idro.repository;
 
 import com.india.idro.model.Action;
+import com.india.idro.model.Collations;
+import org.springframework.data.mongodb.core.annotation.Collation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -37,12 +39,27 @@ public interface ActionRepository extends MongoRepository<Action, String> {
     // All actions related to a disaster
     List<Action> findByAlertId(String alertId);
 
-    // Smart query: High priority in last 24h
+    // Mission topic authorization (alertId_timestamp index, then userId)
+    boolean existsByAlertIdAndUserId(String alertId, String userId);
+
+    String HIGH_PRIORITY = "HIGH";
+
+    // Priority in any letter case, after a point in time, through the priority_ci_timestamp
+    // collation index (an IgnoreCase derived query would be a regex and could not use it)
+    @Collation(Collations.CASE_INSENSITIVE)
+    List<Action> findByPriorityAndTimestampAfter(String priority, LocalDateTime timestamp);
+
+    @Collation(Collations.CASE_INSENSITIVE)
+    long countByPriorityAndTimestampAfter(String priority, LocalDateTime timestamp);
+
+    // Smart query: High priority in last 24h (filtered by Mongo, not in memory)
     default List<Action> findRecentPriorityActions() {
         LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
-        return findByTimestampAfter(yesterday)
-                .stream()
-                .filter(a -> "HIGH".equalsIgnoreCase(a.getPriority()))
-                .toList();
+        return findByPriorityAndTimestampAfter(HIGH_PRIORITY, yesterday);
+    }
+
+    default long countRecentPriorityActions() {
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        return countByPriorityAndTimestampAfter(HIGH_PRIORITY, yesterday);
     }
 }
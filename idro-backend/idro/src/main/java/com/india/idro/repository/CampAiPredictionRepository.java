@@ -13,9 +13,11 @@ import com.india.idro.model.CampAiPrediction;
  * Repository for CampAiPrediction entity.
  * 
  * Provides data access methods for AI predictions.
+ * Bulk upserts live in {@link CampAiPredictionRepositoryCustom}.
  */
 @Repository
-public interface CampAiPredictionRepository extends MongoRepository<CampAiPrediction, String> {
+public interface CampAiPredictionRepository
+        extends MongoRepository<CampAiPrediction, String>, CampAiPredictionRepositoryCustom {
 
     // ============================================================
     // Query by Relationships
@@ -39,7 +41,7 @@ public interface CampAiPredictionRepository extends MongoRepository<CampAiPredic
 
     /**
      * Find prediction for a specific camp within a mission.
-     * Useful for getting the latest prediction for a camp in a mission.
+     * Unique per (missionId, campId) - see upsertAll.
      * 
      * @param missionId The mission ID
      * @param campId    The camp ID
@@ -0,0 +1,29 @@
+package com.india.idro.repository;
+
+import java.util.List;
+
+import com.india.idro.model.CampAiPrediction;
+
+/**
+ * Custom bulk operations for CampAiPrediction that Spring Data cannot derive.
+ */
+public interface CampAiPredictionRepositoryCustom {
+
+    /**
+     * Upsert predictions in a single unordered bulk write, keyed on
+     * (missionId, campId). Re-running an analysis replaces the previous
+     * prediction for each camp instead of adding a new document.
+     * 
+     * @param predictions Predictions to write
+     * @return Number of documents inserted or modified
+     */
+    int upsertAll(List<CampAiPrediction> predictions);
+
+    /**
+     * Remove duplicate (missionId, campId) documents left by older versions,
+     * keeping the most recently updated one for each pair.
+     * 
+     * @return Number of documents removed
+     */
+    long removeDuplicatePredictions();
+}
@@ -0,0 +1,88 @@
+package com.india.idro.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.india.idro.model.CampAiPrediction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * MongoTemplate-backed implementation of {@link CampAiPredictionRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class CampAiPredictionRepositoryImpl implements CampAiPredictionRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int upsertAll(List<CampAiPrediction> predictions) {
+        if (predictions == null || predictions.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CampAiPrediction.class);
+
+        for (CampAiPrediction prediction : predictions) {
+            Query byPair = new Query(Criteria.where("missionId").is(prediction.getMissionId())
+                    .and("campId").is(prediction.getCampId()));
+            bulk.upsert(byPair, toUpdate(prediction, now));
+        }
+
+        var result = bulk.execute();
+        return result.getUpserts().size() + result.getModifiedCount();
+    }
+
+    @Override
+    public long removeDuplicatePredictions() {
+        // The global $sort runs over the whole collection and can exceed the
+        // 100 MB in-memory stage limit, so let it spill to disk
+        Aggregation duplicates = Aggregation.newAggregation(
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "updatedAt", "createdAt")),
+                Aggregation.group("missionId", "campId").push("_id").as("ids").count().as("count"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).build());
+
+        List<Object> staleIds = new ArrayList<>();
+        mongoTemplate.aggregate(duplicates, CampAiPrediction.class, Document.class)
+                .forEach(group -> {
+                    List<?> ids = group.getList("ids", Object.class);
+                    staleIds.addAll(ids.subList(1, ids.size()));
+                });
+
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(new Query(Criteria.where("_id").in(staleIds)), CampAiPrediction.class)
+                .getDeletedCount();
+    }
+
+    /**
+     * Build a $set of every mapped field except the id and audit dates.
+     * Bulk writes bypass Spring Data auditing, so the dates are set here.
+     */
+    private Update toUpdate(CampAiPrediction prediction, LocalDateTime now) {
+        Document fields = new Document();
+        mongoTemplate.getConverter().write(prediction, fields);
+        fields.remove("_id");
+        fields.remove("createdAt");
+        fields.remove("updatedAt");
+
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.set("updatedAt", now);
+        update.setOnInsert("createdAt", now);
+        return update;
+    }
+}
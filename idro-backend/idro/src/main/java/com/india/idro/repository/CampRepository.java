@@ -2,7 +2,9 @@ package com.india.idro.repository;
 
 import com.india.idro.model.Camp;
 import com.india.idro.model.enums.CampStatus;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -30,11 +32,28 @@ public interface CampRepository extends MongoRepository<Camp, String> {
     // Find all camps ordered by urgency score descending
     List<Camp> findAllByOrderByUrgencyScoreDesc();
 
+    // Projection variant (e.g. CampSummaryDTO): only the projected fields are read
+    <T> List<T> findAllByOrderByUrgencyScoreDesc(Class<T> type);
+
     // Find camps where population is greater than given number
     List<Camp> findByPopulationGreaterThan(Integer population);
 
+    // Urgency score from which a camp counts as critical
+    int CRITICAL_URGENCY_SCORE = 80;
+
+    // Count camps at or above an urgency threshold (server-side count, no documents returned)
+    long countByUrgencyScoreGreaterThanEqual(Integer threshold);
+
     // Find critical camps (urgency score >= 80)
     default List<Camp> findCriticalCamps() {
-        return findByUrgencyScoreGreaterThanEqual(80);
+        return findByUrgencyScoreGreaterThanEqual(CRITICAL_URGENCY_SCORE);
     }
+
+    default long countCriticalCamps() {
+        return countByUrgencyScoreGreaterThanEqual(CRITICAL_URGENCY_SCORE);
+    }
+
+    // Camps within maxDistanceMeters of a point, nearest first (position_2dsphere index)
+    @Query("{ 'position': { '$nearSphere': { '$geometry': ?0, '$maxDistance': ?1 } } }")
+    <T> List<T> findNear(GeoJsonPoint point, double maxDistanceMeters, Class<T> type);
 }
\ No newline at end of file
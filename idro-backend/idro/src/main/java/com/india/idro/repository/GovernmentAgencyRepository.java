@@ -2,9 +2,13 @@ package com.india.idro.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.mongodb.core.annotation.Collation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.india.idro.model.Collations;
 import com.india.idro.model.GovernmentAgency;
 
 @Repository
@@ -12,5 +16,21 @@ public interface GovernmentAgencyRepository extends MongoRepository<GovernmentAg
 
     Optional<GovernmentAgency> findByAgencyId(String agencyId);
 
-    java.util.List<GovernmentAgency> findByOperatingRegionIgnoreCase(String region);
+    boolean existsByAgencyId(String agencyId);
+
+    // Case-insensitive match through the operatingRegion_ci collation index
+    // (an IgnoreCase derived query would be a regex and could not use it)
+    @Collation(Collations.CASE_INSENSITIVE)
+    java.util.List<GovernmentAgency> findByOperatingRegion(String region);
+
+    // Projection variant: only the fields of the given type are read from Mongo
+    @Collation(Collations.CASE_INSENSITIVE)
+    <T> java.util.List<T> findByOperatingRegion(String region, Class<T> type);
+
+    // Within maxDistanceMeters of a point, nearest first (position_2dsphere index)
+    @Query("{ 'position': { '$nearSphere': { '$geometry': ?0, '$maxDistance': ?1 } } }")
+    java.util.List<GovernmentAgency> findNear(GeoJsonPoint point, double maxDistanceMeters);
+
+    @Query("{ 'position': { '$nearSphere': { '$geometry': ?0, '$maxDistance': ?1 } } }")
+    <T> java.util.List<T> findNear(GeoJsonPoint point, double maxDistanceMeters, Class<T> type);
 }
@@ -2,16 +2,36 @@ package com.india.idro.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.mongodb.core.annotation.Collation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.india.idro.model.Collations;
 import com.india.idro.model.NGO;
 
 @Repository
 public interface NGORepository extends MongoRepository<NGO, String> {
     Optional<NGO> findByNgoId(String ngoId);
 
-    java.util.List<NGO> findByStateIgnoreCase(String state);
+    boolean existsByNgoId(String ngoId);
+
+    // Case-insensitive match through the state_ci collation index
+    // (an IgnoreCase derived query would be a regex and could not use it)
+    @Collation(Collations.CASE_INSENSITIVE)
+    java.util.List<NGO> findByState(String state);
+
+    // Projection variant: only the fields of the given type are read from Mongo
+    @Collation(Collations.CASE_INSENSITIVE)
+    <T> java.util.List<T> findByState(String state, Class<T> type);
 
     java.util.List<NGO> findByNgoIdIn(java.util.List<String> ngoIds);
+
+    // Within maxDistanceMeters of a point, nearest first (position_2dsphere index)
+    @Query("{ 'position': { '$nearSphere': { '$geometry': ?0, '$maxDistance': ?1 } } }")
+    java.util.List<NGO> findNear(GeoJsonPoint point, double maxDistanceMeters);
+
+    @Query("{ 'position': { '$nearSphere': { '$geometry': ?0, '$maxDistance': ?1 } } }")
+    <T> java.util.List<T> findNear(GeoJsonPoint point, double maxDistanceMeters, Class<T> type);
 }
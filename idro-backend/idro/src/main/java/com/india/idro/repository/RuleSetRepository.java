@@ -0,0 +1,22 @@
+package com.india.idro.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.india.idro.model.RuleSet;
+
+@Repository
+public interface RuleSetRepository extends MongoRepository<RuleSet, String> {
+
+    // The rule set in force (latest activation wins if several are flagged)
+    Optional<RuleSet> findFirstByActiveTrueOrderByActivatedAtDesc();
+
+    Optional<RuleSet> findByVersion(String version);
+
+    boolean existsByVersion(String version);
+
+    List<RuleSet> findAllByOrderByCreatedAtDesc();
+}
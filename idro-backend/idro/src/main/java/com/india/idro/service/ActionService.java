@@ -3,6 +3,8 @@ package com.india.idro.service;
 import com.india.idro.model.Action;
 import com.india.idro.model.enums.UserRole;
 import com.india.idro.repository.ActionRepository;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,12 +17,17 @@ public class ActionService {
     @Autowired
     private ActionRepository actionRepository;
 
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
     // 1. Create Action
     public Action createAction(Action action) {
         action.setTimestamp(LocalDateTime.now());
         // Default logic if missing
         if (action.getStatus() == null) action.setStatus("PENDING");
-        return actionRepository.save(action);
+        Action saved = actionRepository.save(action);
+        changePublisher.action(ChangeType.CREATED, saved);
+        return saved;
     }
 
     // 2. Get Actions by Role (Fix: Convert Enum to String)
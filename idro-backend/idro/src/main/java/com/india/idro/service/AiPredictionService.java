@@ -2,27 +2,34 @@ package com.india.idro.service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.india.idro.service.ai.ml.MlCircuitBreaker;
+import com.india.idro.service.ai.ml.PredictionCache;
+
 @Service
 public class AiPredictionService {
 
     private static final Logger logger = LoggerFactory.getLogger(AiPredictionService.class);
-    private final String ML_API_URL = "http://127.0.0.1:8000/predict";
+    private static final String PREDICT_PATH = "/predict";
+    private final String ML_API_URL;
     private final RestTemplate restTemplate;
-
-    public AiPredictionService() {
-        // Configure RestTemplate with timeouts to prevent hanging
-        // Connection timeout: 5 seconds (time to establish connection)
-        // Read timeout: 30 seconds (time to wait for ML prediction response)
-        org.springframework.http.client.SimpleClientHttpRequestFactory factory = new org.springframework.http.client.SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000); // 5 seconds
-        factory.setReadTimeout(30000); // 30 seconds
-
-        this.restTemplate = new RestTemplate(factory);
-        logger.info("AiPredictionService initialized with ML API URL: {} (Connection timeout: 5s, Read timeout: 30s)",
-                ML_API_URL);
+    private final PredictionCache predictionCache;
+    private final MlCircuitBreaker circuitBreaker;
+
+    public AiPredictionService(@Qualifier("mlRestTemplate") RestTemplate restTemplate,
+            PredictionCache predictionCache,
+            MlCircuitBreaker circuitBreaker,
+            @Value("${idro.ml.base-url:http://localhost:8000}") String baseUrl) {
+        // Shared, pooled ML RestTemplate (keep-alive + request timeout, see MlClientConfig)
+        this.restTemplate = restTemplate;
+        this.predictionCache = predictionCache;
+        this.circuitBreaker = circuitBreaker;
+        this.ML_API_URL = baseUrl + PREDICT_PATH;
+        logger.info("AiPredictionService initialized with ML API URL: {}", ML_API_URL);
     }
 
     // --- Public Methods ---
@@ -121,17 +128,38 @@ public class AiPredictionService {
     // --- Private Helper ---
 
     private com.india.idro.dto.AiPredictionResponseDTO callMlServer(com.india.idro.dto.AiPredictionRequestDTO request) {
+        // Near-identical requests (same bucket / grid cell) are answered from the cache
+        return predictionCache.get(request, () -> postToMlServer(request));
+    }
+
+    private com.india.idro.dto.AiPredictionResponseDTO postToMlServer(com.india.idro.dto.AiPredictionRequestDTO request) {
+        // Circuit open: skip the network entirely, caller handles the null fallback
+        if (!circuitBreaker.allowRequest()) {
+            logger.debug("ML circuit open - skipping request to {}", ML_API_URL);
+            return null;
+        }
+
         try {
-            logger.info("Sending prediction request to ML Server: {}", request);
+            logger.debug("Sending prediction request to ML Server: {}", request);
 
             com.india.idro.dto.AiPredictionResponseDTO response = restTemplate.postForObject(
-                    ML_API_URL,
+                    PREDICT_PATH,
                     request,
                     com.india.idro.dto.AiPredictionResponseDTO.class);
 
-            logger.info("Received prediction response: {}", response);
+            logger.debug("Received prediction response: {}", response);
+            if (response == null) {
+                circuitBreaker.recordFailure();
+                return null;
+            }
+            circuitBreaker.recordSuccess();
             return response;
 
+        } catch (org.springframework.web.client.RestClientException e) {
+            logger.error("Error calling ML Server at {}: {}", ML_API_URL, e.getMessage());
+            circuitBreaker.recordFailure(e);
+            return null;
+
         } catch (Exception e) {
             logger.error("Error calling ML Server at {}: {}", ML_API_URL, e.getMessage());
             // In a real scenario, we might return a fallback object here too
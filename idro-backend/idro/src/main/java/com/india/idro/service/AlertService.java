@@ -2,6 +2,8 @@ package com.india.idro.service;
 
 import com.india.idro.model.Alert;
 import com.india.idro.repository.AlertRepository;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,16 +15,25 @@ public class AlertService {
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
     public List<Alert> getAllAlerts() {
         return alertRepository.findAll();
     }
 
     public Alert saveAlert(Alert alert) {
-        return alertRepository.save(alert);
+        boolean created = alert.getId() == null;
+        Alert saved = alertRepository.save(alert);
+        changePublisher.alert(created ? ChangeType.CREATED : ChangeType.UPDATED, saved);
+        return saved;
     }
 
    
     public void deleteAlert(String id) {
-        alertRepository.deleteById(id);
+        alertRepository.findById(id).ifPresent(alert -> {
+            alertRepository.deleteById(id);
+            changePublisher.alert(ChangeType.DELETED, alert);
+        });
     }
 }
\ No newline at end of file
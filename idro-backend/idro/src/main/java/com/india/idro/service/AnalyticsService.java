@@ -4,13 +4,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
 import com.india.idro.model.Alert;
-import com.india.idro.model.enums.UserRole;
+import com.india.idro.model.DashboardStats;
 import com.india.idro.repository.AlertRepository;
-import com.india.idro.repository.CampRepository;
-import com.india.idro.repository.UserRepository;
+import com.india.idro.service.ai.rules.CompiledRuleSet;
+import com.india.idro.service.ai.rules.RuleSetRegistry;
 
 @Service
 public class AnalyticsService {
@@ -20,10 +21,13 @@ public class AnalyticsService {
     private AlertRepository alertRepository;
 
     @Autowired
-    private CampRepository campRepository;
+    private MongoTemplate mongoTemplate;
 
     @Autowired
-    private UserRepository userRepository;
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
 
     // --- 1. Impact Analysis (UPDATED WITH AI LOGIC) ---
     public Map<String, Object> calculateImpact(Alert alert) {
@@ -34,43 +38,50 @@ public class AnalyticsService {
         String type = (alert.getType() != null) ? alert.getType().toString() : "";
 
         Map<String, Object> impact = new HashMap<>();
+        CompiledRuleSet rules = ruleSetRegistry.current();
 
-        // Existing Calculations
-        impact.put("foodPerDay", people * 2);
-        impact.put("waterPerDay", people * 3);
-        impact.put("medicalTeams", (int) Math.ceil((double) injured / 40));
-        impact.put("ambulances", (int) Math.ceil((double) injured / 25));
-        impact.put("volunteers", (int) Math.ceil((double) people / 30));
+        // Existing Calculations (ratios from the active rule set)
+        impact.put("foodPerDay", rules.alertFoodPerDay(people));
+        impact.put("waterPerDay", rules.alertWaterPerDay(people));
+        impact.put("medicalTeams", rules.alertMedicalTeams(injured));
+        impact.put("ambulances", rules.alertAmbulances(injured));
+        impact.put("volunteers", rules.alertVolunteers(people));
 
         // --- NEW SMART LOGIC ADDED HERE ---
 
-        // 1. Shelter Shortfall: Assume 40% of affected people have lost homes
-        impact.put("shelterShortfall", (int) (people * 0.4));
+        // 1. Shelter Shortfall: share of affected people assumed to have lost homes
+        impact.put("shelterShortfall", rules.alertShelterShortfall(people));
 
-        // 2. Rescue Boats: Only required for Water Disasters (Flood/Cyclone)
-        // Logic: 1 Boat per 200 people
-        if ("FLOOD".equalsIgnoreCase(type) || "CYCLONE".equalsIgnoreCase(type)) {
-            impact.put("rescueBoats", (int) Math.ceil((double) people / 200));
-        } else {
-            impact.put("rescueBoats", 0); // No boats needed for Fire/Earthquake
-        }
+        // 2. Rescue Boats: Only required for Water Disasters (Flood/Cyclone by default)
+        impact.put("rescueBoats", rules.alertRescueBoats(people, type));
+
+        impact.put("ruleVersion", rules.version());
 
         return impact;
     }
 
     // --- 2. Dashboard Stats ---
+    // Served from the materialized stats document (one lookup by _id),
+    // maintained incrementally by DashboardStatsService
     public Map<String, Object> getDashboardStats() {
+        DashboardStats dashboard = dashboardStatsService.getStats();
         Map<String, Object> stats = new HashMap<>();
 
-        long totalThreats = alertRepository.count();
-        long activeCamps = campRepository.count();
-        long volunteers = userRepository.countByRole(UserRole.VOLUNTEER);
-
-        stats.put("totalThreats", totalThreats);
-        stats.put("activeCamps", activeCamps);
-        stats.put("volunteers", volunteers);
+        stats.put("totalThreats", dashboard.getTotalAlerts());
+        stats.put("activeCamps", dashboard.getTotalCamps());
+        stats.put("volunteers", dashboard.getVolunteers());
         stats.put("systemStatus", "ONLINE");
 
+        stats.put("activeMissions", dashboard.getActiveMissions());
+        stats.put("closedMissions", dashboard.getClosedMissions());
+        stats.put("criticalCamps", dashboard.getCriticalCamps());
+        stats.put("totalActions", dashboard.getTotalActions());
+        stats.put("alertsByType", dashboard.getAlertsByType());
+        stats.put("alertsByState", dashboard.getAlertsByState());
+        stats.put("campsByStatus", dashboard.getCampsByStatus());
+        stats.put("actionsByPriority", dashboard.getActionsByPriority());
+        stats.put("updatedAt", dashboard.getUpdatedAt());
+
         return stats;
     }
 
@@ -78,7 +89,7 @@ public class AnalyticsService {
     public Map<String, String> predictNextThreat() {
         Map<String, String> prediction = new HashMap<>();
 
-        long recentAlerts = alertRepository.count();
+        long recentAlerts = mongoTemplate.estimatedCount(Alert.class);
 
         if (recentAlerts > 5) {
             prediction.put("status", "HIGH RISK");
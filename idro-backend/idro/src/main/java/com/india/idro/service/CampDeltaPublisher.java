@@ -0,0 +1,171 @@
+package com.india.idro.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.service.realtime.RealtimeBroadcaster;
+import com.india.idro.service.realtime.RealtimeTopics;
+
+/**
+ * Publishes per-field camp deltas to WebSocket subscribers, so clients patch
+ * the camp they already hold instead of refetching the whole document.
+ * Each delta goes to /topic/camps/deltas and to its mission's
+ * /topic/missions/{alertId}/camps/deltas.
+ *
+ * Conflation: deltas are held per camp for idro.websocket.camp-deltas.window
+ * and merged (newest value per field wins, by camp version), so a burst of
+ * stock or head-count patches on one camp goes out as one message. A window
+ * of 0 sends every delta immediately.
+ *
+ * Every delta sent gets the next seq of this stream and the stream's epoch
+ * (new on every restart). Late joiners use snapshot-then-deltas:
+ * 1. Subscribe to the delta topic and buffer what arrives.
+ * 2. GET /api/camps/deltas/snapshot: camps plus the seq at read time.
+ * 3. Drop buffered and later deltas with seq <= snapshot seq or a camp
+ *    version not above the one held; apply the rest. A different epoch
+ *    means the server restarted: take a new snapshot.
+ */
+@Component
+public class CampDeltaPublisher {
+
+    public static final String CAMP_DELTA_TOPIC = RealtimeTopics.CAMP_DELTAS;
+
+    private static final Logger logger = LoggerFactory.getLogger(CampDeltaPublisher.class);
+
+    private final RealtimeBroadcaster broadcaster;
+    private final Duration window;
+    private final boolean conflate;
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<String, CampDeltaDTO> pending = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+    private final Object sendLock = new Object();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder fieldsPublished = new LongAdder();
+
+    public CampDeltaPublisher(RealtimeBroadcaster broadcaster, TaskScheduler taskScheduler,
+            @Value("${idro.websocket.camp-deltas.window:250ms}") Duration window) {
+        this.broadcaster = broadcaster;
+        this.window = window;
+        this.conflate = !window.isZero() && !window.isNegative();
+        if (conflate) {
+            taskScheduler.scheduleWithFixedDelay(this::flush, window);
+        }
+
+        logger.info("Camp delta stream epoch={} conflation window={}ms", epoch, window.toMillis());
+    }
+
+    public void publish(CampDeltaDTO delta) {
+        if (delta.getChanges().isEmpty() && !Boolean.TRUE.equals(delta.getRemoved())) {
+            return;
+        }
+        received.increment();
+        CampDeltaDTO held = new CampDeltaDTO(delta.getCampId(), delta.getAlertId(), delta.getVersion(),
+                new LinkedHashMap<>(delta.getChanges()), delta.getUpdatedAt(), delta.getRemoved(), null, null);
+        if (!conflate) {
+            send(held);
+            return;
+        }
+        pending.merge(delta.getCampId(), held, this::merge);
+    }
+
+    /**
+     * Send everything held; runs every window.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (String campId : pending.keySet()) {
+            CampDeltaDTO delta = pending.remove(campId);
+            if (delta != null) {
+                send(delta);
+            }
+        }
+    }
+
+    /**
+     * Seq of the last delta sent. Read before loading a snapshot's camps: any
+     * write not reflected in the snapshot is sent later with a higher seq.
+     */
+    public long currentSeq() {
+        return seq.get();
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public Map<String, Object> getStats() {
+        long receivedCount = received.sum();
+        long publishedCount = published.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("epoch", epoch);
+        stats.put("seq", seq.get());
+        stats.put("windowMs", window.toMillis());
+        stats.put("pendingCamps", pending.size());
+        stats.put("received", receivedCount);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("published", publishedCount);
+        stats.put("conflationRatio", publishedCount == 0 ? 0.0 : (double) receivedCount / publishedCount);
+        stats.put("avgFieldsPerDelta", publishedCount == 0 ? 0.0 : (double) fieldsPublished.sum() / publishedCount);
+        return stats;
+    }
+
+    // ==================== Conflation ====================
+
+    /**
+     * Fold a newer (or late-arriving older) delta into the one held for the
+     * camp. Values from the higher camp version win; a removal is final.
+     */
+    private CampDeltaDTO merge(CampDeltaDTO held, CampDeltaDTO incoming) {
+        coalesced.increment();
+        if (Boolean.TRUE.equals(held.getRemoved())) {
+            return held;
+        }
+        if (Boolean.TRUE.equals(incoming.getRemoved())) {
+            return incoming;
+        }
+        if (versionOf(incoming) >= versionOf(held)) {
+            held.getChanges().putAll(incoming.getChanges());
+            held.setVersion(incoming.getVersion());
+            held.setUpdatedAt(incoming.getUpdatedAt());
+        } else {
+            incoming.getChanges().forEach(held.getChanges()::putIfAbsent);
+        }
+        if (held.getAlertId() == null) {
+            held.setAlertId(incoming.getAlertId());
+        }
+        return held;
+    }
+
+    private static long versionOf(CampDeltaDTO delta) {
+        return delta.getVersion() != null ? delta.getVersion() : -1L;
+    }
+
+    private void send(CampDeltaDTO delta) {
+        // Seq order is send order
+        synchronized (sendLock) {
+            delta.setSeq(seq.incrementAndGet());
+            delta.setEpoch(epoch);
+            broadcaster.campDelta(delta);
+        }
+        published.increment();
+        fieldsPublished.add(delta.getChanges().size());
+    }
+}
@@ -1,15 +1,40 @@
 package com.india.idro.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.dto.CampSnapshotDTO;
+import com.india.idro.dto.CampSummaryDTO;
+import com.india.idro.dto.PageResponse;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.exception.ConflictException;
 import com.india.idro.exception.ResourceNotFoundException;
 import com.india.idro.model.Camp;
 import com.india.idro.model.Stock;
 import com.india.idro.model.enums.CampStatus;
 import com.india.idro.repository.CampRepository;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 
 import lombok.RequiredArgsConstructor;
 
@@ -17,7 +42,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class CampService {
 
+    private static final PageQueryService.SortOptions CAMP_SORT = PageQueryService.SortOptions
+            .of(Sort.Direction.DESC, "urgencyScore", "createdAt");
+
     private final CampRepository campRepository;
+    private final MongoTemplate mongoTemplate;
+    private final PageQueryService pageQueryService;
+    private final DashboardStatsService dashboardStatsService;
+    private final CampDeltaPublisher campDeltaPublisher;
+    private final EntityChangePublisher changePublisher;
 
     // Create new camp
     public Camp createCamp(Camp camp) {
@@ -27,7 +60,10 @@ public class CampService {
                 throw new IllegalArgumentException("Injured count cannot exceed current population");
             }
         }
-        return campRepository.save(camp);
+        Camp saved = campRepository.save(camp);
+        dashboardStatsService.campCreated(saved);
+        publishChange(ChangeType.CREATED, saved, Map.of());
+        return saved;
     }
 
     // Get all camps
@@ -35,6 +71,21 @@ public class CampService {
         return campRepository.findAllByOrderByUrgencyScoreDesc();
     }
 
+    // Get one page of camps (offset or keyset); sort = urgencyScore|createdAt[,asc|desc]
+    public PageResponse<Camp> getCampPage(Integer page, Integer size, String cursor, String sort) {
+        return pageQueryService.findPage(Camp.class, null, CAMP_SORT, page, size, cursor, sort);
+    }
+
+    // Get all camps as summaries (no stock, incomingAid or image read from Mongo)
+    public List<CampSummaryDTO> getCampSummaries() {
+        return campRepository.findAllByOrderByUrgencyScoreDesc(CampSummaryDTO.class);
+    }
+
+    // Get one page of camp summaries
+    public PageResponse<CampSummaryDTO> getCampSummaryPage(Integer page, Integer size, String cursor, String sort) {
+        return pageQueryService.findPage(Camp.class, CampSummaryDTO.class, null, CAMP_SORT, page, size, cursor, sort);
+    }
+
     // Get camp by ID
     public Optional<Camp> getCampById(String id) {
         return campRepository.findById(id);
@@ -67,6 +118,9 @@ public class CampService {
     }
 
     // Update camp
+    // Full update (PUT). If the body carries a version it must match the stored
+    // one; concurrent changes between load and save are rejected by @Version.
+    // Both surface as OptimisticLockingFailureException (409).
     public Camp updateCamp(String id, Camp updatedCamp) {
         // Validation: Injured count cannot exceed population
         if (updatedCamp.getPopulation() != null) {
@@ -75,57 +129,144 @@ public class CampService {
             }
         }
 
-        return campRepository.findById(id)
-                .map(existingCamp -> {
-                    existingCamp.setName(updatedCamp.getName());
-                    existingCamp.setStatus(updatedCamp.getStatus());
-                    existingCamp.setUrgencyScore(updatedCamp.getUrgencyScore());
-                    existingCamp.setPopulation(updatedCamp.getPopulation());
-                    existingCamp.setInjuredCount(updatedCamp.getInjuredCount());
-                    existingCamp.setMedicinesNeeded(updatedCamp.isMedicinesNeeded());
-                    existingCamp.setStock(updatedCamp.getStock());
-                    existingCamp.setIncomingAid(updatedCamp.getIncomingAid());
-                    existingCamp.setImage(updatedCamp.getImage());
-                    existingCamp.setLatitude(updatedCamp.getLatitude());
-                    existingCamp.setLongitude(updatedCamp.getLongitude());
-                    return campRepository.save(existingCamp);
-                })
+        Camp existingCamp = campRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Camp", "id", id));
+        if (updatedCamp.getVersion() != null && !updatedCamp.getVersion().equals(existingCamp.getVersion())) {
+            throw new OptimisticLockingFailureException("Camp " + id + " was modified (version "
+                    + existingCamp.getVersion() + ", request had " + updatedCamp.getVersion() + "); reload and retry");
+        }
+
+        DashboardStatsService.CampKey before = DashboardStatsService.CampKey.of(existingCamp);
+        Map<String, Object> beforeFields = deltaFields(existingCamp);
+        existingCamp.setName(updatedCamp.getName());
+        existingCamp.setStatus(updatedCamp.getStatus());
+        existingCamp.setUrgencyScore(updatedCamp.getUrgencyScore());
+        existingCamp.setPopulation(updatedCamp.getPopulation());
+        existingCamp.setInjuredCount(updatedCamp.getInjuredCount());
+        existingCamp.setMedicinesNeeded(updatedCamp.isMedicinesNeeded());
+        existingCamp.setStock(updatedCamp.getStock());
+        existingCamp.setIncomingAid(updatedCamp.getIncomingAid());
+        existingCamp.setImage(updatedCamp.getImage());
+        existingCamp.setLatitude(updatedCamp.getLatitude());
+        existingCamp.setLongitude(updatedCamp.getLongitude());
+
+        Camp saved = campRepository.save(existingCamp);
+        dashboardStatsService.campUpdated(before, saved);
+        publishChange(ChangeType.UPDATED, saved, beforeFields);
+        return saved;
     }
 
-    // Update camp status only
+    // Update camp status only ($set, single round trip)
     public Camp updateCampStatus(String id, CampStatus status) {
-        return campRepository.findById(id)
-                .map(camp -> {
-                    camp.setStatus(status);
-                    return campRepository.save(camp);
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Camp", "id", id));
+        if (status == null) {
+            throw new BadRequestException("Camp status is required");
+        }
+        return patchCamp(id, new Update().set("status", status), null, null, camp -> camp.setStatus(status));
     }
 
-    // Update camp stock
+    // Update camp stock ($set of the stock fields that are present)
     public Camp updateCampStock(String id, Stock stock) {
-        return campRepository.findById(id)
-                .map(camp -> {
-                    camp.setStock(stock);
-                    return campRepository.save(camp);
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Camp", "id", id));
+        Update update = new Update();
+        if (stock != null && stock.getFood() != null) {
+            update.set("stock.food", stock.getFood());
+        }
+        if (stock != null && stock.getWater() != null) {
+            update.set("stock.water", stock.getWater());
+        }
+        if (stock != null && stock.getMedicine() != null) {
+            update.set("stock.medicine", stock.getMedicine());
+        }
+        if (update.getUpdateObject().isEmpty()) {
+            throw new BadRequestException("At least one of food, water or medicine is required");
+        }
+
+        return patchCamp(id, update, null, null, camp -> {
+            Stock merged = camp.getStock() != null
+                    ? new Stock(camp.getStock().getFood(), camp.getStock().getWater(), camp.getStock().getMedicine())
+                    : new Stock();
+            if (stock.getFood() != null) {
+                merged.setFood(stock.getFood());
+            }
+            if (stock.getWater() != null) {
+                merged.setWater(stock.getWater());
+            }
+            if (stock.getMedicine() != null) {
+                merged.setMedicine(stock.getMedicine());
+            }
+            camp.setStock(merged);
+        });
     }
 
-    // Update camp population
+    // Update camp population ($set); 409 if it would drop below the injured count
     public Camp updateCampPopulation(String id, Integer population) {
-        return campRepository.findById(id)
-                .map(camp -> {
-                    camp.setPopulation(population);
-                    return campRepository.save(camp);
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Camp", "id", id));
+        if (population == null) {
+            return patchCamp(id, new Update().unset("population"), null, null, camp -> camp.setPopulation(null));
+        }
+        return patchCamp(id, new Update().set("population", population),
+                Criteria.where("injuredCount").lte(population),
+                current -> new ConflictException("Population " + population + " is below the injured count "
+                        + current.getInjuredCount() + " of camp " + id),
+                camp -> camp.setPopulation(population));
+    }
+
+    // Adjust camp head counts by a delta ($inc); concurrent intake reports all count.
+    // Rejected (400) if a count would drop below zero, 409 if injured would exceed population.
+    public Camp adjustCampCounts(String id, int populationDelta, int injuredDelta) {
+        if (populationDelta == 0 && injuredDelta == 0) {
+            throw new BadRequestException("populationDelta or injuredDelta must be non-zero");
+        }
+
+        Update update = new Update();
+        List<Criteria> guards = new ArrayList<>();
+        if (populationDelta != 0) {
+            update.inc("population", populationDelta);
+            if (populationDelta < 0) {
+                guards.add(Criteria.where("population").gte(-populationDelta));
+            }
+        }
+        if (injuredDelta != 0) {
+            update.inc("injuredCount", injuredDelta);
+            if (injuredDelta < 0) {
+                guards.add(Criteria.where("injuredCount").gte(-injuredDelta));
+            }
+        }
+        // Afterwards injured <= population: injuredCount <= population + populationDelta - injuredDelta
+        // (a camp without population counts as 0, as $inc would start it from 0)
+        guards.add(Criteria.expr(ComparisonOperators.Lte.valueOf("injuredCount").lessThanEqualTo(
+                ArithmeticOperators.Add.valueOf(ConditionalOperators.ifNull("population").then(0))
+                        .add(populationDelta - injuredDelta))));
+        Criteria guard = new Criteria().andOperator(guards);
+
+        Function<Camp, RuntimeException> violation = current -> {
+            int population = current.getPopulation() != null ? current.getPopulation() : 0;
+            if (population + populationDelta < 0 || current.getInjuredCount() + injuredDelta < 0) {
+                return new BadRequestException("Adjustment would make a camp count negative");
+            }
+            return new ConflictException("Adjustment would make the injured count ("
+                    + (current.getInjuredCount() + injuredDelta) + ") exceed the population ("
+                    + (population + populationDelta) + ") of camp " + id);
+        };
+        return patchCamp(id, update, guard, violation, camp -> {
+            camp.setPopulation((camp.getPopulation() != null ? camp.getPopulation() : 0) + populationDelta);
+            camp.setInjuredCount(camp.getInjuredCount() + injuredDelta);
+        });
     }
 
     // Delete camp
     public void deleteCamp(String id) {
-        campRepository.deleteById(id);
+        campRepository.findById(id).ifPresent(camp -> {
+            campRepository.deleteById(id);
+            dashboardStatsService.campDeleted(camp);
+            changePublisher.camp(ChangeType.DELETED, camp, new CampDeltaDTO(camp.getId(), camp.getAlertId(),
+                    camp.getVersion(), new LinkedHashMap<>(), LocalDateTime.now(), true, null, null));
+        });
+    }
+
+    // Snapshot for delta stream subscribers (seq is read before the camps, see CampDeltaPublisher)
+    public CampSnapshotDTO getCampSnapshot(String alertId) {
+        long seq = campDeltaPublisher.currentSeq();
+        List<Camp> camps = alertId != null ? campRepository.findByAlertId(alertId) : campRepository.findAll();
+        return new CampSnapshotDTO(campDeltaPublisher.getEpoch(), seq, alertId, camps);
     }
 
     // Get total count of camps
@@ -135,6 +276,83 @@ public class CampService {
 
     // Get count of critical camps
     public long getCriticalCampCount() {
-        return campRepository.findCriticalCamps().size();
+        return campRepository.countCriticalCamps();
+    }
+
+    // ==================== Partial Update Helpers ====================
+
+    /**
+     * Apply a partial update in one findAndModify: the given $set/$inc plus
+     * updatedAt and a version increment (so a concurrent PUT holding the old
+     * version fails). The pre-image is returned and the same change is applied
+     * to it in memory, which yields the post-image without a second read.
+     *
+     * @param guard          Extra condition the stored camp must meet (may be null)
+     * @param guardViolation Exception for a camp that exists but fails the guard, given its current state
+     */
+    private Camp patchCamp(String id, Update update, Criteria guard,
+            Function<Camp, RuntimeException> guardViolation, Consumer<Camp> applyLocally) {
+        LocalDateTime now = LocalDateTime.now();
+        update.set("updatedAt", now).inc("version", 1L);
+
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (guard != null) {
+            criteria = criteria.andOperator(guard);
+        }
+
+        Camp camp = mongoTemplate.findAndModify(new Query(criteria), update,
+                FindAndModifyOptions.options().returnNew(false), Camp.class);
+        if (camp == null) {
+            Optional<Camp> current = guard != null ? campRepository.findById(id) : Optional.empty();
+            if (current.isPresent()) {
+                throw guardViolation.apply(current.get());
+            }
+            throw new ResourceNotFoundException("Camp", "id", id);
+        }
+
+        DashboardStatsService.CampKey before = DashboardStatsService.CampKey.of(camp);
+        Map<String, Object> beforeFields = deltaFields(camp);
+        applyLocally.accept(camp);
+        camp.setUpdatedAt(now);
+        camp.setVersion((camp.getVersion() != null ? camp.getVersion() : 0L) + 1);
+
+        dashboardStatsService.campUpdated(before, camp);
+        publishChange(ChangeType.UPDATED, camp, beforeFields);
+        return camp;
+    }
+
+    /**
+     * Client-visible fields tracked for deltas. Stock is flattened so a food
+     * patch sends stock.food alone.
+     */
+    private static Map<String, Object> deltaFields(Camp camp) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("name", camp.getName());
+        fields.put("status", camp.getStatus());
+        fields.put("urgencyScore", camp.getUrgencyScore());
+        fields.put("population", camp.getPopulation());
+        fields.put("injuredCount", camp.getInjuredCount());
+        fields.put("medicinesNeeded", camp.isMedicinesNeeded());
+        Stock stock = camp.getStock();
+        fields.put("stock.food", stock != null ? stock.getFood() : null);
+        fields.put("stock.water", stock != null ? stock.getWater() : null);
+        fields.put("stock.medicine", stock != null ? stock.getMedicine() : null);
+        fields.put("incomingAid", camp.getIncomingAid());
+        fields.put("image", camp.getImage());
+        fields.put("latitude", camp.getLatitude());
+        fields.put("longitude", camp.getLongitude());
+        return fields;
+    }
+
+    // Per-field delta, pushed after the write (see RealtimeChangeRelay)
+    private void publishChange(ChangeType change, Camp camp, Map<String, Object> beforeFields) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        deltaFields(camp).forEach((field, value) -> {
+            if (!Objects.equals(beforeFields.get(field), value)) {
+                changes.put(field, value);
+            }
+        });
+        changePublisher.camp(change, camp, new CampDeltaDTO(camp.getId(), camp.getAlertId(), camp.getVersion(),
+                changes, camp.getUpdatedAt()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.india.idro.service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.model.Action;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.DashboardStats;
+import com.india.idro.model.User;
+import com.india.idro.model.enums.UserRole;
+import com.india.idro.repository.CampRepository;
+import com.india.idro.repository.UserRepository;
+
+/**
+ * Maintains the materialized DashboardStats document.
+ *
+ * Write paths call the *Created / *Updated / *Deleted hooks after a
+ * successful save; each hook is one atomic $inc upsert on the stats
+ * document, so concurrent writers never lose counts. A failed stats
+ * update is logged and never fails the business write.
+ *
+ * rebuild() recomputes everything from the source collections. It runs
+ * once the application is ready (after DataSeeder) and every
+ * idro.dashboard-stats.rebuild-interval to correct drift from writers
+ * that do not call the hooks (seeders, bulk imports, manual edits).
+ * Increments that land while a rebuild is computing may be overwritten
+ * and are corrected by the next rebuild.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    private static final Set<String> CLOSED_MISSION_STATUSES = Set.of("CLOSED", "COMPLETED", "RESOLVED");
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Stats-relevant facts of an alert. Capture before an in-place update,
+     * since the entity is mutated by the time it is saved.
+     */
+    public record AlertKey(String type, String state, boolean closed) {
+        public static AlertKey of(Alert alert) {
+            return new AlertKey(key(alert.getType()), key(alert.getState()), isClosed(alert.getMissionStatus()));
+        }
+    }
+
+    /**
+     * Stats-relevant facts of a camp; see AlertKey.
+     */
+    public record CampKey(String status, boolean critical) {
+        public static CampKey of(Camp camp) {
+            return new CampKey(key(camp.getStatus()), isCritical(camp.getUrgencyScore()));
+        }
+    }
+
+    // ==================== Read ====================
+
+    /**
+     * Current stats: a single lookup by _id. Rebuilds only if the document
+     * has never been built (first start, or dropped).
+     */
+    public DashboardStats getStats() {
+        DashboardStats stats = mongoTemplate.findById(DashboardStats.GLOBAL_ID, DashboardStats.class);
+        return stats != null && stats.getRebuiltAt() != null ? stats : rebuild();
+    }
+
+    // ==================== Write-path hooks ====================
+
+    public void alertCreated(Alert alert) {
+        applyDeltas(alertDeltas(null, AlertKey.of(alert)));
+    }
+
+    public void alertUpdated(AlertKey before, Alert after) {
+        applyDeltas(alertDeltas(before, AlertKey.of(after)));
+    }
+
+    public void alertDeleted(Alert alert) {
+        applyDeltas(alertDeltas(AlertKey.of(alert), null));
+    }
+
+    public void campCreated(Camp camp) {
+        applyDeltas(campDeltas(null, CampKey.of(camp)));
+    }
+
+    public void campUpdated(CampKey before, Camp after) {
+        applyDeltas(campDeltas(before, CampKey.of(after)));
+    }
+
+    public void campDeleted(Camp camp) {
+        applyDeltas(campDeltas(CampKey.of(camp), null));
+    }
+
+    public void actionCreated(Action action) {
+        Map<String, Long> deltas = new HashMap<>();
+        deltas.put("totalActions", 1L);
+        deltas.put("actionsByPriority." + key(action.getPriority()), 1L);
+        applyDeltas(deltas);
+    }
+
+    public void userCreated(User user) {
+        if (user.getRole() == UserRole.VOLUNTEER) {
+            applyDeltas(Map.of("volunteers", 1L));
+        }
+    }
+
+    // ==================== Rebuild ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            logger.warn("Dashboard stats rebuild at startup failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${idro.dashboard-stats.rebuild-interval:PT15M}",
+            fixedDelayString = "${idro.dashboard-stats.rebuild-interval:PT15M}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            logger.warn("Scheduled dashboard stats rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute the stats document from the source collections with a few
+     * $group aggregations and replace it.
+     */
+    public synchronized DashboardStats rebuild() {
+        long start = System.currentTimeMillis();
+        DashboardStats stats = new DashboardStats();
+        stats.setId(DashboardStats.GLOBAL_ID);
+
+        for (Document group : groupCounts(Alert.class, "type", "state", "missionStatus")) {
+            long count = count(group);
+            stats.setTotalAlerts(stats.getTotalAlerts() + count);
+            if (isClosed(groupValue(group, "missionStatus"))) {
+                stats.setClosedMissions(stats.getClosedMissions() + count);
+            } else {
+                stats.setActiveMissions(stats.getActiveMissions() + count);
+            }
+            stats.getAlertsByType().merge(key(groupValue(group, "type")), count, Long::sum);
+            stats.getAlertsByState().merge(key(groupValue(group, "state")), count, Long::sum);
+        }
+
+        for (Document group : groupCounts(Camp.class, "status")) {
+            long count = count(group);
+            stats.setTotalCamps(stats.getTotalCamps() + count);
+            stats.getCampsByStatus().merge(key(groupValue(group, "status")), count, Long::sum);
+        }
+        stats.setCriticalCamps(mongoTemplate.count(
+                new Query(Criteria.where("urgencyScore").gte(CampRepository.CRITICAL_URGENCY_SCORE)), Camp.class));
+
+        for (Document group : groupCounts(Action.class, "priority")) {
+            long count = count(group);
+            stats.setTotalActions(stats.getTotalActions() + count);
+            stats.getActionsByPriority().merge(key(groupValue(group, "priority")), count, Long::sum);
+        }
+
+        stats.setVolunteers(userRepository.countByRole(UserRole.VOLUNTEER));
+
+        LocalDateTime now = LocalDateTime.now();
+        stats.setRebuiltAt(now);
+        stats.setUpdatedAt(now);
+        mongoTemplate.save(stats);
+
+        logger.info("Dashboard stats rebuilt alerts={} camps={} actions={} elapsedMs={}", stats.getTotalAlerts(),
+                stats.getTotalCamps(), stats.getTotalActions(), System.currentTimeMillis() - start);
+        return stats;
+    }
+
+    // ==================== Helpers ====================
+
+    private Map<String, Long> alertDeltas(AlertKey before, AlertKey after) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (before != null) {
+            addAlert(deltas, before, -1);
+        }
+        if (after != null) {
+            addAlert(deltas, after, 1);
+        }
+        return deltas;
+    }
+
+    private void addAlert(Map<String, Long> deltas, AlertKey alert, long sign) {
+        deltas.merge("totalAlerts", sign, Long::sum);
+        deltas.merge(alert.closed() ? "closedMissions" : "activeMissions", sign, Long::sum);
+        deltas.merge("alertsByType." + alert.type(), sign, Long::sum);
+        deltas.merge("alertsByState." + alert.state(), sign, Long::sum);
+    }
+
+    private Map<String, Long> campDeltas(CampKey before, CampKey after) {
+        Map<String, Long> deltas = new HashMap<>();
+        if (before != null) {
+            addCamp(deltas, before, -1);
+        }
+        if (after != null) {
+            addCamp(deltas, after, 1);
+        }
+        return deltas;
+    }
+
+    private void addCamp(Map<String, Long> deltas, CampKey camp, long sign) {
+        deltas.merge("totalCamps", sign, Long::sum);
+        deltas.merge("campsByStatus." + camp.status(), sign, Long::sum);
+        if (camp.critical()) {
+            deltas.merge("criticalCamps", sign, Long::sum);
+        }
+    }
+
+    /**
+     * One atomic $inc upsert; deltas that cancel out (e.g. an update that
+     * did not change the type) are dropped, and a no-op change writes nothing.
+     */
+    private void applyDeltas(Map<String, Long> deltas) {
+        Update update = new Update();
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                update.inc(field, delta);
+            }
+        });
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+        update.currentDate("updatedAt");
+
+        try {
+            mongoTemplate.upsert(new Query(Criteria.where("_id").is(DashboardStats.GLOBAL_ID)), update,
+                    DashboardStats.class);
+        } catch (DataAccessException e) {
+            logger.warn("Dashboard stats update failed, corrected at next rebuild: {}", e.getMessage());
+        }
+    }
+
+    private List<Document> groupCounts(Class<?> entityType, String... fields) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group(fields).count().as("count"));
+        return mongoTemplate.aggregate(aggregation, entityType, Document.class).getMappedResults();
+    }
+
+    /**
+     * Group key value; _id is the value itself for a single-field group and
+     * a sub-document for a multi-field group.
+     */
+    private static Object groupValue(Document group, String field) {
+        Object id = group.get("_id");
+        return id instanceof Document fields ? fields.get(field) : id;
+    }
+
+    private static long count(Document group) {
+        Object count = group.get("count");
+        return count instanceof Number number ? number.longValue() : 0;
+    }
+
+    private static String key(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return UNKNOWN;
+        }
+        return value.toString().trim().toUpperCase(Locale.ROOT).replace('.', '_').replace('$', '_');
+    }
+
+    private static boolean isClosed(Object missionStatus) {
+        return missionStatus != null
+                && CLOSED_MISSION_STATUSES.contains(missionStatus.toString().trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isCritical(Integer urgencyScore) {
+        return urgencyScore != null && urgencyScore >= CampRepository.CRITICAL_URGENCY_SCORE;
+    }
+}
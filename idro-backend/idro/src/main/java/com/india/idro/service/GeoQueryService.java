@@ -0,0 +1,87 @@
+package com.india.idro.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.dto.CampSummaryDTO;
+import com.india.idro.dto.GeoMatchDTO;
+import com.india.idro.dto.ResponderDTO;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.exception.ResourceNotFoundException;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.repository.AlertRepository;
+import com.india.idro.repository.CampRepository;
+import com.india.idro.service.geo.GeoPoints;
+import com.india.idro.service.geo.ResponderGridIndex;
+
+/**
+ * Geospatial lookups between alerts, camps and responders.
+ *
+ * - Camps within R km of an alert: $nearSphere on the camps position_2dsphere index
+ * - k nearest available responders to a camp: in-memory ResponderGridIndex
+ *   (no Mongo query beyond loading the camp)
+ */
+@Service
+public class GeoQueryService {
+
+    private final AlertRepository alertRepository;
+    private final CampRepository campRepository;
+    private final ResponderGridIndex responderGridIndex;
+    private final double maxRadiusKm;
+    private final int maxResponders;
+
+    public GeoQueryService(AlertRepository alertRepository, CampRepository campRepository,
+            ResponderGridIndex responderGridIndex,
+            @Value("${idro.geo.max-radius-km:500}") double maxRadiusKm,
+            @Value("${idro.geo.max-responders:50}") int maxResponders) {
+        this.alertRepository = alertRepository;
+        this.campRepository = campRepository;
+        this.responderGridIndex = responderGridIndex;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxResponders = Math.max(1, maxResponders);
+    }
+
+    /**
+     * @param radiusKm Search radius, at most idro.geo.max-radius-km
+     * @return Camps within radiusKm of the alert, nearest first
+     */
+    public List<GeoMatchDTO<CampSummaryDTO>> findCampsNearAlert(String alertId, double radiusKm) {
+        if (!(radiusKm > 0) || radiusKm > maxRadiusKm) {
+            throw new BadRequestException("radiusKm must be greater than 0 and at most " + maxRadiusKm);
+        }
+
+        Alert alert = alertRepository.findById(alertId)
+                .orElseThrow(() -> new ResourceNotFoundException("Alert", "id", alertId));
+        GeoJsonPoint point = GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude());
+        if (point == null) {
+            throw new BadRequestException("Alert " + alertId + " has no valid coordinates");
+        }
+
+        return campRepository.findNear(point, radiusKm * 1000, CampSummaryDTO.class).stream()
+                .map(camp -> new GeoMatchDTO<>(camp, GeoPoints.distanceKm(alert.getLatitude(),
+                        alert.getLongitude(), camp.getLatitude(), camp.getLongitude())))
+                .toList();
+    }
+
+    /**
+     * @param k Number of responders, at most idro.geo.max-responders
+     * @return Up to k NGOs / agencies that are not NOT_AVAILABLE, nearest first
+     */
+    public List<GeoMatchDTO<ResponderDTO>> findNearestResponders(String campId, int k) {
+        if (k < 1 || k > maxResponders) {
+            throw new BadRequestException("k must be between 1 and " + maxResponders);
+        }
+
+        Camp camp = campRepository.findById(campId)
+                .orElseThrow(() -> new ResourceNotFoundException("Camp", "id", campId));
+        if (!GeoPoints.isValid(camp.getLatitude(), camp.getLongitude())) {
+            throw new BadRequestException("Camp " + campId + " has no valid coordinates");
+        }
+
+        return responderGridIndex.nearest(camp.getLatitude(), camp.getLongitude(), k);
+    }
+}
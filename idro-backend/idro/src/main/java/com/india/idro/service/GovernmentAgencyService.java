@@ -7,10 +7,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import com.india.idro.dto.GovernmentAgencySummaryDTO;
 import com.india.idro.model.GovernmentAgency;
 import com.india.idro.model.GovernmentResourceSubmission;
 import com.india.idro.model.ResourceItem;
@@ -20,10 +25,17 @@ import com.india.idro.model.enums.CoverageRadius;
 import com.india.idro.model.enums.ResponseTime;
 import com.india.idro.repository.GovernmentAgencyRepository;
 import com.india.idro.repository.GovernmentResourceSubmissionRepository;
+import com.india.idro.service.geo.CityCoordinates;
+import com.india.idro.service.geo.GeoPoints;
+import com.india.idro.service.geo.ResponderGridIndex;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 
 @Service
 public class GovernmentAgencyService implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(GovernmentAgencyService.class);
+
     @Autowired
     private GovernmentAgencyRepository agencyRepository;
 
@@ -33,6 +45,16 @@ public class GovernmentAgencyService implements CommandLineRunner {
     @Autowired
     private com.india.idro.repository.AlertRepository alertRepository;
 
+    @Autowired
+    private ResponderGridIndex responderGridIndex;
+
+    @Autowired
+    private EntityChangePublisher changePublisher;
+
+    // Agencies within this distance of a disaster with coordinates are listed for it
+    @Value("${idro.geo.responder-radius-km:300}")
+    private double responderRadiusKm;
+
     @Override
     public void run(String... args) throws Exception {
         initializeDemoAgencies();
@@ -41,11 +63,11 @@ public class GovernmentAgencyService implements CommandLineRunner {
     public void initializeDemoAgencies() {
         // Check if demo agencies already exist
         if (agencyRepository.count() > 0) {
-            System.out.println("✅ Government Agency demo accounts already initialized");
+            logger.info("Government agency demo accounts already initialized");
             return;
         }
 
-        System.out.println("🔧 Initializing 4 Government Agency demo accounts...");
+        logger.info("Initializing 4 government agency demo accounts");
 
         // Create 4 pre-defined government agency accounts
         List<GovernmentAgency> demoAgencies = Arrays.asList(
@@ -83,7 +105,8 @@ public class GovernmentAgencyService implements CommandLineRunner {
                         Arrays.asList("Cyclone", "Flood", "Crowd Management", "Law & Order")));
 
         agencyRepository.saveAll(demoAgencies);
-        System.out.println("✅ Successfully initialized " + demoAgencies.size() + " government agency demo accounts");
+        responderGridIndex.invalidate();
+        logger.info("Initialized {} government agency demo accounts", demoAgencies.size());
     }
 
     private GovernmentAgency createDemoAgency(String agencyId, String agencyName, AgencyType agencyType,
@@ -93,6 +116,11 @@ public class GovernmentAgencyService implements CommandLineRunner {
         agency.setAgencyName(agencyName);
         agency.setAgencyType(agencyType);
         agency.setLocation(location);
+        double[] coordinates = CityCoordinates.lookup(location);
+        if (coordinates != null) {
+            agency.setLatitude(coordinates[0]);
+            agency.setLongitude(coordinates[1]);
+        }
         agency.setContactNumber(contactNumber);
         agency.setPassword("123"); // Demo password
         agency.setOperatingRegion(operatingRegion);
@@ -142,6 +170,14 @@ public class GovernmentAgencyService implements CommandLineRunner {
         return agency;
     }
 
+    public GovernmentAgency authenticateAgency(String agencyId, String password) {
+        GovernmentAgency agency = getAgencyByAgencyId(agencyId);
+        if (agency == null || password == null || !password.equals(agency.getPassword())) {
+            return null;
+        }
+        return agency;
+    }
+
     public GovernmentAgency getAgencyByAgencyId(String agencyId) {
         Optional<GovernmentAgency> agency = agencyRepository.findByAgencyId(agencyId);
         return agency.orElse(null);
@@ -166,7 +202,10 @@ public class GovernmentAgencyService implements CommandLineRunner {
 
         agency.setLastUpdated(LocalDateTime.now());
 
-        return agencyRepository.save(agency);
+        GovernmentAgency saved = agencyRepository.save(agency);
+        responderGridIndex.invalidate();
+        changePublisher.agency(ChangeType.UPDATED, saved);
+        return saved;
     }
 
     public GovernmentAgency updateResources(String agencyId, Map<String, List<ResourceItem>> resources) {
@@ -191,50 +230,107 @@ public class GovernmentAgencyService implements CommandLineRunner {
 
         agency.setLastUpdated(LocalDateTime.now());
 
-        return agencyRepository.save(agency);
+        GovernmentAgency saved = agencyRepository.save(agency);
+        changePublisher.agency(ChangeType.UPDATED, saved);
+        return saved;
     }
 
     private static final List<String> VALID_INDIAN_STATES = java.util.Arrays.asList(
             "Maharashtra", "Rajasthan", "Assam", "Gujarat", "Uttar Pradesh");
 
+    /**
+     * Agencies for a disaster: those within idro.geo.responder-radius-km of it,
+     * nearest first, when the disaster has coordinates; otherwise agencies whose
+     * operating region is the state named in its location text.
+     */
     public List<GovernmentAgency> getAllAgencies(String disasterId) {
-        if (disasterId == null || disasterId.trim().isEmpty()) {
-            System.out.println("⚠️ No disaster context provided. Returning empty list for agencies.");
+        com.india.idro.model.Alert alert = findDisaster(disasterId);
+        if (alert == null) {
+            return new java.util.ArrayList<>();
+        }
+
+        List<GovernmentAgency> agencies;
+        GeoJsonPoint point = GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude());
+        if (point != null) {
+            agencies = agencyRepository.findNear(point, responderRadiusKm * 1000);
+            logger.debug("Found agencies near disasterId={} radiusKm={} count={}", disasterId, responderRadiusKm,
+                    agencies.size());
+        } else {
+            String detectedState = resolveDisasterState(alert);
+            if (detectedState == null) {
+                return new java.util.ArrayList<>();
+            }
+
+            // 3. Fetch agencies strictly by matching state (Operating Region)
+            agencies = agencyRepository.findByOperatingRegion(detectedState);
+            logger.debug("Found agencies state={} count={}", detectedState, agencies.size());
+        }
+
+        // Remove passwords for security
+        agencies.forEach(agency -> agency.setPassword(null));
+        return agencies;
+    }
+
+    /**
+     * Roster view of getAllAgencies: same scoping, but only summary fields
+     * are read from Mongo (no password or resource lists).
+     */
+    public List<GovernmentAgencySummaryDTO> getAgencySummaries(String disasterId) {
+        com.india.idro.model.Alert alert = findDisaster(disasterId);
+        if (alert == null) {
             return new java.util.ArrayList<>();
         }
 
+        GeoJsonPoint point = GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude());
+        if (point != null) {
+            return agencyRepository.findNear(point, responderRadiusKm * 1000, GovernmentAgencySummaryDTO.class);
+        }
+
+        String detectedState = resolveDisasterState(alert);
+        if (detectedState == null) {
+            return new java.util.ArrayList<>();
+        }
+        return agencyRepository.findByOperatingRegion(detectedState, GovernmentAgencySummaryDTO.class);
+    }
+
+    /**
+     * @return The disaster, or null if the id is missing or unknown
+     */
+    private com.india.idro.model.Alert findDisaster(String disasterId) {
+        if (disasterId == null || disasterId.trim().isEmpty()) {
+            logger.debug("No disaster context provided, returning no agencies");
+            return null;
+        }
+
         // 1. Fetch disaster context
         com.india.idro.model.Alert alert = alertRepository.findById(disasterId).orElse(null);
-        if (alert == null || alert.getLocation() == null || alert.getLocation().trim().isEmpty()) {
-            System.out.println("⚠️ Disaster or location context missing. Returning empty list for agencies.");
-            return new java.util.ArrayList<>();
+        if (alert == null) {
+            logger.debug("Disaster not found disasterId={}, returning no agencies", disasterId);
         }
+        return alert;
+    }
 
+    /**
+     * Resolve the Indian state of a disaster from its location text.
+     *
+     * @return The matching state, or null if the location or its state is unknown
+     */
+    private String resolveDisasterState(com.india.idro.model.Alert alert) {
         String location = alert.getLocation();
-        System.out.println("🏛️ Analyzing Agency Location: [" + location + "]");
+        if (location == null || location.trim().isEmpty()) {
+            logger.debug("Location context missing disasterId={}, returning no agencies", alert.getId());
+            return null;
+        }
+        logger.debug("Resolving agency state disasterId={} location={}", alert.getId(), location);
 
         // 2. Identify State by Keyword Matching
-        String detectedState = null;
         for (String state : VALID_INDIAN_STATES) {
             if (location.toLowerCase().contains(state.toLowerCase())) {
-                detectedState = state;
-                break;
+                return state;
             }
         }
 
-        if (detectedState == null) {
-            System.out.println("⚠️ No matching Indian state detected for agencies. Scoping empty pool.");
-            return new java.util.ArrayList<>();
-        }
-
-        System.out.println("📍 Detected Agency State: [" + detectedState + "]");
-
-        // 3. Fetch agencies strictly by matching state (Operating Region)
-        List<GovernmentAgency> agencies = agencyRepository.findByOperatingRegionIgnoreCase(detectedState);
-        System.out.println("🔍 Found " + agencies.size() + " Agencies matching: " + detectedState);
-
-        // Remove passwords for security
-        agencies.forEach(agency -> agency.setPassword(null));
-        return agencies;
+        logger.debug("No supported state in location={}, returning no agencies", location);
+        return null;
     }
 }
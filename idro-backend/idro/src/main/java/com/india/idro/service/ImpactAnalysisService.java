@@ -1,18 +1,34 @@
 package com.india.idro.service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.india.idro.dto.AiPredictionRequestDTO;
 import com.india.idro.dto.AiPredictionResponseDTO;
 import com.india.idro.dto.ImpactAnalysisResponseDTO;
+import com.india.idro.dto.ImpactAnalysisSummaryDTO;
+import com.india.idro.exception.BadRequestException;
 import com.india.idro.model.Alert;
 import com.india.idro.model.Camp;
 import com.india.idro.model.CampAiAnalysis;
@@ -20,8 +36,16 @@ import com.india.idro.model.CampAiPrediction;
 import com.india.idro.repository.AlertRepository;
 import com.india.idro.repository.CampAiPredictionRepository;
 import com.india.idro.repository.CampRepository;
+import com.india.idro.service.analysis.CampAnalysisLimiter;
+import com.india.idro.service.analysis.CampInputFingerprint;
+import com.india.idro.service.analysis.Deadline;
+import com.india.idro.service.analysis.MissionAnalysisProgress;
+import com.india.idro.service.analysis.MissionProgressTracker;
+import com.india.idro.service.analysis.MissionTotalsAccumulator;
+import com.india.idro.service.ai.rules.CompiledRuleSet;
 import com.india.idro.service.ai.rules.RiskScoreCalculator;
 import com.india.idro.service.ai.rules.RuleBasedRequirementCalculator;
+import com.india.idro.service.ai.rules.RuleSetRegistry;
 import com.india.idro.service.ai.rules.UrgencyEvaluator;
 
 /**
@@ -30,9 +54,15 @@ import com.india.idro.service.ai.rules.UrgencyEvaluator;
  * Flow:
  * 1. Fetch Mission (Alert)
  * 2. Fetch Camps
- * 3. Call ML Server for each Camp
- * 4. Persist Predictions
+ * 3. Skip camps whose input fingerprint is unchanged, call ML Server per chunk of the rest (virtual-thread executor, bounded ML/Mongo concurrency)
+ * 4. Persist Predictions (bulk upsert per chunk, after the chunk's results are handed back)
  * 5. Aggregate Results
+ *
+ * Every run has a Deadline (idro.impact-analysis.deadline unless the caller
+ * passes one). ML calls get what is left of it; camps it does not cover are
+ * answered from the Rule Engine and listed as degraded in the response.
+ * Persistence is not part of the request: a chunk hands its results back
+ * before it writes them, bounded by idro.impact-analysis.persist-timeout.
  */
 @Service
 public class ImpactAnalysisService {
@@ -51,6 +81,68 @@ public class ImpactAnalysisService {
     @Autowired
     private CampAiPredictionRepository predictionRepository;
 
+    @Autowired
+    @Qualifier("campAnalysisExecutor")
+    private ExecutorService campAnalysisExecutor;
+
+    @Autowired
+    private CampAnalysisLimiter analysisLimiter;
+
+    @Autowired
+    private MissionProgressTracker progressTracker;
+
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
+
+    @Value("${idro.impact-analysis.ml-batch-size:50}")
+    private int mlBatchSize;
+
+    @Value("${idro.impact-analysis.deadline:2s}")
+    private Duration defaultDeadline;
+
+    @Value("${idro.impact-analysis.max-deadline:60s}")
+    private Duration maxDeadline;
+
+    @Value("${idro.impact-analysis.stream-deadline:30s}")
+    private Duration defaultStreamDeadline;
+
+    @Value("${idro.impact-analysis.persist-timeout:10s}")
+    private Duration persistTimeout;
+
+    // A chunk that has claimed delivery only merges in memory before handing its results back
+    private static final Duration DELIVERY_GRACE = Duration.ofMillis(20);
+
+    /**
+     * Start the deadline for an analysis request.
+     * 
+     * @param requestedMs Caller's budget in milliseconds, or null for the configured default
+     * @return Deadline starting now, capped at idro.impact-analysis.max-deadline
+     * @throws BadRequestException if the requested budget is not positive
+     */
+    public Deadline startDeadline(Long requestedMs) {
+        return startDeadline(requestedMs, defaultDeadline);
+    }
+
+    /**
+     * Start the deadline for a progress stream; without ?deadlineMs= it uses
+     * idro.impact-analysis.stream-deadline, which is longer than the blocking
+     * default since the client sees camps as they complete.
+     */
+    public Deadline startStreamDeadline(Long requestedMs) {
+        return startDeadline(requestedMs, defaultStreamDeadline);
+    }
+
+    private Deadline startDeadline(Long requestedMs, Duration defaultBudget) {
+        if (requestedMs == null) {
+            return Deadline.after(defaultBudget.compareTo(maxDeadline) > 0 ? maxDeadline : defaultBudget);
+        }
+        if (requestedMs <= 0) {
+            throw new BadRequestException("deadlineMs must be positive");
+        }
+        Duration requested = Duration.ofMillis(requestedMs);
+        return Deadline.after(requested.compareTo(maxDeadline) > 0 ? maxDeadline : requested);
+    }
+
     /**
      * Orchestrates the AI analysis for all camps under a mission.
      * Returns a structured response with mission stats and camp breakdown.
@@ -60,10 +152,99 @@ public class ImpactAnalysisService {
      * @throws RuntimeException if mission not found
      */
     public ImpactAnalysisResponseDTO analyzeMissionImpact(String missionId) {
-        logger.info("Starting impact analysis for mission ID: {}", missionId);
+        return analyzeMissionImpact(missionId, startDeadline(null));
+    }
+
+    /**
+     * @param missionId The ID of the mission (Alert) to analyze
+     * @param deadline  When the response is due; camps not done by then come from the Rule Engine
+     * @return Impact analysis response with camp-wise predictions
+     * @throws RuntimeException if mission not found
+     */
+    public ImpactAnalysisResponseDTO analyzeMissionImpact(String missionId, Deadline deadline) {
+        return analyzeMissionImpact(missionId, deadline, analysis -> {
+        }).response();
+    }
+
+    /**
+     * Totals-only variant for large missions: same analysis, but the response
+     * carries only the mission roll-up and omits the per-camp list.
+     * 
+     * @param missionId The ID of the mission (Alert) to analyze
+     * @return Impact analysis response with totals and no camp list
+     * @throws RuntimeException if mission not found
+     */
+    public ImpactAnalysisResponseDTO analyzeMissionTotals(String missionId) {
+        return analyzeMissionTotals(missionId, startDeadline(null));
+    }
+
+    /**
+     * Totals-only variant with an explicit deadline.
+     */
+    public ImpactAnalysisResponseDTO analyzeMissionTotals(String missionId, Deadline deadline) {
+        ImpactAnalysisResponseDTO response = analyzeMissionImpact(missionId, deadline);
+        response.setCampAnalysisList(null);
+        return response;
+    }
+
+    /**
+     * Streaming variant: runs the analysis and hands each camp result to the
+     * listener as soon as it is available, then returns a mission summary.
+     * 
+     * @param missionId        The ID of the mission (Alert) to analyze
+     * @param onCampAnalyzed   Called once per camp, possibly from several threads
+     * @return Aggregate summary of the run
+     * @throws RuntimeException if mission not found
+     */
+    public ImpactAnalysisSummaryDTO streamMissionImpact(String missionId, Consumer<CampAiAnalysis> onCampAnalyzed) {
+        return streamMissionImpact(missionId, startDeadline(null), onCampAnalyzed);
+    }
+
+    /**
+     * Streaming variant with an explicit deadline.
+     */
+    public ImpactAnalysisSummaryDTO streamMissionImpact(String missionId, Deadline deadline,
+            Consumer<CampAiAnalysis> onCampAnalyzed) {
+        AnalysisRun run = analyzeMissionImpact(missionId, deadline, onCampAnalyzed);
+        ImpactAnalysisResponseDTO response = run.response();
+
+        ImpactAnalysisSummaryDTO summary = new ImpactAnalysisSummaryDTO();
+        summary.setMissionId(response.getMissionId());
+        summary.setDisasterType(response.getDisasterType());
+        summary.setSeverity(response.getSeverity());
+        summary.setAnalyzedCamps(response.getCampAnalysisList().size());
+        summary.setTotals(response.getTotals());
+        summary.setDeadlineMs(response.getDeadlineMs());
+        summary.setDegradedCampIds(response.getDegradedCampIds());
+        // This run's own counters: the tracker's entry for the mission may already belong to a newer run
+        MissionAnalysisProgress progress = run.progress();
+        if (progress != null) {
+            summary.setTotalCamps(progress.getTotalCamps());
+            summary.setReusedCamps(progress.getReusedCamps());
+            summary.setFailedCamps(progress.getFailedCamps());
+            summary.setMlFallbacks(progress.getMlFallbacks());
+            summary.setDegradedCamps(progress.getDegradedCamps());
+            summary.setElapsedMs(progress.getElapsedMs());
+        }
+        return summary;
+    }
+
+    /**
+     * Response of one run and the progress entry it started (null if it
+     * failed before reaching the camps).
+     */
+    private record AnalysisRun(ImpactAnalysisResponseDTO response, MissionAnalysisProgress progress) {
+    }
+
+    private AnalysisRun analyzeMissionImpact(String missionId, Deadline deadline,
+            Consumer<CampAiAnalysis> onCampAnalyzed) {
+        logger.info("Starting impact analysis for mission ID: {} (deadline: {}ms)", missionId,
+                deadline.getBudget().toMillis());
 
         ImpactAnalysisResponseDTO response = new ImpactAnalysisResponseDTO();
+        response.setDeadlineMs(deadline.getBudget().toMillis());
         List<CampAiAnalysis> campAnalyses = new ArrayList<>();
+        MissionAnalysisProgress startedProgress = null;
 
         try {
             // ============================================================
@@ -77,8 +258,13 @@ public class ImpactAnalysisService {
             response.setDisasterType(mission.getType() != null ? mission.getType().toString() : "Unknown");
             response.setSeverity(mission.getMagnitude() != null ? mission.getMagnitude() : "Unknown");
 
-            logger.info("✅ Mission loaded: {} (Type: {}, Severity: {})",
-                    mission.getId(), response.getDisasterType(), response.getSeverity());
+            // One rule set for the whole run: a swap mid-analysis applies to the next run.
+            // Its version is part of every fingerprint, so a new version recomputes all camps.
+            CompiledRuleSet rules = ruleSetRegistry.current();
+            response.setRuleVersion(rules.version());
+
+            logger.debug("Mission loaded: {} (Type: {}, Severity: {}, Rules: {})",
+                    mission.getId(), response.getDisasterType(), response.getSeverity(), rules.version());
 
             // ============================================================
             // 2. Fetch Camps
@@ -90,24 +276,96 @@ public class ImpactAnalysisService {
             logger.info("Analyzing {} camps for mission {}", camps.size(), missionId);
 
             // ============================================================
-            // 3. Process Each Camp (Async)
+            // 3. Reuse Unchanged Camps (input fingerprint matches stored prediction)
             // ============================================================
-            List<CompletableFuture<CampAiAnalysis>> futures = camps.stream()
-                    .map(camp -> CompletableFuture.supplyAsync(() -> processCamp(camp, mission)))
-                    .collect(Collectors.toList());
+            MissionAnalysisProgress progress = progressTracker.start(missionId, camps.size());
+            startedProgress = progress;
+
+            Map<String, CampAiPrediction> storedByCamp = new HashMap<>();
+            for (CampAiPrediction stored : predictionRepository.findByMissionId(missionId)) {
+                storedByCamp.put(stored.getCampId(), stored);
+            }
+            boolean mlReachable = !mlPredictionService.isCircuitOpen();
+
+            Map<String, CampAiAnalysis> analysisByCamp = new HashMap<>();
+            Map<String, String> fingerprints = new HashMap<>();
+            List<Camp> changedCamps = new ArrayList<>();
+            for (Camp camp : camps) {
+                String fingerprint = CampInputFingerprint.of(camp, mission, rules.version());
+                CampAiPrediction stored = storedByCamp.get(camp.getId());
+                if (isReusable(stored, fingerprint, mlReachable)) {
+                    CampAiAnalysis reused = fromStoredPrediction(camp, stored);
+                    analysisByCamp.put(camp.getId(), reused);
+                    progress.recordReused();
+                    notifyCampAnalyzed(onCampAnalyzed, reused);
+                } else {
+                    fingerprints.put(camp.getId(), fingerprint);
+                    changedCamps.add(camp);
+                }
+            }
+
+            // ============================================================
+            // 4. Process Changed Camps in Chunks (Async, one virtual thread per chunk)
+            // Each chunk costs a single /predict/batch call to the ML server,
+            // bounded by what is left of the deadline.
+            // ============================================================
+            int chunkSize = Math.max(1, mlBatchSize);
+            Set<String> degradedCamps = ConcurrentHashMap.newKeySet();
+
+            List<ChunkRun> runs = new ArrayList<>();
+            for (int from = 0; from < changedCamps.size(); from += chunkSize) {
+                ChunkRun run = new ChunkRun(
+                        changedCamps.subList(from, Math.min(from + chunkSize, changedCamps.size())));
+                CompletableFuture.runAsync(
+                        () -> processCampChunk(run, mission, rules, fingerprints, progress, deadline, degradedCamps,
+                                onCampAnalyzed),
+                        campAnalysisExecutor)
+                        .whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                run.ready.completeExceptionally(error);
+                            }
+                        });
+                runs.add(run);
+            }
+
+            // Wait until the deadline, then answer any chunk still running from the Rule Engine
+            try {
+                awaitChunks(runs, deadline, missionId);
+                for (ChunkRun run : runs) {
+                    collectChunk(run, mission, rules, progress, deadline, degradedCamps, onCampAnalyzed)
+                            .forEach(analysis -> analysisByCamp.put(analysis.getCampId(), analysis));
+                }
+            } finally {
+                progress.finish();
+            }
+
+            // Keep the original camp order and roll up mission totals in the same pass
+            MissionTotalsAccumulator totals = new MissionTotalsAccumulator();
+            campAnalyses = new ArrayList<>(camps.size());
+            List<String> degradedCampIds = new ArrayList<>(degradedCamps.size());
+            for (Camp camp : camps) {
+                CampAiAnalysis analysis = analysisByCamp.get(camp.getId());
+                if (analysis != null) {
+                    campAnalyses.add(analysis);
+                    totals.add(analysis);
+                }
+                if (degradedCamps.contains(camp.getId())) {
+                    degradedCampIds.add(camp.getId());
+                }
+            }
+            response.setDegradedCampIds(degradedCampIds);
 
-            // Wait for all to complete
-            campAnalyses = futures.stream()
-                    .map(CompletableFuture::join)
-                    .filter(java.util.Objects::nonNull)
-                    .collect(Collectors.toList());
+            logger.info("Mission {}: {} camps analyzed ({} reused), {} failed, {} ML fallbacks, {} degraded by deadline in {}ms",
+                    missionId, progress.getCompletedCamps(), progress.getReusedCamps(), progress.getFailedCamps(),
+                    progress.getMlFallbacks(), progress.getDegradedCamps(), progress.getElapsedMs());
 
             // ============================================================
-            // 4. Aggregate & Populate Response
+            // 5. Aggregate & Populate Response
             // ============================================================
             response.setCampAnalysisList(campAnalyses);
+            response.setTotals(totals.toDTO());
 
-            logger.info("✅ Analysis complete for mission {}", missionId);
+            logger.debug("Analysis complete for mission {}", missionId);
 
         } catch (Exception e) {
             logger.error("Error during impact analysis: {}", e.getMessage(), e);
@@ -126,7 +384,7 @@ public class ImpactAnalysisService {
             response.setCampAnalysisList(new ArrayList<>());
         }
 
-        return response;
+        return new AnalysisRun(response, startedProgress);
     }
 
     /**
@@ -142,77 +400,262 @@ public class ImpactAnalysisService {
     private RiskScoreCalculator riskScoreCalculator;
 
     /**
-     * Process a single camp: Rule Engine (Primary) + ML (Metadata)
+     * Per-camp working state carried between the rule pass and the ML batch call.
+     */
+    private record CampWork(Camp camp, CampAiAnalysis analysis,
+            com.india.idro.dto.CampRequirementDTO ruleResult, AiPredictionRequestDTO request,
+            String fingerprint) {
+    }
+
+    /**
+     * One chunk of camps in flight. Whoever flips delivered first - the chunk
+     * task once its results are ready, or the request thread at the deadline -
+     * produces that chunk's results, so no camp is answered or streamed twice.
+     * ready completes with the chunk's results before they are persisted.
+     */
+    private static final class ChunkRun {
+        private final List<Camp> camps;
+        private final AtomicBoolean delivered = new AtomicBoolean();
+        private final CompletableFuture<List<CampAiAnalysis>> ready = new CompletableFuture<>();
+
+        private ChunkRun(List<Camp> camps) {
+            this.camps = camps;
+        }
+    }
+
+    /**
+     * Wait for all chunks, but not past the deadline.
      */
-    private CampAiAnalysis processCamp(Camp camp, Alert mission) {
+    private void awaitChunks(List<ChunkRun> runs, Deadline deadline, String missionId) {
+        if (runs.isEmpty()) {
+            return;
+        }
+        CompletableFuture<?>[] futures = runs.stream().map(run -> run.ready).toArray(CompletableFuture[]::new);
         try {
-            // 1. Context Setup
-            String urgencyStr = camp.getUrgency();
-            if (urgencyStr == null || urgencyStr.isEmpty()) {
-                urgencyStr = mission.getUrgency() != null ? mission.getUrgency() : "24 Hours";
+            CompletableFuture.allOf(futures).get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            long pending = runs.stream().filter(run -> !run.ready.isDone()).count();
+            logger.warn("Mission {}: deadline of {}ms reached with {} of {} chunks still running",
+                    missionId, deadline.getBudget().toMillis(), pending, runs.size());
+        } catch (ExecutionException e) {
+            // A failed chunk is answered from the Rule Engine by collectChunk
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Results of a chunk after awaitChunks: its own if it delivered, otherwise
+     * Rule Engine results computed here. Never waits past the deadline (plus
+     * DELIVERY_GRACE for a chunk that has already claimed delivery).
+     */
+    private List<CampAiAnalysis> collectChunk(ChunkRun run, Alert mission, CompiledRuleSet rules,
+            MissionAnalysisProgress progress, Deadline deadline, Set<String> degradedCamps,
+            Consumer<CampAiAnalysis> onCampAnalyzed) {
+        if (run.delivered.compareAndSet(false, true)) {
+            // Still running (or failed before delivering): answer it here
+            return ruleEngineResults(run, mission, rules, degradedCamps, progress, onCampAnalyzed);
+        }
+
+        // The chunk claimed delivery and is merging its results
+        Duration wait = deadline.remaining().compareTo(DELIVERY_GRACE) > 0 ? deadline.remaining() : DELIVERY_GRACE;
+        try {
+            return run.ready.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Mission {}: chunk of {} camps did not hand back its results in time; using Rule Engine",
+                    mission.getId(), run.camps.size());
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The chunk still records progress and streams its own results
+        return ruleEngineResults(run, mission, rules, degradedCamps, null, null);
+    }
+
+    /**
+     * Rule Engine only; not persisted, so the next run retries the ML server
+     * for these camps. Progress and listener are skipped when null.
+     */
+    private List<CampAiAnalysis> ruleEngineResults(ChunkRun run, Alert mission, CompiledRuleSet rules,
+            Set<String> degradedCamps, MissionAnalysisProgress progress, Consumer<CampAiAnalysis> onCampAnalyzed) {
+        List<CampAiAnalysis> results = new ArrayList<>(run.camps.size());
+        for (Camp camp : run.camps) {
+            try {
+                CampAiAnalysis analysis = prepareCamp(camp, mission, rules, null).analysis();
+                analysis.setPredictionSource("Rule Engine");
+                degradedCamps.add(camp.getId());
+                if (progress != null) {
+                    progress.recordMlFallback();
+                    progress.recordDegraded();
+                    progress.recordCompleted();
+                }
+                if (onCampAnalyzed != null) {
+                    notifyCampAnalyzed(onCampAnalyzed, analysis);
+                }
+                results.add(analysis);
+            } catch (Exception e) {
+                logger.error("Failed to process camp {}: {}", camp.getId(), e.getMessage());
+                if (progress != null) {
+                    progress.recordFailed();
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Process a chunk of camps: Rule Engine (Primary) for each camp, then one
+     * batched ML call (Metadata) for the whole chunk within the deadline.
+     */
+    private void processCampChunk(ChunkRun run, Alert mission, CompiledRuleSet rules,
+            Map<String, String> fingerprints, MissionAnalysisProgress progress, Deadline deadline,
+            Set<String> degradedCamps, Consumer<CampAiAnalysis> onCampAnalyzed) {
+        // 1. Rule Engine pass (no I/O)
+        List<CampWork> work = new ArrayList<>(run.camps.size());
+        int failedCamps = 0;
+        for (Camp camp : run.camps) {
+            try {
+                work.add(prepareCamp(camp, mission, rules, fingerprints.get(camp.getId())));
+            } catch (Exception e) {
+                logger.error("Failed to process camp {}: {}", camp.getId(), e.getMessage());
+                failedCamps++;
             }
-            camp.setSeverity(mission.getMagnitude());
-            // No longer overriding camp.urgency here as it's the field's data source
-            int supplyHours = urgencyEvaluator.convertUrgencyToHours(urgencyStr);
-
-            // 2. Rule Engine Calculation (Source of Truth for quantities)
-            com.india.idro.dto.CampRequirementDTO ruleResult = ruleBasedCalculator.calculateRequirements(camp);
-
-            // 3. Initialize Analysis DTO
-            CampAiAnalysis analysis = new CampAiAnalysis();
-            analysis.setCampId(camp.getId());
-            analysis.setCampName(camp.getName());
-            analysis.setPopulation(camp.getPopulation() != null ? camp.getPopulation() : 0);
-            analysis.setInjuredCount(camp.getInjuredCount());
-            analysis.setUrgency(urgencyStr);
-
-            // 4. Strict Operational Requirements (Single Source of Truth - Mandated
-            // Formulas)
-            int population = analysis.getPopulation();
-            int injured = analysis.getInjuredCount();
-
-            analysis.setFoodPackets(population * 3);
-            analysis.setWaterLiters(population * 5);
-            analysis.setBeds(injured);
-            analysis.setMedicalKits((int) Math.ceil(injured / 2.0));
-
-            // Rule Engine base for others
-            analysis.setVolunteers(ruleResult.getVolunteersRequired());
-            analysis.setAmbulances((int) Math.ceil(injured / 4.0));
-
-            // 5. Generate Concise, Rule-Based Explanations
-            analysis.setExplanations(generateRuleExplanations(camp, ruleResult, urgencyStr));
-
-            // 6. ML Call & Hybrid Integration (Safety-First Merging)
+        }
+
+        // 2. ML Call & Hybrid Integration (Safety-First Merging) - one call per chunk
+        // Circuit open or deadline passed: skip straight to the Rule Engine without waiting on ML permits
+        List<AiPredictionResponseDTO> mlResponses = null;
+        if (!work.isEmpty() && !mlPredictionService.isCircuitOpen() && !deadline.isExpired()) {
             try {
-                AiPredictionRequestDTO request = new AiPredictionRequestDTO();
-                request.setDisasterType(mission.getType() != null ? mission.getType().toString() : "Unknown");
-                request.setSeverity(mission.getMagnitude() != null ? mission.getMagnitude() : "Moderate");
-                request.setUrgency(mission.getUrgency() != null ? mission.getUrgency() : "Medium");
-                request.setAffectedCount(population);
-                request.setInjuredCount(injured);
-                request.setLatitude(camp.getLatitude() != null ? camp.getLatitude() : 0.0);
-                request.setLongitude(camp.getLongitude() != null ? camp.getLongitude() : 0.0);
+                List<AiPredictionRequestDTO> requests = work.stream()
+                        .map(CampWork::request)
+                        .collect(Collectors.toList());
+                // The permit wait counts against the deadline; the ML call gets whatever is left
+                mlResponses = analysisLimiter.callMl(
+                        () -> mlPredictionService.predictBatch(requests, deadline.remaining()), deadline);
+            } catch (Exception mlEx) {
+                logger.warn("ML fallback to Rule Engine for {} camps of mission {}: {}",
+                        work.size(), mission.getId(), mlEx.getMessage());
+            }
+        }
 
-                AiPredictionResponseDTO mlResponse = mlPredictionService.predict(request);
+        // The request thread answered for this chunk at the deadline: drop our results
+        if (!run.delivered.compareAndSet(false, true)) {
+            logger.debug("Chunk of {} camps for mission {} finished after the deadline; results discarded",
+                    run.camps.size(), mission.getId());
+            return;
+        }
+        for (int i = 0; i < failedCamps; i++) {
+            progress.recordFailed();
+        }
 
+        // 3. Merge
+        List<CampAiAnalysis> results = new ArrayList<>(work.size());
+        List<CampAiPrediction> entities = new ArrayList<>(work.size());
+        for (int i = 0; i < work.size(); i++) {
+            CampWork item = work.get(i);
+            try {
+                AiPredictionResponseDTO mlResponse = mlResponses != null ? mlResponses.get(i) : null;
                 if (mlResponse != null && mlResponse.getRequirements() != null) {
-                    analysis.setPredictionSource("Hybrid AI");
+                    item.analysis().setPredictionSource("Hybrid AI");
+                } else {
+                    item.analysis().setPredictionSource("Rule Engine");
+                    progress.recordMlFallback();
+                    if (deadline.isExpired()) {
+                        degradedCamps.add(item.camp().getId());
+                        progress.recordDegraded();
+                    }
                 }
-            } catch (Exception mlEx) {
-                logger.warn("ML fallback to Rule Engine for camp {}: {}", camp.getId(), mlEx.getMessage());
-                analysis.setPredictionSource("Rule Engine");
+
+                entities.add(toPredictionEntity(mission.getId(), item.camp().getId(),
+                        item.analysis(), item.ruleResult(), item.fingerprint(), rules.version()));
+                results.add(item.analysis());
+            } catch (Exception e) {
+                logger.error("Failed to process camp {}: {}", item.camp().getId(), e.getMessage());
+                progress.recordFailed();
             }
+        }
 
-            // 9. Persist Prediction (mapped back to entity fields)
-            savePrediction(mission.getId(), camp.getId(), analysis, ruleResult);
+        results.forEach(analysis -> {
+            progress.recordCompleted();
+            notifyCampAnalyzed(onCampAnalyzed, analysis);
+        });
+        run.ready.complete(results);
 
-            return analysis;
+        // 4. Persist Predictions - one unordered bulk upsert per chunk, off the request path
+        try {
+            analysisLimiter.runMongo(() -> savePredictions(mission.getId(), entities),
+                    Deadline.after(persistTimeout));
+        } catch (IllegalStateException e) {
+            logger.warn("Predictions for {} camps of mission {} not saved: {}", entities.size(), mission.getId(),
+                    e.getMessage());
+        }
+    }
 
+    /**
+     * A failing listener (e.g. a disconnected stream) must not abort the analysis
+     */
+    private void notifyCampAnalyzed(Consumer<CampAiAnalysis> onCampAnalyzed, CampAiAnalysis analysis) {
+        try {
+            onCampAnalyzed.accept(analysis);
         } catch (Exception e) {
-            logger.error("Failed to process camp {}: {}", camp.getId(), e.getMessage());
+            logger.debug("Camp analysis listener failed for camp {}: {}", analysis.getCampId(), e.getMessage());
         }
-        return null;
+    }
+
+    /**
+     * Process a single camp: Rule Engine (Primary) and the ML request (Metadata)
+     */
+    private CampWork prepareCamp(Camp camp, Alert mission, CompiledRuleSet rules, String fingerprint) {
+        // 1. Context Setup
+        String urgencyStr = camp.getUrgency();
+        if (urgencyStr == null || urgencyStr.isEmpty()) {
+            urgencyStr = mission.getUrgency() != null ? mission.getUrgency() : "24 Hours";
+        }
+        camp.setSeverity(mission.getMagnitude());
+        // No longer overriding camp.urgency here as it's the field's data source
+        int supplyHours = urgencyEvaluator.convertUrgencyToHours(urgencyStr);
+
+        // 2. Rule Engine Calculation (Source of Truth for quantities)
+        com.india.idro.dto.CampRequirementDTO ruleResult = ruleBasedCalculator.calculateRequirements(camp, rules);
+
+        // 3. Initialize Analysis DTO
+        CampAiAnalysis analysis = new CampAiAnalysis();
+        analysis.setCampId(camp.getId());
+        analysis.setCampName(camp.getName());
+        analysis.setPopulation(camp.getPopulation() != null ? camp.getPopulation() : 0);
+        analysis.setInjuredCount(camp.getInjuredCount());
+        analysis.setUrgency(urgencyStr);
+
+        // 4. Strict Operational Requirements (Single Source of Truth - ratios of
+        // the run's rule set)
+        int population = analysis.getPopulation();
+        int injured = analysis.getInjuredCount();
+
+        analysis.setFoodPackets(rules.foodPackets(population));
+        analysis.setWaterLiters(rules.waterLiters(population));
+        analysis.setBeds(rules.beds(injured));
+        analysis.setMedicalKits(rules.medicalKits(injured));
+
+        // Rule Engine base for others
+        analysis.setVolunteers(ruleResult.getVolunteersRequired());
+        analysis.setAmbulances(rules.ambulances(injured));
+
+        // 5. Generate Concise, Rule-Based Explanations
+        analysis.setExplanations(generateRuleExplanations(camp, ruleResult, urgencyStr));
+
+        // 6. ML Request (sent later as part of the chunk's batch call)
+        AiPredictionRequestDTO request = new AiPredictionRequestDTO();
+        request.setDisasterType(mission.getType() != null ? mission.getType().toString() : "Unknown");
+        request.setSeverity(mission.getMagnitude() != null ? mission.getMagnitude() : "Moderate");
+        request.setUrgency(mission.getUrgency() != null ? mission.getUrgency() : "Medium");
+        request.setAffectedCount(population);
+        request.setInjuredCount(injured);
+        request.setLatitude(camp.getLatitude() != null ? camp.getLatitude() : 0.0);
+        request.setLongitude(camp.getLongitude() != null ? camp.getLongitude() : 0.0);
+
+        return new CampWork(camp, analysis, ruleResult, request, fingerprint);
     }
 
     /**
@@ -244,35 +687,83 @@ public class ImpactAnalysisService {
     }
 
     /**
-     * Persist prediction to database
+     * Persist predictions to database, replacing any earlier prediction for the
+     * same (missionId, campId).
      */
-    private void savePrediction(String missionId, String campId, CampAiAnalysis analysis,
-            com.india.idro.dto.CampRequirementDTO rules) {
+    private void savePredictions(String missionId, List<CampAiPrediction> entities) {
         try {
-            CampAiPrediction entity = new CampAiPrediction();
-            entity.setMissionId(missionId);
-            entity.setCampId(campId);
-
-            // Quantities from internal Rules (SSoT Mandated)
-            entity.setFoodPerDay(analysis.getFoodPackets());
-            entity.setWaterPerDay(analysis.getWaterLiters());
-            entity.setMedicalKits(analysis.getMedicalKits());
-            entity.setBeds(analysis.getBeds());
-            entity.setAmbulances(analysis.getAmbulances());
-            entity.setVolunteers(analysis.getVolunteers());
+            predictionRepository.upsertAll(entities);
+        } catch (Exception e) {
+            logger.error("Error saving {} predictions for mission {}: {}", entities.size(), missionId,
+                    e.getMessage());
+        }
+    }
 
-            // Toilets still come from rules (no mandated formula yet)
-            entity.setToilets(rules.getToiletsRequired());
+    /**
+     * Map an analysis back to prediction entity fields
+     */
+    private CampAiPrediction toPredictionEntity(String missionId, String campId, CampAiAnalysis analysis,
+            com.india.idro.dto.CampRequirementDTO rules, String fingerprint, String ruleVersion) {
+        CampAiPrediction entity = new CampAiPrediction();
+        entity.setMissionId(missionId);
+        entity.setCampId(campId);
+
+        // Quantities from internal Rules (SSoT Mandated)
+        entity.setFoodPerDay(analysis.getFoodPackets());
+        entity.setWaterPerDay(analysis.getWaterLiters());
+        entity.setMedicalKits(analysis.getMedicalKits());
+        entity.setBeds(analysis.getBeds());
+        entity.setAmbulances(analysis.getAmbulances());
+        entity.setVolunteers(analysis.getVolunteers());
+
+        // Toilets still come from rules (no mandated formula yet)
+        entity.setToilets(rules.getToiletsRequired());
+
+        // From Analysis/Rule result
+        entity.setUrgency(analysis.getUrgency());
+        entity.setPredictionSource(analysis.getPredictionSource());
+        entity.setExplanations(analysis.getExplanations());
+
+        // Inputs this prediction was computed from (for incremental re-analysis)
+        entity.setInputFingerprint(fingerprint);
+        entity.setRuleVersion(ruleVersion);
+
+        return entity;
+    }
 
-            // From Analysis/Rule result
-            entity.setUrgency(analysis.getUrgency());
-            entity.setPredictionSource(analysis.getPredictionSource());
-            entity.setExplanations(analysis.getExplanations());
+    /**
+     * A stored prediction can be reused if its inputs are unchanged. Rule Engine
+     * fallbacks are recomputed once the ML server is reachable again.
+     */
+    private boolean isReusable(CampAiPrediction stored, String fingerprint, boolean mlReachable) {
+        if (stored == null || !fingerprint.equals(stored.getInputFingerprint())) {
+            return false;
+        }
+        return !mlReachable || "Hybrid AI".equals(stored.getPredictionSource());
+    }
 
-            predictionRepository.save(entity);
+    /**
+     * Rebuild the analysis DTO from a stored prediction without recomputing it
+     */
+    private CampAiAnalysis fromStoredPrediction(Camp camp, CampAiPrediction stored) {
+        CampAiAnalysis analysis = new CampAiAnalysis();
+        analysis.setCampId(camp.getId());
+        analysis.setCampName(camp.getName());
+        analysis.setPopulation(camp.getPopulation() != null ? camp.getPopulation() : 0);
+        analysis.setInjuredCount(camp.getInjuredCount());
+        analysis.setFoodPackets(valueOrZero(stored.getFoodPerDay()));
+        analysis.setWaterLiters(valueOrZero(stored.getWaterPerDay()));
+        analysis.setBeds(valueOrZero(stored.getBeds()));
+        analysis.setMedicalKits(valueOrZero(stored.getMedicalKits()));
+        analysis.setVolunteers(valueOrZero(stored.getVolunteers()));
+        analysis.setAmbulances(valueOrZero(stored.getAmbulances()));
+        analysis.setUrgency(stored.getUrgency());
+        analysis.setPredictionSource(stored.getPredictionSource());
+        analysis.setExplanations(stored.getExplanations());
+        return analysis;
+    }
 
-        } catch (Exception e) {
-            logger.error("Error saving prediction for camp {}: {}", campId, e.getMessage());
-        }
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
     }
 }
@@ -0,0 +1,234 @@
+package com.india.idro.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.dto.MissionClaimResultDTO;
+import com.india.idro.dto.MissionClaimResultDTO.Outcome;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.exception.ConflictException;
+import com.india.idro.exception.ResourceNotFoundException;
+import com.india.idro.model.Alert;
+import com.india.idro.repository.GovernmentAgencyRepository;
+import com.india.idro.repository.NGORepository;
+import com.india.idro.repository.UserRepository;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
+
+/**
+ * Claims missions (alerts) for responders without read-modify-write races.
+ *
+ * A claim is a single findAndModify conditioned on the mission still being
+ * OPEN (or never having had a status): Mongo applies it atomically per
+ * document, so of any number of concurrent claimers exactly one matches
+ * and receives the updated mission; the others match nothing. Only losers
+ * pay a second read, to report who holds the mission.
+ *
+ * Contention is tracked with LongAdders plus a bounded per-mission count of
+ * lost claims, exposed via getStats().
+ *
+ * Dashboard stats are not touched: OPEN (or null) and ASSIGNED are both
+ * active statuses, so a claim leaves every materialized counter unchanged.
+ */
+@Service
+public class MissionClaimService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MissionClaimService.class);
+
+    public static final String OPEN = "OPEN";
+    public static final String ASSIGNED = "ASSIGNED";
+
+    private static final int MAX_TRACKED_MISSIONS = 1000;
+    private static final int HOTTEST_MISSIONS = 10;
+
+    private final MongoTemplate mongoTemplate;
+    private final EntityChangePublisher changePublisher;
+    private final NGORepository ngoRepository;
+    private final GovernmentAgencyRepository agencyRepository;
+    private final UserRepository userRepository;
+    private final int maxBatch;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder claimed = new LongAdder();
+    private final LongAdder alreadyAssigned = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final Map<String, LongAdder> conflictsByMission = new ConcurrentHashMap<>();
+
+    public MissionClaimService(MongoTemplate mongoTemplate, EntityChangePublisher changePublisher,
+            NGORepository ngoRepository, GovernmentAgencyRepository agencyRepository, UserRepository userRepository,
+            @Value("${idro.missions.claim.max-batch:50}") int maxBatch) {
+        this.mongoTemplate = mongoTemplate;
+        this.changePublisher = changePublisher;
+        this.ngoRepository = ngoRepository;
+        this.agencyRepository = agencyRepository;
+        this.userRepository = userRepository;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * @param responderId Stable id of the claiming account (see ResponderIds);
+     *                    optional, but without it no STOMP session can follow
+     *                    the mission as its holder
+     * @return The mission, now ASSIGNED to responderName
+     * @throws ResourceNotFoundException if there is no such mission
+     * @throws ConflictException         if the mission is no longer OPEN
+     */
+    public Alert claim(String alertId, String responderName, String responderId) {
+        requireResponder(responderName, responderId);
+        MissionClaimResultDTO result = tryClaim(alertId, responderName, responderId);
+        switch (result.getOutcome()) {
+            case NOT_FOUND:
+                throw new ResourceNotFoundException("Alert", "id", alertId);
+            case ALREADY_ASSIGNED:
+                throw new ConflictException("Mission " + alertId + " already taken by " + result.getResponderName());
+            default:
+                return result.getAlert();
+        }
+    }
+
+    /**
+     * Claim several missions for one responder. Each mission is claimed
+     * independently; losing one does not roll back the others.
+     *
+     * @param alertIds At most idro.missions.claim.max-batch ids; duplicates are ignored
+     * @return One outcome per distinct id, in request order
+     */
+    public List<MissionClaimResultDTO> claimAll(Collection<String> alertIds, String responderName,
+            String responderId) {
+        requireResponder(responderName, responderId);
+        if (alertIds == null || alertIds.isEmpty()) {
+            throw new BadRequestException("At least one mission id is required");
+        }
+        Set<String> distinct = new LinkedHashSet<>(alertIds);
+        distinct.remove(null);
+        if (distinct.size() > maxBatch) {
+            throw new BadRequestException("At most " + maxBatch + " missions can be claimed at once");
+        }
+
+        batches.increment();
+        List<MissionClaimResultDTO> results = new ArrayList<>(distinct.size());
+        for (String alertId : distinct) {
+            results.add(tryClaim(alertId, responderName, responderId));
+        }
+        return results;
+    }
+
+    /**
+     * One conditional update; never throws for a lost or missing mission.
+     * The responder is not validated here (see claim / claimAll).
+     */
+    public MissionClaimResultDTO tryClaim(String alertId, String responderName, String responderId) {
+        attempts.increment();
+
+        Query open = new Query(Criteria.where("_id").is(alertId).orOperator(
+                Criteria.where("missionStatus").is(OPEN),
+                Criteria.where("missionStatus").is(null)));
+        Update assign = new Update().set("missionStatus", ASSIGNED).set("responderName", responderName);
+        if (responderId != null) {
+            assign.set("responderId", responderId);
+        } else {
+            assign.unset("responderId");
+        }
+        Alert alert = mongoTemplate.findAndModify(open, assign, FindAndModifyOptions.options().returnNew(true),
+                Alert.class);
+        if (alert != null) {
+            claimed.increment();
+            logger.info("Mission claimed alertId={} responder={}", alertId, responderName);
+            changePublisher.alert(ChangeType.UPDATED, alert);
+            return new MissionClaimResultDTO(alertId, Outcome.CLAIMED, responderName, ASSIGNED, alert);
+        }
+
+        // Lost the race (or no such mission): read who holds it
+        Query holder = new Query(Criteria.where("_id").is(alertId));
+        holder.fields().include("missionStatus", "responderName");
+        Alert current = mongoTemplate.findOne(holder, Alert.class);
+        if (current == null) {
+            notFound.increment();
+            return new MissionClaimResultDTO(alertId, Outcome.NOT_FOUND, null, null, null);
+        }
+
+        alreadyAssigned.increment();
+        recordConflict(alertId);
+        logger.debug("Mission claim lost alertId={} responder={} holder={} status={}", alertId, responderName,
+                current.getResponderName(), current.getMissionStatus());
+        return new MissionClaimResultDTO(alertId, Outcome.ALREADY_ASSIGNED, current.getResponderName(),
+                current.getMissionStatus(), null);
+    }
+
+    // ==================== Metrics ====================
+
+    public Map<String, Object> getStats() {
+        long attemptCount = attempts.sum();
+        long lost = alreadyAssigned.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("attempts", attemptCount);
+        stats.put("claimed", claimed.sum());
+        stats.put("alreadyAssigned", lost);
+        stats.put("notFound", notFound.sum());
+        stats.put("contentionRate", attemptCount == 0 ? 0.0 : (double) lost / attemptCount);
+        stats.put("batchClaims", batches.sum());
+        stats.put("maxBatch", maxBatch);
+
+        Map<String, Long> hottest = new LinkedHashMap<>();
+        conflictsByMission.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(HOTTEST_MISSIONS)
+                .forEach(entry -> hottest.put(entry.getKey(), entry.getValue()));
+        stats.put("mostContendedMissions", hottest);
+        return stats;
+    }
+
+    private void recordConflict(String alertId) {
+        LongAdder counter = conflictsByMission.get(alertId);
+        if (counter == null) {
+            if (conflictsByMission.size() >= MAX_TRACKED_MISSIONS) {
+                return; // bounded; totals are still counted above
+            }
+            counter = conflictsByMission.computeIfAbsent(alertId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private void requireResponder(String responderName, String responderId) {
+        if (responderName == null || responderName.isBlank()) {
+            throw new BadRequestException("Responder name is required");
+        }
+        if (responderId != null && !isKnownResponder(responderId)) {
+            throw new BadRequestException("Unknown responder id: " + responderId);
+        }
+    }
+
+    private boolean isKnownResponder(String responderId) {
+        if (responderId.startsWith(ResponderIds.NGO)) {
+            return ngoRepository.existsByNgoId(responderId.substring(ResponderIds.NGO.length()));
+        }
+        if (responderId.startsWith(ResponderIds.AGENCY)) {
+            return agencyRepository.existsByAgencyId(responderId.substring(ResponderIds.AGENCY.length()));
+        }
+        if (responderId.startsWith(ResponderIds.USER)) {
+            return userRepository.existsById(responderId.substring(ResponderIds.USER.length()));
+        }
+        return false;
+    }
+}
@@ -1,20 +1,34 @@
 package com.india.idro.service;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.india.idro.dto.AiPredictionRequestDTO;
 import com.india.idro.dto.AiPredictionResponseDTO;
+import com.india.idro.service.ai.ml.LocalModelPredictor;
+import com.india.idro.service.ai.ml.MlCallBudget;
+import com.india.idro.service.ai.ml.MlCircuitBreaker;
+import com.india.idro.service.ai.ml.PredictionCache;
 
 /**
  * Service for calling the FastAPI ML server.
  * 
  * Responsibilities:
- * - Send POST requests to ML server /predict endpoint
+ * - Send POST requests to ML server /predict and /predict/batch endpoints
+ * - Or, with idro.ml.backend=local, evaluate the exported model in-process
+ *   (LocalModelPredictor) with no network hop, cache or circuit breaker
+ * - Serve repeated requests from the in-process PredictionCache
+ * - Fail fast through MlCircuitBreaker while the ML server is down
+ * - Bound batch calls by the caller's deadline (MlCallBudget)
  * - Handle network errors gracefully
  * - Log all ML communication
  * 
@@ -28,28 +42,49 @@ public class MlPredictionService {
 
     private static final Logger logger = LoggerFactory.getLogger(MlPredictionService.class);
 
-    // ML Server Configuration
-    private static final String ML_API_URL = "http://localhost:8000/predict";
-    private static final int CONNECTION_TIMEOUT_MS = 5000; // 5 seconds
-    private static final int READ_TIMEOUT_MS = 30000; // 30 seconds
+    // ML Server Endpoints (relative to idro.ml.base-url)
+    private static final String PREDICT_PATH = "/predict";
+    private static final String PREDICT_BATCH_PATH = "/predict/batch";
+    private static final String HEALTH_PATH = "/";
 
     private final RestTemplate restTemplate;
+    private final PredictionCache predictionCache;
+    private final MlCircuitBreaker circuitBreaker;
+    private final LocalModelPredictor localPredictor;
+    private final boolean localBackend;
+    private final String mlApiUrl;
 
     /**
-     * Constructor - Initializes RestTemplate with timeout configuration.
+     * Constructor - Uses the shared, pooled ML RestTemplate (see MlClientConfig).
      */
-    public MlPredictionService() {
-        // Configure HTTP client with timeouts to prevent hanging
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(CONNECTION_TIMEOUT_MS);
-        factory.setReadTimeout(READ_TIMEOUT_MS);
+    public MlPredictionService(@Qualifier("mlRestTemplate") RestTemplate restTemplate,
+            PredictionCache predictionCache,
+            MlCircuitBreaker circuitBreaker,
+            LocalModelPredictor localPredictor,
+            @Value("${idro.ml.base-url:http://localhost:8000}") String baseUrl,
+            @Value("${idro.ml.backend:remote}") String backend) {
+        this.restTemplate = restTemplate;
+        this.predictionCache = predictionCache;
+        this.circuitBreaker = circuitBreaker;
+        this.localPredictor = localPredictor;
+        this.localBackend = "local".equalsIgnoreCase(backend);
+        this.mlApiUrl = baseUrl + PREDICT_PATH;
 
-        this.restTemplate = new RestTemplate(factory);
+        // Half-open probing uses the health check below
+        circuitBreaker.registerProbe(this::isAvailable);
 
         logger.info("MlPredictionService initialized");
-        logger.info("ML API URL: {}", ML_API_URL);
-        logger.info("Connection timeout: {}ms, Read timeout: {}ms",
-                CONNECTION_TIMEOUT_MS, READ_TIMEOUT_MS);
+        logger.info("ML API URL: {}", mlApiUrl);
+        if (localBackend && !localPredictor.isLoaded()) {
+            logger.warn("idro.ml.backend=local but no model is loaded; using the ML server");
+        }
+    }
+
+    /**
+     * Local backend selected and its model loaded
+     */
+    private boolean useLocal() {
+        return localBackend && localPredictor.isLoaded();
     }
 
     /**
@@ -63,51 +98,169 @@ public class MlPredictionService {
             logger.error("Prediction request is null");
             return null;
         }
+        if (useLocal()) {
+            return localPredictor.predict(request);
+        }
+
+        return predictionCache.get(request, () -> callPredict(request));
+    }
+
+    private AiPredictionResponseDTO callPredict(AiPredictionRequestDTO request) {
+        if (!circuitBreaker.allowRequest()) {
+            logger.debug("ML circuit open - skipping prediction request");
+            return null;
+        }
 
         try {
             logger.debug("Sending prediction request to ML server: {}", request);
 
             // POST request to ML server
             AiPredictionResponseDTO response = restTemplate.postForObject(
-                    ML_API_URL,
+                    PREDICT_PATH,
                     request,
                     AiPredictionResponseDTO.class);
 
-            if (response != null) {
-                logger.info("✅ ML prediction successful - Source: {}, Risk: {}",
-                        response.getPredictionSource(),
-                        response.getRiskScore());
-                logger.debug("Full ML response: {}", response);
-            } else {
+            if (response == null) {
                 logger.warn("ML server returned null response");
+                circuitBreaker.recordFailure();
+                return null;
             }
 
+            logger.debug("ML prediction successful - Source: {}, Risk: {}",
+                    response.getPredictionSource(),
+                    response.getRiskScore());
+            logger.debug("Full ML response: {}", response);
+            circuitBreaker.recordSuccess();
             return response;
 
         } catch (RestClientException e) {
             // Network errors, timeouts, HTTP errors
-            logger.error("❌ Failed to call ML server at {}: {}",
-                    ML_API_URL, e.getMessage());
+            logger.error("Failed to call ML server at {}: {}",
+                    mlApiUrl, e.getMessage());
             logger.debug("ML server error details", e);
+            circuitBreaker.recordFailure(e);
             return null;
 
         } catch (Exception e) {
             // Unexpected errors
-            logger.error("❌ Unexpected error during ML prediction: {}", e.getMessage(), e);
+            logger.error("Unexpected error during ML prediction: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Call ML server once for many prediction requests.
+     * The ML server encodes and predicts the whole list as a single DataFrame.
+     * 
+     * @param requests The prediction requests (one per camp)
+     * @return Responses in the same order as requests; an element is null if
+     *         its prediction could not be obtained (e.g. ML server unavailable)
+     */
+    public List<AiPredictionResponseDTO> predictBatch(List<AiPredictionRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (useLocal()) {
+            List<AiPredictionResponseDTO> responses = localPredictor.predictBatch(requests);
+            return responses != null ? responses : Arrays.asList(new AiPredictionResponseDTO[requests.size()]);
+        }
+
+        return predictionCache.getAll(requests, this::callPredictBatch);
+    }
+
+    /**
+     * {@link #predictBatch(List)} under a caller deadline: the ML server call
+     * (and any wait on an identical in-flight call) gives up once the budget is
+     * spent instead of after idro.ml.request-timeout.
+     * 
+     * @param requests The prediction requests (one per camp)
+     * @param budget   Time left for this call; zero or negative skips the ML server
+     * @return Responses in request order; an element is null if its prediction
+     *         could not be obtained within the budget
+     */
+    public List<AiPredictionResponseDTO> predictBatch(List<AiPredictionRequestDTO> requests, Duration budget) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (useLocal()) {
+            // In-process evaluation has no network wait to bound
+            return predictBatch(requests);
+        }
+        if (budget.isZero() || budget.isNegative()) {
+            logger.debug("No time budget left - skipping batch of {} prediction requests", requests.size());
+            return Arrays.asList(new AiPredictionResponseDTO[requests.size()]);
+        }
+
+        return MlCallBudget.within(budget, () -> predictionCache.getAll(requests, this::callPredictBatch));
+    }
+
+    private List<AiPredictionResponseDTO> callPredictBatch(List<AiPredictionRequestDTO> requests) {
+        if (!circuitBreaker.allowRequest()) {
+            logger.debug("ML circuit open - skipping batch of {} prediction requests", requests.size());
+            return null;
+        }
+
+        try {
+            logger.debug("Sending batch prediction request to ML server: {} items", requests.size());
+
+            AiPredictionResponseDTO[] response = restTemplate.postForObject(
+                    PREDICT_BATCH_PATH,
+                    requests,
+                    AiPredictionResponseDTO[].class);
+
+            if (response == null || response.length != requests.size()) {
+                logger.warn("ML server returned {} results for {} batch requests",
+                        response == null ? "null" : response.length, requests.size());
+                circuitBreaker.recordFailure();
+                return null;
+            }
+
+            circuitBreaker.recordSuccess();
+            logger.debug("ML batch prediction successful - {} items", response.length);
+            return Arrays.asList(response);
+
+        } catch (RestClientException e) {
+            if (MlCallBudget.isExhausted()) {
+                return abandonedBatch(requests.size());
+            }
+            logger.error("Failed to call ML server at {}: {}",
+                    mlApiUrl + "/batch", e.getMessage());
+            logger.debug("ML server error details", e);
+            circuitBreaker.recordFailure(e);
+            return null;
+
+        } catch (Exception e) {
+            // A blocking-read timeout surfaces as IllegalStateException rather than RestClientException
+            if (MlCallBudget.isExhausted()) {
+                return abandonedBatch(requests.size());
+            }
+            logger.error("Unexpected error during ML batch prediction: {}", e.getMessage(), e);
             return null;
         }
     }
 
+    /**
+     * A batch cut off by the caller's deadline is not an ML server failure, so
+     * the circuit breaker is left alone.
+     */
+    private List<AiPredictionResponseDTO> abandonedBatch(int size) {
+        logger.warn("ML batch of {} items abandoned - caller's time budget exhausted", size);
+        return null;
+    }
+
     /**
      * Check if ML server is reachable.
      * 
      * @return true if ML server responds, false otherwise
      */
     public boolean isAvailable() {
+        if (useLocal()) {
+            return true;
+        }
         try {
             // Simple health check - could be improved with a dedicated /health endpoint
-            logger.debug("Checking ML server availability at {}", ML_API_URL);
-            restTemplate.getForObject(ML_API_URL.replace("/predict", "/"), String.class);
+            logger.debug("Checking ML server availability at {}", mlApiUrl);
+            restTemplate.getForObject(HEALTH_PATH, String.class);
             return true;
         } catch (Exception e) {
             logger.warn("ML server is not available: {}", e.getMessage());
@@ -115,12 +268,21 @@ public class MlPredictionService {
         }
     }
 
+    /**
+     * Whether callers should skip the ML server and use the Rule Engine directly.
+     * 
+     * @return true while the circuit breaker is open or probing
+     */
+    public boolean isCircuitOpen() {
+        return !useLocal() && circuitBreaker.isOpen();
+    }
+
     /**
      * Get the configured ML API URL.
      * 
      * @return ML server URL
      */
     public String getMlApiUrl() {
-        return ML_API_URL;
+        return mlApiUrl;
     }
 }
@@ -7,10 +7,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
 
+import com.india.idro.dto.NGOSummaryDTO;
 import com.india.idro.model.NGO;
 import com.india.idro.model.NGOResourceSubmission;
 import com.india.idro.model.ResourceItem;
@@ -19,26 +24,43 @@ import com.india.idro.model.enums.CoverageRadius;
 import com.india.idro.model.enums.ResponseTime;
 import com.india.idro.repository.NGORepository;
 import com.india.idro.repository.NGOResourceSubmissionRepository;
+import com.india.idro.service.geo.CityCoordinates;
+import com.india.idro.service.geo.GeoPoints;
+import com.india.idro.service.geo.ResponderGridIndex;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangePublisher;
 
 @Service
 public class NGOService implements CommandLineRunner {
 
+        private static final Logger logger = LoggerFactory.getLogger(NGOService.class);
+
         @Autowired
         private NGORepository ngoRepository;
 
         @Autowired
         private NGOResourceSubmissionRepository submissionRepository;
 
+        @Autowired
+        private EntityChangePublisher changePublisher;
+
         @Autowired
         private com.india.idro.repository.AlertRepository alertRepository;
 
+        @Autowired
+        private ResponderGridIndex responderGridIndex;
+
+        // NGOs within this distance of a disaster with coordinates are listed for it
+        @Value("${idro.geo.responder-radius-km:300}")
+        private double responderRadiusKm;
+
         @Override
         public void run(String... args) throws Exception {
                 initializeDemoAccounts();
         }
 
         public void initializeDemoAccounts() {
-                System.out.println("🔧 Initializing/Updating 25 NGO demo accounts...");
+                logger.info("Initializing/updating 25 NGO demo accounts");
 
                 // Create/Update 25 pre-defined NGO accounts
                 List<NGO> demoNGOs = Arrays.asList(
@@ -143,7 +165,8 @@ public class NGOService implements CommandLineRunner {
                                                 Arrays.asList("Mela Support", "Flood Relief")));
 
                 ngoRepository.saveAll(demoNGOs);
-                System.out.println("✅ Successfully initialized/updated 25 NGO demo accounts");
+                responderGridIndex.invalidate();
+                logger.info("Initialized/updated 25 NGO demo accounts");
         }
 
         private NGO updateOrCreateNGO(String ngoId, String password, String ngoName,
@@ -163,6 +186,13 @@ public class NGOService implements CommandLineRunner {
                 ngo.setOperatingRegion(operatingRegion);
                 ngo.setSupportedDisasterTypes(supportedDisasterTypes);
 
+                // Place on the map from the city unless coordinates were set explicitly
+                double[] coordinates = CityCoordinates.lookup(city);
+                if (ngo.getLatitude() == null && coordinates != null) {
+                        ngo.setLatitude(coordinates[0]);
+                        ngo.setLongitude(coordinates[1]);
+                }
+
                 // Only initialize default resources for new NGOs
                 if (ngo.getId() == null) {
                         Map<String, ResourceItem> reliefSupplies = new HashMap<>();
@@ -307,7 +337,9 @@ public class NGOService implements CommandLineRunner {
 
                 ngo.setLastUpdated(LocalDateTime.now());
 
-                return ngoRepository.save(ngo);
+                NGO saved = ngoRepository.save(ngo);
+                changePublisher.ngo(ChangeType.UPDATED, saved);
+                return saved;
         }
 
         public NGO updateAvailability(String ngoId, AvailabilityStatus availabilityStatus,
@@ -330,48 +362,42 @@ public class NGOService implements CommandLineRunner {
 
                 ngo.setLastUpdated(LocalDateTime.now());
 
-                return ngoRepository.save(ngo);
+                NGO saved = ngoRepository.save(ngo);
+                responderGridIndex.invalidate();
+                changePublisher.ngo(ChangeType.UPDATED, saved);
+                return saved;
         }
 
         private static final List<String> VALID_INDIAN_STATES = java.util.Arrays.asList(
                         "Maharashtra", "Rajasthan", "Assam", "Gujarat", "Uttar Pradesh");
 
+        /**
+         * NGOs for a disaster: those within idro.geo.responder-radius-km of it,
+         * nearest first, when the disaster has coordinates; otherwise NGOs in the
+         * state named in its location text.
+         */
         public List<NGO> getAllNGOs(String disasterId) {
-                if (disasterId == null || disasterId.trim().isEmpty()) {
-                        System.out.println("⚠️ No disaster context provided. Returning empty list for isolation.");
-                        return new java.util.ArrayList<>();
-                }
-
-                // 1. Fetch disaster context
-                com.india.idro.model.Alert alert = alertRepository.findById(disasterId).orElse(null);
-                if (alert == null || alert.getLocation() == null || alert.getLocation().trim().isEmpty()) {
-                        System.out.println("⚠️ Disaster or location context missing. Returning empty list.");
+                com.india.idro.model.Alert alert = findDisaster(disasterId);
+                if (alert == null) {
                         return new java.util.ArrayList<>();
                 }
 
-                String location = alert.getLocation();
-                System.out.println("🔍 Analyzing Location for State: [" + location + "]");
-
-                // 2. Identify State by Keyword Matching
-                String detectedState = null;
-                for (String state : VALID_INDIAN_STATES) {
-                        if (location.toLowerCase().contains(state.toLowerCase())) {
-                                detectedState = state;
-                                break;
-                        }
+                GeoJsonPoint point = GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude());
+                if (point != null) {
+                        List<NGO> nearby = ngoRepository.findNear(point, responderRadiusKm * 1000);
+                        logger.debug("Found NGOs near disasterId={} radiusKm={} count={}", disasterId,
+                                        responderRadiusKm, nearby.size());
+                        return nearby;
                 }
 
+                String detectedState = resolveDisasterState(alert);
                 if (detectedState == null) {
-                        System.out.println(
-                                        "⚠️ No matching Indian state detected in location. Scoping empty pool for safety.");
                         return new java.util.ArrayList<>();
                 }
 
-                System.out.println("📍 Detected State: [" + detectedState + "]");
-
                 // 3. Fetch NGOs strictly by matching state
-                List<NGO> allNgosInState = ngoRepository.findByStateIgnoreCase(detectedState);
-                System.out.println("🏢 Found " + allNgosInState.size() + " NGOs matching: " + detectedState);
+                List<NGO> allNgosInState = ngoRepository.findByState(detectedState);
+                logger.debug("Found NGOs state={} count={}", detectedState, allNgosInState.size());
 
                 // 4. Extract ngoIds (as requested for tiered isolation)
                 List<String> filteredNgoIds = allNgosInState.stream()
@@ -385,4 +411,67 @@ public class NGOService implements CommandLineRunner {
                 // 5. Final Isolation Fetch
                 return ngoRepository.findByNgoIdIn(filteredNgoIds);
         }
+
+        /**
+         * Roster view of getAllNGOs: same scoping, but only summary fields
+         * are read from Mongo (no password, resource maps or notes).
+         */
+        public List<NGOSummaryDTO> getNGOSummaries(String disasterId) {
+                com.india.idro.model.Alert alert = findDisaster(disasterId);
+                if (alert == null) {
+                        return new java.util.ArrayList<>();
+                }
+
+                GeoJsonPoint point = GeoPoints.toPoint(alert.getLatitude(), alert.getLongitude());
+                if (point != null) {
+                        return ngoRepository.findNear(point, responderRadiusKm * 1000, NGOSummaryDTO.class);
+                }
+
+                String detectedState = resolveDisasterState(alert);
+                if (detectedState == null) {
+                        return new java.util.ArrayList<>();
+                }
+                return ngoRepository.findByState(detectedState, NGOSummaryDTO.class);
+        }
+
+        /**
+         * @return The disaster, or null if the id is missing or unknown
+         */
+        private com.india.idro.model.Alert findDisaster(String disasterId) {
+                if (disasterId == null || disasterId.trim().isEmpty()) {
+                        logger.debug("No disaster context provided, returning no NGOs");
+                        return null;
+                }
+
+                // 1. Fetch disaster context
+                com.india.idro.model.Alert alert = alertRepository.findById(disasterId).orElse(null);
+                if (alert == null) {
+                        logger.debug("Disaster not found disasterId={}, returning no NGOs", disasterId);
+                }
+                return alert;
+        }
+
+        /**
+         * Resolve the Indian state of a disaster from its location text.
+         *
+         * @return The matching state, or null if the location or its state is unknown
+         */
+        private String resolveDisasterState(com.india.idro.model.Alert alert) {
+                String location = alert.getLocation();
+                if (location == null || location.trim().isEmpty()) {
+                        logger.debug("Location context missing disasterId={}, returning no NGOs", alert.getId());
+                        return null;
+                }
+                logger.debug("Resolving NGO state disasterId={} location={}", alert.getId(), location);
+
+                // 2. Identify State by Keyword Matching
+                for (String state : VALID_INDIAN_STATES) {
+                        if (location.toLowerCase().contains(state.toLowerCase())) {
+                                return state;
+                        }
+                }
+
+                logger.debug("No supported state in location={}, returning no NGOs", location);
+                return null;
+        }
 }
@@ -0,0 +1,257 @@
+package com.india.idro.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.dto.PageResponse;
+import com.india.idro.exception.BadRequestException;
+
+/**
+ * Paged listing queries shared by the alert, camp and action endpoints.
+ *
+ * Two modes:
+ * - Offset: page + size, with a total count (skip cost grows with the page number)
+ * - Keyset: cursor + size, no count; each page is an index range scan that
+ *   starts right after the previous page's last (sortField, _id) pair, so
+ *   latency stays flat however deep the client scrolls
+ *
+ * Every sort is tie-broken on _id so the order is total and cursors are stable.
+ * Sortable fields are whitelisted per endpoint and backed by (field, _id)
+ * compound indexes declared on the models.
+ */
+@Service
+public class PageQueryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageQueryService(MongoTemplate mongoTemplate,
+            @Value("${idro.paging.default-size:20}") int defaultSize,
+            @Value("${idro.paging.max-size:200}") int maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxSize = Math.max(1, maxSize);
+        this.defaultSize = Math.min(Math.max(1, defaultSize), this.maxSize);
+    }
+
+    /**
+     * Sort fields an endpoint accepts, and the order used when none is requested.
+     */
+    public record SortOptions(String defaultField, Sort.Direction defaultDirection, Set<String> fields) {
+
+        public static SortOptions of(Sort.Direction defaultDirection, String defaultField, String... otherFields) {
+            Set<String> fields = new LinkedHashSet<>();
+            fields.add(defaultField);
+            fields.addAll(List.of(otherFields));
+            return new SortOptions(defaultField, defaultDirection, Collections.unmodifiableSet(fields));
+        }
+    }
+
+    /**
+     * @return true if the caller asked for any paging; unpaged requests keep
+     *         the legacy full-list response
+     */
+    public static boolean isPaged(Integer page, Integer size, String cursor, String sort) {
+        return page != null || size != null || cursor != null || sort != null;
+    }
+
+    /**
+     * Fetch one page.
+     *
+     * @param type    Document class to query
+     * @param filter  Optional base filter (may be null)
+     * @param options Sort whitelist and default
+     * @param page    Zero-based page number (offset mode); must not be combined with cursor
+     * @param size    Page size, clamped to idro.paging.max-size
+     * @param cursor  Opaque nextCursor from a previous response (keyset mode)
+     * @param sort    "field" or "field,asc|desc"
+     * @return Page of results; pageNumber, totalElements and totalPages are -1 in keyset mode
+     */
+    public <T> PageResponse<T> findPage(Class<T> type, Criteria filter, SortOptions options,
+            Integer page, Integer size, String cursor, String sort) {
+        return findPage(type, type, filter, options, page, size, cursor, sort);
+    }
+
+    /**
+     * Projection variant: queries the entity collection but reads only the
+     * fields of resultType (a DTO that must include every sortable field).
+     */
+    public <T> PageResponse<T> findPage(Class<?> entityType, Class<T> resultType, Criteria filter,
+            SortOptions options, Integer page, Integer size, String cursor, String sort) {
+        if (page != null && cursor != null) {
+            throw new BadRequestException("Use either page or cursor, not both");
+        }
+        if (page != null && page < 0) {
+            throw new BadRequestException("Page number must not be negative");
+        }
+        int pageSize = size == null ? defaultSize : Math.min(Math.max(1, size), maxSize);
+
+        SortKey sortKey = parseSort(sort, options);
+        Cursor after = null;
+        if (cursor != null) {
+            after = decodeCursor(cursor);
+            if (!options.fields().contains(after.sortKey().field())) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (sort != null && !after.sortKey().equals(sortKey)) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            sortKey = after.sortKey();
+        }
+
+        Criteria criteria = combine(filter, after != null ? keysetCriteria(after) : null);
+        Query query = criteria != null ? new Query(criteria) : new Query();
+        query.with(Sort.by(sortKey.direction(), sortKey.field()).and(Sort.by(sortKey.direction(), "id")));
+
+        PageResponse<T> response = new PageResponse<>();
+        response.setPageSize(pageSize);
+
+        if (after == null && page != null) {
+            // Offset mode
+            int pageNumber = page;
+            query.skip((long) pageNumber * pageSize).limit(pageSize);
+            List<T> content = find(entityType, resultType, query);
+            long total = mongoTemplate.count(criteria != null ? new Query(criteria) : new Query(), entityType);
+            int totalPages = (int) ((total + pageSize - 1) / pageSize);
+
+            response.setContent(content);
+            response.setPageNumber(pageNumber);
+            response.setTotalElements(total);
+            response.setTotalPages(totalPages);
+            response.setLast(pageNumber + 1 >= totalPages);
+        } else {
+            // Keyset mode (also the first page when only size/sort is given)
+            query.limit(pageSize + 1);
+            List<T> content = new ArrayList<>(find(entityType, resultType, query));
+            boolean hasMore = content.size() > pageSize;
+            if (hasMore) {
+                content = content.subList(0, pageSize);
+            }
+
+            response.setContent(content);
+            response.setPageNumber(-1);
+            response.setTotalElements(-1);
+            response.setTotalPages(-1);
+            response.setLast(!hasMore);
+        }
+
+        List<T> content = response.getContent();
+        if (!response.isLast() && !content.isEmpty()) {
+            response.setNextCursor(encodeCursor(sortKey, content.get(content.size() - 1)));
+        }
+        return response;
+    }
+
+    private <T> List<T> find(Class<?> entityType, Class<T> resultType, Query query) {
+        if (entityType.equals(resultType)) {
+            return mongoTemplate.find(query, resultType);
+        }
+        return mongoTemplate.query(entityType).as(resultType).matching(query).all();
+    }
+
+    // ==================== Sort & Cursor Helpers ====================
+
+    private record SortKey(String field, Sort.Direction direction) {
+    }
+
+    private record Cursor(SortKey sortKey, Object value, Object id) {
+    }
+
+    private SortKey parseSort(String sort, SortOptions options) {
+        if (sort == null || sort.isBlank()) {
+            return new SortKey(options.defaultField(), options.defaultDirection());
+        }
+
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!options.fields().contains(field)) {
+            throw new BadRequestException("Unsupported sort field '" + field + "'. Allowed: " + options.fields());
+        }
+
+        Sort.Direction direction = options.defaultDirection();
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new BadRequestException("Sort direction must be asc or desc"));
+        }
+        return new SortKey(field, direction);
+    }
+
+    /**
+     * Cursor = base64url(extended JSON of {f, d, v, id}), using the values exactly
+     * as stored so dates and ObjectIds round-trip with their BSON types.
+     */
+    private String encodeCursor(SortKey sortKey, Object lastItem) {
+        Document stored = new Document();
+        mongoTemplate.getConverter().write(lastItem, stored);
+
+        Document cursor = new Document("f", sortKey.field())
+                .append("d", sortKey.direction().name())
+                .append("v", stored.get(sortKey.field()))
+                .append("id", stored.get("_id"));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Cursor decodeCursor(String cursor) {
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Document decoded = Document.parse(json);
+            SortKey sortKey = new SortKey(decoded.getString("f"), Sort.Direction.valueOf(decoded.getString("d")));
+            if (sortKey.field() == null || decoded.get("id") == null) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new Cursor(sortKey, decoded.get("v"), decoded.get("id"));
+        } catch (IllegalArgumentException | JsonParseException | NullPointerException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Everything strictly after (value, id) in the requested order. Mongo sorts
+     * null/missing values first ascending and last descending.
+     */
+    private Criteria keysetCriteria(Cursor after) {
+        String field = after.sortKey().field();
+        boolean ascending = after.sortKey().direction().isAscending();
+        Criteria sameValueLaterId = ascending
+                ? Criteria.where("_id").gt(after.id())
+                : Criteria.where("_id").lt(after.id());
+
+        if (after.value() == null) {
+            Criteria nullTie = new Criteria().andOperator(Criteria.where(field).is(null), sameValueLaterId);
+            return ascending
+                    ? new Criteria().orOperator(nullTie, Criteria.where(field).ne(null))
+                    : nullTie;
+        }
+
+        Criteria beyondValue = ascending
+                ? Criteria.where(field).gt(after.value())
+                : new Criteria().orOperator(Criteria.where(field).lt(after.value()), Criteria.where(field).is(null));
+        Criteria valueTie = new Criteria().andOperator(Criteria.where(field).is(after.value()), sameValueLaterId);
+        return new Criteria().orOperator(beyondValue, valueTie);
+    }
+
+    private Criteria combine(Criteria first, Criteria second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new Criteria().andOperator(first, second);
+    }
+}
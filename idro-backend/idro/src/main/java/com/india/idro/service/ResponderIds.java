@@ -0,0 +1,30 @@
+package com.india.idro.service;
+
+/**
+ * Stable responder ids stored on a claimed mission (Alert.responderId) and
+ * carried by STOMP sessions: "ngo:{ngoId}", "agency:{agencyId}" or
+ * "user:{userId}". Unlike responderName they cannot collide between
+ * accounts, so mission access is decided on them.
+ */
+public final class ResponderIds {
+
+    public static final String NGO = "ngo:";
+    public static final String AGENCY = "agency:";
+    public static final String USER = "user:";
+
+    private ResponderIds() {
+        // Utility class
+    }
+
+    public static String ofNgo(String ngoId) {
+        return NGO + ngoId;
+    }
+
+    public static String ofAgency(String agencyId) {
+        return AGENCY + agencyId;
+    }
+
+    public static String ofUser(String userId) {
+        return USER + userId;
+    }
+}
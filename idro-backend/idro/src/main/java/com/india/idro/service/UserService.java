@@ -13,8 +13,16 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
     public User saveUser(User user) {
-        return userRepository.save(user);
+        boolean isNew = user.getId() == null;
+        User saved = userRepository.save(user);
+        if (isNew) {
+            dashboardStatsService.userCreated(saved);
+        }
+        return saved;
     }
 
     public List<User> getAllUsers() {
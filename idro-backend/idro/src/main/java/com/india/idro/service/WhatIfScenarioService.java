@@ -0,0 +1,185 @@
+package com.india.idro.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.dto.WhatIfScenarioDTO;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.service.ai.rules.BatchRequirementEngine;
+import com.india.idro.service.ai.rules.CampColumns;
+import com.india.idro.service.ai.rules.CompiledRuleSet;
+import com.india.idro.service.ai.rules.RequirementColumns;
+import com.india.idro.service.ai.rules.UrgencyEvaluator;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+
+/**
+ * State-wide what-if estimates over the BatchRequirementEngine.
+ *
+ * Camps of a state (alerts whose state or location names it) are read once
+ * into CampColumns, with severity taken from the alert magnitude and urgency
+ * resolved as in ImpactAnalysisService (camp, then alert, then 24 Hours).
+ * The columns are cached per state for idro.what-if.snapshot-ttl, so
+ * repeated scenarios only pay for the in-memory evaluation.
+ */
+@Service
+public class WhatIfScenarioService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WhatIfScenarioService.class);
+
+    private static final String ALL_STATES = "*";
+    private static final double MAX_SCALE = 100.0;
+
+    private final MongoTemplate mongoTemplate;
+    private final BatchRequirementEngine engine;
+    private final UrgencyEvaluator urgencyEvaluator;
+    private final long snapshotTtlNanos;
+    private final int highRiskThreshold;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record Snapshot(CampColumns columns, long loadedAtNanos) {
+    }
+
+    private record AlertContext(int severityCode, String urgency) {
+    }
+
+    public WhatIfScenarioService(MongoTemplate mongoTemplate, BatchRequirementEngine engine,
+            UrgencyEvaluator urgencyEvaluator,
+            @Value("${idro.what-if.snapshot-ttl:60s}") Duration snapshotTtl,
+            @Value("${idro.what-if.high-risk-threshold:80}") int highRiskThreshold) {
+        this.mongoTemplate = mongoTemplate;
+        this.engine = engine;
+        this.urgencyEvaluator = urgencyEvaluator;
+        this.snapshotTtlNanos = snapshotTtl.toNanos();
+        this.highRiskThreshold = highRiskThreshold;
+    }
+
+    /**
+     * @param state           Indian state, or null for all camps
+     * @param populationScale Multiplier on every camp's population
+     * @param injuredScale    Multiplier on every camp's injured count
+     * @param severity        CRITICAL / HIGH / MODERATE / LOW for every camp, or null to keep each
+     * @param urgency         Urgency label (e.g. "6 Hours") for every camp, or null to keep each
+     */
+    public WhatIfScenarioDTO evaluate(String state, double populationScale, double injuredScale, String severity,
+            String urgency) {
+        requireScale("populationScale", populationScale);
+        requireScale("injuredScale", injuredScale);
+        int severityOverride = -1;
+        if (severity != null && !severity.isBlank()) {
+            severityOverride = BatchRequirementEngine.severityCode(severity);
+            if (severityOverride == BatchRequirementEngine.SEVERITY_LOW && !"LOW".equalsIgnoreCase(severity)) {
+                throw new BadRequestException("severity must be one of CRITICAL, HIGH, MODERATE, LOW");
+            }
+        }
+        int urgencyOverride = urgency != null && !urgency.isBlank() ? urgencyEvaluator.convertUrgencyToHours(urgency)
+                : 0;
+
+        Snapshot snapshot = snapshot(state);
+        CampColumns columns = snapshot.columns();
+        RequirementColumns out = new RequirementColumns(columns.size());
+
+        long startedAt = System.nanoTime();
+        CompiledRuleSet rules = engine.evaluate(columns, out, new BatchRequirementEngine.Scenario(populationScale,
+                injuredScale, severityOverride, urgencyOverride));
+        long evaluationNanos = System.nanoTime() - startedAt;
+
+        WhatIfScenarioDTO result = new WhatIfScenarioDTO();
+        result.setState(state);
+        result.setRuleVersion(rules.version());
+        result.setPopulationScale(populationScale);
+        result.setInjuredScale(injuredScale);
+        result.setSeverity(severity);
+        result.setUrgency(urgency);
+        result.setTotals(engine.totals(out));
+        result.setToilets(engine.sumToilets(out));
+        result.setAverageRiskScore(engine.averageRisk(out));
+        result.setHighRiskThreshold(highRiskThreshold);
+        result.setHighRiskCamps(engine.countRiskAtLeast(out, highRiskThreshold));
+        result.setSnapshotAgeMs(Duration.ofNanos(System.nanoTime() - snapshot.loadedAtNanos()).toMillis());
+        result.setEvaluationMicros(evaluationNanos / 1000);
+
+        logger.debug("What-if evaluated state={} camps={} evalMicros={}", state, columns.size(),
+                result.getEvaluationMicros());
+        return result;
+    }
+
+    // ==================== Column Snapshots ====================
+
+    private Snapshot snapshot(String state) {
+        String key = state == null || state.isBlank() ? ALL_STATES : state.trim().toLowerCase(Locale.ROOT);
+        Snapshot cached = snapshots.get(key);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() < snapshotTtlNanos) {
+            return cached;
+        }
+        return snapshots.compute(key, (k, current) -> current != null
+                && System.nanoTime() - current.loadedAtNanos() < snapshotTtlNanos ? current : load(k));
+    }
+
+    private Snapshot load(String key) {
+        long startedAt = System.nanoTime();
+
+        Bson alertFilter = new Document();
+        if (!ALL_STATES.equals(key)) {
+            Pattern statePattern = Pattern.compile(Pattern.quote(key), Pattern.CASE_INSENSITIVE);
+            alertFilter = Filters.or(Filters.regex("state", statePattern), Filters.regex("location", statePattern));
+        }
+        Map<String, AlertContext> alerts = new HashMap<>();
+        for (Document alert : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Alert.class))
+                .find(alertFilter)
+                .projection(Projections.include("magnitude", "urgency"))) {
+            alerts.put(idString(alert.get("_id")), new AlertContext(
+                    BatchRequirementEngine.severityCode(alert.getString("magnitude")), alert.getString("urgency")));
+        }
+
+        Bson campFilter = ALL_STATES.equals(key) ? new Document() : Filters.in("alertId", alerts.keySet());
+        CampColumns columns = new CampColumns(ALL_STATES.equals(key) ? 1024 : alerts.size() * 16);
+        for (Document camp : mongoTemplate.getCollection(mongoTemplate.getCollectionName(Camp.class))
+                .find(campFilter)
+                .projection(Projections.include("alertId", "population", "injuredCount", "urgency"))
+                .batchSize(10_000)) {
+            AlertContext alert = alerts.get(camp.getString("alertId"));
+            String urgency = camp.getString("urgency");
+            if (urgency == null || urgency.isEmpty()) {
+                urgency = alert != null && alert.urgency() != null ? alert.urgency() : "24 Hours";
+            }
+            columns.add(intValue(camp.get("population")), intValue(camp.get("injuredCount")),
+                    alert != null ? alert.severityCode() : BatchRequirementEngine.SEVERITY_LOW,
+                    urgencyEvaluator.convertUrgencyToHours(urgency));
+        }
+
+        logger.info("What-if columns loaded state={} alerts={} camps={} ms={}", key, alerts.size(), columns.size(),
+                Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+        return new Snapshot(columns, System.nanoTime());
+    }
+
+    private static String idString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static void requireScale(String name, double scale) {
+        if (!(scale > 0) || scale > MAX_SCALE) {
+            throw new BadRequestException(name + " must be greater than 0 and at most " + MAX_SCALE);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.india.idro.service.ai.ml;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.idro.dto.AiPredictionRequestDTO;
+import com.india.idro.dto.AiPredictionResponseDTO;
+import com.india.idro.dto.AiPredictionResponseDTO.AiRequirementsDTO;
+
+/**
+ * In-JVM replacement for the ML server's /predict and /predict/batch.
+ *
+ * Evaluates the exported RequirementModel directly and builds the same
+ * response ml_server.py would: rounded requirements, risk_score,
+ * explanation and prediction_source ("ML", or "Fallback" with its fallback
+ * rules for categories unseen in training).
+ *
+ * Loaded at startup when idro.ml.backend=local; if the bundle is missing or
+ * invalid the model stays unloaded and MlPredictionService keeps using the
+ * ML server.
+ */
+@Component
+public class LocalModelPredictor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalModelPredictor.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path modelPath;
+
+    private volatile RequirementModel model;
+    private volatile LocalDateTime loadedAt;
+    private volatile String lastError;
+
+    private final LongAdder predictions = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder predictNanos = new LongAdder();
+
+    public LocalModelPredictor(ObjectMapper objectMapper,
+            @Value("${idro.ml.local.model-path:../IDRO-AI/idro_requirement_model.json}") String modelPath,
+            @Value("${idro.ml.backend:remote}") String backend) {
+        this.objectMapper = objectMapper;
+        this.modelPath = Path.of(modelPath);
+        if ("local".equalsIgnoreCase(backend)) {
+            reload();
+        }
+    }
+
+    /**
+     * (Re)load the model bundle; the previous model stays in use if this fails.
+     *
+     * @return true if a model is loaded afterwards
+     */
+    public synchronized boolean reload() {
+        try {
+            long startedAt = System.nanoTime();
+            RequirementModel loaded = RequirementModelLoader.load(modelPath, objectMapper);
+            model = loaded;
+            loadedAt = LocalDateTime.now();
+            lastError = null;
+            logger.info("Local ML model loaded path={} targets={} trees={} ms={}", modelPath,
+                    loaded.targetCount(), loaded.treeCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            lastError = e.getMessage();
+            logger.error("Local ML model not loaded from {}: {}", modelPath, e.getMessage());
+        }
+        return model != null;
+    }
+
+    public boolean isLoaded() {
+        return model != null;
+    }
+
+    /**
+     * @return The prediction, or null if no model is loaded or the request is
+     *         invalid (negative counts)
+     */
+    public AiPredictionResponseDTO predict(AiPredictionRequestDTO request) {
+        RequirementModel current = model;
+        if (current == null || request == null || hasNegativeCounts(request)) {
+            return null;
+        }
+        return predictOne(current, request, new double[RequirementModel.TARGETS.size()]);
+    }
+
+    /**
+     * @return Responses in request order, or null if no model is loaded or any
+     *         request has negative counts (the ML server rejects such a batch
+     *         as a whole)
+     */
+    public List<AiPredictionResponseDTO> predictBatch(List<AiPredictionRequestDTO> requests) {
+        RequirementModel current = model;
+        if (current == null) {
+            return null;
+        }
+        for (AiPredictionRequestDTO request : requests) {
+            if (request == null || hasNegativeCounts(request)) {
+                return null;
+            }
+        }
+        double[] raw = new double[RequirementModel.TARGETS.size()];
+        List<AiPredictionResponseDTO> responses = new ArrayList<>(requests.size());
+        for (AiPredictionRequestDTO request : requests) {
+            responses.add(predictOne(current, request, raw));
+        }
+        return responses;
+    }
+
+    public Map<String, Object> getStats() {
+        RequirementModel current = model;
+        long count = predictions.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", current != null);
+        stats.put("modelPath", modelPath.toString());
+        stats.put("loadedAt", loadedAt);
+        stats.put("targets", current != null ? current.targetCount() : 0);
+        stats.put("trees", current != null ? current.treeCount() : 0);
+        stats.put("predictions", count);
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("avgMicrosPerPrediction", count == 0 ? 0.0 : predictNanos.sum() / 1000.0 / count);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    // ==================== Prediction ====================
+
+    private AiPredictionResponseDTO predictOne(RequirementModel current, AiPredictionRequestDTO request,
+            double[] raw) {
+        long startedAt = System.nanoTime();
+        float[] features = current.encode(request.getDisasterType(), request.getSeverity(), request.getUrgency(),
+                request.getAffectedCount(), request.getInjuredCount(), request.getMissingCount(),
+                request.getLatitude(), request.getLongitude());
+
+        AiRequirementsDTO requirements;
+        String source;
+        if (features != null) {
+            current.predict(features, raw);
+            requirements = new AiRequirementsDTO(round(raw[0]), round(raw[1]), round(raw[2]), round(raw[3]),
+                    round(raw[4]), round(raw[5]), round(raw[6]), round(raw[7]), round(raw[8]));
+            source = "ML";
+        } else {
+            requirements = fallbackRequirements(request.getAffectedCount());
+            source = "Fallback";
+            fallbacks.increment();
+        }
+        predictNanos.add(System.nanoTime() - startedAt);
+        predictions.increment();
+
+        return new AiPredictionResponseDTO(
+                riskScore(request.getSeverity(), request.getUrgency(), request.getAffectedCount()),
+                source,
+                explanations(request.getSeverity(), request.getUrgency(), request.getAffectedCount(),
+                        request.getInjuredCount()),
+                requirements);
+    }
+
+    /**
+     * Python int(round(x)): round half to even.
+     */
+    private static int round(double value) {
+        return (int) Math.rint(value);
+    }
+
+    private static boolean hasNegativeCounts(AiPredictionRequestDTO request) {
+        return request.getAffectedCount() < 0 || request.getInjuredCount() < 0 || request.getMissingCount() < 0;
+    }
+
+    // ==================== ml_server.py Rules ====================
+
+    // fallback_prediction()
+    private static AiRequirementsDTO fallbackRequirements(int affected) {
+        return new AiRequirementsDTO(
+                (int) (affected * 2.5),
+                affected * 5,
+                atLeastOne(affected / 100.0),
+                atLeastOne(affected / 20.0),
+                atLeastOne(affected / 5.0),
+                atLeastOne(affected / 50.0),
+                atLeastOne(affected / 200.0),
+                atLeastOne(affected / 500.0),
+                atLeastOne(affected / 50.0));
+    }
+
+    private static int atLeastOne(double value) {
+        return (int) Math.max(1, value);
+    }
+
+    // calculate_risk_score()
+    private static double riskScore(String severity, String urgency, int affected) {
+        int severityValue = switch (severity == null ? "" : severity) {
+            case "Moderate" -> 2;
+            case "High" -> 3;
+            case "Critical" -> 4;
+            default -> 1;
+        };
+        int urgencyValue = switch (urgency == null ? "" : urgency) {
+            case "Medium" -> 2;
+            case "High" -> 3;
+            case "Immediate" -> 4;
+            default -> 1;
+        };
+        return Math.round(severityValue * urgencyValue * (affected / 100.0) * 100) / 100.0;
+    }
+
+    // generate_explanation()
+    private static List<String> explanations(String severity, String urgency, int affected, int injured) {
+        List<String> explanations = new ArrayList<>();
+        if ("High".equals(severity) || "Critical".equals(severity)) {
+            explanations.add("Due to " + severity
+                    + " severity, immediate rescue and extensive resources are critical.");
+        }
+        if ("High".equals(urgency) || "Immediate".equals(urgency)) {
+            explanations.add("The situation is marked as " + urgency
+                    + " urgency, requiring rapid deployment of teams.");
+        }
+        if (affected > 1000) {
+            explanations.add("With over " + affected
+                    + " people affected, mass food and water supplies are prioritized.");
+        } else if (affected > 0) {
+            explanations.add("Resources are allocated to support the " + affected + " affected individuals.");
+        }
+        if (injured > 50) {
+            explanations.add("High injury count (" + injured
+                    + ") indicates a critical need for medical kits and ambulances.");
+        }
+        if (explanations.isEmpty()) {
+            explanations.add("Standard relief resources allocated based on disaster protocols.");
+        }
+        return explanations;
+    }
+}
@@ -0,0 +1,66 @@
+package com.india.idro.service.ai.ml;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Time budget for the ML calls made by the current thread.
+ *
+ * A caller with a deadline wraps its ML call in {@link #within}; the ML HTTP
+ * transport (see MlClientConfig) shortens the exchange timeout to what is
+ * left of the budget, and PredictionCache stops waiting on other callers'
+ * loads once it runs out. Outside within() nothing changes and the
+ * configured idro.ml.request-timeout applies.
+ *
+ * Camp analysis runs one ML call per virtual thread, so a thread-local
+ * scope is enough; nested scopes keep the tighter expiry.
+ */
+public final class MlCallBudget {
+
+    private static final ThreadLocal<Long> EXPIRES_AT_NANOS = new ThreadLocal<>();
+
+    private MlCallBudget() {
+        // Utility class
+    }
+
+    /**
+     * Run an ML call that must finish within the given budget.
+     */
+    public static <T> T within(Duration budget, Supplier<T> call) {
+        Long previous = EXPIRES_AT_NANOS.get();
+        long expiresAt = System.nanoTime() + Math.max(0, budget.toNanos());
+        if (previous != null && previous - expiresAt < 0) {
+            expiresAt = previous;
+        }
+        EXPIRES_AT_NANOS.set(expiresAt);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                EXPIRES_AT_NANOS.set(previous);
+            } else {
+                EXPIRES_AT_NANOS.remove();
+            }
+        }
+    }
+
+    /**
+     * @return What is left of the enclosing budget (never negative), or null
+     *         when the current thread has none
+     */
+    public static Duration remaining() {
+        Long expiresAt = EXPIRES_AT_NANOS.get();
+        if (expiresAt == null) {
+            return null;
+        }
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    /**
+     * @return true if the current thread has a budget and it has run out
+     */
+    public static boolean isExhausted() {
+        Long expiresAt = EXPIRES_AT_NANOS.get();
+        return expiresAt != null && expiresAt - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,201 @@
+package com.india.idro.service.ai.ml;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Circuit breaker around the FastAPI ML server.
+ *
+ * States:
+ * - CLOSED: calls go through; consecutive failures are counted
+ * - OPEN: calls are rejected immediately so callers use the Rule Engine
+ *   with zero network wait
+ * - HALF_OPEN: after open-duration, a single background probe (the
+ *   registered health check, normally MlPredictionService.isAvailable)
+ *   decides whether to close the circuit or keep it open
+ *
+ * Lock-free: state transitions are compare-and-set, so rejected callers never block.
+ */
+@Component
+public class MlCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(MlCircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtNanos;
+    private volatile LocalDateTime lastOpenedAt;
+    private volatile BooleanSupplier probe = () -> false;
+
+    private final LongAdder allowedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timesOpened = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+
+    public MlCircuitBreaker(
+            @Value("${idro.ml.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${idro.ml.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${idro.ml.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        this.enabled = enabled;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = openDuration.toNanos();
+
+        logger.info("ML circuit breaker {} - failure threshold: {}, open duration: {}s",
+                enabled ? "enabled" : "disabled", this.failureThreshold, openDuration.toSeconds());
+    }
+
+    /**
+     * Register the health check used for half-open probing.
+     */
+    public void registerProbe(BooleanSupplier healthCheck) {
+        this.probe = healthCheck;
+    }
+
+    /**
+     * @return true if an ML call may be attempted now; false means fall back immediately
+     */
+    public boolean allowRequest() {
+        if (!enabled) {
+            return true;
+        }
+
+        State current = state.get();
+        if (current == State.CLOSED) {
+            allowedCalls.increment();
+            return true;
+        }
+
+        probeIfDue(current);
+        rejectedCalls.increment();
+        return false;
+    }
+
+    /**
+     * @return true while callers should skip the ML server entirely
+     */
+    public boolean isOpen() {
+        if (!enabled) {
+            return false;
+        }
+
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return false;
+        }
+
+        // Callers that only check the state must still trigger half-open probing
+        probeIfDue(current);
+        return true;
+    }
+
+    public void recordSuccess() {
+        successes.increment();
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Record a failed ML call. 4xx responses mean the request itself was bad,
+     * not that the server is unhealthy, so they do not count towards opening.
+     */
+    public void recordFailure(RestClientException e) {
+        if (e instanceof HttpClientErrorException) {
+            return;
+        }
+        recordFailure();
+    }
+
+    /**
+     * Record an ML call that returned but whose answer is unusable (no body,
+     * or the wrong number of results): the server is not healthy either.
+     */
+    public void recordFailure() {
+        failures.increment();
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold
+                && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            open();
+            logger.warn("ML circuit OPEN after {} consecutive failures - using Rule Engine for {}s",
+                    failureThreshold, Duration.ofNanos(openDurationNanos).toSeconds());
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * Snapshot of breaker state and counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("state", state.get());
+        stats.put("consecutiveFailures", consecutiveFailures.get());
+        stats.put("failureThreshold", failureThreshold);
+        stats.put("allowedCalls", allowedCalls.sum());
+        stats.put("rejectedCalls", rejectedCalls.sum());
+        stats.put("successes", successes.sum());
+        stats.put("failures", failures.sum());
+        stats.put("timesOpened", timesOpened.sum());
+        stats.put("probes", probes.sum());
+        stats.put("lastOpenedAt", lastOpenedAt);
+        return stats;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        lastOpenedAt = LocalDateTime.now();
+        timesOpened.increment();
+    }
+
+    private void probeIfDue(State current) {
+        if (current == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            startProbe();
+        }
+    }
+
+    private void startProbe() {
+        probes.increment();
+        Thread.ofVirtual().name("ml-circuit-probe").start(() -> {
+            boolean healthy;
+            try {
+                healthy = probe.getAsBoolean();
+            } catch (Exception e) {
+                healthy = false;
+            }
+
+            if (healthy) {
+                consecutiveFailures.set(0);
+                state.set(State.CLOSED);
+                logger.info("ML circuit CLOSED - probe succeeded");
+            } else {
+                open();
+                state.set(State.OPEN);
+                logger.warn("ML circuit remains OPEN - probe failed");
+            }
+        });
+    }
+}
@@ -0,0 +1,296 @@
+package com.india.idro.service.ai.ml;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.dto.AiPredictionRequestDTO;
+import com.india.idro.dto.AiPredictionResponseDTO;
+
+/**
+ * Size- and TTL-bounded in-process cache for ML predictions.
+ *
+ * Features:
+ * - Canonical keys (see {@link PredictionCacheKey}) so near-identical camps share a result
+ * - Single-flight: concurrent misses for the same key wait for one ML call
+ *   (bounded by the waiter's MlCallBudget, if any)
+ * - FIFO eviction once max-size is exceeded, lazy expiry on read
+ * - Hit / miss / eviction / expiry counters
+ *
+ * Failed loads (null responses or exceptions) are never cached.
+ */
+@Component
+public class PredictionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionCache.class);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final int countBucket;
+    private final double gridCellDegrees;
+
+    private final Map<PredictionCacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CacheEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedEntries = new AtomicInteger();
+    private final Map<PredictionCacheKey, CompletableFuture<AiPredictionResponseDTO>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder dedupedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public PredictionCache(
+            @Value("${idro.ml.cache.enabled:true}") boolean enabled,
+            @Value("${idro.ml.cache.max-size:10000}") int maxSize,
+            @Value("${idro.ml.cache.ttl:10m}") Duration ttl,
+            @Value("${idro.ml.cache.count-bucket:10}") int countBucket,
+            @Value("${idro.ml.cache.grid-cell-degrees:0.05}") double gridCellDegrees) {
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.countBucket = Math.max(1, countBucket);
+        this.gridCellDegrees = gridCellDegrees > 0 ? gridCellDegrees : 0.05;
+
+        logger.info("Prediction cache {} - max size: {}, TTL: {}s, count bucket: {}, grid cell: {}°",
+                enabled ? "enabled" : "disabled", this.maxSize, ttl.toSeconds(), this.countBucket,
+                this.gridCellDegrees);
+    }
+
+    /**
+     * Return the cached prediction for a request, loading it at most once
+     * across concurrent callers on a miss.
+     */
+    public AiPredictionResponseDTO get(AiPredictionRequestDTO request, Supplier<AiPredictionResponseDTO> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        PredictionCacheKey key = keyFor(request);
+        AiPredictionResponseDTO cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<AiPredictionResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<AiPredictionResponseDTO> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            dedupedLoads.increment();
+            return await(existing);
+        }
+
+        try {
+            AiPredictionResponseDTO loaded = loader.get();
+            store(key, loaded);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Batch variant of {@link #get}. Hits are served from the cache, misses
+     * already being loaded by another caller are awaited, and only the
+     * remaining misses are passed to the batch loader in a single call.
+     *
+     * @return Responses in request order; an element is null if its load failed
+     */
+    public List<AiPredictionResponseDTO> getAll(List<AiPredictionRequestDTO> requests,
+            Function<List<AiPredictionRequestDTO>, List<AiPredictionResponseDTO>> batchLoader) {
+        if (!enabled) {
+            return batchLoader.apply(requests);
+        }
+
+        int size = requests.size();
+        AiPredictionResponseDTO[] results = new AiPredictionResponseDTO[size];
+        Map<Integer, CompletableFuture<AiPredictionResponseDTO>> awaited = new LinkedHashMap<>();
+        Map<PredictionCacheKey, CompletableFuture<AiPredictionResponseDTO>> owned = new LinkedHashMap<>();
+        List<AiPredictionRequestDTO> toLoad = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            PredictionCacheKey key = keyFor(requests.get(i));
+            AiPredictionResponseDTO cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                results[i] = cached;
+                continue;
+            }
+            misses.increment();
+
+            CompletableFuture<AiPredictionResponseDTO> mine = owned.get(key);
+            if (mine == null) {
+                CompletableFuture<AiPredictionResponseDTO> candidate = new CompletableFuture<>();
+                CompletableFuture<AiPredictionResponseDTO> existing = inFlight.putIfAbsent(key, candidate);
+                if (existing == null) {
+                    owned.put(key, candidate);
+                    toLoad.add(requests.get(i));
+                    mine = candidate;
+                } else {
+                    dedupedLoads.increment();
+                    mine = existing;
+                }
+            } else {
+                dedupedLoads.increment();
+            }
+            awaited.put(i, mine);
+        }
+
+        if (!toLoad.isEmpty()) {
+            List<PredictionCacheKey> ownedKeys = new ArrayList<>(owned.keySet());
+            try {
+                List<AiPredictionResponseDTO> loaded = batchLoader.apply(toLoad);
+                for (int j = 0; j < ownedKeys.size(); j++) {
+                    AiPredictionResponseDTO response = loaded != null ? loaded.get(j) : null;
+                    store(ownedKeys.get(j), response);
+                    owned.get(ownedKeys.get(j)).complete(response);
+                }
+            } catch (RuntimeException e) {
+                owned.values().forEach(future -> future.complete(null));
+                logger.debug("Batch load failed for {} cache misses: {}", toLoad.size(), e.getMessage());
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        // Our own loads are complete, so waiting here cannot deadlock on ourselves
+        awaited.forEach((index, future) -> results[index] = await(future));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Wait for another caller's load, but no longer than the current thread's
+     * MlCallBudget; a load that fails or outlives the budget counts as a miss.
+     */
+    private static AiPredictionResponseDTO await(CompletableFuture<AiPredictionResponseDTO> load) {
+        Duration remaining = MlCallBudget.remaining();
+        if (remaining == null) {
+            return load.exceptionally(ex -> null).join();
+        }
+        try {
+            return load.get(remaining.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Snapshot of cache counters.
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("dedupedLoads", dedupedLoads.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    public void clear() {
+        entries.clear();
+        insertionOrder.clear();
+        queuedEntries.set(0);
+    }
+
+    private PredictionCacheKey keyFor(AiPredictionRequestDTO request) {
+        return PredictionCacheKey.of(request, countBucket, gridCellDegrees);
+    }
+
+    private AiPredictionResponseDTO lookup(PredictionCacheKey key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdNanos > ttlNanos) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            return null;
+        }
+        return entry.response;
+    }
+
+    private void store(PredictionCacheKey key, AiPredictionResponseDTO response) {
+        if (response == null) {
+            return;
+        }
+        CacheEntry entry = new CacheEntry(key, response, System.nanoTime());
+        entries.put(key, entry);
+        insertionOrder.add(entry);
+        queuedEntries.incrementAndGet();
+
+        // Evict oldest entries past max-size, and drop queue nodes left behind by
+        // replaced or expired entries so the queue cannot outgrow the map
+        while (true) {
+            boolean overSize = entries.size() > maxSize;
+            if (!overSize && queuedEntries.get() <= 2 * maxSize) {
+                break;
+            }
+            CacheEntry oldest = insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            queuedEntries.decrementAndGet();
+            if (entries.get(oldest.key) != oldest) {
+                continue;
+            }
+            if (overSize) {
+                if (entries.remove(oldest.key, oldest)) {
+                    evictions.increment();
+                }
+            } else {
+                insertionOrder.add(oldest);
+                queuedEntries.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final PredictionCacheKey key;
+        private final AiPredictionResponseDTO response;
+        private final long createdNanos;
+
+        private CacheEntry(PredictionCacheKey key, AiPredictionResponseDTO response, long createdNanos) {
+            this.key = key;
+            this.response = response;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.india.idro.service.ai.ml;
+
+import java.util.Locale;
+
+import com.india.idro.dto.AiPredictionRequestDTO;
+
+/**
+ * Canonical cache key for an ML prediction request.
+ *
+ * Near-identical requests collapse to the same key: categorical fields are
+ * trimmed and lower-cased, counts are rounded up to a bucket, and coordinates
+ * are snapped to a lat/long grid cell. A non-zero count never shares a bucket
+ * with zero.
+ */
+public record PredictionCacheKey(
+        String disasterType,
+        String severity,
+        String urgency,
+        int affectedBucket,
+        int injuredBucket,
+        int missingBucket,
+        long latitudeCell,
+        long longitudeCell) {
+
+    public static PredictionCacheKey of(AiPredictionRequestDTO request, int countBucket, double gridCellDegrees) {
+        return new PredictionCacheKey(
+                normalize(request.getDisasterType()),
+                normalize(request.getSeverity()),
+                normalize(request.getUrgency()),
+                quantize(request.getAffectedCount(), countBucket),
+                quantize(request.getInjuredCount(), countBucket),
+                quantize(request.getMissingCount(), countBucket),
+                (long) Math.floor(request.getLatitude() / gridCellDegrees),
+                (long) Math.floor(request.getLongitude() / gridCellDegrees));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int quantize(int count, int bucket) {
+        if (count <= 0) {
+            return 0;
+        }
+        return (count + bucket - 1) / bucket;
+    }
+}
@@ -0,0 +1,81 @@
+package com.india.idro.service.ai.ml;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The trained requirement model in memory: one TreeEnsemble per target
+ * (MultiOutputRegressor trains one regressor per output) plus the frozen
+ * label encoders for the categorical features.
+ *
+ * Immutable once loaded by RequirementModelLoader; safe to share across
+ * threads.
+ */
+public final class RequirementModel {
+
+    // Feature order used in training (train_model.py)
+    public static final List<String> FEATURES = List.of("disaster_type", "severity", "urgency", "affected_count",
+            "injured_count", "missing_count", "latitude", "longitude");
+
+    // Target order used in training (ml_server.py TARGET_COLUMNS)
+    public static final List<String> TARGETS = List.of("food_packets_per_day", "water_liters_per_day",
+            "medical_kits_required", "beds_required", "blankets_required", "toilets_required",
+            "power_units_required", "ambulances_required", "volunteers_required");
+
+    private final TreeEnsemble[] ensembles;
+    private final Map<String, Integer> disasterTypeCodes;
+    private final Map<String, Integer> severityCodes;
+    private final Map<String, Integer> urgencyCodes;
+    private final String source;
+
+    RequirementModel(TreeEnsemble[] ensembles, Map<String, Integer> disasterTypeCodes,
+            Map<String, Integer> severityCodes, Map<String, Integer> urgencyCodes, String source) {
+        this.ensembles = ensembles;
+        this.disasterTypeCodes = disasterTypeCodes;
+        this.severityCodes = severityCodes;
+        this.urgencyCodes = urgencyCodes;
+        this.source = source;
+    }
+
+    /**
+     * Encode one input row into the training feature order, or null if a
+     * categorical value was not seen in training (the ML server answers those
+     * with its fallback rules).
+     */
+    public float[] encode(String disasterType, String severity, String urgency, int affectedCount,
+            int injuredCount, int missingCount, double latitude, double longitude) {
+        Integer disasterCode = disasterTypeCodes.get(disasterType);
+        Integer severityCode = severityCodes.get(severity);
+        Integer urgencyCode = urgencyCodes.get(urgency);
+        if (disasterCode == null || severityCode == null || urgencyCode == null) {
+            return null;
+        }
+        return new float[] { disasterCode, severityCode, urgencyCode, affectedCount, injuredCount, missingCount,
+                (float) latitude, (float) longitude };
+    }
+
+    /**
+     * Raw (unrounded) predictions for every target, written into out.
+     */
+    public void predict(float[] features, double[] out) {
+        for (int target = 0; target < ensembles.length; target++) {
+            out[target] = ensembles[target].predict(features);
+        }
+    }
+
+    public int targetCount() {
+        return ensembles.length;
+    }
+
+    public int treeCount() {
+        int trees = 0;
+        for (TreeEnsemble ensemble : ensembles) {
+            trees += ensemble.treeCount();
+        }
+        return trees;
+    }
+
+    public String source() {
+        return source;
+    }
+}
@@ -0,0 +1,209 @@
+package com.india.idro.service.ai.ml;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads the model bundle written by IDRO-AI/export_model.py:
+ *
+ * <pre>
+ * {
+ *   "format": "idro-requirement-model/1",
+ *   "features": [...], "targets": [...],          (training order)
+ *   "encoders": { "disaster_type": [classes], ... }, (LabelEncoder.classes_)
+ *   "models": [ XGBoost JSON model, one per target ],
+ *   "samples": [ { "features": [...], "predictions": [...] } ]
+ * }
+ * </pre>
+ *
+ * Each XGBoost model (Booster.save_raw("json")) is flattened into a
+ * TreeEnsemble. Only what the IDRO model uses is supported: gbtree with
+ * numerical splits, single-value leaves and an identity-link regression
+ * objective; anything else is rejected rather than evaluated wrongly.
+ *
+ * The samples are predictions made by the Python model at export time; the
+ * loaded model must reproduce them or loading fails.
+ */
+public final class RequirementModelLoader {
+
+    public static final String FORMAT = "idro-requirement-model/1";
+
+    private static final Set<String> IDENTITY_OBJECTIVES = Set.of("reg:squarederror", "reg:linear",
+            "reg:absoluteerror", "reg:pseudohubererror", "reg:quantileerror");
+
+    private static final double SAMPLE_TOLERANCE = 1e-3;
+
+    private RequirementModelLoader() {
+        // Utility class
+    }
+
+    /**
+     * @throws IOException           if the file cannot be read
+     * @throws IllegalStateException if the bundle is malformed, unsupported or fails its samples
+     */
+    public static RequirementModel load(Path path, ObjectMapper objectMapper) throws IOException {
+        JsonNode bundle = objectMapper.readTree(path.toFile());
+
+        if (!FORMAT.equals(bundle.path("format").asText())) {
+            throw new IllegalStateException("Unsupported model bundle format: " + bundle.path("format").asText());
+        }
+        requireOrder("features", bundle.path("features"), RequirementModel.FEATURES);
+        requireOrder("targets", bundle.path("targets"), RequirementModel.TARGETS);
+
+        JsonNode models = bundle.path("models");
+        if (!models.isArray() || models.size() != RequirementModel.TARGETS.size()) {
+            throw new IllegalStateException("Expected " + RequirementModel.TARGETS.size() + " models, found "
+                    + models.size());
+        }
+        TreeEnsemble[] ensembles = new TreeEnsemble[models.size()];
+        for (int target = 0; target < ensembles.length; target++) {
+            ensembles[target] = parseBooster(models.get(target), RequirementModel.TARGETS.get(target));
+        }
+
+        JsonNode encoders = bundle.path("encoders");
+        RequirementModel model = new RequirementModel(ensembles,
+                classCodes(encoders, "disaster_type"),
+                classCodes(encoders, "severity"),
+                classCodes(encoders, "urgency"),
+                path.toString());
+
+        verifySamples(model, bundle.path("samples"));
+        return model;
+    }
+
+    // ==================== XGBoost JSON ====================
+
+    private static TreeEnsemble parseBooster(JsonNode root, String target) {
+        JsonNode learner = root.path("learner");
+
+        String objective = learner.path("objective").path("name").asText();
+        if (!IDENTITY_OBJECTIVES.contains(objective)) {
+            throw new IllegalStateException(target + ": unsupported objective '" + objective + "'");
+        }
+        JsonNode booster = learner.path("gradient_booster");
+        if (!"gbtree".equals(booster.path("name").asText())) {
+            throw new IllegalStateException(target + ": unsupported booster '" + booster.path("name").asText() + "'");
+        }
+        double baseScore = parseScalar(learner.path("learner_model_param").path("base_score").asText("0"));
+
+        JsonNode trees = booster.path("model").path("trees");
+        int nodeCount = 0;
+        for (JsonNode tree : trees) {
+            nodeCount += tree.path("left_children").size();
+        }
+
+        int[] treeRoots = new int[trees.size()];
+        int[] feature = new int[nodeCount];
+        float[] threshold = new float[nodeCount];
+        int[] left = new int[nodeCount];
+        int[] right = new int[nodeCount];
+        boolean[] defaultLeft = new boolean[nodeCount];
+        float[] leafValue = new float[nodeCount];
+
+        int offset = 0;
+        for (int t = 0; t < trees.size(); t++) {
+            JsonNode tree = trees.get(t);
+            if (tree.path("tree_param").path("size_leaf_vector").asInt(1) > 1) {
+                throw new IllegalStateException(target + ": vector-leaf trees are not supported");
+            }
+            JsonNode lefts = tree.path("left_children");
+            JsonNode rights = tree.path("right_children");
+            JsonNode indices = tree.path("split_indices");
+            JsonNode conditions = tree.path("split_conditions");
+            JsonNode defaults = tree.path("default_left");
+            JsonNode types = tree.path("split_type");
+
+            treeRoots[t] = offset;
+            for (int i = 0; i < lefts.size(); i++) {
+                int node = offset + i;
+                int leftChild = lefts.get(i).asInt();
+                if (leftChild < 0) {
+                    feature[node] = -1;
+                    leafValue[node] = (float) conditions.get(i).asDouble();
+                    continue;
+                }
+                if (types.size() > i && types.get(i).asInt() != 0) {
+                    throw new IllegalStateException(target + ": categorical splits are not supported");
+                }
+                feature[node] = indices.get(i).asInt();
+                if (feature[node] >= RequirementModel.FEATURES.size()) {
+                    throw new IllegalStateException(target + ": split on unknown feature " + feature[node]);
+                }
+                threshold[node] = (float) conditions.get(i).asDouble();
+                left[node] = offset + leftChild;
+                right[node] = offset + rights.get(i).asInt();
+                defaultLeft[node] = defaults.get(i).isBoolean() ? defaults.get(i).asBoolean()
+                        : defaults.get(i).asInt() != 0;
+            }
+            offset += lefts.size();
+        }
+
+        return new TreeEnsemble(treeRoots, feature, threshold, left, right, defaultLeft, leafValue, baseScore);
+    }
+
+    /**
+     * base_score is a string, either "5E-1" or (XGBoost 2.1+) "[5E-1]".
+     */
+    private static double parseScalar(String value) {
+        String trimmed = value.trim();
+        if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return Double.parseDouble(trimmed);
+    }
+
+    // ==================== Encoders & Checks ====================
+
+    /**
+     * LabelEncoder codes are the positions in classes_.
+     */
+    private static Map<String, Integer> classCodes(JsonNode encoders, String feature) {
+        JsonNode classes = encoders.path(feature);
+        if (!classes.isArray() || classes.isEmpty()) {
+            throw new IllegalStateException("Missing encoder classes for " + feature);
+        }
+        Map<String, Integer> codes = new HashMap<>();
+        for (int i = 0; i < classes.size(); i++) {
+            codes.put(classes.get(i).asText(), i);
+        }
+        return Map.copyOf(codes);
+    }
+
+    private static void requireOrder(String name, JsonNode actual, List<String> expected) {
+        List<String> values = new ArrayList<>();
+        actual.forEach(value -> values.add(value.asText()));
+        if (!values.equals(expected)) {
+            throw new IllegalStateException("Bundle " + name + " " + values + " do not match " + expected);
+        }
+    }
+
+    private static void verifySamples(RequirementModel model, JsonNode samples) {
+        double[] predicted = new double[model.targetCount()];
+        for (JsonNode sample : samples) {
+            JsonNode input = sample.path("features");
+            float[] features = new float[input.size()];
+            for (int i = 0; i < features.length; i++) {
+                features[i] = (float) input.get(i).asDouble();
+            }
+            model.predict(features, predicted);
+
+            JsonNode expected = sample.path("predictions");
+            for (int target = 0; target < predicted.length; target++) {
+                double want = expected.get(target).asDouble();
+                if (Math.abs(predicted[target] - want) > SAMPLE_TOLERANCE * Math.max(1.0, Math.abs(want))) {
+                    throw new IllegalStateException("Model does not reproduce export sample: "
+                            + RequirementModel.TARGETS.get(target) + " expected " + want + " got "
+                            + predicted[target]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.india.idro.service.ai.ml;
+
+/**
+ * One gradient-boosted tree ensemble (a single XGBoost regressor) flattened
+ * into parallel primitive arrays.
+ *
+ * All trees share the node arrays; treeRoots[t] is the index of tree t's
+ * root and child indices are absolute. A node is a leaf when feature < 0,
+ * and its value is in leafValue. Thresholds are float32 and features are
+ * compared as float32, as XGBoost does, so splits land on the same side.
+ *
+ * Traversal is a tight loop of array reads with one data-dependent select
+ * per level; there are no node objects to chase.
+ */
+public final class TreeEnsemble {
+
+    private final int[] treeRoots;
+    private final int[] feature;
+    private final float[] threshold;
+    private final int[] left;
+    private final int[] right;
+    private final boolean[] defaultLeft;
+    private final float[] leafValue;
+    private final double baseScore;
+
+    TreeEnsemble(int[] treeRoots, int[] feature, float[] threshold, int[] left, int[] right, boolean[] defaultLeft,
+            float[] leafValue, double baseScore) {
+        this.treeRoots = treeRoots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.left = left;
+        this.right = right;
+        this.defaultLeft = defaultLeft;
+        this.leafValue = leafValue;
+        this.baseScore = baseScore;
+    }
+
+    /**
+     * @param features Feature values as float32 (NaN = missing)
+     * @return base_score plus the sum of the leaf reached in every tree
+     */
+    public double predict(float[] features) {
+        double sum = baseScore;
+        for (int root : treeRoots) {
+            int node = root;
+            int f;
+            while ((f = feature[node]) >= 0) {
+                float value = features[f];
+                boolean goLeft = value < threshold[node] || (value != value && defaultLeft[node]);
+                node = goLeft ? left[node] : right[node];
+            }
+            sum += leafValue[node];
+        }
+        return sum;
+    }
+
+    public int treeCount() {
+        return treeRoots.length;
+    }
+
+    public int nodeCount() {
+        return feature.length;
+    }
+}
@@ -0,0 +1,198 @@
+package com.india.idro.service.ai.rules;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.india.idro.dto.ResourceTotalsDTO;
+
+/**
+ * Evaluates the camp requirement formulas over many camps at once.
+ *
+ * Same figures as ImpactAnalysisService.prepareCamp (food, water, beds,
+ * medical kits, ambulances, volunteers, toilets from a CompiledRuleSet)
+ * and the RiskScoreCalculator score, but over CampColumns instead of one
+ * Camp at a time:
+ * - one counted loop over primitive arrays, no boxing, no builders, no
+ *   allocation per camp
+ * - the rule set's ratios are read into locals once per call; divisions
+ *   are integer ceilings and severity/urgency/population bands are
+ *   branch-free arithmetic, so the loop body is straight-line code the JIT
+ *   can unroll
+ *
+ * Scenarios scale population / injured or override severity / urgency for
+ * every row, for state-wide what-if estimates.
+ */
+@Service
+public class BatchRequirementEngine {
+
+    // Severity codes (CampColumns.severityCode), in RiskScoreCalculator order
+    public static final int SEVERITY_LOW = 0;
+    public static final int SEVERITY_MODERATE = 1;
+    public static final int SEVERITY_HIGH = 2;
+    public static final int SEVERITY_CRITICAL = 3;
+
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
+
+    /**
+     * What-if adjustments applied to every row.
+     *
+     * @param populationScale       Multiplier on population (1.0 = as reported)
+     * @param injuredScale          Multiplier on injured count
+     * @param severityOverride      SEVERITY_* for every camp, or -1 to keep each camp's
+     * @param urgencyHoursOverride  Urgency hours for every camp, or 0 to keep each camp's
+     */
+    public record Scenario(double populationScale, double injuredScale, int severityOverride,
+            int urgencyHoursOverride) {
+
+        public static final Scenario BASELINE = new Scenario(1.0, 1.0, -1, 0);
+    }
+
+    /**
+     * Map a severity / magnitude label to a SEVERITY_* code (same bands as
+     * RiskScoreCalculator; unknown labels count as LOW).
+     */
+    public static int severityCode(String severity) {
+        if (severity == null) {
+            return SEVERITY_LOW;
+        }
+        return switch (severity.toUpperCase()) {
+            case "CRITICAL" -> SEVERITY_CRITICAL;
+            case "HIGH" -> SEVERITY_HIGH;
+            case "MODERATE" -> SEVERITY_MODERATE;
+            default -> SEVERITY_LOW;
+        };
+    }
+
+    /**
+     * Evaluate every row of in into out with the active rule set.
+     *
+     * @return The rule set used
+     */
+    public CompiledRuleSet evaluate(CampColumns in, RequirementColumns out, Scenario scenario) {
+        CompiledRuleSet rules = ruleSetRegistry.current();
+        evaluate(in, out, scenario, rules);
+        return rules;
+    }
+
+    /**
+     * Evaluate every row of in into out (which must have capacity for in.size()).
+     */
+    public void evaluate(CampColumns in, RequirementColumns out, Scenario scenario, CompiledRuleSet rules) {
+        int n = in.size();
+        if (out.capacity() < n) {
+            throw new IllegalArgumentException("Output capacity " + out.capacity() + " is below " + n + " rows");
+        }
+
+        int[] population = in.population();
+        int[] injured = in.injured();
+        int[] severityCode = in.severityCode();
+        int[] urgencyHours = in.urgencyHours();
+
+        int severityOverride = scenario.severityOverride();
+        int urgencyOverride = scenario.urgencyHoursOverride();
+
+        int[] outPopulation = out.population;
+        int[] outInjured = out.injured;
+        int[] food = out.foodPackets;
+        int[] water = out.waterLiters;
+        int[] beds = out.beds;
+        int[] kits = out.medicalKits;
+        int[] ambulances = out.ambulances;
+        int[] volunteers = out.volunteers;
+        int[] toilets = out.toilets;
+        int[] risk = out.riskScore;
+
+        int foodPerPerson = rules.foodPacketsPerPerson;
+        int waterPerPerson = rules.waterLitersPerPerson;
+        double bedsPerInjured = rules.bedsPerInjured;
+        boolean oneBedPerInjured = bedsPerInjured == 1.0;
+        int injuredPerKit = rules.injuredPerMedicalKit;
+        int injuredPerAmbulance = rules.injuredPerAmbulance;
+        int peoplePerVolunteer = rules.peoplePerVolunteer;
+        int peoplePerToilet = rules.peoplePerToilet;
+
+        // Effective inputs first: a plain copy in the baseline, so the main loop
+        // never pays for the double round trip of scaling
+        scale(population, outPopulation, n, scenario.populationScale());
+        scale(injured, outInjured, n, scenario.injuredScale());
+
+        for (int i = 0; i < n; i++) {
+            int p = outPopulation[i];
+            int j = outInjured[i];
+            int severity = severityOverride >= 0 ? severityOverride : severityCode[i];
+            int hours = urgencyOverride > 0 ? urgencyOverride : urgencyHours[i];
+
+            food[i] = p * foodPerPerson;
+            water[i] = p * waterPerPerson;
+            beds[i] = oneBedPerInjured ? j : (int) Math.ceil(j * bedsPerInjured);
+            kits[i] = (j + injuredPerKit - 1) / injuredPerKit;
+            ambulances[i] = (j + injuredPerAmbulance - 1) / injuredPerAmbulance;
+            volunteers[i] = (p + peoplePerVolunteer - 1) / peoplePerVolunteer;
+            toilets[i] = (p + peoplePerToilet - 1) / peoplePerToilet;
+
+            // RiskScoreCalculator: severity 10..40, urgency 40/20/10/5, population 10/20/30
+            int severityScore = 10 + 10 * severity;
+            int urgencyScore = hours <= 6 ? 40 : hours <= 12 ? 20 : hours <= 24 ? 10 : 5;
+            int populationScore = 10 + (p > 500 ? 10 : 0) + (p > 1000 ? 10 : 0);
+            risk[i] = severityScore + urgencyScore + populationScore;
+        }
+        out.size = n;
+    }
+
+    /**
+     * Sum the evaluated rows (a separate pass so the evaluation loop stays
+     * free of long accumulators).
+     */
+    public ResourceTotalsDTO totals(RequirementColumns out) {
+        ResourceTotalsDTO totals = new ResourceTotalsDTO();
+        totals.setCamps(out.size);
+        totals.setPopulation(sum(out.population, out.size));
+        totals.setInjuredCount(sum(out.injured, out.size));
+        totals.setFoodPackets(sum(out.foodPackets, out.size));
+        totals.setWaterLiters(sum(out.waterLiters, out.size));
+        totals.setBeds(sum(out.beds, out.size));
+        totals.setMedicalKits(sum(out.medicalKits, out.size));
+        totals.setVolunteers(sum(out.volunteers, out.size));
+        totals.setAmbulances(sum(out.ambulances, out.size));
+        return totals;
+    }
+
+    public long sumToilets(RequirementColumns out) {
+        return sum(out.toilets, out.size);
+    }
+
+    /**
+     * @return Number of rows with riskScore >= threshold
+     */
+    public int countRiskAtLeast(RequirementColumns out, int threshold) {
+        int count = 0;
+        int[] risk = out.riskScore;
+        for (int i = 0; i < out.size; i++) {
+            count += risk[i] >= threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    public double averageRisk(RequirementColumns out) {
+        return out.size == 0 ? 0.0 : (double) sum(out.riskScore, out.size) / out.size;
+    }
+
+    private static void scale(int[] from, int[] to, int n, double factor) {
+        if (factor == 1.0) {
+            System.arraycopy(from, 0, to, 0, n);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            to[i] = (int) Math.ceil(from[i] * factor);
+        }
+    }
+
+    private static long sum(int[] column, int n) {
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            total += column[i];
+        }
+        return total;
+    }
+}
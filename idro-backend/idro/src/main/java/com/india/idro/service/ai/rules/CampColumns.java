@@ -0,0 +1,64 @@
+package com.india.idro.service.ai.rules;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented camp inputs for BatchRequirementEngine: one primitive
+ * array per field, row i describing camp i. Grows like an ArrayList while
+ * rows are appended; evaluation reads only the first size() rows.
+ */
+public final class CampColumns {
+
+    private int size;
+    private int[] population;
+    private int[] injured;
+    private int[] severityCode;
+    private int[] urgencyHours;
+
+    public CampColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        population = new int[capacity];
+        injured = new int[capacity];
+        severityCode = new int[capacity];
+        urgencyHours = new int[capacity];
+    }
+
+    /**
+     * @param severityCode One of BatchRequirementEngine.SEVERITY_*
+     */
+    public void add(int population, int injured, int severityCode, int urgencyHours) {
+        if (size == this.population.length) {
+            int capacity = size + (size >> 1);
+            this.population = Arrays.copyOf(this.population, capacity);
+            this.injured = Arrays.copyOf(this.injured, capacity);
+            this.severityCode = Arrays.copyOf(this.severityCode, capacity);
+            this.urgencyHours = Arrays.copyOf(this.urgencyHours, capacity);
+        }
+        this.population[size] = Math.max(0, population);
+        this.injured[size] = Math.max(0, injured);
+        this.severityCode[size] = Math.min(BatchRequirementEngine.SEVERITY_CRITICAL,
+                Math.max(BatchRequirementEngine.SEVERITY_LOW, severityCode));
+        this.urgencyHours[size] = urgencyHours;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    int[] population() {
+        return population;
+    }
+
+    int[] injured() {
+        return injured;
+    }
+
+    int[] severityCode() {
+        return severityCode;
+    }
+
+    int[] urgencyHours() {
+        return urgencyHours;
+    }
+}
@@ -0,0 +1,199 @@
+package com.india.idro.service.ai.rules;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.india.idro.model.RuleSet;
+
+/**
+ * Immutable, validated form of a RuleSet.
+ *
+ * Every ratio is a final primitive field and every formula is a plain
+ * integer expression, so evaluation needs no locking, boxing or lookups.
+ * Callers that evaluate many camps take one instance from
+ * RuleSetRegistry.current() and keep it for the whole run, so a swap in
+ * the middle of an analysis never mixes versions.
+ */
+public final class CompiledRuleSet {
+
+    private final String version;
+    private final String source;
+    private final LocalDateTime loadedAt;
+
+    // Per camp
+    final int foodPacketsPerPerson;
+    final int waterLitersPerPerson;
+    final double bedsPerInjured;
+    final int injuredPerMedicalKit;
+    final int injuredPerAmbulance;
+    final int peoplePerVolunteer;
+    final int peoplePerToilet;
+
+    // Per alert
+    private final int alertFoodPerPerson;
+    private final int alertWaterPerPerson;
+    private final int alertInjuredPerMedicalTeam;
+    private final int alertInjuredPerAmbulance;
+    private final int alertPeoplePerVolunteer;
+    private final double alertShelterShortfallRatio;
+    private final int alertPeoplePerRescueBoat;
+    private final Set<String> rescueBoatDisasterTypes;
+
+    private CompiledRuleSet(RuleSet ruleSet, String source) {
+        RuleSet.CampRatios camp = ruleSet.getCamp() != null ? ruleSet.getCamp() : new RuleSet.CampRatios();
+        RuleSet.AlertImpactRatios alert = ruleSet.getAlertImpact() != null ? ruleSet.getAlertImpact()
+                : new RuleSet.AlertImpactRatios();
+
+        this.version = ruleSet.getVersion();
+        this.source = source;
+        this.loadedAt = LocalDateTime.now();
+
+        this.foodPacketsPerPerson = multiplier("camp.foodPacketsPerPerson", camp.getFoodPacketsPerPerson());
+        this.waterLitersPerPerson = multiplier("camp.waterLitersPerPerson", camp.getWaterLitersPerPerson());
+        this.bedsPerInjured = ratio("camp.bedsPerInjured", camp.getBedsPerInjured());
+        this.injuredPerMedicalKit = divisor("camp.injuredPerMedicalKit", camp.getInjuredPerMedicalKit());
+        this.injuredPerAmbulance = divisor("camp.injuredPerAmbulance", camp.getInjuredPerAmbulance());
+        this.peoplePerVolunteer = divisor("camp.peoplePerVolunteer", camp.getPeoplePerVolunteer());
+        this.peoplePerToilet = divisor("camp.peoplePerToilet", camp.getPeoplePerToilet());
+
+        this.alertFoodPerPerson = multiplier("alertImpact.foodPerPerson", alert.getFoodPerPerson());
+        this.alertWaterPerPerson = multiplier("alertImpact.waterPerPerson", alert.getWaterPerPerson());
+        this.alertInjuredPerMedicalTeam = divisor("alertImpact.injuredPerMedicalTeam",
+                alert.getInjuredPerMedicalTeam());
+        this.alertInjuredPerAmbulance = divisor("alertImpact.injuredPerAmbulance", alert.getInjuredPerAmbulance());
+        this.alertPeoplePerVolunteer = divisor("alertImpact.peoplePerVolunteer", alert.getPeoplePerVolunteer());
+        this.alertShelterShortfallRatio = ratio("alertImpact.shelterShortfallRatio",
+                alert.getShelterShortfallRatio());
+        this.alertPeoplePerRescueBoat = divisor("alertImpact.peoplePerRescueBoat", alert.getPeoplePerRescueBoat());
+        this.rescueBoatDisasterTypes = alert.getRescueBoatDisasterTypes() == null ? Set.of()
+                : alert.getRescueBoatDisasterTypes().stream()
+                        .map(type -> type.toUpperCase(Locale.ROOT))
+                        .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the version is missing or a ratio is out of range
+     */
+    public static CompiledRuleSet compile(RuleSet ruleSet, String source) {
+        if (ruleSet == null || ruleSet.getVersion() == null || ruleSet.getVersion().isBlank()) {
+            throw new IllegalArgumentException("Rule set version is required");
+        }
+        return new CompiledRuleSet(ruleSet, source);
+    }
+
+    /**
+     * Rule set v1 from ResourceStandardConstants.
+     */
+    public static CompiledRuleSet builtIn() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion(ResourceStandardConstants.BUILT_IN_VERSION);
+        ruleSet.setDescription("Built-in defaults");
+        return new CompiledRuleSet(ruleSet, "builtin");
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public LocalDateTime loadedAt() {
+        return loadedAt;
+    }
+
+    // ==================== Per Camp ====================
+
+    public int foodPackets(int population) {
+        return population * foodPacketsPerPerson;
+    }
+
+    public int waterLiters(int population) {
+        return population * waterLitersPerPerson;
+    }
+
+    public int beds(int injured) {
+        return (int) Math.ceil(injured * bedsPerInjured);
+    }
+
+    public int medicalKits(int injured) {
+        return ceilDiv(injured, injuredPerMedicalKit);
+    }
+
+    public int ambulances(int injured) {
+        return ceilDiv(injured, injuredPerAmbulance);
+    }
+
+    public int volunteers(int population) {
+        return ceilDiv(population, peoplePerVolunteer);
+    }
+
+    public int toilets(int population) {
+        return ceilDiv(population, peoplePerToilet);
+    }
+
+    // ==================== Per Alert ====================
+
+    public int alertFoodPerDay(int people) {
+        return people * alertFoodPerPerson;
+    }
+
+    public int alertWaterPerDay(int people) {
+        return people * alertWaterPerPerson;
+    }
+
+    public int alertMedicalTeams(int injured) {
+        return ceilDiv(injured, alertInjuredPerMedicalTeam);
+    }
+
+    public int alertAmbulances(int injured) {
+        return ceilDiv(injured, alertInjuredPerAmbulance);
+    }
+
+    public int alertVolunteers(int people) {
+        return ceilDiv(people, alertPeoplePerVolunteer);
+    }
+
+    public int alertShelterShortfall(int people) {
+        return (int) (people * alertShelterShortfallRatio);
+    }
+
+    public int alertRescueBoats(int people, String disasterType) {
+        return disasterType != null && rescueBoatDisasterTypes.contains(disasterType.toUpperCase(Locale.ROOT))
+                ? ceilDiv(people, alertPeoplePerRescueBoat)
+                : 0;
+    }
+
+    // ==================== Helpers ====================
+
+    /**
+     * ceil(value / divisor) for value >= 0, divisor >= 1
+     */
+    static int ceilDiv(int value, int divisor) {
+        return (Math.max(0, value) + divisor - 1) / divisor;
+    }
+
+    private static int multiplier(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return value;
+    }
+
+    private static int divisor(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be at least 1");
+        }
+        return value;
+    }
+
+    private static double ratio(String name, double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(name + " must be a non-negative number");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,84 @@
+package com.india.idro.service.ai.rules;
+
+/**
+ * Column-oriented output of BatchRequirementEngine, one array per
+ * requirement plus the effective (scenario-scaled) population and injured
+ * count each row was computed from. Allocate once with the capacity of the
+ * largest batch and reuse across evaluations; only the first size() rows
+ * are meaningful.
+ */
+public final class RequirementColumns {
+
+    final int[] population;
+    final int[] injured;
+    final int[] foodPackets;
+    final int[] waterLiters;
+    final int[] beds;
+    final int[] medicalKits;
+    final int[] ambulances;
+    final int[] volunteers;
+    final int[] toilets;
+    final int[] riskScore;
+    int size;
+
+    public RequirementColumns(int capacity) {
+        population = new int[capacity];
+        injured = new int[capacity];
+        foodPackets = new int[capacity];
+        waterLiters = new int[capacity];
+        beds = new int[capacity];
+        medicalKits = new int[capacity];
+        ambulances = new int[capacity];
+        volunteers = new int[capacity];
+        toilets = new int[capacity];
+        riskScore = new int[capacity];
+    }
+
+    public int capacity() {
+        return foodPackets.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int population(int row) {
+        return population[row];
+    }
+
+    public int injured(int row) {
+        return injured[row];
+    }
+
+    public int foodPackets(int row) {
+        return foodPackets[row];
+    }
+
+    public int waterLiters(int row) {
+        return waterLiters[row];
+    }
+
+    public int beds(int row) {
+        return beds[row];
+    }
+
+    public int medicalKits(int row) {
+        return medicalKits[row];
+    }
+
+    public int ambulances(int row) {
+        return ambulances[row];
+    }
+
+    public int volunteers(int row) {
+        return volunteers[row];
+    }
+
+    public int toilets(int row) {
+        return toilets[row];
+    }
+
+    public int riskScore(int row) {
+        return riskScore[row];
+    }
+}
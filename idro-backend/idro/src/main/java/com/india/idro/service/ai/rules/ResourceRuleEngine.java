@@ -1,7 +1,6 @@
 package com.india.idro.service.ai.rules;
 
-import static com.india.idro.service.ai.rules.ResourceStandardConstants.*;
-
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.india.idro.dto.BaseResourceRequirement;
@@ -9,20 +8,22 @@ import com.india.idro.dto.BaseResourceRequirement;
 @Service
 public class ResourceRuleEngine {
 
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
+
     public BaseResourceRequirement calculateBaseRequirements(int affectedPeople, int injuredPeople) {
+        CompiledRuleSet rules = ruleSetRegistry.current();
         return BaseResourceRequirement.builder()
-                .foodPacketsPerDay(affectedPeople * FOOD_PACKETS_PER_PERSON_PER_DAY)
-                .waterLitersPerDay(affectedPeople * WATER_LITERS_PER_PERSON_PER_DAY)
-                .bedsRequired((int) Math.ceil(injuredPeople * BED_PER_INJURED_RATIO))
-                .medicalKitsRequired((int) Math.ceil((double) injuredPeople / 20)) // Defaulting as
-                                                                                   // MEDICAL_KITS_PER_INJURED was
-                                                                                   // removed in user request
+                .foodPacketsPerDay(rules.foodPackets(affectedPeople))
+                .waterLitersPerDay(rules.waterLiters(affectedPeople))
+                .bedsRequired(rules.beds(injuredPeople))
+                .medicalKitsRequired(rules.medicalKits(injuredPeople))
                 .blanketsRequired(affectedPeople * 1) // Defaulting as BLANKETS_PER_PERSON was removed
-                .toiletsRequired((int) Math.ceil((double) affectedPeople / TOILET_PER_PERSON_RATIO))
+                .toiletsRequired(rules.toilets(affectedPeople))
                 .powerUnitsRequired((int) Math.ceil((double) affectedPeople / 150)) // Defaulting as POWER_UNIT was
                                                                                     // removed
-                .ambulancesRequired((int) Math.ceil((double) injuredPeople / AMBULANCE_PER_INJURED_RATIO))
-                .volunteersRequired((int) Math.ceil((double) affectedPeople / VOLUNTEER_PER_PERSON_RATIO))
+                .ambulancesRequired(rules.ambulances(injuredPeople))
+                .volunteersRequired(rules.volunteers(affectedPeople))
                 .build();
     }
 }
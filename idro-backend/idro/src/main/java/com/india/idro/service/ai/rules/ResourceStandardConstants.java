@@ -1,13 +1,31 @@
 package com.india.idro.service.ai.rules;
 
+/**
+ * Built-in ratios of rule set v1, used when no rule set is stored in Mongo
+ * or configured via idro.rules.file. Evaluation reads the active
+ * CompiledRuleSet from RuleSetRegistry, never these constants directly.
+ */
 public class ResourceStandardConstants {
 
+    public static final String BUILT_IN_VERSION = "v1";
+
+    // Per camp
     public static final int FOOD_PACKETS_PER_PERSON_PER_DAY = 3;
-    public static final int WATER_LITERS_PER_PERSON_PER_DAY = 3;
+    public static final int WATER_LITERS_PER_PERSON_PER_DAY = 5;
     public static final double BED_PER_INJURED_RATIO = 1.0;
+    public static final int INJURED_PER_MEDICAL_KIT = 2;
     public static final int TOILET_PER_PERSON_RATIO = 20;
     public static final int VOLUNTEER_PER_PERSON_RATIO = 50;
-    public static final int AMBULANCE_PER_INJURED_RATIO = 100;
+    public static final int AMBULANCE_PER_INJURED_RATIO = 4;
+
+    // Per alert (AnalyticsService.calculateImpact)
+    public static final int ALERT_FOOD_PER_PERSON = 2;
+    public static final int ALERT_WATER_PER_PERSON = 3;
+    public static final int ALERT_INJURED_PER_MEDICAL_TEAM = 40;
+    public static final int ALERT_INJURED_PER_AMBULANCE = 25;
+    public static final int ALERT_PEOPLE_PER_VOLUNTEER = 30;
+    public static final double ALERT_SHELTER_SHORTFALL_RATIO = 0.4;
+    public static final int ALERT_PEOPLE_PER_RESCUE_BOAT = 200;
 
     private ResourceStandardConstants() {
         // Private constructor to prevent instantiation
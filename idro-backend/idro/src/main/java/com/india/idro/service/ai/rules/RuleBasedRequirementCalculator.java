@@ -1,5 +1,6 @@
 package com.india.idro.service.ai.rules;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.india.idro.dto.CampRequirementDTO;
@@ -8,37 +9,37 @@ import com.india.idro.model.Camp;
 @Service
 public class RuleBasedRequirementCalculator {
 
+    @Autowired
+    private RuleSetRegistry ruleSetRegistry;
+
     public CampRequirementDTO calculateRequirements(Camp camp) {
+        return calculateRequirements(camp, ruleSetRegistry.current());
+    }
+
+    // Ratios come from the given rule set (callers evaluating many camps pass one instance)
+    public CampRequirementDTO calculateRequirements(Camp camp, CompiledRuleSet rules) {
         int currentPeople = camp.getPopulation() != null ? camp.getPopulation() : 0;
         int injuredCount = camp.getInjuredCount();
         boolean medicinesNeeded = camp.isMedicinesNeeded();
-        String severity = camp.getSeverity() != null ? camp.getSeverity() : "NORMAL";
 
-        // 1. Food & Water (Deterministic Ratio: 3 per person)
-        int foodPackets = currentPeople * 3;
-        int waterLiters = currentPeople * 3;
+        // 1. Food & Water (per person per day)
+        int foodPackets = rules.foodPackets(currentPeople);
+        int waterLiters = rules.waterLiters(currentPeople);
 
-        // 2. Beds Rule (Set beds equal to injured count)
-        int bedsRequired = injuredCount;
+        // 2. Beds Rule (per injured)
+        int bedsRequired = rules.beds(injuredCount);
 
-        // 3. Medical Kits Rule
-        int medicalKitsRequired = medicinesNeeded ? injuredCount : 0;
+        // 3. Medical Kits Rule (only when the camp reports medicines are needed)
+        int medicalKitsRequired = medicinesNeeded ? rules.medicalKits(injuredCount) : 0;
 
-        // 4. Ambulance Rule
-        int ambulancesRequired = 0;
-        if (injuredCount > 0) {
-            ambulancesRequired = 1;
-        }
-        if ("CRITICAL".equalsIgnoreCase(severity) && injuredCount > 50) {
-            ambulancesRequired = 2;
-        }
+        // 4. Ambulance Rule (any injured means at least one)
+        int ambulancesRequired = rules.ambulances(injuredCount);
 
-        // 5. Volunteers Rule (1 per 50 people)
-        int volunteersRequired = (int) Math.ceil((double) currentPeople / 50);
+        // 5. Volunteers Rule
+        int volunteersRequired = rules.volunteers(currentPeople);
 
-        // 6. Toilets (Preserving existing ratio if not specified otherwise, usually 1
-        // per 20)
-        int toiletsRequired = (int) Math.ceil((double) currentPeople / 20);
+        // 6. Toilets
+        int toiletsRequired = rules.toilets(currentPeople);
 
         return CampRequirementDTO.builder()
                 .foodPacketsPerDay(foodPackets)
@@ -0,0 +1,221 @@
+package com.india.idro.service.ai.rules;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.exception.DuplicateResourceException;
+import com.india.idro.exception.ResourceNotFoundException;
+import com.india.idro.model.RuleSet;
+import com.india.idro.repository.RuleSetRepository;
+
+/**
+ * Holds the active requirement rule set and swaps it without downtime.
+ *
+ * Source, in order:
+ * - idro.rules.file (JSON RuleSet) when configured; reloaded when the file changes
+ * - otherwise the active document in rule_sets
+ * - otherwise built-in v1 (ResourceStandardConstants)
+ *
+ * current() is a volatile read of an immutable CompiledRuleSet, so
+ * evaluation never locks. A new rule set is compiled (and validated)
+ * before it is published; a rule set that fails to compile is logged and
+ * the previous one stays active. Other instances pick up Mongo activations
+ * on the next poll (idro.rules.refresh-interval).
+ */
+@Component
+public class RuleSetRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleSetRegistry.class);
+
+    private final RuleSetRepository ruleSetRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path rulesFile;
+
+    private volatile CompiledRuleSet current = CompiledRuleSet.builtIn();
+    private long fileModifiedAt = Long.MIN_VALUE;
+
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder reloadFailures = new LongAdder();
+    private volatile String lastError;
+
+    public RuleSetRegistry(RuleSetRepository ruleSetRepository, MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper, @Value("${idro.rules.file:}") String rulesFile) {
+        this.ruleSetRepository = ruleSetRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.rulesFile = rulesFile == null || rulesFile.isBlank() ? null : Path.of(rulesFile);
+    }
+
+    /**
+     * The active rule set. Take it once per analysis run and keep using that
+     * instance, so in-flight work stays on one version.
+     */
+    public CompiledRuleSet current() {
+        return current;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${idro.rules.refresh-interval:PT30S}",
+            initialDelayString = "${idro.rules.refresh-interval:PT30S}")
+    public void poll() {
+        reload();
+    }
+
+    /**
+     * Re-read the configured source and swap if the version changed.
+     *
+     * @return The rule set active afterwards
+     */
+    public synchronized CompiledRuleSet reload() {
+        try {
+            CompiledRuleSet loaded = rulesFile != null ? loadFromFile() : loadFromMongo();
+            if (loaded != null && !loaded.version().equals(current.version())) {
+                swap(loaded);
+            }
+        } catch (Exception e) {
+            reloadFailures.increment();
+            lastError = e.getMessage();
+            logger.warn("Rule set reload failed, keeping version={}: {}", current.version(), e.getMessage());
+        }
+        return current;
+    }
+
+    /**
+     * Store a new rule set version in Mongo and make it active immediately.
+     *
+     * @throws BadRequestException        if rules come from idro.rules.file, or a ratio is invalid
+     * @throws DuplicateResourceException if the version already exists
+     */
+    public synchronized CompiledRuleSet publish(RuleSet ruleSet) {
+        requireMongoSource();
+        CompiledRuleSet compiled = compileOrReject(ruleSet, "mongo");
+        if (ResourceStandardConstants.BUILT_IN_VERSION.equals(ruleSet.getVersion())
+                || ruleSetRepository.existsByVersion(ruleSet.getVersion())) {
+            throw new DuplicateResourceException("RuleSet", "version", ruleSet.getVersion());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ruleSet.setId(null);
+        ruleSet.setActive(true);
+        ruleSet.setCreatedAt(now);
+        ruleSet.setActivatedAt(now);
+        ruleSetRepository.save(ruleSet);
+        deactivateOthers(ruleSet.getVersion());
+
+        swap(compiled);
+        return compiled;
+    }
+
+    /**
+     * Make an existing version active again (e.g. roll back).
+     */
+    public synchronized CompiledRuleSet activate(String version) {
+        requireMongoSource();
+        RuleSet ruleSet = ruleSetRepository.findByVersion(version)
+                .orElseThrow(() -> new ResourceNotFoundException("RuleSet", "version", version));
+        CompiledRuleSet compiled = compileOrReject(ruleSet, "mongo");
+
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(ruleSet.getId())),
+                new Update().set("active", true).set("activatedAt", LocalDateTime.now()), RuleSet.class);
+        deactivateOthers(version);
+
+        swap(compiled);
+        return compiled;
+    }
+
+    public List<RuleSet> listVersions() {
+        return ruleSetRepository.findAllByOrderByCreatedAtDesc();
+    }
+
+    public Map<String, Object> getStats() {
+        CompiledRuleSet active = current;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("version", active.version());
+        stats.put("source", active.source());
+        stats.put("loadedAt", active.loadedAt());
+        stats.put("rulesFile", rulesFile != null ? rulesFile.toString() : null);
+        stats.put("swaps", swaps.sum());
+        stats.put("reloadFailures", reloadFailures.sum());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    // ==================== Sources ====================
+
+    private CompiledRuleSet loadFromFile() throws IOException {
+        long modifiedAt = Files.getLastModifiedTime(rulesFile).toMillis();
+        if (modifiedAt == fileModifiedAt) {
+            return null;
+        }
+        RuleSet ruleSet = objectMapper.readValue(rulesFile.toFile(), RuleSet.class);
+        CompiledRuleSet compiled = CompiledRuleSet.compile(ruleSet, "file:" + rulesFile);
+        fileModifiedAt = modifiedAt;
+        return compiled;
+    }
+
+    private CompiledRuleSet loadFromMongo() {
+        return ruleSetRepository.findFirstByActiveTrueOrderByActivatedAtDesc()
+                .map(ruleSet -> ruleSet.getVersion() != null && ruleSet.getVersion().equals(current.version())
+                        ? current
+                        : CompiledRuleSet.compile(ruleSet, "mongo"))
+                .orElseGet(CompiledRuleSet::builtIn);
+    }
+
+    private void swap(CompiledRuleSet next) {
+        CompiledRuleSet previous = current;
+        current = next;
+        swaps.increment();
+        lastError = null;
+        logger.info("Rule set swapped version={} source={} previous={}", next.version(), next.source(),
+                previous.version());
+    }
+
+    /**
+     * Runs after the new version is stored as active, so a failure in between
+     * leaves two active documents (pollers take the latest activatedAt)
+     * rather than none (pollers would fall back to built-in v1).
+     */
+    private void deactivateOthers(String activeVersion) {
+        mongoTemplate.updateMulti(new Query(Criteria.where("active").is(true).and("version").ne(activeVersion)),
+                new Update().set("active", false), RuleSet.class);
+    }
+
+    private void requireMongoSource() {
+        if (rulesFile != null) {
+            throw new BadRequestException("Rule sets are managed by idro.rules.file (" + rulesFile + ")");
+        }
+    }
+
+    private static CompiledRuleSet compileOrReject(RuleSet ruleSet, String source) {
+        try {
+            return CompiledRuleSet.compile(ruleSet, source);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
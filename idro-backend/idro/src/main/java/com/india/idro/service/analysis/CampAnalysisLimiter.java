@@ -0,0 +1,79 @@
+package com.india.idro.service.analysis;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concurrency limits for the downstream systems touched by camp analysis.
+ *
+ * Virtual threads make it cheap to run one task per camp, but the ML server
+ * and MongoDB still have finite capacity. Each call site acquires a permit
+ * from the matching semaphore before doing I/O, so a 2,000-camp mission
+ * queues politely instead of opening 2,000 sockets at once.
+ */
+@Component
+public class CampAnalysisLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CampAnalysisLimiter.class);
+
+    private final Semaphore mlPermits;
+    private final Semaphore mongoPermits;
+
+    public CampAnalysisLimiter(
+            @Value("${idro.impact-analysis.ml-max-concurrency:32}") int mlMaxConcurrency,
+            @Value("${idro.impact-analysis.mongo-max-concurrency:16}") int mongoMaxConcurrency) {
+        this.mlPermits = new Semaphore(Math.max(1, mlMaxConcurrency), true);
+        this.mongoPermits = new Semaphore(Math.max(1, mongoMaxConcurrency), true);
+
+        logger.info("Camp analysis limits - ML: {}, Mongo: {}", mlMaxConcurrency, mongoMaxConcurrency);
+    }
+
+    /**
+     * Run an ML server call while holding an ML permit, waiting for the permit
+     * no longer than the deadline allows.
+     *
+     * @throws IllegalStateException if no permit frees up before the deadline
+     */
+    public <T> T callMl(Supplier<T> call, Deadline deadline) {
+        acquire(mlPermits, deadline, "an ML permit");
+        try {
+            return call.get();
+        } finally {
+            mlPermits.release();
+        }
+    }
+
+    /**
+     * Run a Mongo write while holding a Mongo permit, waiting for the permit
+     * no longer than the deadline allows.
+     *
+     * @throws IllegalStateException if no permit frees up before the deadline
+     */
+    public void runMongo(Runnable write, Deadline deadline) {
+        acquire(mongoPermits, deadline, "a Mongo permit");
+        try {
+            write.run();
+        } finally {
+            mongoPermits.release();
+        }
+    }
+
+    private static void acquire(Semaphore semaphore, Deadline deadline, String permit) {
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for permit", e);
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Deadline reached while waiting for " + permit);
+        }
+    }
+}
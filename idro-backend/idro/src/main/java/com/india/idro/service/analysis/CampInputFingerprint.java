@@ -0,0 +1,46 @@
+package com.india.idro.service.analysis;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+
+/**
+ * Stable hash of every input that affects a camp's impact analysis.
+ *
+ * Stored on CampAiPrediction so a re-analysis can skip camps whose inputs
+ * (and the rule version that produced the stored result) have not changed.
+ */
+public final class CampInputFingerprint {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private CampInputFingerprint() {
+        // Utility class
+    }
+
+    public static String of(Camp camp, Alert mission, String ruleVersion) {
+        String canonical = String.join("|",
+                String.valueOf(camp.getPopulation()),
+                String.valueOf(camp.getInjuredCount()),
+                String.valueOf(camp.getUrgency()),
+                String.valueOf(camp.isMedicinesNeeded()),
+                String.valueOf(camp.getLatitude()),
+                String.valueOf(camp.getLongitude()),
+                String.valueOf(mission.getMagnitude()),
+                String.valueOf(mission.getType()),
+                String.valueOf(mission.getUrgency()),
+                ruleVersion);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            // 128 bits is plenty to tell inputs of one camp apart
+            return HEX.formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.india.idro.service.analysis;
+
+import java.time.Duration;
+
+/**
+ * Absolute time limit for one impact analysis request.
+ *
+ * Created once when the request arrives and passed down to every camp chunk;
+ * each ML call gets what is left of it rather than a fresh timeout, so the
+ * whole analysis answers within the budget no matter how many camps it has.
+ */
+public final class Deadline {
+
+    private final Duration budget;
+    private final long expiresAtNanos;
+
+    private Deadline(Duration budget) {
+        this.budget = budget;
+        this.expiresAtNanos = System.nanoTime() + budget.toNanos();
+    }
+
+    /**
+     * @param budget Time allowed from now; must be positive
+     */
+    public static Deadline after(Duration budget) {
+        if (budget == null || budget.isZero() || budget.isNegative()) {
+            throw new IllegalArgumentException("Deadline budget must be positive");
+        }
+        return new Deadline(budget);
+    }
+
+    /**
+     * Time left before the deadline; zero once it has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+}
@@ -0,0 +1,120 @@
+package com.india.idro.service.analysis;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live progress counters for a single mission impact analysis run.
+ *
+ * Updated concurrently from camp analysis tasks, read by the progress
+ * endpoint. Counters are atomic so no locking is needed on the hot path.
+ */
+public class MissionAnalysisProgress {
+
+    private final String missionId;
+    private final int totalCamps;
+    private final LocalDateTime startedAt;
+    private final long startNanos;
+
+    private final AtomicInteger completedCamps = new AtomicInteger();
+    private final AtomicInteger failedCamps = new AtomicInteger();
+    private final AtomicInteger mlFallbacks = new AtomicInteger();
+    private final AtomicInteger reusedCamps = new AtomicInteger();
+    private final AtomicInteger degradedCamps = new AtomicInteger();
+
+    private volatile LocalDateTime finishedAt;
+    private volatile long elapsedMs = -1;
+
+    public MissionAnalysisProgress(String missionId, int totalCamps) {
+        this.missionId = missionId;
+        this.totalCamps = totalCamps;
+        this.startedAt = LocalDateTime.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    public void recordCompleted() {
+        completedCamps.incrementAndGet();
+    }
+
+    public void recordFailed() {
+        failedCamps.incrementAndGet();
+    }
+
+    /**
+     * A camp whose inputs were unchanged and whose stored prediction was reused.
+     * Counts as completed.
+     */
+    public void recordReused() {
+        reusedCamps.incrementAndGet();
+        completedCamps.incrementAndGet();
+    }
+
+    public void recordMlFallback() {
+        mlFallbacks.incrementAndGet();
+    }
+
+    /**
+     * A camp answered from the Rule Engine because the run's deadline passed
+     * before its ML prediction arrived. Also counted as an ML fallback.
+     */
+    public void recordDegraded() {
+        degradedCamps.incrementAndGet();
+    }
+
+    public void finish() {
+        this.elapsedMs = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public String getMissionId() {
+        return missionId;
+    }
+
+    public int getTotalCamps() {
+        return totalCamps;
+    }
+
+    public int getCompletedCamps() {
+        return completedCamps.get();
+    }
+
+    public int getFailedCamps() {
+        return failedCamps.get();
+    }
+
+    public int getMlFallbacks() {
+        return mlFallbacks.get();
+    }
+
+    public int getReusedCamps() {
+        return reusedCamps.get();
+    }
+
+    public int getDegradedCamps() {
+        return degradedCamps.get();
+    }
+
+    public int getPendingCamps() {
+        return Math.max(0, totalCamps - completedCamps.get() - failedCamps.get());
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Elapsed time in milliseconds; live while running, frozen once finished.
+     */
+    public long getElapsedMs() {
+        return elapsedMs >= 0 ? elapsedMs : Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
@@ -0,0 +1,29 @@
+package com.india.idro.service.analysis;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the most recent analysis run per mission.
+ *
+ * Only the latest run is kept for each mission, so memory stays bounded by
+ * the number of missions rather than the number of analysis requests.
+ */
+@Component
+public class MissionProgressTracker {
+
+    private final Map<String, MissionAnalysisProgress> progressByMission = new ConcurrentHashMap<>();
+
+    public MissionAnalysisProgress start(String missionId, int totalCamps) {
+        MissionAnalysisProgress progress = new MissionAnalysisProgress(missionId, totalCamps);
+        progressByMission.put(missionId, progress);
+        return progress;
+    }
+
+    public Optional<MissionAnalysisProgress> get(String missionId) {
+        return Optional.ofNullable(progressByMission.get(missionId));
+    }
+}
@@ -0,0 +1,108 @@
+package com.india.idro.service.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.india.idro.dto.MissionTotalsDTO;
+import com.india.idro.dto.ResourceTotalsDTO;
+import com.india.idro.model.CampAiAnalysis;
+
+/**
+ * Single-pass accumulator for mission totals, maxima and urgency subtotals.
+ *
+ * All figures live in flat primitive arrays indexed by [bucket * METRICS + metric],
+ * so adding a camp is a handful of array writes with no boxing or per-camp
+ * allocation. Not thread-safe; feed it from one thread.
+ */
+public class MissionTotalsAccumulator {
+
+    private static final String[] BUCKETS = { "Immediate", "6 Hours", "12 Hours", "24 Hours", "Other" };
+    private static final int OTHER_BUCKET = BUCKETS.length - 1;
+
+    private static final int POPULATION = 0;
+    private static final int INJURED = 1;
+    private static final int FOOD = 2;
+    private static final int WATER = 3;
+    private static final int BEDS = 4;
+    private static final int KITS = 5;
+    private static final int VOLUNTEERS = 6;
+    private static final int AMBULANCES = 7;
+    private static final int METRICS = 8;
+
+    private final long[] totals = new long[METRICS];
+    private final long[] maxima = new long[METRICS];
+    private final long[] bucketTotals = new long[BUCKETS.length * METRICS];
+    private final int[] bucketCamps = new int[BUCKETS.length];
+    private int camps;
+
+    public void add(CampAiAnalysis analysis) {
+        int bucket = bucketOf(analysis.getUrgency());
+        int offset = bucket * METRICS;
+        bucketCamps[bucket]++;
+        camps++;
+
+        accumulate(POPULATION, analysis.getPopulation(), offset);
+        accumulate(INJURED, analysis.getInjuredCount(), offset);
+        accumulate(FOOD, analysis.getFoodPackets(), offset);
+        accumulate(WATER, analysis.getWaterLiters(), offset);
+        accumulate(BEDS, analysis.getBeds(), offset);
+        accumulate(KITS, analysis.getMedicalKits(), offset);
+        accumulate(VOLUNTEERS, analysis.getVolunteers(), offset);
+        accumulate(AMBULANCES, analysis.getAmbulances(), offset);
+    }
+
+    public MissionTotalsDTO toDTO() {
+        Map<String, ResourceTotalsDTO> byUrgency = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < BUCKETS.length; bucket++) {
+            if (bucketCamps[bucket] > 0) {
+                byUrgency.put(BUCKETS[bucket], toResourceTotals(bucketCamps[bucket], bucketTotals, bucket * METRICS));
+            }
+        }
+        return new MissionTotalsDTO(
+                toResourceTotals(camps, totals, 0),
+                toResourceTotals(camps, maxima, 0),
+                byUrgency);
+    }
+
+    private void accumulate(int metric, int value, int bucketOffset) {
+        totals[metric] += value;
+        bucketTotals[bucketOffset + metric] += value;
+        if (value > maxima[metric]) {
+            maxima[metric] = value;
+        }
+    }
+
+    /**
+     * Same labels as UrgencyEvaluator; anything unrecognised goes to "Other".
+     */
+    private static int bucketOf(String urgency) {
+        if (urgency == null) {
+            return OTHER_BUCKET;
+        }
+        switch (urgency.trim().toLowerCase(Locale.ROOT)) {
+            case "immediate":
+                return 0;
+            case "6 hours":
+                return 1;
+            case "12 hours":
+                return 2;
+            case "24 hours":
+                return 3;
+            default:
+                return OTHER_BUCKET;
+        }
+    }
+
+    private static ResourceTotalsDTO toResourceTotals(int camps, long[] values, int offset) {
+        return new ResourceTotalsDTO(camps,
+                values[offset + POPULATION],
+                values[offset + INJURED],
+                values[offset + FOOD],
+                values[offset + WATER],
+                values[offset + BEDS],
+                values[offset + KITS],
+                values[offset + VOLUNTEERS],
+                values[offset + AMBULANCES]);
+    }
+}
@@ -0,0 +1,62 @@
+package com.india.idro.service.geo;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Coordinates of the cities used by the demo NGO and agency accounts, so
+ * responders that only carry a city name can be placed on the map and
+ * found by the geospatial queries.
+ */
+public final class CityCoordinates {
+
+    private static final Map<String, double[]> CITIES = Map.ofEntries(
+            // Maharashtra
+            Map.entry("mumbai", new double[] { 19.0760, 72.8777 }),
+            Map.entry("pune", new double[] { 18.5204, 73.8567 }),
+            Map.entry("nagpur", new double[] { 21.1458, 79.0882 }),
+            Map.entry("nashik", new double[] { 19.9975, 73.7898 }),
+            Map.entry("aurangabad", new double[] { 19.8762, 75.3433 }),
+            // Rajasthan
+            Map.entry("jaipur", new double[] { 26.9124, 75.7873 }),
+            Map.entry("udaipur", new double[] { 24.5854, 73.7125 }),
+            Map.entry("jodhpur", new double[] { 26.2389, 73.0243 }),
+            Map.entry("kota", new double[] { 25.2138, 75.8648 }),
+            Map.entry("ajmer", new double[] { 26.4499, 74.6399 }),
+            // Assam
+            Map.entry("guwahati", new double[] { 26.1445, 91.7362 }),
+            Map.entry("dibrugarh", new double[] { 27.4728, 94.9120 }),
+            Map.entry("silchar", new double[] { 24.8333, 92.7789 }),
+            Map.entry("tezpur", new double[] { 26.6528, 92.7926 }),
+            Map.entry("jorhat", new double[] { 26.7509, 94.2037 }),
+            // Gujarat
+            Map.entry("ahmedabad", new double[] { 23.0225, 72.5714 }),
+            Map.entry("surat", new double[] { 21.1702, 72.8311 }),
+            Map.entry("vadodara", new double[] { 22.3072, 73.1812 }),
+            Map.entry("rajkot", new double[] { 22.3039, 70.8022 }),
+            Map.entry("bhavnagar", new double[] { 21.7645, 72.1519 }),
+            // Uttar Pradesh
+            Map.entry("lucknow", new double[] { 26.8467, 80.9462 }),
+            Map.entry("kanpur", new double[] { 26.4499, 80.3319 }),
+            Map.entry("varanasi", new double[] { 25.3176, 82.9739 }),
+            Map.entry("agra", new double[] { 27.1767, 78.0081 }),
+            Map.entry("prayagraj", new double[] { 25.4358, 81.8463 }),
+            // Agency bases
+            Map.entry("new delhi", new double[] { 28.6139, 77.2090 }),
+            Map.entry("bangalore", new double[] { 12.9716, 77.5946 }),
+            Map.entry("chennai", new double[] { 13.0827, 80.2707 }));
+
+    private CityCoordinates() {
+    }
+
+    /**
+     * @return { latitude, longitude }, or null for an unknown city
+     */
+    public static double[] lookup(String city) {
+        if (city == null) {
+            return null;
+        }
+        double[] coordinates = CITIES.get(city.trim().toLowerCase(Locale.ROOT));
+        return coordinates != null ? coordinates.clone() : null;
+    }
+}
@@ -0,0 +1,43 @@
+package com.india.idro.service.geo;
+
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+/**
+ * Conversions between the latitude/longitude fields kept on the models and
+ * the GeoJSON position used by the 2dsphere indexes.
+ */
+public final class GeoPoints {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private GeoPoints() {
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    /**
+     * @return GeoJSON point (x = longitude, y = latitude), or null if the
+     *         coordinates are missing or out of range (a 2dsphere index
+     *         rejects documents with invalid points)
+     */
+    public static GeoJsonPoint toPoint(Double latitude, Double longitude) {
+        return isValid(latitude, longitude) ? new GeoJsonPoint(longitude, latitude) : null;
+    }
+
+    /**
+     * Great-circle (haversine) distance in kilometres.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
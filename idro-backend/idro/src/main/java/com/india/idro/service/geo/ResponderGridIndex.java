@@ -0,0 +1,206 @@
+package com.india.idro.service.geo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.dto.GeoMatchDTO;
+import com.india.idro.dto.ResponderDTO;
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.india.idro.model.enums.AvailabilityStatus;
+
+/**
+ * In-memory spatial grid of available responders (NGOs and agencies).
+ *
+ * Responders are few and move rarely, but "nearest responders to this camp"
+ * is asked for every camp on every dashboard refresh. The grid answers
+ * those lookups without a Mongo round trip:
+ * - Responders with a position and availability other than NOT_AVAILABLE
+ *   are bucketed into cells of cell-degrees x cell-degrees
+ * - k-nearest searches rings of cells outward from the query cell and stops
+ *   once the k-th best distance is closer than anything an outer ring can hold
+ *
+ * The snapshot is immutable and swapped atomically. It is rebuilt lazily
+ * after ttl, or on the next lookup after invalidate() (called on
+ * availability changes and demo account initialization).
+ */
+@Component
+public class ResponderGridIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponderGridIndex.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final double cellDegrees;
+    private final long ttlNanos;
+
+    private volatile Snapshot snapshot;
+
+    public ResponderGridIndex(MongoTemplate mongoTemplate,
+            @Value("${idro.geo.responder-grid.cell-degrees:0.5}") double cellDegrees,
+            @Value("${idro.geo.responder-grid.ttl:60s}") Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.cellDegrees = cellDegrees > 0 ? cellDegrees : 0.5;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    private record Entry(ResponderDTO responder, double latitude, double longitude) {
+    }
+
+    private record Snapshot(Map<Long, List<Entry>> cells, int minRow, int maxRow, int minCol, int maxCol,
+            int size, long builtAtNanos) {
+    }
+
+    /**
+     * @param k Max number of responders to return
+     * @return Up to k available responders, nearest first
+     */
+    public List<GeoMatchDTO<ResponderDTO>> nearest(double latitude, double longitude, int k) {
+        Snapshot grid = current();
+        if (grid.size() == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        int row = row(latitude);
+        int col = col(longitude);
+        int maxRing = Math.max(
+                Math.max(Math.abs(row - grid.minRow()), Math.abs(row - grid.maxRow())),
+                Math.max(Math.abs(col - grid.minCol()), Math.abs(col - grid.maxCol())));
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<GeoMatchDTO<ResponderDTO>> best = new PriorityQueue<>(
+                Comparator.comparingDouble((GeoMatchDTO<ResponderDTO> match) -> match.getDistanceKm()).reversed());
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int r = row - ring; r <= row + ring; r++) {
+                for (int c = col - ring; c <= col + ring; c++) {
+                    if (Math.abs(r - row) != ring && Math.abs(c - col) != ring) {
+                        continue; // interior cell, already visited
+                    }
+                    List<Entry> entries = grid.cells().get(key(r, c));
+                    if (entries == null) {
+                        continue;
+                    }
+                    for (Entry entry : entries) {
+                        double distance = GeoPoints.distanceKm(latitude, longitude, entry.latitude(),
+                                entry.longitude());
+                        if (best.size() < k) {
+                            best.add(new GeoMatchDTO<>(entry.responder(), distance));
+                        } else if (distance < best.peek().getDistanceKm()) {
+                            best.poll();
+                            best.add(new GeoMatchDTO<>(entry.responder(), distance));
+                        }
+                    }
+                }
+            }
+            if (best.size() == k && best.peek().getDistanceKm() <= outsideRingKm(latitude, ring)) {
+                break;
+            }
+        }
+
+        List<GeoMatchDTO<ResponderDTO>> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(GeoMatchDTO::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Drop the snapshot; the next lookup reloads responders from Mongo.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    // ==================== Snapshot ====================
+
+    private Snapshot current() {
+        Snapshot grid = snapshot;
+        if (grid != null && System.nanoTime() - grid.builtAtNanos() < ttlNanos) {
+            return grid;
+        }
+        synchronized (this) {
+            grid = snapshot;
+            if (grid == null || System.nanoTime() - grid.builtAtNanos() >= ttlNanos) {
+                grid = load();
+                snapshot = grid;
+            }
+            return grid;
+        }
+    }
+
+    private Snapshot load() {
+        List<Entry> entries = new ArrayList<>();
+        for (NGO ngo : mongoTemplate.find(availableWithPosition("ngoId", "ngoName", "city", "state"), NGO.class)) {
+            entries.add(new Entry(new ResponderDTO(ResponderDTO.NGO, ngo.getNgoId(), ngo.getNgoName(), ngo.getCity(),
+                    ngo.getState(), ngo.getAvailabilityStatus(), ngo.getLatitude(), ngo.getLongitude()),
+                    ngo.getLatitude(), ngo.getLongitude()));
+        }
+        for (GovernmentAgency agency : mongoTemplate.find(
+                availableWithPosition("agencyId", "agencyName", "location", "operatingRegion"),
+                GovernmentAgency.class)) {
+            entries.add(new Entry(new ResponderDTO(ResponderDTO.AGENCY, agency.getAgencyId(), agency.getAgencyName(),
+                    agency.getLocation(), agency.getOperatingRegion(), agency.getAvailabilityStatus(),
+                    agency.getLatitude(), agency.getLongitude()), agency.getLatitude(), agency.getLongitude()));
+        }
+
+        Map<Long, List<Entry>> cells = new HashMap<>();
+        int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE;
+        int minCol = Integer.MAX_VALUE, maxCol = Integer.MIN_VALUE;
+        for (Entry entry : entries) {
+            int r = row(entry.latitude());
+            int c = col(entry.longitude());
+            cells.computeIfAbsent(key(r, c), cell -> new ArrayList<>()).add(entry);
+            minRow = Math.min(minRow, r);
+            maxRow = Math.max(maxRow, r);
+            minCol = Math.min(minCol, c);
+            maxCol = Math.max(maxCol, c);
+        }
+
+        logger.debug("Responder grid rebuilt responders={} cells={}", entries.size(), cells.size());
+        return new Snapshot(cells, minRow, maxRow, minCol, maxCol, entries.size(), System.nanoTime());
+    }
+
+    private Query availableWithPosition(String... fields) {
+        Query query = new Query(Criteria.where("position").exists(true)
+                .and("availabilityStatus").ne(AvailabilityStatus.NOT_AVAILABLE));
+        query.fields().include(fields).include("availabilityStatus", "latitude", "longitude");
+        return query;
+    }
+
+    // ==================== Grid Math ====================
+
+    private int row(double latitude) {
+        return (int) Math.floor(latitude / cellDegrees);
+    }
+
+    private int col(double longitude) {
+        return (int) Math.floor(longitude / cellDegrees);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    /**
+     * Lower bound on the distance from the query point to anything outside
+     * the given ring: at least ring cells away in latitude or longitude,
+     * with longitude degrees shrunk by the cosine of the highest latitude
+     * the next ring reaches.
+     */
+    private double outsideRingKm(double latitude, int ring) {
+        double degrees = ring * cellDegrees;
+        double farthestLatitude = Math.min(89, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        return degrees * GeoPoints.KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+    }
+}
@@ -0,0 +1,25 @@
+package com.india.idro.service.realtime;
+
+import com.india.idro.dto.CampDeltaDTO;
+
+/**
+ * A successful write to one of the entities dashboards display, published
+ * by EntityChangePublisher and pushed to WebSocket subscribers by
+ * RealtimeChangeRelay.
+ *
+ * @param payload   What subscribers receive: the saved document (for a
+ *                  deletion, the last stored one), or the roster summary
+ *                  for NGOs and agencies
+ * @param campDelta Per-field delta for camp changes; null for other entities
+ */
+public record EntityChangeEvent(EntityType entity, ChangeType change, String id, Object payload,
+        CampDeltaDTO campDelta) {
+
+    public enum EntityType {
+        ALERT, ACTION, CAMP, NGO, GOVERNMENT_AGENCY
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,64 @@
+package com.india.idro.service.realtime;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.dto.GovernmentAgencySummaryDTO;
+import com.india.idro.dto.NGOSummaryDTO;
+import com.india.idro.model.Action;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.GovernmentAgency;
+import com.india.idro.model.NGO;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangeEvent.EntityType;
+
+/**
+ * Raises an EntityChangeEvent for a write that has just succeeded. Call it
+ * after the repository call returns, never before: the event is only
+ * delivered once the write is committed (see RealtimeChangeRelay).
+ *
+ * NGOs and agencies are published as their roster summaries, so passwords
+ * and resource maps never reach the broker.
+ */
+@Component
+public class EntityChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void alert(ChangeType change, Alert alert) {
+        publish(EntityType.ALERT, change, alert.getId(), alert, null);
+    }
+
+    public void action(ChangeType change, Action action) {
+        publish(EntityType.ACTION, change, action.getId(), action, null);
+    }
+
+    public void camp(ChangeType change, Camp camp, CampDeltaDTO delta) {
+        publish(EntityType.CAMP, change, camp.getId(), camp, delta);
+    }
+
+    public void ngo(ChangeType change, NGO ngo) {
+        NGOSummaryDTO summary = new NGOSummaryDTO(ngo.getId(), ngo.getNgoId(), ngo.getNgoName(), ngo.getCity(),
+                ngo.getState(), ngo.getContactNumber(), ngo.getOperatingRegion(), ngo.getSupportedDisasterTypes(),
+                ngo.getAvailabilityStatus(), ngo.getResponseTime(), ngo.getCoverageRadius(), ngo.getLastUpdated());
+        publish(EntityType.NGO, change, ngo.getId(), summary, null);
+    }
+
+    public void agency(ChangeType change, GovernmentAgency agency) {
+        GovernmentAgencySummaryDTO summary = new GovernmentAgencySummaryDTO(agency.getId(), agency.getAgencyId(),
+                agency.getAgencyName(), agency.getAgencyType(), agency.getLocation(), agency.getContactNumber(),
+                agency.getOperatingRegion(), agency.getSupportedDisasterTypes(), agency.getAvailabilityStatus(),
+                agency.getResponseTime(), agency.getCoverageRadius(), agency.getLastUpdated());
+        publish(EntityType.GOVERNMENT_AGENCY, change, agency.getId(), summary, null);
+    }
+
+    private void publish(EntityType entity, ChangeType change, String id, Object payload, CampDeltaDTO delta) {
+        eventPublisher.publishEvent(new EntityChangeEvent(entity, change, id, payload, delta));
+    }
+}
@@ -0,0 +1,162 @@
+package com.india.idro.service.realtime;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.dto.GovernmentAgencySummaryDTO;
+import com.india.idro.dto.NGOSummaryDTO;
+import com.india.idro.model.Action;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.repository.AlertRepository;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+
+/**
+ * Sends each update to its nationwide topic and to the mission / state
+ * topics it belongs to (see RealtimeTopics). The broker only delivers a
+ * scoped message to that scope's subscribers, so filtering happens on the
+ * server instead of in every browser.
+ *
+ * Camps carry no state of their own; the state of a camp's mission is
+ * looked up once and cached for idro.websocket.mission-state-cache-ttl.
+ *
+ * Pushes raised by a write (see RealtimeChangeRelay) carry a STOMP header
+ * idro-change: CREATED, UPDATED or DELETED; a DELETED message's body is the
+ * last stored document. Messages without the header are echoes of /app
+ * messages from other clients.
+ */
+@Component
+public class RealtimeBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeBroadcaster.class);
+
+    public static final String CHANGE_HEADER = "idro-change";
+
+    private static final int MAX_CACHED_MISSIONS = 10_000;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AlertRepository alertRepository;
+    private final long stateCacheTtlNanos;
+
+    private final Map<String, CachedState> missionStates = new ConcurrentHashMap<>();
+
+    private record CachedState(String stateKey, long expiresAtNanos) {
+    }
+
+    public RealtimeBroadcaster(SimpMessagingTemplate messagingTemplate, AlertRepository alertRepository,
+            @Value("${idro.websocket.mission-state-cache-ttl:5m}") Duration stateCacheTtl) {
+        this.messagingTemplate = messagingTemplate;
+        this.alertRepository = alertRepository;
+        this.stateCacheTtlNanos = stateCacheTtl.toNanos();
+    }
+
+    public void alert(Alert alert) {
+        alert(alert, null);
+    }
+
+    public void alert(Alert alert, ChangeType change) {
+        Map<String, Object> headers = headers(change);
+        send(RealtimeTopics.ALERTS, alert, headers);
+        if (alert.getId() == null) {
+            return;
+        }
+        String stateKey = RealtimeTopics.stateKey(alert.getState());
+        cacheState(alert.getId(), stateKey);
+        send(RealtimeTopics.missionAlert(alert.getId()), alert, headers);
+        if (stateKey != null) {
+            send(RealtimeTopics.stateAlerts(stateKey), alert, headers);
+        }
+    }
+
+    public void camp(Camp camp) {
+        camp(camp, null);
+    }
+
+    public void camp(Camp camp, ChangeType change) {
+        Map<String, Object> headers = headers(change);
+        send(RealtimeTopics.CAMPS, camp, headers);
+        if (camp.getAlertId() == null) {
+            return;
+        }
+        send(RealtimeTopics.missionCamps(camp.getAlertId()), camp, headers);
+        String stateKey = stateKeyOfMission(camp.getAlertId());
+        if (stateKey != null) {
+            send(RealtimeTopics.stateCamps(stateKey), camp, headers);
+        }
+    }
+
+    public void campDelta(CampDeltaDTO delta) {
+        send(RealtimeTopics.CAMP_DELTAS, delta, null);
+        if (delta.getAlertId() != null) {
+            send(RealtimeTopics.missionCampDeltas(delta.getAlertId()), delta, null);
+        }
+    }
+
+    public void action(Action action) {
+        action(action, null);
+    }
+
+    public void action(Action action, ChangeType change) {
+        Map<String, Object> headers = headers(change);
+        send(RealtimeTopics.ACTIONS, action, headers);
+        if (action.getAlertId() != null) {
+            send(RealtimeTopics.missionActions(action.getAlertId()), action, headers);
+        }
+    }
+
+    public void ngo(NGOSummaryDTO ngo, ChangeType change) {
+        send(RealtimeTopics.NGOS, ngo, headers(change));
+    }
+
+    public void agency(GovernmentAgencySummaryDTO agency, ChangeType change) {
+        send(RealtimeTopics.AGENCIES, agency, headers(change));
+    }
+
+    private static Map<String, Object> headers(ChangeType change) {
+        return change != null ? Map.of(CHANGE_HEADER, change.name()) : null;
+    }
+
+    private void send(String destination, Object payload, Map<String, Object> headers) {
+        try {
+            messagingTemplate.convertAndSend(destination, payload, headers);
+        } catch (MessagingException e) {
+            logger.warn("Realtime publish failed destination={}: {}", destination, e.getMessage());
+        }
+    }
+
+    // ==================== Mission -> State ====================
+
+    private String stateKeyOfMission(String alertId) {
+        CachedState cached = missionStates.get(alertId);
+        if (cached != null && cached.expiresAtNanos() - System.nanoTime() > 0) {
+            return cached.stateKey();
+        }
+        try {
+            String stateKey = alertRepository.findById(alertId)
+                    .map(alert -> RealtimeTopics.stateKey(alert.getState()))
+                    .orElse(null);
+            cacheState(alertId, stateKey);
+            return stateKey;
+        } catch (DataAccessException e) {
+            logger.debug("State lookup failed alertId={}: {}", alertId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void cacheState(String alertId, String stateKey) {
+        if (missionStates.size() >= MAX_CACHED_MISSIONS) {
+            missionStates.clear();
+        }
+        missionStates.put(alertId, new CachedState(stateKey, System.nanoTime() + stateCacheTtlNanos));
+    }
+}
@@ -0,0 +1,162 @@
+package com.india.idro.service.realtime;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.india.idro.dto.GovernmentAgencySummaryDTO;
+import com.india.idro.dto.NGOSummaryDTO;
+import com.india.idro.model.Action;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.service.CampDeltaPublisher;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+
+/**
+ * Turns EntityChangeEvents into WebSocket pushes, so dashboards can follow
+ * alerts, actions, camps, NGOs and agencies without polling the REST API.
+ *
+ * Events are taken after commit (TransactionalEventListener; without a
+ * transaction, as soon as the write has returned) and held per entity for
+ * idro.websocket.change-events.window. A flush on the task scheduler then
+ * sends each entity's latest state once, so the writing request never
+ * waits on the broker and a burst of writes to one document is one
+ * message. A window of 0 sends on the writing thread.
+ *
+ * Within a window a creation stays CREATED when later updates fold into
+ * it, and a deletion is final. A creation and a deletion that meet in one
+ * window cancel out: clients never saw the entity, so nothing is sent.
+ * A camp change that carries a delta only goes to CampDeltaPublisher,
+ * which conflates it on its own window: the full document (stock,
+ * incomingAid, image) is never pushed to the camp topics for a write.
+ */
+@Component
+public class RealtimeChangeRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeChangeRelay.class);
+
+    private final RealtimeBroadcaster broadcaster;
+    private final CampDeltaPublisher campDeltaPublisher;
+    private final Duration window;
+    private final boolean batch;
+
+    private final Map<String, EntityChangeEvent> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public RealtimeChangeRelay(RealtimeBroadcaster broadcaster, CampDeltaPublisher campDeltaPublisher,
+            TaskScheduler taskScheduler,
+            @Value("${idro.websocket.change-events.window:250ms}") Duration window) {
+        this.broadcaster = broadcaster;
+        this.campDeltaPublisher = campDeltaPublisher;
+        this.window = window;
+        this.batch = !window.isZero() && !window.isNegative();
+        if (batch) {
+            taskScheduler.scheduleWithFixedDelay(this::flush, window);
+        }
+    }
+
+    /**
+     * Runs on the writing thread; must not fail the write that raised the event.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(EntityChangeEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        received.increment();
+        try {
+            if (event.campDelta() != null) {
+                campDeltaPublisher.publish(event.campDelta());
+                return;
+            }
+            if (!batch) {
+                send(event);
+                return;
+            }
+            pending.merge(event.entity() + ":" + event.id(), event, this::merge);
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Change event dropped entity={} id={}: {}", event.entity(), event.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Send everything held; runs every window.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (String key : pending.keySet()) {
+            EntityChangeEvent event = pending.remove(key);
+            if (event != null) {
+                send(event);
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long receivedCount = received.sum();
+        long publishedCount = published.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("windowMs", window.toMillis());
+        stats.put("pending", pending.size());
+        stats.put("received", receivedCount);
+        stats.put("coalesced", coalesced.sum());
+        stats.put("published", publishedCount);
+        stats.put("failed", failed.sum());
+        stats.put("batchingRatio", publishedCount == 0 ? 0.0 : (double) receivedCount / publishedCount);
+        return stats;
+    }
+
+    // ==================== Batching ====================
+
+    /**
+     * Fold an incoming event into the held one; null drops the entry.
+     */
+    private EntityChangeEvent merge(EntityChangeEvent held, EntityChangeEvent incoming) {
+        coalesced.increment();
+        if (held.change() == ChangeType.DELETED) {
+            return held;
+        }
+        if (held.change() == ChangeType.CREATED && incoming.change() == ChangeType.DELETED) {
+            return null;
+        }
+        if (held.change() == ChangeType.CREATED && incoming.change() == ChangeType.UPDATED) {
+            return new EntityChangeEvent(incoming.entity(), ChangeType.CREATED, incoming.id(), incoming.payload(),
+                    null);
+        }
+        return incoming;
+    }
+
+    private void send(EntityChangeEvent event) {
+        // A failure here must not cancel the scheduled flush
+        try {
+            switch (event.entity()) {
+                case ALERT -> broadcaster.alert((Alert) event.payload(), event.change());
+                case ACTION -> broadcaster.action((Action) event.payload(), event.change());
+                case CAMP -> broadcaster.camp((Camp) event.payload(), event.change());
+                case NGO -> broadcaster.ngo((NGOSummaryDTO) event.payload(), event.change());
+                case GOVERNMENT_AGENCY ->
+                    broadcaster.agency((GovernmentAgencySummaryDTO) event.payload(), event.change());
+            }
+            published.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Change push failed entity={} id={}: {}", event.entity(), event.id(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.india.idro.service.realtime;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * STOMP destinations for real-time updates.
+ *
+ * Global topics carry every change nationwide and exist for national
+ * command dashboards (and clients not yet moved to scoped topics);
+ * /topic/ngos and /topic/agencies carry responder roster summaries.
+ * Scoped topics carry only one mission's or one state's changes, so a
+ * client's inbound volume follows what it subscribed to:
+ *
+ * <pre>
+ * /topic/missions/{alertId}/alert          the mission's own alert
+ * /topic/missions/{alertId}/camps          full camp documents
+ * /topic/missions/{alertId}/camps/deltas   CampDeltaDTO patches
+ * /topic/missions/{alertId}/actions        actions deployed on the mission
+ * /topic/states/{stateKey}/alerts          alerts in the state
+ * /topic/states/{stateKey}/camps           camps of missions in the state
+ * </pre>
+ *
+ * stateKey is the state name lower-cased with non-alphanumerics collapsed
+ * to '-' (see {@link #stateKey}), e.g. "Tamil Nadu" -> "tamil-nadu".
+ */
+public final class RealtimeTopics {
+
+    // ==================== Global ====================
+
+    public static final String ALERTS = "/topic/alerts";
+    public static final String CAMPS = "/topic/camps";
+    public static final String CAMP_DELTAS = "/topic/camps/deltas";
+    public static final String ACTIONS = "/topic/actions";
+    public static final String NGOS = "/topic/ngos";
+    public static final String AGENCIES = "/topic/agencies";
+    public static final String COORDINATION = "/topic/coordination";
+
+    // ==================== Scoped ====================
+
+    public static final String MISSION_PREFIX = "/topic/missions/";
+    public static final String STATE_PREFIX = "/topic/states/";
+
+    private static final Set<String> MISSION_CHANNELS = Set.of("alert", "camps", "camps/deltas", "actions");
+    private static final Set<String> STATE_CHANNELS = Set.of("alerts", "camps");
+
+    public enum ScopeType {
+        GLOBAL, MISSION, STATE, INVALID
+    }
+
+    /**
+     * What a subscription destination covers; key is the alertId or stateKey.
+     */
+    public record Scope(ScopeType type, String key) {
+    }
+
+    private RealtimeTopics() {
+        // Utility class
+    }
+
+    public static String missionAlert(String alertId) {
+        return MISSION_PREFIX + alertId + "/alert";
+    }
+
+    public static String missionCamps(String alertId) {
+        return MISSION_PREFIX + alertId + "/camps";
+    }
+
+    public static String missionCampDeltas(String alertId) {
+        return MISSION_PREFIX + alertId + "/camps/deltas";
+    }
+
+    public static String missionActions(String alertId) {
+        return MISSION_PREFIX + alertId + "/actions";
+    }
+
+    public static String stateAlerts(String stateKey) {
+        return STATE_PREFIX + stateKey + "/alerts";
+    }
+
+    public static String stateCamps(String stateKey) {
+        return STATE_PREFIX + stateKey + "/camps";
+    }
+
+    /**
+     * Destination-safe form of a state name, or null if it has none.
+     */
+    public static String stateKey(String state) {
+        if (state == null) {
+            return null;
+        }
+        String key = state.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        key = key.replaceAll("^-+|-+$", "");
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Classify a subscription destination. Patterns ('*', '?', '{') are INVALID:
+     * the simple broker would match them against every mission or state.
+     */
+    public static Scope scopeOf(String destination) {
+        if (destination == null || destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0
+                || destination.indexOf('{') >= 0) {
+            return new Scope(ScopeType.INVALID, null);
+        }
+        if (destination.startsWith(MISSION_PREFIX)) {
+            return scoped(ScopeType.MISSION, destination.substring(MISSION_PREFIX.length()), MISSION_CHANNELS);
+        }
+        if (destination.startsWith(STATE_PREFIX)) {
+            return scoped(ScopeType.STATE, destination.substring(STATE_PREFIX.length()), STATE_CHANNELS);
+        }
+        return new Scope(ScopeType.GLOBAL, null);
+    }
+
+    private static Scope scoped(ScopeType type, String rest, Set<String> channels) {
+        int slash = rest.indexOf('/');
+        if (slash <= 0 || !channels.contains(rest.substring(slash + 1))) {
+            return new Scope(ScopeType.INVALID, null);
+        }
+        return new Scope(type, rest.substring(0, slash));
+    }
+}
@@ -0,0 +1,25 @@
+package com.india.idro.service.realtime;
+
+import java.security.Principal;
+
+import com.india.idro.model.enums.UserRole;
+
+/**
+ * Identity of a STOMP session, established from the CONNECT frame's
+ * login / passcode headers against a user, NGO or government agency
+ * account (same check as the matching REST login).
+ *
+ * @param userId      Mongo id of the account
+ * @param role        Role of a user account; NGO for NGO accounts, null for
+ *                    government agency accounts (responders, not GOV command)
+ * @param responderId Stable responder id (see ResponderIds), matched against
+ *                    the responderId of claimed missions
+ */
+public record StompPrincipal(String userId, String username, String displayName, UserRole role,
+        String responderId) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,88 @@
+package com.india.idro.service.realtime;
+
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.india.idro.model.Alert;
+import com.india.idro.model.enums.UserRole;
+import com.india.idro.repository.ActionRepository;
+import com.india.idro.repository.AlertRepository;
+import com.india.idro.service.realtime.RealtimeTopics.Scope;
+
+/**
+ * Decides at SUBSCRIBE time whether a STOMP session may receive a topic.
+ *
+ * - Mission topics: GOV sessions, the responder holding the mission
+ *   (session responderId equal to the mission's responderId), and users
+ *   with an action deployed on the mission.
+ * - State topics: any authenticated session.
+ * - Nationwide feeds: GOV sessions; everyone while
+ *   idro.websocket.legacy-global-topics is on (clients that do not log in
+ *   over STOMP yet).
+ * - Other destinations (coordination chat, user queues): authenticated
+ *   sessions, or everyone under the same legacy switch.
+ * - Patterns ('*', '?', '{') and unknown scoped channels: never.
+ */
+@Component
+public class TopicAccessPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopicAccessPolicy.class);
+
+    private static final Set<String> NATIONWIDE = Set.of(RealtimeTopics.ALERTS, RealtimeTopics.CAMPS,
+            RealtimeTopics.CAMP_DELTAS, RealtimeTopics.ACTIONS);
+
+    private final AlertRepository alertRepository;
+    private final ActionRepository actionRepository;
+    private final boolean legacyGlobalTopics;
+
+    public TopicAccessPolicy(AlertRepository alertRepository, ActionRepository actionRepository,
+            @Value("${idro.websocket.legacy-global-topics:true}") boolean legacyGlobalTopics) {
+        this.alertRepository = alertRepository;
+        this.actionRepository = actionRepository;
+        this.legacyGlobalTopics = legacyGlobalTopics;
+    }
+
+    /**
+     * @param principal   Session identity, or null for an anonymous session
+     * @param destination SUBSCRIBE destination
+     */
+    public boolean canSubscribe(StompPrincipal principal, String destination) {
+        Scope scope = RealtimeTopics.scopeOf(destination);
+        boolean allowed = switch (scope.type()) {
+            case MISSION -> principal != null && (isGov(principal) || isInvolved(principal, scope.key()));
+            case STATE -> principal != null;
+            case GLOBAL -> NATIONWIDE.contains(destination)
+                    ? legacyGlobalTopics || isGov(principal)
+                    : legacyGlobalTopics || principal != null;
+            case INVALID -> false;
+        };
+        if (!allowed) {
+            logger.info("Subscription denied destination={} user={} role={}", destination,
+                    principal != null ? principal.username() : null, principal != null ? principal.role() : null);
+        }
+        return allowed;
+    }
+
+    private static boolean isGov(StompPrincipal principal) {
+        return principal != null && principal.role() == UserRole.GOV;
+    }
+
+    /**
+     * Holds the mission (matched on the stable responder id, never on the
+     * free-text responderName) or has an action on the mission.
+     */
+    private boolean isInvolved(StompPrincipal principal, String alertId) {
+        Alert alert = alertRepository.findById(alertId).orElse(null);
+        if (alert == null) {
+            return false;
+        }
+        if (principal.responderId() != null && principal.responderId().equals(alert.getResponderId())) {
+            return true;
+        }
+        return principal.userId() != null && actionRepository.existsByAlertIdAndUserId(alertId, principal.userId());
+    }
+}
@@ -0,0 +1,209 @@
+package com.india.idro.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Collation;
+import com.mongodb.client.model.CollationStrength;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertManyOptions;
+
+/**
+ * Regression benchmark for filter/count push-down on the actions collection.
+ *
+ * Only runs when the data size is given, against the Mongo the context test
+ * uses:
+ *
+ *   mvn test -Dtest=ActionQueryPushdownBenchmarkTest -Didro.benchmark.actions=1000000
+ *
+ * Seeds a separate collection (idro.benchmark.collection, default
+ * actions_benchmark) with actions spread over 30 days, builds the same
+ * indexes as Action, then compares each old path with its replacement:
+ * - recent HIGH actions: load the last 24h and filter in Java vs. the
+ *   collated Mongo filter of ActionRepository.findRecentPriorityActions
+ * - recent HIGH count: the old count, which was the size of that Java-filtered
+ *   list, vs. countDocuments
+ *
+ * Logs median latency and BSON bytes returned by the server per variant,
+ * and fails if the variants disagree on what matches. The collection is
+ * dropped afterwards unless idro.benchmark.keep-data is set.
+ */
+@DataMongoTest
+@EnabledIfSystemProperty(named = "idro.benchmark.actions", matches = "\\d+")
+class ActionQueryPushdownBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionQueryPushdownBenchmarkTest.class);
+
+    // Mixed spellings, so the collated filter has to match what equalsIgnoreCase did
+    private static final String[] PRIORITIES = { "HIGH", "MEDIUM", "MEDIUM", "LOW", "LOW", "LOW", "High", "hIGH" };
+    private static final String[] ROLES = { "GOV", "NGO", "VOLUNTEER" };
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    // Collations.CASE_INSENSITIVE, as used by ActionRepository.findByPriorityAndTimestampAfter
+    private static final Collation CASE_INSENSITIVE = Collation.builder().locale("en")
+            .collationStrength(CollationStrength.SECONDARY).build();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${idro.benchmark.actions}")
+    private int actionCount;
+
+    @Value("${idro.benchmark.iterations:5}")
+    private int iterations;
+
+    @Value("${idro.benchmark.collection:actions_benchmark}")
+    private String collectionName;
+
+    @Value("${idro.benchmark.keep-data:false}")
+    private boolean keepData;
+
+    private record Sample(long documents, long bytes, long matched) {
+    }
+
+    private record Result(String name, long medianMs, Sample sample) {
+    }
+
+    @AfterEach
+    void dropCollection() {
+        if (!keepData) {
+            mongoTemplate.getCollection(collectionName).drop();
+        }
+    }
+
+    @Test
+    void pushedDownFilterAndCountMatchTheJavaFilter() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        if (collection.estimatedDocumentCount() != actionCount) {
+            seed(collection);
+        }
+        ensureIndexes(collection);
+
+        MongoCollection<RawBsonDocument> raw = collection.withDocumentClass(RawBsonDocument.class);
+        Date since = new Date(System.currentTimeMillis() - DAY_MS);
+        Bson recent = Filters.gt("timestamp", since);
+        Bson recentHigh = Filters.and(Filters.eq("priority", ActionRepository.HIGH_PRIORITY), recent);
+
+        Result filterInJava = measure("recent HIGH actions - load 24h, filter in Java (before)",
+                () -> scan(raw.find(recent), true));
+        Result filterInMongo = measure("recent HIGH actions - filter in Mongo (after)",
+                () -> scan(raw.find(recentHigh).collation(CASE_INSENSITIVE), false));
+        Result countInJava = measure("recent HIGH count - load 24h, filter in Java, size (before)",
+                () -> scan(raw.find(recent), true));
+        Result countInMongo = measure("recent HIGH count - countDocuments (after)",
+                () -> new Sample(0, 0,
+                        collection.countDocuments(recentHigh, new CountOptions().collation(CASE_INSENSITIVE))));
+
+        logger.info("Query push-down benchmark: {} actions in {}, median of {} runs", actionCount, collectionName,
+                iterations);
+        for (Result result : List.of(filterInJava, filterInMongo, countInJava, countInMongo)) {
+            logger.info("  {}: {} ms, {} documents / {} KB returned, {} matched", result.name(), result.medianMs(),
+                    result.sample().documents(), result.sample().bytes() / 1024, result.sample().matched());
+        }
+
+        long expected = filterInJava.sample().matched();
+        assertThat(expected).isPositive();
+        assertThat(filterInMongo.sample().matched()).isEqualTo(expected);
+        assertThat(filterInMongo.sample().documents()).isEqualTo(expected);
+        assertThat(countInMongo.sample().matched()).isEqualTo(expected);
+    }
+
+    // ==================== Helpers ====================
+
+    private void seed(MongoCollection<Document> collection) {
+        logger.info("Seeding {} benchmark actions into {}", actionCount, collectionName);
+        collection.drop();
+
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        List<Document> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < actionCount; i++) {
+            batch.add(new Document("alertId", "alert-" + random.nextInt(500))
+                    .append("userId", "user-" + random.nextInt(5_000))
+                    .append("description", "Dispatch relief supplies to zone " + random.nextInt(200))
+                    .append("status", random.nextBoolean() ? "PENDING" : "COMPLETED")
+                    .append("timestamp", new Date(now - (long) (random.nextDouble() * 30 * DAY_MS)))
+                    .append("priority", PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .append("role", ROLES[random.nextInt(ROLES.length)])
+                    .append("targetZone", "Zone-" + random.nextInt(200))
+                    .append("resourceType", "FOOD")
+                    .append("quantity", random.nextInt(1_000)));
+            if (batch.size() == SEED_BATCH_SIZE) {
+                collection.insertMany(batch, new InsertManyOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch, new InsertManyOptions().ordered(false));
+        }
+    }
+
+    /**
+     * Same shapes as the indexes declared on Action.
+     */
+    private void ensureIndexes(MongoCollection<Document> collection) {
+        collection.createIndex(Indexes.compoundIndex(Indexes.descending("timestamp"), Indexes.descending("_id")),
+                new IndexOptions().name("timestamp_id"));
+        collection.createIndex(Indexes.compoundIndex(Indexes.ascending("priority"), Indexes.descending("timestamp")),
+                new IndexOptions().name("priority_timestamp"));
+        collection.createIndex(Indexes.compoundIndex(Indexes.ascending("priority"), Indexes.descending("timestamp")),
+                new IndexOptions().name("priority_ci_timestamp").collation(CASE_INSENSITIVE));
+    }
+
+    private Sample scan(FindIterable<RawBsonDocument> find, boolean filterHighInJava) {
+        long documents = 0;
+        long bytes = 0;
+        long matched = 0;
+        for (RawBsonDocument document : find) {
+            documents++;
+            bytes += document.getByteBuffer().remaining();
+            if (!filterHighInJava || isHigh(document.get("priority"))) {
+                matched++;
+            }
+        }
+        return new Sample(documents, bytes, matched);
+    }
+
+    // The filter findRecentPriorityActions used to apply in memory
+    private boolean isHigh(BsonValue priority) {
+        return priority != null && priority.isString() && "HIGH".equalsIgnoreCase(priority.asString().getValue());
+    }
+
+    private Result measure(String name, Supplier<Sample> run) {
+        Sample sample = run.get(); // warm-up
+        long[] timings = new long[Math.max(1, iterations)];
+        for (int i = 0; i < timings.length; i++) {
+            long start = System.nanoTime();
+            sample = run.get();
+            timings[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(timings);
+        return new Result(name, timings[timings.length / 2], sample);
+    }
+}
@@ -0,0 +1,164 @@
+package com.india.idro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.service.realtime.RealtimeBroadcaster;
+
+/**
+ * Conflation and sequencing of camp deltas; flush is driven by hand
+ * instead of the scheduler.
+ */
+class CampDeltaPublisherTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 7, 1, 9, 30);
+
+    private RealtimeBroadcaster broadcaster;
+    private CampDeltaPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = mock(RealtimeBroadcaster.class);
+        publisher = new CampDeltaPublisher(broadcaster, mock(TaskScheduler.class), Duration.ofMillis(250));
+    }
+
+    @Test
+    void burstOnOneCampGoesOutAsOneDeltaWithTheNewestValues() {
+        publisher.publish(delta("c1", 1L, Map.of("population", 100, "injuredCount", 4)));
+        publisher.publish(delta("c1", 2L, Map.of("injuredCount", 6)));
+        publisher.publish(delta("c1", 3L, Map.of("stock.food", 40)));
+
+        List<CampDeltaDTO> sent = flush();
+
+        assertThat(sent).hasSize(1);
+        CampDeltaDTO delta = sent.get(0);
+        assertThat(delta.getVersion()).isEqualTo(3L);
+        assertThat(delta.getUpdatedAt()).isEqualTo(T0.plusSeconds(3));
+        assertThat(delta.getChanges()).containsOnly(Map.entry("population", 100),
+                Map.entry("injuredCount", 6), Map.entry("stock.food", 40));
+        assertThat(publisher.getStats()).containsEntry("received", 3L).containsEntry("coalesced", 2L)
+                .containsEntry("published", 1L);
+    }
+
+    @Test
+    void lateOlderDeltaOnlyFillsFieldsTheNewerOneLacks() {
+        publisher.publish(delta("c1", 5L, Map.of("injuredCount", 9)));
+        publisher.publish(delta("c1", 4L, Map.of("injuredCount", 7, "population", 80)));
+
+        CampDeltaDTO delta = flush().get(0);
+
+        assertThat(delta.getVersion()).isEqualTo(5L);
+        assertThat(delta.getUpdatedAt()).isEqualTo(T0.plusSeconds(5));
+        assertThat(delta.getChanges()).containsEntry("injuredCount", 9).containsEntry("population", 80);
+    }
+
+    @Test
+    void removalIsFinalWithinAWindow() {
+        publisher.publish(delta("c1", 1L, Map.of("population", 100)));
+        publisher.publish(removal("c1", 2L));
+        publisher.publish(delta("c1", 3L, Map.of("population", 120)));
+
+        CampDeltaDTO delta = flush().get(0);
+
+        assertThat(delta.getRemoved()).isTrue();
+        assertThat(delta.getVersion()).isEqualTo(2L);
+        assertThat(delta.getChanges()).isEmpty();
+    }
+
+    @Test
+    void missingAlertIdIsTakenFromALaterDelta() {
+        CampDeltaDTO withoutAlert = delta("c1", 1L, Map.of("population", 100));
+        withoutAlert.setAlertId(null);
+        publisher.publish(withoutAlert);
+        publisher.publish(delta("c1", 2L, Map.of("population", 110)));
+
+        assertThat(flush().get(0).getAlertId()).isEqualTo("alert-c1");
+    }
+
+    @Test
+    void seqFollowsSendOrderAcrossCampsAndWindows() {
+        publisher.publish(delta("c1", 1L, Map.of("population", 100)));
+        publisher.publish(delta("c2", 1L, Map.of("population", 200)));
+        publisher.flush();
+        publisher.publish(delta("c1", 2L, Map.of("population", 110)));
+        publisher.flush();
+
+        List<CampDeltaDTO> sent = captureSent(3);
+
+        assertThat(sent).extracting(CampDeltaDTO::getSeq).containsExactly(1L, 2L, 3L);
+        assertThat(sent).extracting(CampDeltaDTO::getEpoch).containsOnly(publisher.getEpoch());
+        assertThat(sent.get(2).getCampId()).isEqualTo("c1");
+        assertThat(publisher.currentSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    void heldDeltaIsACopyOfThePublishedOne() {
+        Map<String, Object> changes = new LinkedHashMap<>(Map.of("population", 100));
+        publisher.publish(new CampDeltaDTO("c1", "alert-c1", 1L, changes, T0));
+        changes.put("population", 999);
+
+        assertThat(flush().get(0).getChanges()).containsEntry("population", 100);
+    }
+
+    @Test
+    void emptyDeltasAreIgnored() {
+        publisher.publish(delta("c1", 1L, Map.of()));
+
+        publisher.flush();
+
+        verifyNoInteractions(broadcaster);
+        assertThat(publisher.getStats()).containsEntry("received", 0L);
+    }
+
+    @Test
+    void zeroWindowSendsEveryDeltaImmediately() {
+        CampDeltaPublisher immediate = new CampDeltaPublisher(broadcaster, mock(TaskScheduler.class),
+                Duration.ZERO);
+
+        immediate.publish(delta("c1", 1L, Map.of("population", 100)));
+        immediate.publish(delta("c1", 2L, Map.of("population", 110)));
+
+        assertThat(captureSent(2)).extracting(CampDeltaDTO::getVersion).containsExactly(1L, 2L);
+    }
+
+    // ==================== Helpers ====================
+
+    private List<CampDeltaDTO> flush() {
+        publisher.flush();
+        ArgumentCaptor<CampDeltaDTO> sent = ArgumentCaptor.forClass(CampDeltaDTO.class);
+        verify(broadcaster, atLeastOnce()).campDelta(sent.capture());
+        return sent.getAllValues();
+    }
+
+    private List<CampDeltaDTO> captureSent(int expected) {
+        ArgumentCaptor<CampDeltaDTO> sent = ArgumentCaptor.forClass(CampDeltaDTO.class);
+        verify(broadcaster, times(expected)).campDelta(sent.capture());
+        return sent.getAllValues();
+    }
+
+    private static CampDeltaDTO delta(String campId, long version, Map<String, Object> changes) {
+        return new CampDeltaDTO(campId, "alert-" + campId, version, new LinkedHashMap<>(changes),
+                T0.plusSeconds(version));
+    }
+
+    private static CampDeltaDTO removal(String campId, long version) {
+        return new CampDeltaDTO(campId, "alert-" + campId, version, new LinkedHashMap<>(), T0.plusSeconds(version),
+                true, null, null);
+    }
+}
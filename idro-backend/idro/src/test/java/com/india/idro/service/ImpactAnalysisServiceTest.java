@@ -0,0 +1,77 @@
+package com.india.idro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.india.idro.dto.ImpactAnalysisSummaryDTO;
+import com.india.idro.model.Alert;
+import com.india.idro.repository.AlertRepository;
+import com.india.idro.repository.CampAiPredictionRepository;
+import com.india.idro.repository.CampRepository;
+import com.india.idro.service.ai.rules.CompiledRuleSet;
+import com.india.idro.service.ai.rules.RuleSetRegistry;
+import com.india.idro.service.analysis.Deadline;
+import com.india.idro.service.analysis.MissionAnalysisProgress;
+import com.india.idro.service.analysis.MissionProgressTracker;
+
+@ExtendWith(MockitoExtension.class)
+class ImpactAnalysisServiceTest {
+
+    @Mock
+    private MlPredictionService mlPredictionService;
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @Mock
+    private CampRepository campRepository;
+
+    @Mock
+    private CampAiPredictionRepository predictionRepository;
+
+    @Mock
+    private RuleSetRegistry ruleSetRegistry;
+
+    @Spy
+    private MissionProgressTracker progressTracker = new MissionProgressTracker();
+
+    @InjectMocks
+    private ImpactAnalysisService service;
+
+    @Test
+    void streamSummaryCountsItsOwnRunWhenAnotherRunOfTheMissionStarts() {
+        Alert mission = new Alert();
+        mission.setId("m1");
+        when(alertRepository.findById("m1")).thenReturn(Optional.of(mission));
+        when(ruleSetRegistry.current()).thenReturn(CompiledRuleSet.builtIn());
+        when(campRepository.findByAlertId("m1")).thenReturn(List.of());
+        // A concurrent run of the same mission replaces the tracker entry mid-run
+        when(predictionRepository.findByMissionId("m1")).thenAnswer(invocation -> {
+            MissionAnalysisProgress other = progressTracker.start("m1", 99);
+            other.recordFailed();
+            return List.of();
+        });
+
+        ImpactAnalysisSummaryDTO summary = service.streamMissionImpact("m1", Deadline.after(Duration.ofSeconds(5)),
+                analysis -> {
+                });
+
+        assertThat(progressTracker.get("m1")).get().extracting(MissionAnalysisProgress::getTotalCamps)
+                .isEqualTo(99);
+        assertThat(summary.getMissionId()).isEqualTo("m1");
+        assertThat(summary.getTotalCamps()).isZero();
+        assertThat(summary.getFailedCamps()).isZero();
+        assertThat(summary.getAnalyzedCamps()).isZero();
+    }
+}
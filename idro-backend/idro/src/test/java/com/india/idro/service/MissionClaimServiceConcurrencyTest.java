@@ -0,0 +1,150 @@
+package com.india.idro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.india.idro.dto.MissionClaimResultDTO;
+import com.india.idro.dto.MissionClaimResultDTO.Outcome;
+import com.india.idro.model.Alert;
+import com.india.idro.service.realtime.EntityChangePublisher;
+
+/**
+ * Races 500 parallel claimers, the load the exactly-once requirement is
+ * stated for, on the same missions against the Mongo the context test uses:
+ * every mission must end up with exactly one winner, and every loser must be
+ * told that winner holds it.
+ *
+ * Each claimer runs on its own virtual thread, so all 500 are released at
+ * once by the latch; more than the driver's connection pool holds, so some
+ * claims also wait for a connection mid-race.
+ */
+@DataMongoTest
+@Import({ MissionClaimService.class, EntityChangePublisher.class })
+class MissionClaimServiceConcurrencyTest {
+
+    private static final int CLAIMERS = 500;
+    private static final int MISSIONS = 8;
+
+    private final String marker = "claim-test-" + System.nanoTime();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MissionClaimService missionClaimService;
+
+    @AfterEach
+    void removeMissions() {
+        mongoTemplate.remove(new Query(Criteria.where("details").is(marker)), Alert.class);
+    }
+
+    @Test
+    void exactlyOneClaimerWinsAMission() throws Exception {
+        String alertId = insertMissions(1).get(0);
+
+        List<MissionClaimResultDTO> results = race(i -> List.of(
+                missionClaimService.tryClaim(alertId, "responder-" + i, null)));
+
+        assertSingleWinner(alertId, results);
+    }
+
+    @Test
+    void exactlyOneClaimerWinsEachMissionOfOverlappingBatches() throws Exception {
+        List<String> alertIds = insertMissions(MISSIONS);
+
+        List<MissionClaimResultDTO> results = race(i -> {
+            List<String> order = new ArrayList<>(alertIds);
+            Collections.shuffle(order);
+            return missionClaimService.claimAll(order, "responder-" + i, null);
+        });
+
+        for (String alertId : alertIds) {
+            assertSingleWinner(alertId, results.stream().filter(r -> alertId.equals(r.getAlertId())).toList());
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private interface Claimer {
+        List<MissionClaimResultDTO> claim(int index) throws Exception;
+    }
+
+    /**
+     * Release all claimers at once through a latch and collect every outcome.
+     */
+    private List<MissionClaimResultDTO> race(Claimer claimer) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<MissionClaimResultDTO>>> futures = new ArrayList<>(CLAIMERS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLAIMERS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return claimer.claim(index);
+                }));
+            }
+            start.countDown();
+            List<MissionClaimResultDTO> results = new ArrayList<>();
+            for (Future<List<MissionClaimResultDTO>> future : futures) {
+                results.addAll(future.get(2, TimeUnit.MINUTES));
+            }
+            return results;
+        }
+    }
+
+    private void assertSingleWinner(String alertId, List<MissionClaimResultDTO> results) {
+        assertThat(results).hasSize(CLAIMERS);
+
+        List<MissionClaimResultDTO> winners = results.stream()
+                .filter(r -> r.getOutcome() == Outcome.CLAIMED).toList();
+        assertThat(winners).as("winners of %s", alertId).hasSize(1);
+        String winner = winners.get(0).getResponderName();
+
+        assertThat(results.stream().filter(r -> r.getOutcome() != Outcome.CLAIMED))
+                .as("losers of %s", alertId)
+                .hasSize(CLAIMERS - 1)
+                .allSatisfy(loser -> {
+                    assertThat(loser.getOutcome()).isEqualTo(Outcome.ALREADY_ASSIGNED);
+                    assertThat(loser.getResponderName()).isEqualTo(winner);
+                    assertThat(loser.getMissionStatus()).isEqualTo(MissionClaimService.ASSIGNED);
+                });
+
+        Alert stored = mongoTemplate.findById(alertId, Alert.class);
+        assertThat(stored).isNotNull();
+        assertThat(stored.getMissionStatus()).isEqualTo(MissionClaimService.ASSIGNED);
+        assertThat(stored.getResponderName()).isEqualTo(winner);
+    }
+
+    private List<String> insertMissions(int count) {
+        List<Alert> alerts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Alert alert = new Alert();
+            alert.setLocation("Claim test mission " + i);
+            alert.setDetails(marker);
+            alert.setMissionStatus(MissionClaimService.OPEN);
+            alerts.add(alert);
+        }
+        List<String> ids = new ArrayList<>(count);
+        for (Alert alert : mongoTemplate.insertAll(alerts)) {
+            ids.add(alert.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package com.india.idro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import com.india.idro.dto.AiPredictionRequestDTO;
+import com.india.idro.dto.AiPredictionResponseDTO;
+import com.india.idro.service.ai.ml.LocalModelPredictor;
+import com.india.idro.service.ai.ml.MlCircuitBreaker;
+import com.india.idro.service.ai.ml.MlCircuitBreaker.State;
+import com.india.idro.service.ai.ml.PredictionCache;
+
+/**
+ * Circuit breaker outcomes of ML server calls: a 200 with an unusable body
+ * is a failure, not a success.
+ */
+class MlPredictionServiceTest {
+
+    private RestTemplate restTemplate;
+    private MlCircuitBreaker circuitBreaker;
+    private MlPredictionService service;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        circuitBreaker = new MlCircuitBreaker(true, 2, Duration.ofMinutes(1));
+        // Every request below falls in its own cache bucket, so each one reaches the server
+        PredictionCache cache = new PredictionCache(true, 100, Duration.ofMinutes(1), 10, 0.05);
+        service = new MlPredictionService(restTemplate, cache, circuitBreaker, mock(LocalModelPredictor.class),
+                "http://ml", "remote");
+    }
+
+    @Test
+    void nullBodiesOpenTheCircuit() {
+        when(restTemplate.postForObject(eq("/predict"), any(), eq(AiPredictionResponseDTO.class))).thenReturn(null);
+
+        assertThat(service.predict(request(100))).isNull();
+        assertThat(service.predict(request(200))).isNull();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getStats()).containsEntry("failures", 2L).containsEntry("successes", 0L);
+    }
+
+    @Test
+    void nullBodyDoesNotResetEarlierFailures() {
+        when(restTemplate.postForObject(eq("/predict"), any(), eq(AiPredictionResponseDTO.class)))
+                .thenReturn(new AiPredictionResponseDTO())
+                .thenReturn(null);
+        when(restTemplate.postForObject(eq("/predict/batch"), any(), eq(AiPredictionResponseDTO[].class)))
+                .thenReturn(null);
+
+        assertThat(service.predict(request(100))).isNotNull();
+        service.predictBatch(List.of(request(200)));
+        assertThat(circuitBreaker.getState()).isEqualTo(State.CLOSED);
+        service.predict(request(300));
+
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getStats()).containsEntry("successes", 1L);
+    }
+
+    @Test
+    void batchWithTheWrongNumberOfResultsCountsAsAFailure() {
+        when(restTemplate.postForObject(eq("/predict/batch"), any(), eq(AiPredictionResponseDTO[].class)))
+                .thenReturn(new AiPredictionResponseDTO[] { new AiPredictionResponseDTO() });
+
+        List<AiPredictionResponseDTO> first = service.predictBatch(List.of(request(100), request(200)));
+        service.predictBatch(List.of(request(300), request(400)));
+
+        assertThat(first).containsExactly(null, null);
+        assertThat(circuitBreaker.getState()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.getStats()).containsEntry("successes", 0L);
+    }
+
+    @Test
+    void completeBatchIsASuccess() {
+        when(restTemplate.postForObject(eq("/predict/batch"), any(), eq(AiPredictionResponseDTO[].class)))
+                .thenReturn(new AiPredictionResponseDTO[] { new AiPredictionResponseDTO(),
+                        new AiPredictionResponseDTO() });
+
+        assertThat(service.predictBatch(List.of(request(100), request(200)))).hasSize(2).doesNotContainNull();
+        assertThat(circuitBreaker.getStats()).containsEntry("successes", 1L).containsEntry("failures", 0L);
+    }
+
+    private static AiPredictionRequestDTO request(int affected) {
+        return new AiPredictionRequestDTO("Flood", "High", "Immediate", affected, 0, 5, 26.5775, 93.1711);
+    }
+}
@@ -0,0 +1,284 @@
+package com.india.idro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.india.idro.dto.PageResponse;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.service.PageQueryService.SortOptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Keyset paging against an in-memory collection: the mocked MongoTemplate
+ * evaluates the generated filter, sort and limit itself, so walking every
+ * cursor must visit each document exactly once in (field, _id) order.
+ */
+class PageQueryServiceTest {
+
+    private static final SortOptions OPTIONS = SortOptions.of(Sort.Direction.DESC, "createdAt", "rank");
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 7, 1, 9, 30);
+
+    private final List<Document> collection = new ArrayList<>();
+    private MappingMongoConverter converter;
+    private PageQueryService pageQueryService;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Item {
+        @Id
+        private String id;
+        private Integer rank;
+        private LocalDateTime createdAt;
+    }
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.find(any(Query.class), eq(Item.class)))
+                .thenAnswer(invocation -> find(invocation.getArgument(0)));
+        pageQueryService = new PageQueryService(mongoTemplate, 20, 200);
+    }
+
+    // ==================== Cursor round-trips ====================
+
+    @Test
+    void ascendingCursorsVisitEveryItemOnceDespiteTiesAndNulls() {
+        insert(3, 1, 3, null, 2, 3, null, 1, 3);
+
+        List<Item> walked = walk("rank,asc", 2);
+
+        assertThat(walked).containsExactlyElementsOf(sorted(Comparator.comparing(Item::getRank,
+                Comparator.nullsFirst(Comparator.<Integer>naturalOrder())).thenComparing(Item::getId)));
+    }
+
+    @Test
+    void descendingCursorsVisitEveryItemOnceDespiteTiesAndNulls() {
+        insert(3, 1, 3, null, 2, 3, null, 1, 3);
+
+        List<Item> walked = walk("rank,desc", 3);
+
+        assertThat(walked).containsExactlyElementsOf(sorted(Comparator.comparing(Item::getRank,
+                Comparator.nullsLast(Comparator.<Integer>reverseOrder())).thenComparing(Item::getId,
+                        Comparator.reverseOrder())));
+    }
+
+    @Test
+    void dateCursorsKeepTheirBsonTypeAcrossTies() {
+        for (int i = 0; i < 7; i++) {
+            save(new Item(new ObjectId().toHexString(), i, T0.plusMinutes(i % 3)));
+        }
+
+        // Default sort: createdAt desc
+        List<Item> walked = walk(null, 2);
+
+        assertThat(walked).containsExactlyElementsOf(sorted(Comparator.comparing(Item::getCreatedAt)
+                .thenComparing(Item::getId).reversed()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        insert(1, 2);
+
+        PageResponse<Item> page = pageQueryService.findPage(Item.class, null, OPTIONS, null, 2, null, "rank");
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotalElements()).isEqualTo(-1);
+    }
+
+    @Test
+    void cursorKeepsItsSortWhenTheNextRequestOmitsIt() {
+        insert(5, 4, 3, 2, 1);
+
+        PageResponse<Item> first = pageQueryService.findPage(Item.class, null, OPTIONS, null, 2, null, "rank,asc");
+        PageResponse<Item> second = pageQueryService.findPage(Item.class, null, OPTIONS, null, 2,
+                first.getNextCursor(), null);
+
+        assertThat(second.getContent()).extracting(Item::getRank).containsExactly(3, 4);
+    }
+
+    // ==================== Rejected cursors ====================
+
+    @Test
+    void cursorForAnotherSortOrderIsRejected() {
+        insert(1, 2, 3);
+        String cursor = pageQueryService.findPage(Item.class, null, OPTIONS, null, 1, null, "rank,asc")
+                .getNextCursor();
+
+        assertThatThrownBy(() -> pageQueryService.findPage(Item.class, null, OPTIONS, null, 1, cursor, "rank,desc"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("different sort order");
+    }
+
+    @Test
+    void malformedOrForgedCursorsAreRejected() {
+        String notBase64 = "%%%";
+        String notJson = encode("not json");
+        String missingId = encode(new Document("f", "rank").append("d", "ASC").append("v", 1).toJson());
+        String unknownField = encode(new Document("f", "password").append("d", "ASC").append("v", 1)
+                .append("id", new ObjectId()).toJson());
+
+        for (String cursor : List.of(notBase64, notJson, missingId, unknownField)) {
+            assertThatThrownBy(() -> pageQueryService.findPage(Item.class, null, OPTIONS, null, 5, cursor, null))
+                    .as(cursor)
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Test
+    void pageAndCursorCannotBeCombined() {
+        assertThatThrownBy(() -> pageQueryService.findPage(Item.class, null, OPTIONS, 0, 5, "abc", null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unknownSortFieldIsRejected() {
+        assertThatThrownBy(() -> pageQueryService.findPage(Item.class, null, OPTIONS, null, 5, null, "password"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Unsupported sort field");
+    }
+
+    // ==================== Helpers ====================
+
+    private List<Item> walk(String sort, int size) {
+        List<Item> walked = new ArrayList<>();
+        String cursor = null;
+        for (int pages = 0; pages <= collection.size(); pages++) {
+            PageResponse<Item> page = pageQueryService.findPage(Item.class, null, OPTIONS, null, size, cursor,
+                    sort);
+            walked.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            if (cursor == null) {
+                return walked;
+            }
+        }
+        throw new AssertionError("Cursor never reached the last page");
+    }
+
+    private void insert(Integer... ranks) {
+        for (Integer rank : ranks) {
+            save(new Item(new ObjectId().toHexString(), rank, T0));
+        }
+    }
+
+    private void save(Item item) {
+        Document stored = new Document();
+        converter.write(item, stored);
+        collection.add(stored);
+    }
+
+    private List<Item> sorted(Comparator<Item> order) {
+        return collection.stream().map(stored -> converter.read(Item.class, stored)).sorted(order).toList();
+    }
+
+    private String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== In-memory query evaluation ====================
+
+    /**
+     * Enough of Mongo's find semantics for the queries PageQueryService
+     * builds: $and / $or, equality and $ne against null, $gt / $lt, a
+     * two-key sort with nulls lowest, skip and limit.
+     */
+    private List<Item> find(Query query) {
+        Comparator<Document> order = null;
+        for (Map.Entry<String, Object> key : query.getSortObject().entrySet()) {
+            String field = key.getKey().equals("id") ? "_id" : key.getKey();
+            Comparator<Document> byField = (a, b) -> compare(a.get(field), b.get(field));
+            if (((Number) key.getValue()).intValue() < 0) {
+                byField = byField.reversed();
+            }
+            order = order == null ? byField : order.thenComparing(byField);
+        }
+        return collection.stream()
+                .filter(stored -> matches(stored, query.getQueryObject()))
+                .sorted(order)
+                .skip(query.getSkip())
+                .limit(query.getLimit() > 0 ? query.getLimit() : Long.MAX_VALUE)
+                .map(stored -> converter.read(Item.class, stored))
+                .toList();
+    }
+
+    private static boolean matches(Document stored, Document filter) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            boolean matched = switch (entry.getKey()) {
+                case "$and" -> ((List<?>) entry.getValue()).stream().allMatch(f -> matches(stored, (Document) f));
+                case "$or" -> ((List<?>) entry.getValue()).stream().anyMatch(f -> matches(stored, (Document) f));
+                default -> matchesField(stored.get(entry.getKey()), entry.getValue());
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesField(Object value, Object condition) {
+        if (!(condition instanceof Document operators)) {
+            return Objects.equals(value, condition);
+        }
+        for (Map.Entry<String, Object> operator : operators.entrySet()) {
+            Object operand = operator.getValue();
+            boolean matched = switch (operator.getKey()) {
+                case "$ne" -> !Objects.equals(value, operand);
+                case "$gt" -> value != null && compare(value, operand) > 0;
+                case "$lt" -> value != null && compare(value, operand) < 0;
+                default -> throw new IllegalArgumentException("Unsupported operator " + operator.getKey());
+            };
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+}
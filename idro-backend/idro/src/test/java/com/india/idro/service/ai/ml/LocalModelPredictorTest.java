@@ -0,0 +1,88 @@
+package com.india.idro.service.ai.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.idro.dto.AiPredictionRequestDTO;
+import com.india.idro.dto.AiPredictionResponseDTO;
+import com.india.idro.dto.AiPredictionResponseDTO.AiRequirementsDTO;
+
+/**
+ * Responses built from the fixture bundle (see RequirementModelLoaderTest)
+ * must match what ml_server.py answers for the same request.
+ */
+class LocalModelPredictorTest {
+
+    private final LocalModelPredictor predictor = new LocalModelPredictor(new ObjectMapper(),
+            RequirementModelLoaderTest.FIXTURE.toString(), "local");
+
+    @Test
+    void roundsPredictionsHalfToEvenLikePython() {
+        AiPredictionResponseDTO response = predictor.predict(flood(500, 20));
+
+        // Raw: 980.5, 2450.5, 25.0, 294.5, 294.5, 25.0, 98.5, 2.95, 15.2
+        assertThat(response.getPredictionSource()).isEqualTo("ML");
+        assertThat(response.getRequirements())
+                .isEqualTo(new AiRequirementsDTO(980, 2450, 25, 294, 294, 25, 98, 3, 15));
+        assertThat(response.getRiskScore()).isEqualTo(60.0);
+        assertThat(response.getExplanations()).containsExactly(
+                "Due to High severity, immediate rescue and extensive resources are critical.",
+                "The situation is marked as Immediate urgency, requiring rapid deployment of teams.",
+                "Resources are allocated to support the 500 affected individuals.");
+    }
+
+    @Test
+    void unseenCategoryUsesTheServerFallbackRules() {
+        AiPredictionRequestDTO request = flood(1000, 0);
+        request.setDisasterType("Blizzard");
+
+        AiPredictionResponseDTO response = predictor.predict(request);
+
+        assertThat(response.getPredictionSource()).isEqualTo("Fallback");
+        assertThat(response.getRequirements())
+                .isEqualTo(new AiRequirementsDTO(2500, 5000, 10, 50, 200, 20, 5, 2, 20));
+        assertThat(predictor.getStats()).containsEntry("fallbacks", 1L);
+    }
+
+    @Test
+    void negativeCountsAreRejectedForSinglesAndWholeBatches() {
+        assertThat(predictor.predict(flood(-1, 0))).isNull();
+        assertThat(predictor.predictBatch(List.of(flood(500, 20), flood(10, -2)))).isNull();
+    }
+
+    @Test
+    void batchAnswersInRequestOrder() {
+        List<AiPredictionResponseDTO> responses = predictor.predictBatch(List.of(flood(500, 20), flood(800, 61)));
+
+        assertThat(responses).hasSize(2);
+        assertThat(responses.get(0).getRequirements().getFoodPacketsPerDay()).isEqualTo(980);
+        // affected >= 750.5 and injured >= 60.5: leaf 0.81 + 0.07
+        assertThat(responses.get(1).getRequirements().getFoodPacketsPerDay()).isEqualTo(1760);
+    }
+
+    @Test
+    void remoteBackendLeavesTheModelUnloaded() {
+        LocalModelPredictor remote = new LocalModelPredictor(new ObjectMapper(),
+                RequirementModelLoaderTest.FIXTURE.toString(), "remote");
+
+        assertThat(remote.isLoaded()).isFalse();
+        assertThat(remote.predict(flood(500, 20))).isNull();
+        assertThat(remote.reload()).isTrue();
+    }
+
+    @Test
+    void missingBundleLeavesTheModelUnloaded() {
+        LocalModelPredictor missing = new LocalModelPredictor(new ObjectMapper(), "does-not-exist.json", "local");
+
+        assertThat(missing.isLoaded()).isFalse();
+        assertThat(missing.getStats().get("lastError")).isNotNull();
+    }
+
+    private static AiPredictionRequestDTO flood(int affected, int injured) {
+        return new AiPredictionRequestDTO("Flood", "High", "Immediate", affected, injured, 5, 26.5775, 93.1711);
+    }
+}
@@ -0,0 +1,163 @@
+package com.india.idro.service.ai.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.india.idro.service.ai.ml.MlCircuitBreaker.State;
+
+class MlCircuitBreakerTest {
+
+    private static final ResourceAccessException UNREACHABLE = new ResourceAccessException("connection refused");
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 3, Duration.ofMinutes(1));
+
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordFailure(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure(UNREACHABLE);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.getStats()).containsEntry("timesOpened", 1L).containsEntry("rejectedCalls", 1L)
+                .containsEntry("probes", 0L);
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 3, Duration.ofMinutes(1));
+
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordSuccess();
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordFailure(UNREACHABLE);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void clientErrorsDoNotCountTowardsOpening() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 1, Duration.ofMinutes(1));
+
+        breaker.recordFailure(new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY));
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.getStats()).containsEntry("failures", 0L);
+    }
+
+    @Test
+    void unusableAnswersCountLikeFailedCalls() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 3, Duration.ofMinutes(1));
+
+        breaker.recordFailure();
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.getStats()).containsEntry("failures", 3L).containsEntry("successes", 0L);
+    }
+
+    @Test
+    void staysOpenUntilTheOpenDurationHasPassed() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 1, Duration.ofMinutes(1));
+        breaker.registerProbe(() -> true);
+
+        breaker.recordFailure(UNREACHABLE);
+
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.getStats()).containsEntry("probes", 0L);
+    }
+
+    @Test
+    void healthyProbeClosesTheCircuit() throws InterruptedException {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 1, Duration.ZERO);
+        breaker.registerProbe(() -> true);
+        breaker.recordFailure(UNREACHABLE);
+
+        assertThat(breaker.allowRequest()).isFalse();
+
+        awaitState(breaker, State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.getStats()).containsEntry("probes", 1L).containsEntry("consecutiveFailures", 0);
+    }
+
+    @Test
+    void failedProbeReopensTheCircuit() throws InterruptedException {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 1, Duration.ofMillis(500));
+        CountDownLatch probed = new CountDownLatch(1);
+        breaker.registerProbe(() -> {
+            probed.countDown();
+            throw new IllegalStateException("still down");
+        });
+        breaker.recordFailure(UNREACHABLE);
+        Thread.sleep(550);
+
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(probed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        awaitState(breaker, State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.getStats()).containsEntry("probes", 1L).containsEntry("timesOpened", 2L);
+    }
+
+    @Test
+    void halfOpenRunsASingleProbeAndKeepsRejecting() throws InterruptedException {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(true, 1, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        breaker.registerProbe(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        breaker.recordFailure(UNREACHABLE);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(breaker.allowRequest()).isFalse();
+        }
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.getStats()).containsEntry("probes", 1L).containsEntry("rejectedCalls", 10L);
+
+        release.countDown();
+        awaitState(breaker, State.CLOSED);
+    }
+
+    @Test
+    void disabledBreakerAlwaysAllowsCalls() {
+        MlCircuitBreaker breaker = new MlCircuitBreaker(false, 1, Duration.ofMinutes(1));
+
+        breaker.recordFailure(UNREACHABLE);
+        breaker.recordFailure(UNREACHABLE);
+
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.isOpen()).isFalse();
+    }
+
+    /**
+     * The probe runs on its own virtual thread.
+     */
+    private static void awaitState(MlCircuitBreaker breaker, State expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (breaker.getState() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(breaker.getState()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,233 @@
+package com.india.idro.service.ai.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.india.idro.dto.AiPredictionRequestDTO;
+import com.india.idro.dto.AiPredictionResponseDTO;
+
+class PredictionCacheTest {
+
+    // ==================== Keys ====================
+
+    @Test
+    void nearIdenticalRequestsShareAKey() {
+        PredictionCacheKey a = PredictionCacheKey.of(request("Flood", 41, 12.971, 77.594), 10, 0.05);
+        PredictionCacheKey b = PredictionCacheKey.of(request("  FLOOD ", 50, 12.999, 77.551), 10, 0.05);
+
+        assertThat(a).isEqualTo(b);
+    }
+
+    @Test
+    void countsInDifferentBucketsOrZeroDoNotShareAKey() {
+        PredictionCacheKey fifty = PredictionCacheKey.of(request("Flood", 50, 12.97, 77.59), 10, 0.05);
+        PredictionCacheKey fiftyOne = PredictionCacheKey.of(request("Flood", 51, 12.97, 77.59), 10, 0.05);
+        PredictionCacheKey zero = PredictionCacheKey.of(request("Flood", 0, 12.97, 77.59), 10, 0.05);
+        PredictionCacheKey one = PredictionCacheKey.of(request("Flood", 1, 12.97, 77.59), 10, 0.05);
+
+        assertThat(fifty).isNotEqualTo(fiftyOne);
+        assertThat(zero).isNotEqualTo(one);
+    }
+
+    @Test
+    void negativeCoordinatesSnapToTheCellBelow() {
+        PredictionCacheKey key = PredictionCacheKey.of(request("Flood", 10, -0.01, -0.01), 10, 0.05);
+
+        assertThat(key.latitudeCell()).isEqualTo(-1);
+        assertThat(key.longitudeCell()).isEqualTo(-1);
+    }
+
+    // ==================== Single lookups ====================
+
+    @Test
+    void hitIsServedWithoutCallingTheLoader() {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        AiPredictionResponseDTO first = cache.get(request("Flood", 41, 12.97, 77.59), () -> load(loads));
+        AiPredictionResponseDTO second = cache.get(request("flood", 45, 12.98, 77.58), () -> load(loads));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+        AiPredictionRequestDTO request = request("Flood", 10, 12.97, 77.59);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(request, () -> null)).isNull();
+        assertThatThrownBy(() -> cache.get(request, () -> {
+            throw new IllegalStateException("ML down");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.get(request, () -> load(loads));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStats()).containsEntry("size", 1).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws InterruptedException {
+        PredictionCache cache = cache(100, Duration.ofNanos(1));
+        AiPredictionRequestDTO request = request("Flood", 10, 12.97, 77.59);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(request, () -> load(loads));
+        Thread.sleep(2);
+        cache.get(request, () -> load(loads));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStats()).containsEntry("expirations", 1L);
+    }
+
+    @Test
+    void oldestEntriesAreEvictedPastMaxSize() {
+        PredictionCache cache = cache(2, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(request("Flood", 10, 12.97, 77.59), () -> load(loads));
+        cache.get(request("Flood", 20, 12.97, 77.59), () -> load(loads));
+        cache.get(request("Flood", 30, 12.97, 77.59), () -> load(loads));
+        cache.get(request("Flood", 20, 12.97, 77.59), () -> load(loads));
+        cache.get(request("Flood", 10, 12.97, 77.59), () -> load(loads));
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.getStats()).containsEntry("size", 2).containsEntry("evictions", 2L);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+        AiPredictionRequestDTO request = request("Flood", 10, 12.97, 77.59);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        List<Future<AiPredictionResponseDTO>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            results.add(executor.submit(() -> cache.get(request, () -> {
+                loading.countDown();
+                await(release);
+                return load(loads);
+            })));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(request, () -> load(loads))));
+            }
+            while ((long) cache.getStats().get("dedupedLoads") < callers - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            AiPredictionResponseDTO first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<AiPredictionResponseDTO> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void waiterGivesUpWhenItsBudgetRunsOut() throws Exception {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+        AiPredictionRequestDTO request = request("Flood", 10, 12.97, 77.59);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> cache.get(request, () -> {
+                loading.countDown();
+                await(release);
+                return new AiPredictionResponseDTO();
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            AiPredictionResponseDTO waited = MlCallBudget.within(Duration.ofMillis(20),
+                    () -> cache.get(request, AiPredictionResponseDTO::new));
+
+            assertThat(waited).isNull();
+            release.countDown();
+        }
+    }
+
+    // ==================== Batch lookups ====================
+
+    @Test
+    void batchLoadsOnlyDistinctMissesInOneCall() {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        AiPredictionResponseDTO cached = cache.get(request("Flood", 10, 12.97, 77.59), () -> load(loads));
+
+        List<List<AiPredictionRequestDTO>> batches = new ArrayList<>();
+        List<AiPredictionResponseDTO> results = cache.getAll(List.of(
+                request("Flood", 20, 12.97, 77.59),
+                request("flood", 10, 12.97, 77.59),
+                request("FLOOD", 19, 12.97, 77.59),
+                request("Cyclone", 20, 12.97, 77.59)), misses -> {
+                    batches.add(misses);
+                    List<AiPredictionResponseDTO> loaded = new ArrayList<>();
+                    misses.forEach(miss -> loaded.add(load(loads)));
+                    return loaded;
+                });
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(AiPredictionRequestDTO::getDisasterType)
+                .containsExactly("Flood", "Cyclone");
+        assertThat(results).hasSize(4);
+        assertThat(results.get(1)).isSameAs(cached);
+        assertThat(results.get(2)).isSameAs(results.get(0));
+        assertThat(results.get(3)).isNotNull().isNotSameAs(results.get(0));
+    }
+
+    @Test
+    void failedBatchLeavesNullsAndCachesNothing() {
+        PredictionCache cache = cache(100, Duration.ofMinutes(10));
+
+        List<AiPredictionResponseDTO> results = cache.getAll(List.of(
+                request("Flood", 10, 12.97, 77.59), request("Cyclone", 10, 12.97, 77.59)), misses -> {
+                    throw new IllegalStateException("ML down");
+                });
+
+        assertThat(results).containsExactly(null, null);
+        assertThat(cache.getStats()).containsEntry("size", 0).containsEntry("inFlight", 0);
+    }
+
+    // ==================== Helpers ====================
+
+    private static PredictionCache cache(int maxSize, Duration ttl) {
+        return new PredictionCache(true, maxSize, ttl, 10, 0.05);
+    }
+
+    private static AiPredictionRequestDTO request(String disasterType, int affected, double latitude,
+            double longitude) {
+        return new AiPredictionRequestDTO(disasterType, "High", "Immediate", affected, 0, 0, latitude, longitude);
+    }
+
+    private static AiPredictionResponseDTO load(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new AiPredictionResponseDTO();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
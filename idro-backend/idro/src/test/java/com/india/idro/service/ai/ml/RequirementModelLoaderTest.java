@@ -0,0 +1,141 @@
+package com.india.idro.service.ai.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Loads src/test/resources/ml/requirement-model-fixture.json, a bundle in
+ * the layout export_model.py writes: the ten rows of
+ * idro_final_training_dataset.csv as samples and one two-tree XGBoost JSON
+ * model (Booster.save_raw schema) per target. The sample predictions were
+ * computed outside Java the way XGBoost evaluates: float32 features and
+ * thresholds, missing values to the default child, float32 margin sum.
+ *
+ * Tree 0 of every target splits on latitude at float32(19.076), which
+ * rounds up, so the Cyclone row (latitude 19.0760) only matches if
+ * features are compared as float32.
+ */
+class RequirementModelLoaderTest {
+
+    static final Path FIXTURE = fixture();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void reproducesEveryExportedSample() throws Exception {
+        RequirementModel model = RequirementModelLoader.load(FIXTURE, objectMapper);
+        JsonNode samples = objectMapper.readTree(FIXTURE.toFile()).path("samples");
+        double[] predicted = new double[model.targetCount()];
+
+        assertThat(samples).hasSize(10);
+        for (JsonNode sample : samples) {
+            float[] features = new float[RequirementModel.FEATURES.size()];
+            for (int i = 0; i < features.length; i++) {
+                features[i] = (float) sample.path("features").get(i).asDouble();
+            }
+            model.predict(features, predicted);
+
+            for (int target = 0; target < predicted.length; target++) {
+                double want = sample.path("predictions").get(target).asDouble();
+                assertThat(predicted[target]).as("%s of %s", RequirementModel.TARGETS.get(target), sample)
+                        .isCloseTo(want, within(1e-5 * Math.max(1.0, Math.abs(want))));
+            }
+        }
+        assertThat(model.targetCount()).isEqualTo(RequirementModel.TARGETS.size());
+        assertThat(model.treeCount()).isEqualTo(2 * RequirementModel.TARGETS.size());
+    }
+
+    @Test
+    void encodesCategoriesWithTheLabelEncoderCodes() throws Exception {
+        RequirementModel model = RequirementModelLoader.load(FIXTURE, objectMapper);
+
+        float[] features = model.encode("Cyclone", "Moderate", "High", 200, 0, 0, 19.0760, 72.8777);
+        double[] predicted = new double[model.targetCount()];
+        model.predict(features, predicted);
+
+        assertThat(features).startsWith(0f, 3f, 0f, 200f);
+        // Latitude lands on the float32 threshold: right leaf (0.42) + severity >= 1.5 leaf (-0.03)
+        assertThat(predicted[0]).isEqualTo(0.5 + 840 - 60);
+        assertThat(model.encode("Blizzard", "Moderate", "High", 200, 0, 0, 19.0760, 72.8777)).isNull();
+    }
+
+    @Test
+    void acceptsTheBracketedBaseScoreOfNewerXGBoost() throws Exception {
+        Path bundle = edit(root -> models(root).forEach(model -> ((ObjectNode) model.path("learner")
+                .path("learner_model_param")).put("base_score", "[5E-1]")));
+
+        assertThat(RequirementModelLoader.load(bundle, objectMapper).targetCount()).isEqualTo(9);
+    }
+
+    @Test
+    void rejectsABundleThatDoesNotReproduceItsSamples() throws Exception {
+        Path bundle = edit(root -> ((ArrayNode) root.path("samples").get(2).path("predictions")).set(0, 540.5));
+
+        assertThatThrownBy(() -> RequirementModelLoader.load(bundle, objectMapper))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("food_packets_per_day expected 540.5 got 780.5");
+    }
+
+    @Test
+    void rejectsUnsupportedModels() throws Exception {
+        Path logistic = edit(root -> ((ObjectNode) models(root).get(3).path("learner").path("objective"))
+                .put("name", "binary:logistic"));
+        Path categorical = edit(root -> ((ArrayNode) firstTree(root).path("split_type")).set(0, 1));
+        Path unknownFeature = edit(root -> ((ArrayNode) firstTree(root).path("split_indices")).set(0, 8));
+        Path reordered = edit(root -> ((ArrayNode) root.path("features")).insert(0,
+                ((ArrayNode) root.path("features")).remove(3)));
+        Path otherFormat = edit(root -> ((ObjectNode) root).put("format", "idro-requirement-model/2"));
+
+        assertThatThrownBy(() -> RequirementModelLoader.load(logistic, objectMapper))
+                .hasMessageContaining("beds_required: unsupported objective 'binary:logistic'");
+        assertThatThrownBy(() -> RequirementModelLoader.load(categorical, objectMapper))
+                .hasMessageContaining("categorical splits are not supported");
+        assertThatThrownBy(() -> RequirementModelLoader.load(unknownFeature, objectMapper))
+                .hasMessageContaining("split on unknown feature 8");
+        assertThatThrownBy(() -> RequirementModelLoader.load(reordered, objectMapper))
+                .hasMessageContaining("Bundle features");
+        assertThatThrownBy(() -> RequirementModelLoader.load(otherFormat, objectMapper))
+                .hasMessageContaining("Unsupported model bundle format");
+    }
+
+    // ==================== Helpers ====================
+
+    private Path edit(Consumer<JsonNode> change) throws Exception {
+        JsonNode root = objectMapper.readTree(FIXTURE.toFile());
+        change.accept(root);
+        Path edited = dir.resolve("bundle-" + System.nanoTime() + ".json");
+        objectMapper.writeValue(edited.toFile(), root);
+        return edited;
+    }
+
+    private static JsonNode models(JsonNode root) {
+        return root.path("models");
+    }
+
+    private static JsonNode firstTree(JsonNode root) {
+        return models(root).get(0).path("learner").path("gradient_booster").path("model").path("trees").get(0);
+    }
+
+    private static Path fixture() {
+        try {
+            return Path.of(RequirementModelLoaderTest.class.getResource("/ml/requirement-model-fixture.json").toURI());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.india.idro.service.ai.ml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TreeEnsembleTest {
+
+    private static final float LEFT_LEAF = 10f;
+    private static final float RIGHT_LEAF = 20f;
+
+    @Test
+    void valueEqualToTheFloat32ThresholdGoesRight() {
+        // 19.076 rounds up in float32: as doubles the value would be below the threshold
+        float threshold = (float) 19.076;
+        assertThat(19.076).isLessThan(threshold);
+        TreeEnsemble stump = stump(0, threshold, false);
+
+        assertThat(stump.predict(new float[] { (float) 19.076 })).isEqualTo(RIGHT_LEAF);
+        assertThat(stump.predict(new float[] { Math.nextDown(threshold) })).isEqualTo(LEFT_LEAF);
+    }
+
+    @Test
+    void missingValueFollowsTheDefaultBranch() {
+        assertThat(stump(0, 5f, true).predict(new float[] { Float.NaN })).isEqualTo(LEFT_LEAF);
+        assertThat(stump(0, 5f, false).predict(new float[] { Float.NaN })).isEqualTo(RIGHT_LEAF);
+    }
+
+    @Test
+    void defaultBranchOnlyAppliesToMissingValues() {
+        TreeEnsemble stump = stump(0, 5f, true);
+
+        assertThat(stump.predict(new float[] { 6f })).isEqualTo(RIGHT_LEAF);
+        assertThat(stump.predict(new float[] { Float.POSITIVE_INFINITY })).isEqualTo(RIGHT_LEAF);
+        assertThat(stump.predict(new float[] { Float.NEGATIVE_INFINITY })).isEqualTo(LEFT_LEAF);
+    }
+
+    @Test
+    void sumsOneLeafPerTreeOnTopOfTheBaseScore() {
+        // Tree 0 (nodes 0-2): x0 < 1 ? 1 : 2
+        // Tree 1 (nodes 3-7): x1 < 0.5 ? (x0 < 3 ? 0.25 : 0.75) : -4, missing x1 goes right
+        TreeEnsemble ensemble = new TreeEnsemble(
+                new int[] { 0, 3 },
+                new int[] { 0, -1, -1, 1, 0, -1, -1, -1 },
+                new float[] { 1f, 0, 0, 0.5f, 3f, 0, 0, 0 },
+                new int[] { 1, 0, 0, 4, 5, 0, 0, 0 },
+                new int[] { 2, 0, 0, 7, 6, 0, 0, 0 },
+                new boolean[] { false, false, false, false, true, false, false, false },
+                new float[] { 0, 1f, 2f, 0, 0, 0.25f, 0.75f, -4f },
+                0.5);
+
+        assertThat(ensemble.treeCount()).isEqualTo(2);
+        assertThat(ensemble.nodeCount()).isEqualTo(8);
+        assertThat(ensemble.predict(new float[] { 0f, 0f })).isEqualTo(0.5 + 1 + 0.25);
+        assertThat(ensemble.predict(new float[] { 4f, 0f })).isEqualTo(0.5 + 2 + 0.75);
+        assertThat(ensemble.predict(new float[] { Float.NaN, 0f })).isEqualTo(0.5 + 2 + 0.25);
+        assertThat(ensemble.predict(new float[] { 0f, Float.NaN })).isEqualTo(0.5 + 1 - 4);
+    }
+
+    /**
+     * feature < threshold ? LEFT_LEAF : RIGHT_LEAF, base score 0.
+     */
+    private static TreeEnsemble stump(int feature, float threshold, boolean defaultLeft) {
+        return new TreeEnsemble(
+                new int[] { 0 },
+                new int[] { feature, -1, -1 },
+                new float[] { threshold, 0, 0 },
+                new int[] { 1, 0, 0 },
+                new int[] { 2, 0, 0 },
+                new boolean[] { defaultLeft, false, false },
+                new float[] { 0, LEFT_LEAF, RIGHT_LEAF },
+                0.0);
+    }
+}
@@ -0,0 +1,176 @@
+package com.india.idro.service.ai.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.india.idro.dto.ResourceTotalsDTO;
+import com.india.idro.model.Camp;
+import com.india.idro.model.RuleSet;
+import com.india.idro.service.ai.rules.BatchRequirementEngine.Scenario;
+
+/**
+ * The batch loop must give exactly the per-camp figures of CompiledRuleSet
+ * and RiskScoreCalculator, row for row.
+ */
+class BatchRequirementEngineTest {
+
+    private static final String[] SEVERITIES = { "LOW", "MODERATE", "HIGH", "CRITICAL" };
+    private static final int ROWS = 1_000;
+
+    private final BatchRequirementEngine engine = new BatchRequirementEngine();
+    private final RiskScoreCalculator riskScoreCalculator = new RiskScoreCalculator();
+
+    @Test
+    void baselineMatchesPerCampFormulas() {
+        CompiledRuleSet rules = CompiledRuleSet.builtIn();
+        Inputs inputs = randomInputs(42);
+        RequirementColumns out = new RequirementColumns(ROWS);
+
+        engine.evaluate(inputs.columns, out, Scenario.BASELINE, rules);
+
+        assertThat(out.size()).isEqualTo(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            assertRow(out, i, rules, inputs.population[i], inputs.injured[i], inputs.severity[i], inputs.hours[i]);
+        }
+    }
+
+    @Test
+    void fractionalBedRatioMatchesPerCampFormula() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion("v2");
+        ruleSet.getCamp().setBedsPerInjured(1.5);
+        ruleSet.getCamp().setPeoplePerToilet(15);
+        CompiledRuleSet rules = CompiledRuleSet.compile(ruleSet, "test");
+        Inputs inputs = randomInputs(7);
+        RequirementColumns out = new RequirementColumns(ROWS);
+
+        engine.evaluate(inputs.columns, out, Scenario.BASELINE, rules);
+
+        for (int i = 0; i < ROWS; i++) {
+            assertRow(out, i, rules, inputs.population[i], inputs.injured[i], inputs.severity[i], inputs.hours[i]);
+        }
+    }
+
+    @Test
+    void scenarioScalesCountsAndOverridesBands() {
+        CompiledRuleSet rules = CompiledRuleSet.builtIn();
+        Inputs inputs = randomInputs(3);
+        RequirementColumns out = new RequirementColumns(ROWS);
+        Scenario scenario = new Scenario(1.3, 0.5, BatchRequirementEngine.SEVERITY_CRITICAL, 24);
+
+        engine.evaluate(inputs.columns, out, scenario, rules);
+
+        for (int i = 0; i < ROWS; i++) {
+            int population = (int) Math.ceil(inputs.population[i] * 1.3);
+            int injured = (int) Math.ceil(inputs.injured[i] * 0.5);
+            assertRow(out, i, rules, population, injured, "CRITICAL", 24);
+        }
+    }
+
+    @Test
+    void totalsAndRiskSummariesCoverOnlyEvaluatedRows() {
+        CompiledRuleSet rules = CompiledRuleSet.builtIn();
+        RequirementColumns out = new RequirementColumns(8);
+        // A larger batch first leaves stale rows past the second batch's size
+        CampColumns large = new CampColumns(4);
+        for (int i = 0; i < 8; i++) {
+            large.add(5_000, 500, BatchRequirementEngine.SEVERITY_CRITICAL, 6);
+        }
+        engine.evaluate(large, out, Scenario.BASELINE, rules);
+
+        CampColumns small = new CampColumns(2);
+        small.add(1_200, 10, BatchRequirementEngine.SEVERITY_HIGH, 6);
+        small.add(100, 3, BatchRequirementEngine.SEVERITY_LOW, 48);
+        engine.evaluate(small, out, Scenario.BASELINE, rules);
+
+        ResourceTotalsDTO totals = engine.totals(out);
+        assertThat(totals).isEqualTo(new ResourceTotalsDTO(2, 1_300, 13, 3_900, 6_500, 13, 7, 26, 4));
+        assertThat(engine.sumToilets(out)).isEqualTo(60 + 5);
+        // Risk: 30 + 40 + 30 = 100 and 10 + 5 + 10 = 25
+        assertThat(engine.countRiskAtLeast(out, 70)).isEqualTo(1);
+        assertThat(engine.averageRisk(out)).isEqualTo(62.5);
+    }
+
+    @Test
+    void columnsGrowAndClampTheirInputs() {
+        CampColumns columns = new CampColumns(1);
+        for (int i = 0; i < 100; i++) {
+            columns.add(-5, -1, i % 2 == 0 ? 9 : -3, 12);
+        }
+        RequirementColumns out = new RequirementColumns(100);
+
+        engine.evaluate(columns, out, Scenario.BASELINE, CompiledRuleSet.builtIn());
+
+        assertThat(columns.size()).isEqualTo(100);
+        assertThat(out.population(0)).isZero();
+        assertThat(out.injured(0)).isZero();
+        assertThat(out.riskScore(0)).isEqualTo(40 + 20 + 10);
+        assertThat(out.riskScore(1)).isEqualTo(10 + 20 + 10);
+    }
+
+    @Test
+    void outputBelowInputSizeIsRejected() {
+        CampColumns columns = new CampColumns(2);
+        columns.add(10, 1, BatchRequirementEngine.SEVERITY_LOW, 6);
+        columns.add(10, 1, BatchRequirementEngine.SEVERITY_LOW, 6);
+
+        assertThatThrownBy(() -> engine.evaluate(columns, new RequirementColumns(1), Scenario.BASELINE,
+                CompiledRuleSet.builtIn())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void severityLabelsMapToRiskScoreBands() {
+        assertThat(BatchRequirementEngine.severityCode("critical")).isEqualTo(BatchRequirementEngine.SEVERITY_CRITICAL);
+        assertThat(BatchRequirementEngine.severityCode("HIGH")).isEqualTo(BatchRequirementEngine.SEVERITY_HIGH);
+        assertThat(BatchRequirementEngine.severityCode("Moderate")).isEqualTo(BatchRequirementEngine.SEVERITY_MODERATE);
+        assertThat(BatchRequirementEngine.severityCode("severe")).isEqualTo(BatchRequirementEngine.SEVERITY_LOW);
+        assertThat(BatchRequirementEngine.severityCode(null)).isEqualTo(BatchRequirementEngine.SEVERITY_LOW);
+    }
+
+    // ==================== Helpers ====================
+
+    private void assertRow(RequirementColumns out, int row, CompiledRuleSet rules, int population, int injured,
+            String severity, int hours) {
+        Camp camp = new Camp();
+        camp.setPopulation(population);
+        camp.setSeverity(severity);
+
+        assertThat(out.population(row)).as("population[%d]", row).isEqualTo(population);
+        assertThat(out.injured(row)).as("injured[%d]", row).isEqualTo(injured);
+        assertThat(out.foodPackets(row)).as("food[%d]", row).isEqualTo(rules.foodPackets(population));
+        assertThat(out.waterLiters(row)).as("water[%d]", row).isEqualTo(rules.waterLiters(population));
+        assertThat(out.beds(row)).as("beds[%d]", row).isEqualTo(rules.beds(injured));
+        assertThat(out.medicalKits(row)).as("kits[%d]", row).isEqualTo(rules.medicalKits(injured));
+        assertThat(out.ambulances(row)).as("ambulances[%d]", row).isEqualTo(rules.ambulances(injured));
+        assertThat(out.volunteers(row)).as("volunteers[%d]", row).isEqualTo(rules.volunteers(population));
+        assertThat(out.toilets(row)).as("toilets[%d]", row).isEqualTo(rules.toilets(population));
+        assertThat(out.riskScore(row)).as("risk[%d]", row)
+                .isEqualTo(riskScoreCalculator.calculateRuleRisk(camp, hours));
+    }
+
+    private record Inputs(CampColumns columns, int[] population, int[] injured, String[] severity, int[] hours) {
+    }
+
+    private static Inputs randomInputs(long seed) {
+        Random random = new Random(seed);
+        int[] hourChoices = { 6, 12, 24, 48, 3, 13, 25 };
+        CampColumns columns = new CampColumns(16);
+        int[] population = new int[ROWS];
+        int[] injured = new int[ROWS];
+        String[] severity = new String[ROWS];
+        int[] hours = new int[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            // Include the population band edges 500/501 and 1000/1001
+            population[i] = i < 4 ? new int[] { 500, 501, 1000, 1001 }[i] : random.nextInt(3_000);
+            injured[i] = random.nextInt(population[i] + 1);
+            severity[i] = SEVERITIES[random.nextInt(SEVERITIES.length)];
+            hours[i] = hourChoices[random.nextInt(hourChoices.length)];
+            columns.add(population[i], injured[i], BatchRequirementEngine.severityCode(severity[i]), hours[i]);
+        }
+        return new Inputs(columns, population, injured, severity, hours);
+    }
+}
@@ -0,0 +1,117 @@
+package com.india.idro.service.ai.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.india.idro.model.RuleSet;
+
+class CompiledRuleSetTest {
+
+    @Test
+    void builtInRuleSetUsesTheV1Constants() {
+        CompiledRuleSet rules = CompiledRuleSet.builtIn();
+
+        assertThat(rules.version()).isEqualTo(ResourceStandardConstants.BUILT_IN_VERSION);
+        assertThat(rules.source()).isEqualTo("builtin");
+        assertThat(rules.foodPackets(100)).isEqualTo(300);
+        assertThat(rules.waterLiters(100)).isEqualTo(500);
+        assertThat(rules.beds(7)).isEqualTo(7);
+        assertThat(rules.medicalKits(7)).isEqualTo(4);
+        assertThat(rules.ambulances(7)).isEqualTo(2);
+        assertThat(rules.volunteers(101)).isEqualTo(3);
+        assertThat(rules.toilets(101)).isEqualTo(6);
+    }
+
+    @Test
+    void divisionsRoundUpAndNeverGoNegative() {
+        CompiledRuleSet rules = CompiledRuleSet.builtIn();
+
+        assertThat(rules.ambulances(0)).isZero();
+        assertThat(rules.ambulances(1)).isEqualTo(1);
+        assertThat(rules.ambulances(4)).isEqualTo(1);
+        assertThat(rules.ambulances(5)).isEqualTo(2);
+        assertThat(CompiledRuleSet.ceilDiv(-10, 3)).isZero();
+    }
+
+    @Test
+    void storedRatiosReplaceTheDefaults() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion("v2");
+        ruleSet.getCamp().setFoodPacketsPerPerson(4);
+        ruleSet.getCamp().setBedsPerInjured(1.25);
+        ruleSet.getAlertImpact().setShelterShortfallRatio(0.5);
+
+        CompiledRuleSet rules = CompiledRuleSet.compile(ruleSet, "mongo");
+
+        assertThat(rules.version()).isEqualTo("v2");
+        assertThat(rules.foodPackets(10)).isEqualTo(40);
+        assertThat(rules.beds(3)).isEqualTo(4);
+        assertThat(rules.alertShelterShortfall(101)).isEqualTo(50);
+        // Untouched ratios keep their v1 values
+        assertThat(rules.waterLiters(10)).isEqualTo(50);
+    }
+
+    @Test
+    void missingSectionsFallBackToDefaults() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion("v3");
+        ruleSet.setCamp(null);
+        ruleSet.setAlertImpact(null);
+
+        CompiledRuleSet rules = CompiledRuleSet.compile(ruleSet, "file:rules.json");
+
+        assertThat(rules.foodPackets(10)).isEqualTo(CompiledRuleSet.builtIn().foodPackets(10));
+        assertThat(rules.alertRescueBoats(400, "Flood")).isEqualTo(2);
+    }
+
+    @Test
+    void rescueBoatsOnlyForListedDisasterTypesCaseInsensitively() {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion("v2");
+        ruleSet.getAlertImpact().setRescueBoatDisasterTypes(List.of("flood", "Landslide"));
+
+        CompiledRuleSet rules = CompiledRuleSet.compile(ruleSet, "mongo");
+
+        assertThat(rules.alertRescueBoats(401, "FLOOD")).isEqualTo(3);
+        assertThat(rules.alertRescueBoats(401, "landslide")).isEqualTo(3);
+        assertThat(rules.alertRescueBoats(401, "Cyclone")).isZero();
+        assertThat(rules.alertRescueBoats(401, null)).isZero();
+    }
+
+    @Test
+    void invalidRuleSetsAreRejected() {
+        assertThatThrownBy(() -> CompiledRuleSet.compile(null, "mongo"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledRuleSet.compile(withVersion(" "), "mongo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+
+        RuleSet zeroDivisor = withVersion("v2");
+        zeroDivisor.getCamp().setInjuredPerAmbulance(0);
+        assertThatThrownBy(() -> CompiledRuleSet.compile(zeroDivisor, "mongo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("camp.injuredPerAmbulance");
+
+        RuleSet negativeMultiplier = withVersion("v2");
+        negativeMultiplier.getAlertImpact().setFoodPerPerson(-1);
+        assertThatThrownBy(() -> CompiledRuleSet.compile(negativeMultiplier, "mongo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("alertImpact.foodPerPerson");
+
+        RuleSet nanRatio = withVersion("v2");
+        nanRatio.getCamp().setBedsPerInjured(Double.NaN);
+        assertThatThrownBy(() -> CompiledRuleSet.compile(nanRatio, "mongo"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("camp.bedsPerInjured");
+    }
+
+    private static RuleSet withVersion(String version) {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion(version);
+        return ruleSet;
+    }
+}
@@ -0,0 +1,148 @@
+package com.india.idro.service.ai.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.india.idro.exception.BadRequestException;
+import com.india.idro.exception.DuplicateResourceException;
+import com.india.idro.model.RuleSet;
+import com.india.idro.repository.RuleSetRepository;
+
+class RuleSetRegistryTest {
+
+    private RuleSetRepository ruleSetRepository;
+    private MongoTemplate mongoTemplate;
+    private RuleSetRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        ruleSetRepository = mock(RuleSetRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        registry = new RuleSetRegistry(ruleSetRepository, mongoTemplate, new ObjectMapper(), "");
+    }
+
+    // ==================== Mongo source ====================
+
+    @Test
+    void publishStoresTheNewVersionBeforeDeactivatingTheOthers() {
+        CompiledRuleSet published = registry.publish(ruleSet("v2"));
+
+        InOrder order = inOrder(ruleSetRepository, mongoTemplate);
+        ArgumentCaptor<RuleSet> saved = ArgumentCaptor.forClass(RuleSet.class);
+        order.verify(ruleSetRepository).save(saved.capture());
+        ArgumentCaptor<Query> deactivated = ArgumentCaptor.forClass(Query.class);
+        order.verify(mongoTemplate).updateMulti(deactivated.capture(), any(Update.class), eq(RuleSet.class));
+
+        assertThat(saved.getValue().isActive()).isTrue();
+        assertThat(saved.getValue().getActivatedAt()).isNotNull();
+        assertThat(deactivated.getValue().getQueryObject().toJson())
+                .contains("\"active\": true")
+                .contains("\"version\": {\"$ne\": \"v2\"}");
+        assertThat(published.version()).isEqualTo("v2");
+        assertThat(registry.current()).isSameAs(published);
+    }
+
+    @Test
+    void failedSaveKeepsEveryVersionActiveAndTheCurrentRuleSet() {
+        when(ruleSetRepository.save(any(RuleSet.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo down"));
+
+        assertThatThrownBy(() -> registry.publish(ruleSet("v2")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(RuleSet.class));
+        assertThat(registry.current().version()).isEqualTo(ResourceStandardConstants.BUILT_IN_VERSION);
+    }
+
+    @Test
+    void invalidOrDuplicateVersionsAreRejectedBeforeAnyWrite() {
+        when(ruleSetRepository.existsByVersion("v2")).thenReturn(true);
+        RuleSet invalid = ruleSet("v3");
+        invalid.getCamp().setPeoplePerToilet(0);
+
+        assertThatThrownBy(() -> registry.publish(ruleSet("v2"))).isInstanceOf(DuplicateResourceException.class);
+        assertThatThrownBy(() -> registry.publish(ruleSet(ResourceStandardConstants.BUILT_IN_VERSION)))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThatThrownBy(() -> registry.publish(invalid)).isInstanceOf(BadRequestException.class);
+
+        verify(ruleSetRepository, never()).save(any(RuleSet.class));
+    }
+
+    @Test
+    void activateFlagsTheVersionBeforeDeactivatingTheOthers() {
+        RuleSet stored = ruleSet("v2");
+        stored.setId("rs-2");
+        when(ruleSetRepository.findByVersion("v2")).thenReturn(Optional.of(stored));
+
+        registry.activate("v2");
+
+        InOrder order = inOrder(mongoTemplate);
+        order.verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(RuleSet.class));
+        ArgumentCaptor<Query> deactivated = ArgumentCaptor.forClass(Query.class);
+        order.verify(mongoTemplate).updateMulti(deactivated.capture(), any(Update.class), eq(RuleSet.class));
+        assertThat(deactivated.getValue().getQueryObject().toJson()).contains("\"version\": {\"$ne\": \"v2\"}");
+        assertThat(registry.current().version()).isEqualTo("v2");
+    }
+
+    @Test
+    void reloadPicksUpTheActiveMongoVersionOnlyWhenItChanges() {
+        when(ruleSetRepository.findFirstByActiveTrueOrderByActivatedAtDesc()).thenReturn(Optional.of(ruleSet("v2")));
+
+        CompiledRuleSet first = registry.reload();
+        CompiledRuleSet second = registry.reload();
+
+        assertThat(first.version()).isEqualTo("v2");
+        assertThat(second).isSameAs(first);
+        assertThat(registry.getStats()).containsEntry("swaps", 1L);
+    }
+
+    // ==================== File source ====================
+
+    @Test
+    void fileSourceSwapsOnChangeAndKeepsThePreviousVersionOnABadFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("rules.json");
+        Files.writeString(file, "{\"version\": \"f1\", \"camp\": {\"foodPacketsPerPerson\": 4}}");
+        RuleSetRegistry fileRegistry = new RuleSetRegistry(ruleSetRepository, mongoTemplate, new ObjectMapper(),
+                file.toString());
+
+        assertThat(fileRegistry.reload().foodPackets(10)).isEqualTo(40);
+        assertThat(fileRegistry.current().source()).isEqualTo("file:" + file);
+
+        Files.writeString(file, "{\"version\": \"f2\", \"camp\": {\"peoplePerToilet\": 0}}");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1_000));
+
+        assertThat(fileRegistry.reload().version()).isEqualTo("f1");
+        assertThat(fileRegistry.getStats()).containsEntry("reloadFailures", 1L);
+        assertThat((String) fileRegistry.getStats().get("lastError")).contains("camp.peoplePerToilet");
+        assertThatThrownBy(() -> fileRegistry.publish(ruleSet("v2"))).isInstanceOf(BadRequestException.class);
+    }
+
+    private static RuleSet ruleSet(String version) {
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setVersion(version);
+        return ruleSet;
+    }
+}
@@ -0,0 +1,83 @@
+package com.india.idro.service.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.model.enums.AlertType;
+
+class CampInputFingerprintTest {
+
+    @Test
+    void sameInputsGiveTheSameFingerprint() {
+        String first = CampInputFingerprint.of(camp(c -> { }), mission(m -> { }), "v2");
+        String second = CampInputFingerprint.of(camp(c -> { }), mission(m -> { }), "v2");
+
+        assertThat(first).isEqualTo(second).hasSize(32).matches("[0-9a-f]+");
+    }
+
+    @Test
+    void fieldsOutsideTheAnalysisInputsAreIgnored() {
+        String base = CampInputFingerprint.of(camp(c -> { }), mission(m -> { }), "v2");
+
+        assertThat(CampInputFingerprint.of(camp(c -> {
+            c.setName("Renamed hub");
+            c.setIncomingAid("Seva Foundation > Food Kits");
+            c.setVersion(7L);
+        }), mission(m -> m.setDetails("Updated details")), "v2")).isEqualTo(base);
+    }
+
+    @Test
+    void everyAnalysisInputChangesTheFingerprint() {
+        String base = CampInputFingerprint.of(camp(c -> { }), mission(m -> { }), "v2");
+
+        assertThat(CampInputFingerprint.of(camp(c -> c.setPopulation(501)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setPopulation(null)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setInjuredCount(41)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setUrgency("6 Hours")), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setMedicinesNeeded(false)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setLatitude(9.94)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> c.setLongitude(76.27)), mission(m -> { }), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> { }), mission(m -> m.setMagnitude("7.1")), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> { }), mission(m -> m.setType(AlertType.CYCLONE)), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> { }), mission(m -> m.setUrgency("24 Hours")), "v2"))
+                .isNotEqualTo(base);
+        assertThat(CampInputFingerprint.of(camp(c -> { }), mission(m -> { }), "v3")).isNotEqualTo(base);
+    }
+
+    private static Camp camp(Consumer<Camp> changes) {
+        Camp camp = new Camp();
+        camp.setName("Kerala Relief Hub A");
+        camp.setPopulation(500);
+        camp.setInjuredCount(40);
+        camp.setUrgency("Immediate");
+        camp.setMedicinesNeeded(true);
+        camp.setLatitude(9.93);
+        camp.setLongitude(76.26);
+        changes.accept(camp);
+        return camp;
+    }
+
+    private static Alert mission(Consumer<Alert> changes) {
+        Alert mission = new Alert();
+        mission.setType(AlertType.FLOOD);
+        mission.setMagnitude("High");
+        mission.setUrgency("Immediate");
+        mission.setDetails("Flooding in Ernakulam");
+        changes.accept(mission);
+        return mission;
+    }
+}
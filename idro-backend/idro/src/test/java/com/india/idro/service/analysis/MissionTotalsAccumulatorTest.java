@@ -0,0 +1,79 @@
+package com.india.idro.service.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.india.idro.dto.MissionTotalsDTO;
+import com.india.idro.dto.ResourceTotalsDTO;
+import com.india.idro.model.CampAiAnalysis;
+
+class MissionTotalsAccumulatorTest {
+
+    @Test
+    void emptyMissionHasZeroTotalsAndNoBuckets() {
+        MissionTotalsDTO totals = new MissionTotalsAccumulator().toDTO();
+
+        assertThat(totals.getTotals()).isEqualTo(new ResourceTotalsDTO(0, 0, 0, 0, 0, 0, 0, 0, 0));
+        assertThat(totals.getMaxima()).isEqualTo(new ResourceTotalsDTO(0, 0, 0, 0, 0, 0, 0, 0, 0));
+        assertThat(totals.getByUrgency()).isEmpty();
+    }
+
+    @Test
+    void sumsMaximaAndUrgencySubtotalsInOnePass() {
+        MissionTotalsAccumulator accumulator = new MissionTotalsAccumulator();
+        accumulator.add(analysis("Immediate", 100, 10, 300, 1500, 10, 2, 5, 1));
+        accumulator.add(analysis("24 Hours", 400, 5, 1200, 6000, 5, 1, 8, 0));
+        accumulator.add(analysis(" immediate ", 50, 20, 150, 750, 20, 4, 3, 2));
+
+        MissionTotalsDTO totals = accumulator.toDTO();
+
+        assertThat(totals.getTotals()).isEqualTo(new ResourceTotalsDTO(3, 550, 35, 1650, 8250, 35, 7, 16, 3));
+        assertThat(totals.getMaxima()).isEqualTo(new ResourceTotalsDTO(3, 400, 20, 1200, 6000, 20, 4, 8, 2));
+        assertThat(totals.getByUrgency()).containsOnlyKeys("Immediate", "24 Hours");
+        assertThat(totals.getByUrgency().get("Immediate"))
+                .isEqualTo(new ResourceTotalsDTO(2, 150, 30, 450, 2250, 30, 6, 8, 3));
+        assertThat(totals.getByUrgency().get("24 Hours"))
+                .isEqualTo(new ResourceTotalsDTO(1, 400, 5, 1200, 6000, 5, 1, 8, 0));
+    }
+
+    @Test
+    void bucketsFollowUrgencyOrderWithUnknownLabelsUnderOther() {
+        MissionTotalsAccumulator accumulator = new MissionTotalsAccumulator();
+        accumulator.add(analysis("Whenever", 10, 0, 0, 0, 0, 0, 0, 0));
+        accumulator.add(analysis(null, 20, 0, 0, 0, 0, 0, 0, 0));
+        accumulator.add(analysis("12 HOURS", 30, 0, 0, 0, 0, 0, 0, 0));
+        accumulator.add(analysis("6 Hours", 40, 0, 0, 0, 0, 0, 0, 0));
+        accumulator.add(analysis("Immediate", 50, 0, 0, 0, 0, 0, 0, 0));
+
+        MissionTotalsDTO totals = accumulator.toDTO();
+
+        assertThat(totals.getByUrgency().keySet()).containsExactly("Immediate", "6 Hours", "12 Hours", "Other");
+        assertThat(totals.getByUrgency().get("Other").getCamps()).isEqualTo(2);
+        assertThat(totals.getByUrgency().get("Other").getPopulation()).isEqualTo(30);
+    }
+
+    @Test
+    void totalsDoNotOverflowInt() {
+        MissionTotalsAccumulator accumulator = new MissionTotalsAccumulator();
+        accumulator.add(analysis("Immediate", 0, 0, 0, Integer.MAX_VALUE, 0, 0, 0, 0));
+        accumulator.add(analysis("Immediate", 0, 0, 0, Integer.MAX_VALUE, 0, 0, 0, 0));
+
+        assertThat(accumulator.toDTO().getTotals().getWaterLiters()).isEqualTo(2L * Integer.MAX_VALUE);
+    }
+
+    private static CampAiAnalysis analysis(String urgency, int population, int injured, int food, int water,
+            int beds, int kits, int volunteers, int ambulances) {
+        CampAiAnalysis analysis = new CampAiAnalysis();
+        analysis.setUrgency(urgency);
+        analysis.setPopulation(population);
+        analysis.setInjuredCount(injured);
+        analysis.setFoodPackets(food);
+        analysis.setWaterLiters(water);
+        analysis.setBeds(beds);
+        analysis.setMedicalKits(kits);
+        analysis.setVolunteers(volunteers);
+        analysis.setAmbulances(ambulances);
+        return analysis;
+    }
+}
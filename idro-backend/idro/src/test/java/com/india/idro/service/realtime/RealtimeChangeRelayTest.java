@@ -0,0 +1,176 @@
+package com.india.idro.service.realtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.india.idro.dto.CampDeltaDTO;
+import com.india.idro.model.Alert;
+import com.india.idro.model.Camp;
+import com.india.idro.service.CampDeltaPublisher;
+import com.india.idro.service.realtime.EntityChangeEvent.ChangeType;
+import com.india.idro.service.realtime.EntityChangeEvent.EntityType;
+
+/**
+ * Merge rules of the per-entity change buffer; flush is driven by hand
+ * instead of the scheduler.
+ */
+class RealtimeChangeRelayTest {
+
+    private RealtimeBroadcaster broadcaster;
+    private CampDeltaPublisher campDeltaPublisher;
+    private RealtimeChangeRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = mock(RealtimeBroadcaster.class);
+        campDeltaPublisher = mock(CampDeltaPublisher.class);
+        relay = new RealtimeChangeRelay(broadcaster, campDeltaPublisher, mock(TaskScheduler.class),
+                Duration.ofMillis(250));
+    }
+
+    @Test
+    void createdThenDeletedInOneWindowSendsNothing() {
+        relay.onChange(alertEvent(ChangeType.CREATED, alert("a1", "first")));
+        relay.onChange(alertEvent(ChangeType.UPDATED, alert("a1", "second")));
+        relay.onChange(alertEvent(ChangeType.DELETED, alert("a1", "second")));
+
+        relay.flush();
+
+        verifyNoInteractions(broadcaster);
+        assertThat(relay.getStats()).containsEntry("pending", 0).containsEntry("published", 0L);
+    }
+
+    @Test
+    void updatesFoldIntoCreationWithTheLatestState() {
+        Alert latest = alert("a1", "third");
+        relay.onChange(alertEvent(ChangeType.CREATED, alert("a1", "first")));
+        relay.onChange(alertEvent(ChangeType.UPDATED, alert("a1", "second")));
+        relay.onChange(alertEvent(ChangeType.UPDATED, latest));
+
+        relay.flush();
+
+        verify(broadcaster).alert(latest, ChangeType.CREATED);
+        verifyNoMoreInteractions(broadcaster);
+        assertThat(relay.getStats()).containsEntry("received", 3L).containsEntry("coalesced", 2L)
+                .containsEntry("published", 1L);
+    }
+
+    @Test
+    void deletionIsFinalWithinAWindow() {
+        Alert deleted = alert("a1", "gone");
+        relay.onChange(alertEvent(ChangeType.UPDATED, alert("a1", "first")));
+        relay.onChange(alertEvent(ChangeType.DELETED, deleted));
+        relay.onChange(alertEvent(ChangeType.UPDATED, alert("a1", "late")));
+
+        relay.flush();
+
+        verify(broadcaster).alert(deleted, ChangeType.DELETED);
+        verifyNoMoreInteractions(broadcaster);
+    }
+
+    @Test
+    void creationAndDeletionInSeparateWindowsAreBothSent() {
+        Alert created = alert("a1", "first");
+        Alert deleted = alert("a1", "gone");
+
+        relay.onChange(alertEvent(ChangeType.CREATED, created));
+        relay.flush();
+        relay.onChange(alertEvent(ChangeType.DELETED, deleted));
+        relay.flush();
+
+        InOrder order = inOrder(broadcaster);
+        order.verify(broadcaster).alert(created, ChangeType.CREATED);
+        order.verify(broadcaster).alert(deleted, ChangeType.DELETED);
+    }
+
+    @Test
+    void cancelledPairDoesNotAffectOtherEntities() {
+        Alert other = alert("a2", "kept");
+        relay.onChange(alertEvent(ChangeType.CREATED, alert("a1", "first")));
+        relay.onChange(alertEvent(ChangeType.UPDATED, other));
+        relay.onChange(alertEvent(ChangeType.DELETED, alert("a1", "first")));
+
+        relay.flush();
+
+        verify(broadcaster).alert(other, ChangeType.UPDATED);
+        verify(broadcaster, never()).alert(any(Alert.class), eq(ChangeType.CREATED));
+        verify(broadcaster, never()).alert(any(Alert.class), eq(ChangeType.DELETED));
+    }
+
+    // ==================== Camps ====================
+
+    @Test
+    void campWritesOnlyGoOutAsDeltas() {
+        CampDeltaDTO created = campDelta("c1", 1L, Map.of("population", 100));
+        CampDeltaDTO updated = campDelta("c1", 2L, Map.of("stock.food", 40));
+        CampDeltaDTO removed = new CampDeltaDTO("c1", "a1", 2L, new LinkedHashMap<>(), LocalDateTime.now(), true,
+                null, null);
+
+        relay.onChange(campEvent(ChangeType.CREATED, created));
+        relay.flush();
+        relay.onChange(campEvent(ChangeType.UPDATED, updated));
+        relay.flush();
+        relay.onChange(campEvent(ChangeType.DELETED, removed));
+        relay.flush();
+
+        InOrder order = inOrder(campDeltaPublisher);
+        order.verify(campDeltaPublisher).publish(created);
+        order.verify(campDeltaPublisher).publish(updated);
+        order.verify(campDeltaPublisher).publish(removed);
+        verify(broadcaster, never()).camp(any(Camp.class), any());
+        assertThat(relay.getStats()).containsEntry("pending", 0);
+    }
+
+    @Test
+    void campUpdateSendsNoFullDocumentWithoutAWindow() {
+        RealtimeChangeRelay immediate = new RealtimeChangeRelay(broadcaster, campDeltaPublisher,
+                mock(TaskScheduler.class), Duration.ZERO);
+        CampDeltaDTO updated = campDelta("c1", 2L, Map.of("injuredCount", 6));
+
+        immediate.onChange(campEvent(ChangeType.UPDATED, updated));
+
+        verify(campDeltaPublisher).publish(updated);
+        verifyNoInteractions(broadcaster);
+    }
+
+    // ==================== Helpers ====================
+
+    private static EntityChangeEvent campEvent(ChangeType change, CampDeltaDTO delta) {
+        Camp camp = new Camp();
+        camp.setId(delta.getCampId());
+        camp.setAlertId(delta.getAlertId());
+        return new EntityChangeEvent(EntityType.CAMP, change, camp.getId(), camp, delta);
+    }
+
+    private static CampDeltaDTO campDelta(String campId, long version, Map<String, Object> changes) {
+        return new CampDeltaDTO(campId, "a1", version, new LinkedHashMap<>(changes), LocalDateTime.now());
+    }
+
+    private static EntityChangeEvent alertEvent(ChangeType change, Alert alert) {
+        return new EntityChangeEvent(EntityType.ALERT, change, alert.getId(), alert, null);
+    }
+
+    private static Alert alert(String id, String details) {
+        Alert alert = new Alert();
+        alert.setId(id);
+        alert.setDetails(details);
+        return alert;
+    }
+}